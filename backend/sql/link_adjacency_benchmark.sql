@@ -0,0 +1,133 @@
+-- 链接实例邻居查询基准测试
+-- 对比 selectByInstanceId 的两种写法在 1000万+ 链接下的延迟：
+--   OR 写法：        WHERE source_instance_id = ? OR target_instance_id = ?（V15 之前，只有以 link_type_id 开头的索引）
+--   UNION ALL 写法： 两个方向分别查询（V15 之后，使用以实例ID开头的邻接索引）
+--
+-- 使用方法（在测试库执行，不影响业务表，全部对象建在 bench_links schema 中）：
+--   psql -d <测试库> -v links=10000000 -v instances=1000000 -v samples=1000 -f link_adjacency_benchmark.sql
+-- 参数：
+--   links      链接数量（默认 1000万）
+--   instances  实例数量（默认 100万，平均每个实例 2 * links / instances 个邻居）
+--   samples    每轮测量随机抽取的实例数
+--
+-- 输出：每种写法在"仅旧索引"和"V15 索引"两种情况下的 avg / p50 / p95 / p99 / max（毫秒），以及代表性执行计划
+-- 本仓库不附带测量结果：延迟与硬件、shared_buffers 和缓存冷热有关，需在目标环境执行后自行对比
+
+\set ON_ERROR_STOP on
+\if :{?links}
+\else
+\set links 10000000
+\endif
+\if :{?instances}
+\else
+\set instances 1000000
+\endif
+\if :{?samples}
+\else
+\set samples 1000
+\endif
+\timing on
+
+DROP SCHEMA IF EXISTS bench_links CASCADE;
+CREATE SCHEMA bench_links;
+
+-- 1. 造数：与 link_instances 相同的结构，实例ID由序号生成，链接两端随机分布
+CREATE TABLE bench_links.link_instances (
+    id UUID PRIMARY KEY,
+    link_type_id UUID NOT NULL,
+    source_instance_id UUID NOT NULL,
+    target_instance_id UUID NOT NULL,
+    properties JSONB DEFAULT '{}',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(255)
+);
+
+INSERT INTO bench_links.link_instances (id, link_type_id, source_instance_id, target_instance_id)
+SELECT md5('link-' || n)::uuid,
+       md5('type-' || (n % 20))::uuid,
+       md5('instance-' || (1 + floor(random() * :instances))::bigint)::uuid,
+       md5('instance-' || (1 + floor(random() * :instances))::bigint)::uuid
+FROM generate_series(1, :links) AS n;
+
+-- 2. 原有索引（V1）
+CREATE INDEX idx_bench_link_source ON bench_links.link_instances(link_type_id, source_instance_id);
+CREATE INDEX idx_bench_link_target ON bench_links.link_instances(link_type_id, target_instance_id);
+VACUUM ANALYZE bench_links.link_instances;
+
+-- 3. 测量函数：对随机抽取的实例逐个执行查询并记录耗时
+CREATE TABLE bench_links.results (
+    phase TEXT,
+    query TEXT,
+    instance_id UUID,
+    rows_returned INT,
+    elapsed_ms DOUBLE PRECISION
+);
+
+CREATE OR REPLACE FUNCTION bench_links.measure(p_phase TEXT, p_query TEXT, p_sql TEXT, p_samples INT, p_instances INT)
+RETURNS VOID AS $$
+DECLARE
+    v_id UUID;
+    v_start TIMESTAMP;
+    v_rows INT;
+BEGIN
+    FOR i IN 1..p_samples LOOP
+        v_id := md5('instance-' || (1 + floor(random() * p_instances))::bigint)::uuid;
+        v_start := clock_timestamp();
+        EXECUTE 'SELECT count(*) FROM (' || p_sql || ') t' INTO v_rows USING v_id;
+        INSERT INTO bench_links.results
+        VALUES (p_phase, p_query, v_id, v_rows,
+                extract(epoch FROM clock_timestamp() - v_start) * 1000);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- OR 写法在只有旧索引时是顺序扫描，抽样数限制为 samples / 100（至少 5 次），避免单轮执行时间过长
+SELECT bench_links.measure('v1-indexes', 'or',
+    'SELECT * FROM bench_links.link_instances WHERE source_instance_id = $1 OR target_instance_id = $1',
+    greatest(:samples / 100, 5), :instances);
+SELECT bench_links.measure('v1-indexes', 'union-all',
+    'SELECT * FROM bench_links.link_instances WHERE source_instance_id = $1
+     UNION ALL
+     SELECT * FROM bench_links.link_instances WHERE target_instance_id = $1 AND source_instance_id <> $1',
+    greatest(:samples / 100, 5), :instances);
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_links.link_instances
+WHERE source_instance_id = md5('instance-1')::uuid OR target_instance_id = md5('instance-1')::uuid;
+
+-- 4. V15 索引
+CREATE INDEX idx_bench_link_source_instance ON bench_links.link_instances(source_instance_id, link_type_id);
+CREATE INDEX idx_bench_link_target_instance ON bench_links.link_instances(target_instance_id, link_type_id);
+ANALYZE bench_links.link_instances;
+
+SELECT bench_links.measure('v15-indexes', 'or',
+    'SELECT * FROM bench_links.link_instances WHERE source_instance_id = $1 OR target_instance_id = $1',
+    :samples, :instances);
+SELECT bench_links.measure('v15-indexes', 'union-all',
+    'SELECT * FROM bench_links.link_instances WHERE source_instance_id = $1
+     UNION ALL
+     SELECT * FROM bench_links.link_instances WHERE target_instance_id = $1 AND source_instance_id <> $1',
+    :samples, :instances);
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_links.link_instances WHERE source_instance_id = md5('instance-1')::uuid
+UNION ALL
+SELECT * FROM bench_links.link_instances WHERE target_instance_id = md5('instance-1')::uuid
+  AND source_instance_id <> md5('instance-1')::uuid;
+
+-- 5. 汇总
+SELECT phase,
+       query,
+       count(*)                                                             AS samples,
+       round(avg(rows_returned)::numeric, 1)                                AS avg_rows,
+       round(avg(elapsed_ms)::numeric, 3)                                   AS avg_ms,
+       round(percentile_cont(0.50) WITHIN GROUP (ORDER BY elapsed_ms)::numeric, 3) AS p50_ms,
+       round(percentile_cont(0.95) WITHIN GROUP (ORDER BY elapsed_ms)::numeric, 3) AS p95_ms,
+       round(percentile_cont(0.99) WITHIN GROUP (ORDER BY elapsed_ms)::numeric, 3) AS p99_ms,
+       round(max(elapsed_ms)::numeric, 3)                                   AS max_ms
+FROM bench_links.results
+GROUP BY phase, query
+ORDER BY phase, query;
+
+-- 6. 清理（保留数据以便重复测量时注释掉）
+DROP SCHEMA bench_links CASCADE;
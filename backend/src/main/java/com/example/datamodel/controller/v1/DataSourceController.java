@@ -15,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -185,5 +186,20 @@ public class DataSourceController {
             return ResponseVO.error("获取Schema列表失败：" + e.getMessage());
         }
     }
-}
 
+    @PostMapping("/{id}/catalog/refresh")
+    @Operation(summary = "刷新数据源目录缓存（Schema、表、字段）")
+    public ResponseVO<Map<String, Object>> refreshCatalog(
+            @Parameter(description = "数据源ID") @PathVariable UUID id,
+            @Parameter(description = "只刷新该Schema（可选）") @RequestParam(required = false) String schemaName,
+            @Parameter(description = "是否抓取所有Schema") @RequestParam(defaultValue = "false") boolean allSchemas) {
+        try {
+            return ResponseVO.success(dataSourceService.refreshCatalog(id, schemaName, allSchemas));
+        } catch (BusinessException e) {
+            return ResponseVO.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("刷新数据源目录失败", e);
+            return ResponseVO.error("刷新数据源目录失败：" + e.getMessage());
+        }
+    }
+}
@@ -3,12 +3,12 @@ package com.example.datamodel.controller.v1;
 import com.alibaba.fastjson2.JSON;
 import com.example.datamodel.entity.ActionType;
 import com.example.datamodel.core.FunctionExecutor;
+import com.example.datamodel.core.gateway.InterfaceContract;
+import com.example.datamodel.core.gateway.InterfaceContractRegistry;
+import com.example.datamodel.core.gateway.InterfaceRouteTable;
+import com.example.datamodel.core.gateway.RouteTrie;
 import com.example.datamodel.entity.Function;
 import com.example.datamodel.entity.Interface;
-import com.example.datamodel.exception.BusinessException;
-import com.example.datamodel.service.ActionTypeService;
-import com.example.datamodel.service.FunctionService;
-import com.example.datamodel.service.InterfaceService;
 import com.example.datamodel.vo.ResponseVO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -27,8 +27,9 @@ import java.util.Map;
  *
  * 说明：
  * - 外部系统通过 HTTP 方法 + URL 路径 调用本控制器
- * - 本控制器根据 method + path 在接口表中查找对应的 Interface 定义
- * - 校验请求体是否满足 Interface.requiredProperties 中定义的必需字段
+ * - 本控制器根据 method + path 在内存路由表中查找对应的 Interface 定义（路径支持 {name} 形式的路径变量）
+ * - 校验请求体是否满足 Interface.requiredProperties 中定义的必需字段，以及操作类型 inputSchema 的约束
+ * - 必需字段、inputSchema 校验器和处理函数按接口预编译为 {@link InterfaceContract}，调用时不再查询数据库
  * - 后续可以在此处根据 Interface.actionTypeId 调用对应的操作类型实现
  *
  * 当前版本只做「路由 + 校验 + 回显」，便于调试和后续扩展。
@@ -42,13 +43,10 @@ import java.util.Map;
 public class ExternalInterfaceController {
 
     @Autowired
-    private InterfaceService interfaceService;
+    private InterfaceRouteTable interfaceRouteTable;
 
     @Autowired
-    private ActionTypeService actionTypeService;
-
-    @Autowired
-    private FunctionService functionService;
+    private InterfaceContractRegistry interfaceContractRegistry;
 
     @Autowired
     private FunctionExecutor functionExecutor;
@@ -59,7 +57,8 @@ public class ExternalInterfaceController {
      * 实际匹配逻辑：
      * - method: 来自 HttpServletRequest.getMethod()
      * - path:   来自 HttpServletRequest.getRequestURI()
-     *   因此在配置 Interface.path 时，请使用与实际请求完全一致的路径，例如 "/external/toll/charge"
+     *   因此在配置 Interface.path 时，请使用与实际请求一致的路径，例如 "/external/toll/charge"，
+     *   或使用路径变量，例如 "/external/orders/{orderId}"；固定段优先于路径变量匹配
      */
     @Operation(summary = "外部接口统一入口")
     @RequestMapping("/**")
@@ -70,23 +69,25 @@ public class ExternalInterfaceController {
 
         log.info("收到外部请求，method={}, path={}, body={}", method, path, body != null ? JSON.toJSONString(body) : "null");
 
-        Interface iface = interfaceService.getByMethodAndPath(method, path);
-        if (iface == null) {
+        RouteTrie.Match<Interface> route = interfaceRouteTable.match(method, path);
+        if (route == null) {
             log.warn("未找到匹配的接口定义，method={}, path={}", method, path);
             return ResponseVO.error(404, "未找到匹配的接口定义");
         }
+        Interface iface = route.getTarget();
+        Map<String, String> pathVariables = route.getVariables();
+        InterfaceContract contract = interfaceContractRegistry.get(iface);
+
+        // 请求体与路径变量合并后作为接口输入，必需字段可以由路径变量提供
+        Map<String, Object> input = withPathVariables(body, pathVariables);
 
         // 校验必需字段：Interface.requiredProperties 目前是一个 JSON 对象，key 视为必需字段名
-        validateRequiredProperties(iface, body);
+        contract.validateRequest(input);
 
-        // 根据 iface.getActionTypeId() 调用具体的操作类型 / 函数引擎（当前版本仅做骨架与回显）
+        // 根据 iface.getActionTypeId() 调用具体的操作类型 / 函数引擎
         Object actionResult = null;
-        if (iface.getActionTypeId() != null) {
-            ActionType actionType = actionTypeService.getById(iface.getActionTypeId());
-            if (actionType == null) {
-                throw new BusinessException("接口绑定的操作类型不存在：" + iface.getActionTypeId());
-            }
-            actionResult = executeAction(actionType, body);
+        if (contract.hasAction()) {
+            actionResult = executeAction(contract, input);
         }
 
         // 回显接口元数据、请求体及动作执行结果，便于调试和后续扩展
@@ -96,6 +97,7 @@ public class ExternalInterfaceController {
         result.put("interfaceDisplayName", iface.getDisplayName());
         result.put("method", iface.getMethod());
         result.put("path", iface.getPath());
+        result.put("pathVariables", pathVariables);
         result.put("actionTypeId", iface.getActionTypeId());
         result.put("actionResult", actionResult);
         result.put("requestBody", body);
@@ -104,45 +106,29 @@ public class ExternalInterfaceController {
     }
 
     /**
-     * 校验请求体是否包含接口定义的必需字段
+     * 将路径变量并入函数输入，请求体中的同名字段优先
      */
-    private void validateRequiredProperties(Interface iface, Map<String, Object> body) {
-        if (body == null) {
-            body = new HashMap<>();
+    private Map<String, Object> withPathVariables(Map<String, Object> body, Map<String, String> pathVariables) {
+        if (pathVariables.isEmpty()) {
+            return body;
         }
-
-        if (iface.getRequiredProperties() == null || iface.getRequiredProperties().trim().isEmpty()) {
-            return;
-        }
-
-        Map<String, Object> requiredProps;
-        try {
-            requiredProps = JSON.parseObject(iface.getRequiredProperties());
-        } catch (Exception e) {
-            log.warn("解析接口必需属性JSON失败，ifaceId={}, requiredProperties={}", iface.getId(), iface.getRequiredProperties(), e);
-            return;
-        }
-
-        if (requiredProps == null || requiredProps.isEmpty()) {
-            return;
-        }
-
-        for (String key : requiredProps.keySet()) {
-            Object value = body.get(key);
-            if (value == null || (value instanceof String && ((String) value).trim().isEmpty())) {
-                throw new BusinessException("请求体缺少必需字段：" + key);
-            }
+        Map<String, Object> input = new HashMap<>(pathVariables);
+        if (body != null) {
+            input.putAll(body);
         }
+        return input;
     }
 
     /**
-     * 执行动作类型的骨架方法
+     * 执行接口绑定的操作类型
      *
-     * 当前版本：
-     * - 不真正执行业务逻辑，只是回显动作及请求体信息
-     * - 预留扩展点：后续可在此处根据 actionType.getHandlerFunction() 调用函数引擎
+     * - 按操作类型的 inputSchema 校验输入
+     * - 配置了 handlerFunction 时调用函数引擎，否则只回显动作及请求体信息
      */
-    private Object executeAction(ActionType actionType, Map<String, Object> body) {
+    private Object executeAction(InterfaceContract contract, Map<String, Object> body) {
+        ActionType actionType = contract.requireActionType();
+        contract.validateInput(body);
+
         Map<String, Object> result = new HashMap<>();
         result.put("actionTypeId", actionType.getId());
         result.put("actionTypeName", actionType.getName());
@@ -152,11 +138,8 @@ public class ExternalInterfaceController {
         result.put("requestBody", body);
 
         // 如果配置了 handlerFunction，则尝试执行对应的函数
-        if (actionType.getHandlerFunction() != null && !actionType.getHandlerFunction().trim().isEmpty()) {
-            Function function = functionService.getByName(actionType.getHandlerFunction());
-            if (function == null) {
-                throw new BusinessException("未找到名称为 " + actionType.getHandlerFunction() + " 的函数定义");
-            }
+        if (contract.hasHandlerFunction()) {
+            Function function = contract.requireFunction();
             Object fnResult = functionExecutor.execute(function, body);
             result.put("functionId", function.getId());
             result.put("functionName", function.getName());
@@ -1,16 +1,31 @@
 package com.example.datamodel.controller.v1;
 
-import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.example.datamodel.core.instance.InstanceExporter;
 import com.example.datamodel.dto.InstanceDTO;
+import com.example.datamodel.exception.BusinessException;
 import com.example.datamodel.service.InstanceService;
+import com.example.datamodel.vo.BatchCreateInstancesResult;
+import com.example.datamodel.vo.ImportInstancesResult;
+import com.example.datamodel.vo.InstanceCursorPage;
+import com.example.datamodel.vo.InstancePage;
 import com.example.datamodel.vo.ResponseVO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -42,6 +57,59 @@ public class InstanceController {
         return ResponseVO.success(instance);
     }
 
+    @Operation(summary = "批量创建实例")
+    @PostMapping("/batch")
+    public ResponseVO<BatchCreateInstancesResult> batchCreate(@PathVariable String objectType,
+                                                             @RequestBody List<InstanceDTO> dtos) {
+        BatchCreateInstancesResult result = instanceService.batchCreateInstances(objectType, dtos);
+        return ResponseVO.success(result);
+    }
+
+    @Operation(summary = "批量导入实例", description = "上传 CSV（首行为表头）或 NDJSON 文件，格式为空时按文件扩展名判断")
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseVO<ImportInstancesResult> importInstances(@PathVariable String objectType,
+                                                             @RequestParam("file") MultipartFile file,
+                                                             @RequestParam(required = false) String format,
+                                                             @RequestParam(required = false) UUID storageDatasourceId) {
+        if (format == null || format.isEmpty()) {
+            String filename = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase() : "";
+            format = filename.endsWith(".csv") ? "CSV" : "NDJSON";
+        }
+        try (InputStream in = file.getInputStream()) {
+            ImportInstancesResult result = instanceService.importInstances(objectType, in, format, storageDatasourceId);
+            return ResponseVO.success(result);
+        } catch (IOException e) {
+            throw new BusinessException("读取上传文件失败：" + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "下载导入错误文件")
+    @GetMapping("/import/errors/{errorFileId}")
+    public ResponseEntity<Resource> downloadImportErrors(@PathVariable String objectType,
+                                                         @PathVariable String errorFileId) {
+        File file = instanceService.getImportErrorFile(objectType, errorFileId);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getName() + "\"")
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(new FileSystemResource(file));
+    }
+
+    @Operation(summary = "导出实例", description = "流式导出对象类型在平台存储和所有存储库中的实例，格式为 NDJSON 或 CSV")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String objectType,
+                                                        @RequestParam(defaultValue = "NDJSON") String format) {
+        InstanceExporter.Export export = instanceService.prepareExport(objectType, format);
+        boolean csv = InstanceExporter.FORMAT_CSV.equals(export.getFormat());
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + objectType + (csv ? ".csv" : ".ndjson") + "\"")
+            .contentType(csv ? MediaType.parseMediaType("text/csv;charset=UTF-8") : MediaType.parseMediaType("application/x-ndjson"))
+            .body(export::writeTo);
+    }
+
     @Operation(summary = "更新实例")
     @PutMapping("/{id}")
     public ResponseVO<Map<String, Object>> update(@PathVariable String objectType,
@@ -62,14 +130,34 @@ public class InstanceController {
         return ResponseVO.success(instance);
     }
 
+    @Operation(summary = "根据ID列表批量查询实例")
+    @PostMapping("/batch-get")
+    public ResponseVO<List<Map<String, Object>>> batchGet(@PathVariable String objectType,
+                                                          @RequestBody List<UUID> instanceIds) {
+        List<Map<String, Object>> instances = instanceService.getInstances(objectType, instanceIds);
+        return ResponseVO.success(instances);
+    }
+
     @Operation(summary = "分页查询实例列表")
     @GetMapping
-    public ResponseVO<IPage<Map<String, Object>>> list(
+    public ResponseVO<InstancePage> list(
             @PathVariable String objectType,
             @RequestParam(defaultValue = "1") Long current,
             @RequestParam(defaultValue = "10") Long size,
+            @RequestParam(required = false) Boolean withTotal,
+            @RequestParam(required = false) Map<String, Object> filters) {
+        InstancePage page = instanceService.listInstances(objectType, current, size, filters, withTotal);
+        return ResponseVO.success(page);
+    }
+
+    @Operation(summary = "游标分页查询实例列表")
+    @GetMapping("/cursor")
+    public ResponseVO<InstanceCursorPage> listByCursor(
+            @PathVariable String objectType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Long size,
             @RequestParam(required = false) Map<String, Object> filters) {
-        IPage<Map<String, Object>> page = instanceService.listInstances(objectType, current, size, filters);
+        InstanceCursorPage page = instanceService.listInstancesByCursor(objectType, cursor, size, filters);
         return ResponseVO.success(page);
     }
 
@@ -3,6 +3,8 @@ package com.example.datamodel.controller.v1;
 import com.example.datamodel.core.QueryEngine;
 import com.example.datamodel.entity.LinkInstance;
 import com.example.datamodel.service.InstanceService;
+import com.example.datamodel.vo.PathQueryResult;
+import com.example.datamodel.vo.RelatedInstancesResult;
 import com.example.datamodel.vo.ResponseVO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -47,6 +49,22 @@ public class QueryController {
         return ResponseVO.success(paths);
     }
 
+    @Operation(summary = "查询路径（SHORTEST：双向BFS最短路径；K_SHORTEST：前k条最短路径，受路径数、访问节点数和时间预算限制）")
+    @GetMapping("/path/search")
+    public ResponseVO<PathQueryResult> searchPath(
+            @RequestParam(required = false) String sourceObjectType,
+            @RequestParam UUID sourceInstanceId,
+            @RequestParam(required = false) String targetObjectType,
+            @RequestParam UUID targetInstanceId,
+            @RequestParam(defaultValue = "5") int maxDepth,
+            @RequestParam(defaultValue = "SHORTEST") String mode,
+            @RequestParam(required = false) Integer k) {
+        return ResponseVO.success(queryEngine.searchPaths(
+                sourceObjectType, sourceInstanceId,
+                targetObjectType, targetInstanceId,
+                maxDepth, mode, k));
+    }
+
     @Operation(summary = "查询邻居节点")
     @GetMapping("/neighbors")
     public ResponseVO<List<Map<String, Object>>> findNeighbors(
@@ -57,10 +75,7 @@ public class QueryController {
 
         // 如果指定了对象类型，返回完整的实例信息
         if (objectType != null && !objectType.isEmpty()) {
-            List<Map<String, Object>> neighbors = neighborIds.stream()
-                    .map(id -> instanceService.getInstance(objectType, id))
-                    .filter(instance -> instance != null)
-                    .collect(Collectors.toList());
+            List<Map<String, Object>> neighbors = instanceService.getInstances(objectType, neighborIds);
             return ResponseVO.success(neighbors);
         } else {
             // 否则只返回ID列表
@@ -84,6 +99,16 @@ public class QueryController {
         return ResponseVO.success(relatedIds);
     }
 
+    @Operation(summary = "查询指定深度的所有关联实例（内存图索引或单条递归查询，返回深度、遍历方式和是否截断）")
+    @GetMapping("/related/traversal")
+    public ResponseVO<RelatedInstancesResult> traverseRelated(
+            @RequestParam UUID instanceId,
+            @RequestParam(defaultValue = "2") int depth,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String mode) {
+        return ResponseVO.success(queryEngine.traverseRelatedInstances(instanceId, depth, limit, mode));
+    }
+
     // ==================== 对象类型关系查询（模型级别） ====================
 
     @Operation(summary = "查询对象类型的所有链接类型")
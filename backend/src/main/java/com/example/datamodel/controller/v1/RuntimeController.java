@@ -0,0 +1,178 @@
+package com.example.datamodel.controller.v1;
+
+import com.example.datamodel.core.FunctionExecutor;
+import com.example.datamodel.core.TableExistenceRegistry;
+import com.example.datamodel.core.cache.MetadataCaches;
+import com.example.datamodel.core.datasource.DataSourceCatalogCache;
+import com.example.datamodel.core.datasource.DataSourcePoolRegistry;
+import com.example.datamodel.core.gateway.InterfaceContractRegistry;
+import com.example.datamodel.core.gateway.InterfaceRouteTable;
+import com.example.datamodel.core.graph.LinkGraphIndex;
+import com.example.datamodel.core.graph.OntologyGraphRegistry;
+import com.example.datamodel.core.instance.ObjectTypeRuntimeRegistry;
+import com.example.datamodel.core.instance.StorageMembershipFilters;
+import com.example.datamodel.vo.ResponseVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 运行时状态控制器
+ * 暴露连接池等运行时组件的状态，便于监控和容量评估
+ *
+ * @author DataModel Team
+ */
+@Slf4j
+@Tag(name = "运行时状态", description = "运行时组件状态查询接口")
+@RestController
+@RequestMapping("/v1/runtime")
+public class RuntimeController {
+
+    @Autowired
+    private DataSourcePoolRegistry dataSourcePoolRegistry;
+
+    @Autowired
+    private StorageMembershipFilters storageMembershipFilters;
+
+    @Autowired
+    private MetadataCaches metadataCaches;
+
+    @Autowired
+    private ObjectTypeRuntimeRegistry objectTypeRuntimeRegistry;
+
+    @Autowired
+    private TableExistenceRegistry tableExistenceRegistry;
+
+    @Autowired
+    private DataSourceCatalogCache dataSourceCatalogCache;
+
+    @Autowired
+    private FunctionExecutor functionExecutor;
+
+    @Autowired
+    private InterfaceRouteTable interfaceRouteTable;
+
+    @Autowired
+    private InterfaceContractRegistry interfaceContractRegistry;
+
+    @Autowired
+    private LinkGraphIndex linkGraphIndex;
+
+    @Autowired
+    private OntologyGraphRegistry ontologyGraphRegistry;
+
+    @Operation(summary = "查询外部数据源连接池状态")
+    @GetMapping("/datasource-pools")
+    public ResponseVO<List<Map<String, Object>>> getDataSourcePools() {
+        return ResponseVO.success(dataSourcePoolRegistry.getPoolStats());
+    }
+
+    @Operation(summary = "查询存储库实例布隆过滤器状态")
+    @GetMapping("/bloom-filters")
+    public ResponseVO<Map<String, Object>> getBloomFilters() {
+        return ResponseVO.success(storageMembershipFilters.getStats());
+    }
+
+    @Operation(summary = "重建存储库实例布隆过滤器")
+    @PostMapping("/bloom-filters/rebuild")
+    public ResponseVO<?> rebuildBloomFilters(@RequestParam(required = false) UUID objectTypeId) {
+        if (objectTypeId != null) {
+            storageMembershipFilters.rebuild(objectTypeId);
+        } else {
+            storageMembershipFilters.rebuildAll();
+        }
+        return ResponseVO.success("已提交后台重建");
+    }
+
+    @Operation(summary = "查询元数据缓存状态（命中率等）")
+    @GetMapping("/metadata-caches")
+    public ResponseVO<List<Map<String, Object>>> getMetadataCaches() {
+        return ResponseVO.success(metadataCaches.getStats());
+    }
+
+    @Operation(summary = "清空元数据缓存")
+    @PostMapping("/metadata-caches/clear")
+    public ResponseVO<?> clearMetadataCaches() {
+        metadataCaches.invalidateAll();
+        return ResponseVO.success();
+    }
+
+    @Operation(summary = "查询已构建的对象类型运行时")
+    @GetMapping("/object-type-runtimes")
+    public ResponseVO<List<Map<String, Object>>> getObjectTypeRuntimes() {
+        return ResponseVO.success(objectTypeRuntimeRegistry.getStats());
+    }
+
+    @Operation(summary = "查询实例表存在性登记统计")
+    @GetMapping("/table-registry")
+    public ResponseVO<Map<String, Object>> getTableRegistry() {
+        return ResponseVO.success(tableExistenceRegistry.getStats());
+    }
+
+    @Operation(summary = "重新加载平台存储的实例表登记")
+    @PostMapping("/table-registry/reload")
+    public ResponseVO<?> reloadTableRegistry() {
+        tableExistenceRegistry.loadPlatformTables();
+        return ResponseVO.success();
+    }
+
+    @Operation(summary = "查询数据源目录缓存概况")
+    @GetMapping("/datasource-catalogs")
+    public ResponseVO<List<Map<String, Object>>> getDataSourceCatalogs() {
+        return ResponseVO.success(dataSourceCatalogCache.getStats());
+    }
+
+    @Operation(summary = "查询函数执行线程池状态")
+    @GetMapping("/function-executor")
+    public ResponseVO<Map<String, Object>> getFunctionExecutor() {
+        return ResponseVO.success(functionExecutor.getStats());
+    }
+
+    @Operation(summary = "查询外部接口路由表概况")
+    @GetMapping("/interface-routes")
+    public ResponseVO<Map<String, Object>> getInterfaceRoutes() {
+        return ResponseVO.success(interfaceRouteTable.getStats());
+    }
+
+    @Operation(summary = "重新加载外部接口路由表")
+    @PostMapping("/interface-routes/reload")
+    public ResponseVO<?> reloadInterfaceRoutes() {
+        interfaceRouteTable.reload();
+        return ResponseVO.success();
+    }
+
+    @Operation(summary = "查询外部接口契约缓存概况")
+    @GetMapping("/interface-contracts")
+    public ResponseVO<Map<String, Object>> getInterfaceContracts() {
+        return ResponseVO.success(interfaceContractRegistry.getStats());
+    }
+
+    @Operation(summary = "查询链接实例图索引概况（实例数、链接数、覆盖层大小和内存占用）")
+    @GetMapping("/link-graph")
+    public ResponseVO<Map<String, Object>> getLinkGraph() {
+        return ResponseVO.success(linkGraphIndex.getStats());
+    }
+
+    @Operation(summary = "重新加载链接实例图索引")
+    @PostMapping("/link-graph/reload")
+    public ResponseVO<?> reloadLinkGraph() {
+        linkGraphIndex.reload();
+        return ResponseVO.success();
+    }
+
+    @Operation(summary = "查询模型图概况（对象类型数、链接类型数和已记忆的查询结果数）")
+    @GetMapping("/ontology-graph")
+    public ResponseVO<Map<String, Object>> getOntologyGraph() {
+        return ResponseVO.success(ontologyGraphRegistry.getStats());
+    }
+}
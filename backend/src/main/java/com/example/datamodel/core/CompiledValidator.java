@@ -0,0 +1,349 @@
+package com.example.datamodel.core;
+
+import com.example.datamodel.entity.Property;
+import com.example.datamodel.exception.BusinessException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 预编译的数据验证器
+ * 按对象类型的属性定义构建一次：属性名预先转小写并建立索引，数据类型预先解析为类型码，
+ * 校验时只遍历一次实例数据的键完成大小写不敏感匹配，类型检查不依赖异常
+ *
+ * 键匹配优先级与 {@link Validator} 一致：与属性名完全相同的键优先，其次是属性名的全小写形式，最后是其他大小写形式；
+ * 值为null的键不参与匹配
+ *
+ * 构建后不可变，可在线程间共享
+ *
+ * @author DataModel Team
+ */
+public final class CompiledValidator {
+
+    private static final byte TYPE_OTHER = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_FLOAT = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+    private static final byte TYPE_JSON = 5;
+
+    /**
+     * 键匹配等级：完全相同、全小写、其他大小写形式、未匹配
+     */
+    private static final byte MATCH_EXACT = 0;
+    private static final byte MATCH_LOWER = 1;
+    private static final byte MATCH_IGNORE_CASE = 2;
+    private static final byte MATCH_NONE = 3;
+
+    private final String[] names;
+
+    private final String[] lowerNames;
+
+    private final boolean[] required;
+
+    private final byte[] types;
+
+    private final Map<String, Integer> indexByName;
+
+    private final Map<String, Integer> indexByLowerName;
+
+    public CompiledValidator(List<Property> properties) {
+        int size = properties.size();
+        this.names = new String[size];
+        this.lowerNames = new String[size];
+        this.required = new boolean[size];
+        this.types = new byte[size];
+        this.indexByName = new HashMap<>(size * 2);
+        this.indexByLowerName = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            Property property = properties.get(i);
+            names[i] = property.getName();
+            lowerNames[i] = property.getName().toLowerCase();
+            required[i] = property.getRequired() != null && property.getRequired();
+            types[i] = typeOf(property.getDataType());
+            indexByName.putIfAbsent(names[i], i);
+            indexByLowerName.putIfAbsent(lowerNames[i], i);
+        }
+    }
+
+    /**
+     * 属性数量
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * 属性在 {@link #resolve(Map)} 结果中的位置（大小写不敏感）
+     *
+     * @param propertyName 属性名
+     * @return 位置，属性不存在时返回-1
+     */
+    public int indexOf(String propertyName) {
+        Integer index = indexByName.get(propertyName);
+        if (index == null) {
+            index = indexByLowerName.get(propertyName.toLowerCase());
+        }
+        return index != null ? index : -1;
+    }
+
+    /**
+     * 按属性定义顺序取出实例数据中的值（大小写不敏感，只遍历一次数据）
+     *
+     * @param data 实例数据
+     * @return 与属性定义顺序一致的值数组，未提供的属性为null
+     */
+    public Object[] resolve(Map<String, Object> data) {
+        Object[] values = new Object[names.length];
+        if (data == null || data.isEmpty()) {
+            return values;
+        }
+        byte[] matches = new byte[names.length];
+        Arrays.fill(matches, MATCH_NONE);
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            String key = entry.getKey();
+            if (key == null || entry.getValue() == null) {
+                continue;
+            }
+            int index;
+            byte match;
+            Integer exact = indexByName.get(key);
+            if (exact != null) {
+                index = exact;
+                match = MATCH_EXACT;
+            } else {
+                Integer lower = indexByLowerName.get(key.toLowerCase());
+                if (lower == null) {
+                    continue;
+                }
+                index = lower;
+                match = key.equals(lowerNames[index]) ? MATCH_LOWER : MATCH_IGNORE_CASE;
+            }
+            if (match < matches[index]) {
+                matches[index] = match;
+                values[index] = entry.getValue();
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 验证实例数据，遇到第一个错误时抛出
+     *
+     * @param data 实例数据
+     * @throws BusinessException 验证失败时
+     */
+    public void validate(Map<String, Object> data) {
+        String error = firstError(resolve(data));
+        if (error != null) {
+            throw new BusinessException(error);
+        }
+    }
+
+    /**
+     * 验证已按属性顺序取出的值
+     *
+     * @param values {@link #resolve(Map)} 的结果
+     * @return 第一个错误信息，验证通过时返回null
+     */
+    public String firstError(Object[] values) {
+        for (int i = 0; i < names.length; i++) {
+            String error = check(i, values[i]);
+            if (error != null) {
+                return error;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 验证实例数据并返回全部错误
+     *
+     * @param data 实例数据
+     * @return 错误信息列表，验证通过时为空列表
+     */
+    public List<String> errors(Map<String, Object> data) {
+        Object[] values = resolve(data);
+        List<String> errors = null;
+        for (int i = 0; i < names.length; i++) {
+            String error = check(i, values[i]);
+            if (error != null) {
+                if (errors == null) {
+                    errors = new ArrayList<>();
+                }
+                errors.add(error);
+            }
+        }
+        return errors != null ? errors : Collections.<String>emptyList();
+    }
+
+    /**
+     * 批量验证实例数据，汇总所有行的全部错误
+     *
+     * @param rows 实例数据列表
+     * @return 行号（从0开始）到该行错误信息列表的映射，按行号排序，只包含验证失败的行
+     */
+    public Map<Integer, List<String>> validateBatch(List<? extends Map<String, Object>> rows) {
+        Map<Integer, List<String>> result = new TreeMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            List<String> errors = errors(rows.get(i));
+            if (!errors.isEmpty()) {
+                result.put(i, errors);
+            }
+        }
+        return result;
+    }
+
+    private String check(int index, Object value) {
+        if (required[index] && (value == null || (value instanceof String && isBlank((String) value)))) {
+            return "属性 " + names[index] + " 是必需的";
+        }
+        if (value == null) {
+            return null;
+        }
+        switch (types[index]) {
+            case TYPE_STRING:
+                return value instanceof String ? null : "属性 " + names[index] + " 必须是字符串类型";
+            case TYPE_INTEGER:
+                return value instanceof Integer || value instanceof Long || isInteger(value.toString())
+                    ? null : "属性 " + names[index] + " 必须是整数类型";
+            case TYPE_FLOAT:
+                return value instanceof Float || value instanceof Double || isDecimal(value.toString())
+                    ? null : "属性 " + names[index] + " 必须是浮点数类型";
+            case TYPE_BOOLEAN:
+                return value instanceof Boolean || "true".equalsIgnoreCase(value.toString()) || "false".equalsIgnoreCase(value.toString())
+                    ? null : "属性 " + names[index] + " 必须是布尔类型";
+            case TYPE_JSON:
+                return value instanceof Map || value instanceof List
+                    ? null : "属性 " + names[index] + " 必须是JSON对象或数组";
+            default:
+                // 其他类型暂不验证
+                return null;
+        }
+    }
+
+    private static byte typeOf(String dataType) {
+        if (dataType == null) {
+            return TYPE_OTHER;
+        }
+        switch (dataType.toUpperCase()) {
+            case "STRING":
+                return TYPE_STRING;
+            case "INTEGER":
+                return TYPE_INTEGER;
+            case "FLOAT":
+                return TYPE_FLOAT;
+            case "BOOLEAN":
+                return TYPE_BOOLEAN;
+            case "JSON":
+                return TYPE_JSON;
+            default:
+                return TYPE_OTHER;
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 是否为 int 范围内的十进制整数（与 Integer.parseInt 接受的ASCII格式一致）
+     */
+    static boolean isInteger(String text) {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            i++;
+        }
+        if (i == length) {
+            return false;
+        }
+        // 前导零不计入位数（Integer.parseInt 接受 "00000000001"），全为零时保留最后一位
+        while (i < length - 1 && text.charAt(i) == '0') {
+            i++;
+        }
+        if (length - i > 10) {
+            return false;
+        }
+        long result = 0;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return negative ? -result >= Integer.MIN_VALUE : result <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * 是否为十进制浮点数（与 Double.parseDouble 接受的十进制格式一致：允许首尾空白、符号、指数、
+     * NaN / Infinity 和 f/d 后缀；不接受十六进制浮点数）
+     */
+    static boolean isDecimal(String text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int i = start;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            i++;
+        }
+        if (text.startsWith("NaN", i) || text.startsWith("Infinity", i)) {
+            return i + (text.charAt(i) == 'N' ? 3 : 8) == end;
+        }
+        int digits = 0;
+        while (i < end && isDigit(text.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < end && text.charAt(i) == '.') {
+            i++;
+            while (i < end && isDigit(text.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < end && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            i++;
+            if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            while (i < end && isDigit(text.charAt(i))) {
+                i++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return false;
+            }
+        }
+        if (i < end && "fFdD".indexOf(text.charAt(i)) >= 0) {
+            i++;
+        }
+        return i == end;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -40,6 +40,9 @@ public class DynamicTableManager {
     @Autowired
     private DataSourceConnectionManager dataSourceConnectionManager;
 
+    @Autowired
+    private TableExistenceRegistry tableExistenceRegistry;
+
     /**
      * 根据对象类型创建实例表（在平台主数据库中）
      * 表名格式：{domain_code}_{objectTypeName}
@@ -98,12 +101,38 @@ public class DynamicTableManager {
         sql.append(";\n");
         String indexSuffix = sanitizeTableName(tableName);
         sql.append("CREATE INDEX IF NOT EXISTS idx_").append(indexSuffix).append("_class_id ON ").append(tableName).append("(class_id);\n");
-        sql.append("CREATE INDEX IF NOT EXISTS idx_").append(indexSuffix).append("_datasource_id ON ").append(tableName).append("(datasource_id);");
+        sql.append("CREATE INDEX IF NOT EXISTS idx_").append(indexSuffix).append("_datasource_id ON ").append(tableName).append("(datasource_id);\n");
+        // 支撑按 created_at DESC, id DESC 的分页排序和游标续查
+        sql.append("CREATE INDEX IF NOT EXISTS idx_").append(indexSuffix).append("_created_at_id ON ").append(tableName).append("(created_at DESC, id DESC);");
 
         jdbcTemplate.execute(sql.toString());
+        tableExistenceRegistry.addPlatformTable(tableName);
         log.info("创建实例表成功：{}", tableName);
     }
 
+    /**
+     * 确保平台存储中的实例表存在，不存在时创建
+     * 已登记的表不查询数据库目录
+     *
+     * @param objectType 对象类型
+     * @param properties 属性列表
+     */
+    public void ensureInstanceTable(ObjectType objectType, List<Property> properties) {
+        if (!tableExists(objectType)) {
+            createInstanceTable(objectType, properties);
+        }
+    }
+
+    /**
+     * 实例表已不存在（被外部删除）时移除登记，下次写入时重新建表
+     *
+     * @param tableName 实例表名
+     */
+    public void forgetInstanceTable(String tableName) {
+        tableExistenceRegistry.removePlatformTable(tableName);
+        log.warn("实例表不存在，已移除登记：{}", tableName);
+    }
+
     /**
      * 删除实例表
      *
@@ -113,6 +142,7 @@ public class DynamicTableManager {
         String tableName = generateInstanceTableName(objectType);
         String sql = "DROP TABLE IF EXISTS " + tableName;
         jdbcTemplate.execute(sql);
+        tableExistenceRegistry.removePlatformTable(tableName);
         log.info("删除实例表成功：{}", tableName);
     }
 
@@ -130,15 +160,23 @@ public class DynamicTableManager {
 
     /**
      * 检查表是否存在（使用对象类型）
+     * 已登记的表直接返回，未登记时查询数据库目录
      *
      * @param objectType 对象类型
      * @return 表是否存在
      */
     public boolean tableExists(ObjectType objectType) {
         String tableName = generateInstanceTableName(objectType);
+        if (tableExistenceRegistry.isKnownPlatformTable(tableName)) {
+            return true;
+        }
         String sql = "SELECT EXISTS (SELECT FROM information_schema.tables WHERE table_schema = 'public' AND table_name = ?)";
         Boolean exists = jdbcTemplate.queryForObject(sql, Boolean.class, tableName);
-        return exists != null && exists;
+        if (exists != null && exists) {
+            tableExistenceRegistry.addPlatformTable(tableName);
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -390,6 +428,16 @@ public class DynamicTableManager {
                 stmt.execute(sql.toString());
                 log.info("在数据源 {} 中创建实例表成功：{}", datasource.getName(), tableName);
             }
+            tableExistenceRegistry.addDatasourceTable(datasource.getId(), tableName);
+
+            // 创建分页排序索引，失败不影响表的使用
+            String indexSql = "CREATE INDEX " + escapeTableName(datasource.getType(), "idx_" + sanitizeTableName(tableName) + "_created_at_id")
+                + " ON " + escapeTableName(datasource.getType(), tableName) + " (created_at DESC, id DESC)";
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute(indexSql);
+            } catch (SQLException e) {
+                log.warn("在数据源 {} 中创建实例表索引失败：{}，{}", datasource.getName(), tableName, e.getMessage());
+            }
         } catch (SQLException e) {
             log.error("在数据源 {} 中创建实例表失败：{}", datasource.getName(), tableName, e);
             throw new BusinessException("在数据源中创建实例表失败：" + e.getMessage());
@@ -398,6 +446,7 @@ public class DynamicTableManager {
 
     /**
      * 检查表是否在数据源中存在
+     * 已登记的表直接返回，未登记时查询数据库元数据
      *
      * @param connection 数据源连接
      * @param datasource 数据源
@@ -405,6 +454,9 @@ public class DynamicTableManager {
      * @return 表是否存在
      */
     public boolean tableExistsInDatasource(Connection connection, DataSource datasource, String tableName) {
+        if (tableExistenceRegistry.isKnownDatasourceTable(datasource.getId(), tableName)) {
+            return true;
+        }
         try {
             // 使用 JDBC DatabaseMetaData 检查表是否存在
             java.sql.DatabaseMetaData metaData = connection.getMetaData();
@@ -416,7 +468,11 @@ public class DynamicTableManager {
             String actualCatalog = normalizeCatalogName(metaData, catalog);
             
             try (java.sql.ResultSet rs = metaData.getTables(actualCatalog, actualSchema, tableName, new String[]{"TABLE"})) {
-                return rs.next();
+                if (rs.next()) {
+                    tableExistenceRegistry.addDatasourceTable(datasource.getId(), tableName);
+                    return true;
+                }
+                return false;
             }
         } catch (SQLException e) {
             log.error("检查表是否存在失败：{}", tableName, e);
@@ -424,6 +480,52 @@ public class DynamicTableManager {
         }
     }
 
+    /**
+     * 检查表是否在数据源中存在
+     * 已登记的表不获取连接
+     *
+     * @param datasource 数据源
+     * @param tableName 表名
+     * @return 表是否存在
+     */
+    public boolean tableExistsInDatasource(DataSource datasource, String tableName) {
+        if (tableExistenceRegistry.isKnownDatasourceTable(datasource.getId(), tableName)) {
+            return true;
+        }
+        try (Connection connection = dataSourceConnectionManager.getConnection(datasource)) {
+            return tableExistsInDatasource(connection, datasource, tableName);
+        } catch (SQLException e) {
+            throw new BusinessException("连接存储库失败：" + datasource.getName() + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * 确保存储库中的实例表存在，不存在时创建
+     * 已登记的表不获取连接、不查询数据库元数据
+     *
+     * @param datasource 数据源
+     * @param tableName 表名
+     * @param objectType 对象类型
+     * @param properties 属性列表
+     */
+    public void ensureInstanceTableInDatasource(DataSource datasource, String tableName,
+                                                ObjectType objectType, List<Property> properties) {
+        if (!tableExistsInDatasource(datasource, tableName)) {
+            createInstanceTableInDatasource(datasource, tableName, objectType, properties);
+        }
+    }
+
+    /**
+     * 存储库中的实例表已不存在（被外部删除）时移除登记，下次写入时重新建表
+     *
+     * @param datasource 数据源
+     * @param tableName 表名
+     */
+    public void forgetInstanceTableInDatasource(DataSource datasource, String tableName) {
+        tableExistenceRegistry.removeDatasourceTable(datasource.getId(), tableName);
+        log.warn("数据源 {} 中实例表不存在，已移除登记：{}", datasource.getName(), tableName);
+    }
+
     /**
      * 转义表名/字段名（根据数据库类型）
      *
@@ -1,16 +1,39 @@
 package com.example.datamodel.core;
 
 import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import com.example.datamodel.core.cache.LocalCache;
 import com.example.datamodel.entity.Function;
 import com.example.datamodel.exception.BusinessException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.script.Invocable;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 函数执行引擎
@@ -27,6 +50,12 @@ import java.util.Map;
  *
  * 说明：
  * - 基于 Java 8 自带的 Nashorn 引擎实现，不引入额外依赖；
+ * - 函数代码按（函数ID, 更新时间）编译一次并缓存，函数更新后自动重新编译；
+ * - 每次调用使用独立的 Bindings（独立的全局作用域），并发调用之间的全局变量和函数定义互不影响；
+ * - 函数在独立的有界线程池中执行，不占用请求线程；超过执行时限（函数元数据 timeoutMs，包括排队时间）的调用被取消，
+ *   线程池和队列已满时直接拒绝，异常函数只影响函数执行本身；
+ * - 超时的调用通过中断取消；Nashorn 不响应线程中断，死循环的脚本在取消后仍会占用工作线程，
+ *   此时放弃该线程并临时补充一个工作线程（最多补充 threads 个），脚本结束后恢复线程池大小；
  * - 仅用于演示和轻量级计算，不适合作为高负载的通用脚本执行环境。
  *
  * @author DataModel Team
@@ -35,8 +64,67 @@ import java.util.Map;
 @Component
 public class FunctionExecutor {
 
+    /**
+     * 脚本中传入参数的全局变量名
+     */
+    private static final String INPUT_BINDING = "__functionInput";
+
+    /**
+     * 脚本中表示"未定义函数"的全局变量名
+     */
+    private static final String MISSING_BINDING = "__functionMissing";
+
+    private static final Object MISSING = new Object();
+
+    @Value("${datamodel.function.script-cache.max-size:500}")
+    private int cacheMaxSize;
+
+    @Value("${datamodel.function.script-cache.ttl-seconds:3600}")
+    private long cacheTtlSeconds;
+
+    @Value("${datamodel.function.executor.threads:8}")
+    private int threads;
+
+    @Value("${datamodel.function.executor.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${datamodel.function.executor.default-timeout-ms:5000}")
+    private long defaultTimeoutMs;
+
+    @Value("${datamodel.function.executor.max-timeout-ms:60000}")
+    private long maxTimeoutMs;
+
+    @Value("${datamodel.function.executor.overdue-check-ms:1000}")
+    private long overdueCheckMs;
+
     private final ScriptEngine engine;
 
+    private LocalCache<UUID, CachedScript> scripts;
+
+    private ThreadPoolExecutor workers;
+
+    /**
+     * 超时后检查工作线程是否仍在运行
+     */
+    private ScheduledExecutorService watchdog;
+
+    private final AtomicLong submitted = new AtomicLong();
+
+    private final AtomicLong completed = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong timedOut = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicLong abandoned = new AtomicLong();
+
+    /**
+     * 已超时但仍占用工作线程的调用数
+     */
+    private final AtomicInteger overdueRunning = new AtomicInteger();
+
     public FunctionExecutor() {
         ScriptEngineManager manager = new ScriptEngineManager();
         this.engine = manager.getEngineByName("nashorn");
@@ -45,6 +133,31 @@ public class FunctionExecutor {
         }
     }
 
+    @PostConstruct
+    public void init() {
+        scripts = new LocalCache<>("functionScripts", cacheMaxSize, cacheTtlSeconds * 1000);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        workers = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            r -> {
+                Thread thread = new Thread(r, "function-worker-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "function-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+        watchdog.shutdownNow();
+    }
+
     /**
      * 执行函数
      *
@@ -63,17 +176,69 @@ public class FunctionExecutor {
             throw new BusinessException("函数代码为空：" + function.getName());
         }
 
+        long timeoutMs = resolveTimeoutMs(function);
+        AtomicReference<Thread> runner = new AtomicReference<>();
+        Future<Object> future;
+        try {
+            future = workers.submit(() -> {
+                runner.set(Thread.currentThread());
+                try {
+                    return invoke(function, input);
+                } finally {
+                    runner.set(null);
+                }
+            });
+            submitted.incrementAndGet();
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            log.warn("函数执行队列已满，拒绝执行：{}", function.getName());
+            throw new BusinessException("函数执行繁忙，请稍后重试：" + function.getName());
+        }
+
+        try {
+            Object result = future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            completed.incrementAndGet();
+            return result;
+        } catch (TimeoutException e) {
+            timedOut.incrementAndGet();
+            future.cancel(true);
+            log.warn("函数执行超时（{}ms），已取消：{}", timeoutMs, function.getName());
+            watchOverdue(function, runner);
+            throw new BusinessException("函数执行超时（" + timeoutMs + "ms）：" + function.getName());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusinessException("函数执行被中断：" + function.getName());
+        } catch (ExecutionException e) {
+            failed.incrementAndGet();
+            if (e.getCause() instanceof BusinessException) {
+                throw (BusinessException) e.getCause();
+            }
+            log.error("执行函数发生未知异常，name={}", function.getName(), e.getCause());
+            throw new BusinessException("执行函数发生未知异常：" + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * 在工作线程中执行函数脚本
+     */
+    private Object invoke(Function function, Map<String, Object> input) {
         String funcName = function.getName();
         try {
-            // 1. 先在引擎中评估函数代码
-            engine.eval(function.getCode());
+            // 1. 取得编译后的脚本（函数未变更时复用）
+            CompiledScript compiled = getCompiledScript(function);
 
-            // 2. 将输入参数作为 JSON 字符串注入，并在脚本中解析为对象
-            //    也可以直接将 Map 传入 Invocable 调用
-            Invocable invocable = (Invocable) engine;
+            // 2. 每次调用使用独立的全局作用域，输入参数作为全局变量注入
+            Bindings bindings = engine.createBindings();
+            bindings.put(INPUT_BINDING, input);
+            bindings.put(MISSING_BINDING, MISSING);
 
-            // 3. 调用 JS 函数：functionName(input)
-            Object result = invocable.invokeFunction(funcName, input);
+            // 3. 执行函数代码并调用 JS 函数：functionName(input)
+            Object result = compiled.eval(bindings);
+            if (result == MISSING) {
+                log.error("在脚本中未找到函数：{}，请确认函数名与 Function.name 保持一致", funcName);
+                throw new BusinessException("在脚本中未找到函数：" + funcName);
+            }
 
             // 4. 尝试将结果转换为更友好的结构（例如 JSON 字符串 -> Map）
             if (result instanceof String) {
@@ -87,17 +252,158 @@ public class FunctionExecutor {
             }
 
             return result;
+        } catch (BusinessException e) {
+            throw e;
         } catch (ScriptException e) {
             log.error("执行函数脚本异常，name={}, code={}", function.getName(), function.getCode(), e);
             throw new BusinessException("执行函数脚本异常：" + e.getMessage());
-        } catch (NoSuchMethodException e) {
-            log.error("在脚本中未找到函数：{}，请确认函数名与 Function.name 保持一致", funcName, e);
-            throw new BusinessException("在脚本中未找到函数：" + funcName);
         } catch (Exception e) {
             log.error("执行函数发生未知异常，name={}", function.getName(), e);
             throw new BusinessException("执行函数发生未知异常：" + e.getMessage());
         }
     }
-}
 
+    /**
+     * 函数执行统计：线程池、队列、超时、拒绝次数和编译缓存
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", workers.getMaximumPoolSize());
+        stats.put("activeThreads", workers.getActiveCount());
+        stats.put("queueSize", workers.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("submitted", submitted.get());
+        stats.put("completed", completed.get());
+        stats.put("failed", failed.get());
+        stats.put("timedOut", timedOut.get());
+        stats.put("rejected", rejected.get());
+        stats.put("overdueRunning", overdueRunning.get());
+        stats.put("abandoned", abandoned.get());
+        stats.put("defaultTimeoutMs", defaultTimeoutMs);
+        stats.put("scriptCache", scripts.getStats());
+        return stats;
+    }
+
+    /**
+     * 函数执行时限：函数元数据中的 timeoutMs，未配置时使用默认值，不超过上限
+     */
+    private long resolveTimeoutMs(Function function) {
+        long timeoutMs = defaultTimeoutMs;
+        if (function.getMetadata() != null && !function.getMetadata().isEmpty()) {
+            try {
+                JSONObject metadata = JSON.parseObject(function.getMetadata());
+                Long configured = metadata != null ? metadata.getLong("timeoutMs") : null;
+                if (configured != null && configured > 0) {
+                    timeoutMs = configured;
+                }
+            } catch (Exception e) {
+                log.warn("解析函数元数据失败，使用默认执行时限：{} - {}", function.getName(), e.getMessage());
+            }
+        }
+        return Math.min(timeoutMs, maxTimeoutMs);
+    }
+
+    /**
+     * 取消后脚本可能仍在运行（Nashorn 不响应中断）：检查间隔后仍未结束时放弃该工作线程，
+     * 临时扩大线程池以免可用线程减少，脚本结束后恢复
+     */
+    private void watchOverdue(Function function, AtomicReference<Thread> runner) {
+        if (runner.get() == null) {
+            return;
+        }
+        watchdog.schedule(() -> {
+            Thread running = runner.get();
+            if (running == null) {
+                return;
+            }
+            if (overdueRunning.incrementAndGet() <= threads) {
+                resizeWorkers(1);
+                abandoned.incrementAndGet();
+                log.error("函数取消后仍未结束，放弃该工作线程并补充新线程：{} - {}", function.getName(), running.getName());
+            } else {
+                log.error("函数取消后仍未结束，继续占用工作线程：{} - {}", function.getName(), running.getName());
+            }
+            waitAndRelease(runner);
+        }, overdueCheckMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 被放弃的工作线程结束后恢复线程池大小
+     */
+    private void waitAndRelease(AtomicReference<Thread> runner) {
+        if (runner.get() == null) {
+            if (overdueRunning.getAndDecrement() <= threads) {
+                resizeWorkers(-1);
+            }
+        } else {
+            watchdog.schedule(() -> waitAndRelease(runner), overdueCheckMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 调整工作线程数（核心线程数与最大线程数相同，扩大时先调最大值，缩小时先调核心值）
+     */
+    private synchronized void resizeWorkers(int delta) {
+        int size = workers.getMaximumPoolSize() + delta;
+        if (delta > 0) {
+            workers.setMaximumPoolSize(size);
+            workers.setCorePoolSize(size);
+        } else {
+            workers.setCorePoolSize(size);
+            workers.setMaximumPoolSize(size);
+        }
+    }
+
+    /**
+     * 获取函数编译后的脚本：按函数ID缓存，函数名或更新时间变化时重新编译；未保存的函数（无ID）每次编译
+     */
+    private CompiledScript getCompiledScript(Function function) throws ScriptException {
+        if (function.getId() == null) {
+            return compile(function);
+        }
+        CachedScript cached = scripts.getIfPresent(function.getId());
+        if (cached == null || !cached.matches(function)) {
+            cached = new CachedScript(function, compile(function));
+            scripts.put(function.getId(), cached);
+        }
+        return cached.compiled;
+    }
+
+    /**
+     * 编译函数代码：先执行函数定义，再以全局对象为 this 调用与函数同名的全局函数；
+     * 函数未定义时返回 MISSING 标记（与 Invocable.invokeFunction 的 NoSuchMethodException 对应）
+     */
+    private CompiledScript compile(Function function) throws ScriptException {
+        String script = function.getCode()
+            + "\n;(function (global) {\n"
+            + "    var fn = global[" + JSON.toJSONString(function.getName()) + "];\n"
+            + "    return typeof fn === 'function' ? fn.call(global, " + INPUT_BINDING + ") : " + MISSING_BINDING + ";\n"
+            + "})(this);";
+        long start = System.currentTimeMillis();
+        CompiledScript compiled = ((Compilable) engine).compile(script);
+        log.debug("编译函数脚本：{}，{}ms", function.getName(), System.currentTimeMillis() - start);
+        return compiled;
+    }
+
+    /**
+     * 缓存的编译结果
+     */
+    private static class CachedScript {
+
+        private final String name;
+
+        private final LocalDateTime updatedAt;
 
+        private final CompiledScript compiled;
+
+        CachedScript(Function function, CompiledScript compiled) {
+            this.name = function.getName();
+            this.updatedAt = function.getUpdatedAt();
+            this.compiled = compiled;
+        }
+
+        boolean matches(Function function) {
+            return Objects.equals(name, function.getName()) && Objects.equals(updatedAt, function.getUpdatedAt());
+        }
+    }
+}
@@ -1,15 +1,30 @@
 package com.example.datamodel.core;
 
+import com.example.datamodel.core.graph.LinkAdjacency;
+import com.example.datamodel.core.graph.LinkGraph;
+import com.example.datamodel.core.graph.LinkGraphIndex;
+import com.example.datamodel.core.graph.OntologyGraph;
+import com.example.datamodel.core.graph.OntologyGraphRegistry;
 import com.example.datamodel.entity.LinkInstance;
 import com.example.datamodel.entity.LinkType;
 import com.example.datamodel.entity.ObjectType;
+import com.example.datamodel.exception.BusinessException;
+import com.example.datamodel.service.InstanceService;
 import com.example.datamodel.service.LinkInstanceService;
 import com.example.datamodel.service.LinkTypeService;
 import com.example.datamodel.service.ObjectTypeService;
+import com.example.datamodel.utils.SqlDialectUtils;
+import com.example.datamodel.vo.PathQueryResult;
+import com.example.datamodel.vo.RelatedInstancesResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.sql.PreparedStatement;
 import java.util.*;
 
 /**
@@ -34,6 +49,65 @@ public class QueryEngine {
     @Autowired
     private ObjectTypeService objectTypeService;
 
+    @Autowired
+    @Lazy
+    private InstanceService instanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LinkGraphIndex linkGraphIndex;
+
+    @Autowired
+    private OntologyGraphRegistry ontologyGraphRegistry;
+
+    /**
+     * 多跳关联查询的遍历方式：AUTO（优先内存图索引，未加载时使用递归SQL，失败时回退BFS）、MEMORY_GRAPH、RECURSIVE_SQL、BFS
+     */
+    @Value("${datamodel.query.traversal.mode:AUTO}")
+    private String traversalMode;
+
+    @Value("${datamodel.query.traversal.max-depth:6}")
+    private int traversalMaxDepth;
+
+    @Value("${datamodel.query.traversal.max-results:10000}")
+    private int traversalMaxResults;
+
+    @Value("${datamodel.query.traversal.timeout-seconds:10}")
+    private int traversalTimeoutSeconds;
+
+    @Value("${datamodel.query.path.max-paths:100}")
+    private int pathMaxPaths;
+
+    @Value("${datamodel.query.path.max-visited-nodes:100000}")
+    private int pathMaxVisitedNodes;
+
+    @Value("${datamodel.query.path.time-budget-ms:5000}")
+    private long pathTimeBudgetMs;
+
+    /**
+     * 多跳关联的递归查询
+     * 每轮从上一轮到达的实例出发，分别按源实例、目标实例走邻接索引扩展一跳；
+     * UNION 按 (实例, 深度) 去重，环路不会使中间结果无限增长，中间结果不超过 实例数 * 深度；
+     * 不用路径数组判环：那样会枚举所有简单路径，在枢纽节点上呈指数增长
+     * 结果按轮次（即深度）顺序产生，外层 LIMIT 到达后递归提前终止
+     */
+    private static final String RELATED_INSTANCES_SQL =
+        "WITH RECURSIVE walk(instance_id, depth) AS (\n" +
+        "    SELECT CAST(? AS UUID), 0\n" +
+        "    UNION\n" +
+        "    SELECT n.neighbor_id, w.depth + 1\n" +
+        "    FROM walk w\n" +
+        "    CROSS JOIN LATERAL (\n" +
+        "        SELECT l.target_instance_id AS neighbor_id FROM link_instances l WHERE l.source_instance_id = w.instance_id\n" +
+        "        UNION ALL\n" +
+        "        SELECT l.source_instance_id FROM link_instances l WHERE l.target_instance_id = w.instance_id\n" +
+        "    ) n\n" +
+        "    WHERE w.depth < ?\n" +
+        ")\n" +
+        "SELECT instance_id, depth FROM walk WHERE depth > 0 LIMIT ?";
+
     // ==================== 对象类型关系查询（模型级别） ====================
 
     /**
@@ -44,16 +118,18 @@ public class QueryEngine {
      * @return 链接类型列表
      */
     public List<LinkType> findLinkTypesByObjectType(String objectTypeName) {
-        ObjectType objectType = objectTypeService.getByName(objectTypeName);
+        OntologyGraph graph = ontologyGraphRegistry.get();
+        ObjectType objectType = graph.getObjectTypeByName(objectTypeName);
         if (objectType == null) {
             throw new RuntimeException("对象类型不存在：" + objectTypeName);
         }
-        return linkTypeService.getByObjectTypeId(objectType.getId());
+        return graph.getLinkTypes(objectType.getId());
     }
 
     /**
      * 查询对象类型之间的关系路径
      * 查询从一个对象类型到另一个对象类型可以通过哪些链接类型连接
+     * 在内存模型图上查询，结果按 (源类型, 目标类型, 深度) 记忆
      *
      * @param sourceObjectTypeName 源对象类型名称
      * @param targetObjectTypeName 目标对象类型名称
@@ -61,9 +137,10 @@ public class QueryEngine {
      * @return 路径列表（每个路径是一个LinkType列表）
      */
     public List<List<LinkType>> findObjectTypePaths(String sourceObjectTypeName, String targetObjectTypeName, int maxDepth) {
-        ObjectType sourceType = objectTypeService.getByName(sourceObjectTypeName);
-        ObjectType targetType = objectTypeService.getByName(targetObjectTypeName);
-        
+        OntologyGraph graph = ontologyGraphRegistry.get();
+        ObjectType sourceType = graph.getObjectTypeByName(sourceObjectTypeName);
+        ObjectType targetType = graph.getObjectTypeByName(targetObjectTypeName);
+
         if (sourceType == null) {
             throw new RuntimeException("源对象类型不存在：" + sourceObjectTypeName);
         }
@@ -71,55 +148,7 @@ public class QueryEngine {
             throw new RuntimeException("目标对象类型不存在：" + targetObjectTypeName);
         }
 
-        List<List<LinkType>> paths = new ArrayList<>();
-        Set<UUID> visited = new HashSet<>();
-        List<LinkType> currentPath = new ArrayList<>();
-
-        dfsFindObjectTypePath(sourceType.getId(), targetType.getId(), visited, currentPath, paths, maxDepth, 0);
-
-        return paths;
-    }
-
-    /**
-     * 深度优先搜索查找对象类型路径
-     */
-    private void dfsFindObjectTypePath(UUID currentTypeId, UUID targetTypeId, Set<UUID> visited,
-                                      List<LinkType> currentPath, List<List<LinkType>> paths,
-                                      int maxDepth, int currentDepth) {
-        if (currentDepth > maxDepth) {
-            return;
-        }
-
-        if (currentTypeId.equals(targetTypeId)) {
-            paths.add(new ArrayList<>(currentPath));
-            return;
-        }
-
-        visited.add(currentTypeId);
-
-        // 查找所有以当前对象类型为源或目标的链接类型
-        List<LinkType> linkTypes = linkTypeService.getByObjectTypeId(currentTypeId);
-
-        for (LinkType linkType : linkTypes) {
-            UUID nextTypeId = null;
-            boolean isSource = linkType.getSourceObjectTypeId().equals(currentTypeId);
-            boolean isTarget = linkType.getTargetObjectTypeId().equals(currentTypeId);
-
-            // 模型级对象类型关系查询视为无向图：只要当前类型参与该链接，就可到达另一端类型
-            if (isSource) {
-                nextTypeId = linkType.getTargetObjectTypeId();
-            } else if (isTarget) {
-                nextTypeId = linkType.getSourceObjectTypeId();
-            }
-
-            if (nextTypeId != null && !visited.contains(nextTypeId)) {
-                currentPath.add(linkType);
-                dfsFindObjectTypePath(nextTypeId, targetTypeId, visited, currentPath, paths, maxDepth, currentDepth + 1);
-                currentPath.remove(currentPath.size() - 1);
-            }
-        }
-
-        visited.remove(currentTypeId);
+        return graph.findPaths(sourceType.getId(), targetType.getId(), maxDepth);
     }
 
     /**
@@ -128,53 +157,15 @@ public class QueryEngine {
      *
      * @param objectTypeName 对象类型名称
      * @param depth 查询深度
-     * @return 可达的对象类型列表
+     * @return 可达的对象类型列表（按跳数从近到远）
      */
     public List<ObjectType> findReachableObjectTypes(String objectTypeName, int depth) {
-        ObjectType objectType = objectTypeService.getByName(objectTypeName);
+        OntologyGraph graph = ontologyGraphRegistry.get();
+        ObjectType objectType = graph.getObjectTypeByName(objectTypeName);
         if (objectType == null) {
             throw new RuntimeException("对象类型不存在：" + objectTypeName);
         }
-
-        Set<UUID> result = new HashSet<>();
-        Set<UUID> currentLevel = new HashSet<>();
-        currentLevel.add(objectType.getId());
-        result.add(objectType.getId());
-
-        for (int i = 0; i < depth; i++) {
-            Set<UUID> nextLevel = new HashSet<>();
-            for (UUID typeId : currentLevel) {
-                List<LinkType> linkTypes = linkTypeService.getByObjectTypeId(typeId);
-                for (LinkType linkType : linkTypes) {
-                    UUID nextTypeId = null;
-                    boolean isSource = linkType.getSourceObjectTypeId().equals(typeId);
-                    boolean isTarget = linkType.getTargetObjectTypeId().equals(typeId);
-
-                    // 模型级对象类型关系查询视为无向图：只要当前类型参与该链接，就可到达另一端类型
-                    if (isSource) {
-                        nextTypeId = linkType.getTargetObjectTypeId();
-                    } else if (isTarget) {
-                        nextTypeId = linkType.getSourceObjectTypeId();
-                    }
-
-                    if (nextTypeId != null && !result.contains(nextTypeId)) {
-                        nextLevel.add(nextTypeId);
-                        result.add(nextTypeId);
-                    }
-                }
-            }
-            currentLevel = nextLevel;
-            if (currentLevel.isEmpty()) {
-                break;
-            }
-        }
-
-        result.remove(objectType.getId()); // 移除自身
-
-        return result.stream()
-                .map(id -> objectTypeService.getById(id))
-                .filter(Objects::nonNull)
-                .collect(java.util.stream.Collectors.toList());
+        return graph.findReachable(objectType.getId(), depth);
     }
 
     // ==================== 实例关系查询（数据级别） ====================
@@ -246,18 +237,24 @@ public class QueryEngine {
      */
     public List<UUID> findNeighbors(UUID instanceId, String linkTypeName) {
         List<LinkInstance> linkInstances;
+        LinkGraph graph = linkGraphIndex.current();
 
         if (linkTypeName != null && !linkTypeName.isEmpty()) {
             LinkType linkType = linkTypeService.getByName(linkTypeName);
             if (linkType == null) {
                 throw new RuntimeException("链接类型不存在：" + linkTypeName);
             }
+            if (graph != null) {
+                return new ArrayList<>(graph.neighbors(instanceId, linkType.getId()));
+            }
             // 获取作为源实例的链接
             List<LinkInstance> sourceLinks = linkInstanceService.getByLinkTypeAndSource(linkType.getId(), instanceId);
             // 获取作为目标实例的链接
             List<LinkInstance> targetLinks = linkInstanceService.getByLinkTypeAndTarget(linkType.getId(), instanceId);
             linkInstances = new ArrayList<>(sourceLinks);
             linkInstances.addAll(targetLinks);
+        } else if (graph != null) {
+            return new ArrayList<>(graph.neighbors(instanceId, null));
         } else {
             linkInstances = linkInstanceService.getByInstanceId(instanceId);
         }
@@ -287,15 +284,13 @@ public class QueryEngine {
         currentLevel.add(instanceId);
         result.add(instanceId);
 
+        // 每层一次（分块）查询取得整层实例的邻居，查询次数与深度成正比而不是与节点数成正比
         for (int i = 0; i < depth; i++) {
             Set<UUID> nextLevel = new HashSet<>();
-            for (UUID id : currentLevel) {
-                List<UUID> neighbors = findNeighbors(id, null);
-                for (UUID neighborId : neighbors) {
-                    if (!result.contains(neighborId)) {
-                        nextLevel.add(neighborId);
-                        result.add(neighborId);
-                    }
+            for (UUID neighborId : expandInstances(currentLevel)) {
+                if (!result.contains(neighborId)) {
+                    nextLevel.add(neighborId);
+                    result.add(neighborId);
                 }
             }
             currentLevel = nextLevel;
@@ -307,5 +302,399 @@ public class QueryEngine {
         result.remove(instanceId); // 移除自身
         return new ArrayList<>(result);
     }
-}
 
+    /**
+     * 查询指定深度的所有关联实例（优先内存图索引，其次单条递归SQL，失败时回退到逐层BFS）
+     *
+     * @param instanceId 实例ID
+     * @param depth 深度
+     * @param limit 结果上限（为空或超过配置上限时使用配置上限）
+     * @param mode 遍历方式：AUTO、MEMORY_GRAPH、RECURSIVE_SQL、BFS（为空时使用配置值）
+     * @return 关联实例及实际使用的遍历方式
+     */
+    public RelatedInstancesResult traverseRelatedInstances(UUID instanceId, int depth, Integer limit, String mode) {
+        if (depth < 1 || depth > traversalMaxDepth) {
+            throw new BusinessException("查询深度必须在 1 到 " + traversalMaxDepth + " 之间");
+        }
+        int maxResults = limit != null && limit > 0 ? Math.min(limit, traversalMaxResults) : traversalMaxResults;
+        String strategy = (mode != null && !mode.isEmpty() ? mode : traversalMode).toUpperCase();
+        if (!"AUTO".equals(strategy) && !RelatedInstancesResult.MEMORY_GRAPH.equals(strategy)
+            && !RelatedInstancesResult.RECURSIVE_SQL.equals(strategy) && !RelatedInstancesResult.BFS.equals(strategy)) {
+            throw new BusinessException("不支持的遍历方式：" + mode);
+        }
+        LinkGraph graph = linkGraphIndex.current();
+        if (RelatedInstancesResult.MEMORY_GRAPH.equals(strategy) && graph == null) {
+            throw new BusinessException("链接实例图索引未启用、尚未加载完成或已过期");
+        }
+
+        long start = System.currentTimeMillis();
+        RelatedInstancesResult result = new RelatedInstancesResult();
+        result.setDepth(depth);
+        Map<UUID, Integer> depths = null;
+        if (graph != null && ("AUTO".equals(strategy) || RelatedInstancesResult.MEMORY_GRAPH.equals(strategy))) {
+            LinkGraph.Traversal traversal = graph.traverse(instanceId, depth, maxResults);
+            depths = traversal.getDepths();
+            result.setTruncated(traversal.isTruncated());
+            result.setStrategy(RelatedInstancesResult.MEMORY_GRAPH);
+        }
+        if (depths == null && !RelatedInstancesResult.BFS.equals(strategy)) {
+            try {
+                depths = traverseByRecursiveSql(instanceId, depth, maxResults, result);
+                result.setStrategy(RelatedInstancesResult.RECURSIVE_SQL);
+            } catch (DataAccessException e) {
+                if (SqlDialectUtils.isQueryCanceled(e)) {
+                    throw new BusinessException("关联实例查询超时，请减小深度或结果上限");
+                }
+                if (RelatedInstancesResult.RECURSIVE_SQL.equals(strategy)) {
+                    throw e;
+                }
+                log.warn("递归SQL关联查询失败，回退到BFS：{}", e.getMessage());
+                result.setFallbackReason(e.getMostSpecificCause().getMessage());
+            }
+        }
+        if (depths == null) {
+            depths = traverseByBfs(instanceId, depth, maxResults, result);
+            result.setStrategy(RelatedInstancesResult.BFS);
+        }
+        for (Map.Entry<UUID, Integer> entry : depths.entrySet()) {
+            result.getInstanceIds().add(entry.getKey());
+            result.getDepths().add(entry.getValue());
+        }
+        result.setElapsedMs(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * 单条递归SQL完成多跳扩展
+     * 同一实例在不同深度各出现一次，每个实例最多 depth 行，因此最多读取 maxResults * depth + 1 行即可得到前 maxResults 个实例
+     */
+    private Map<UUID, Integer> traverseByRecursiveSql(UUID instanceId, int depth, int maxResults, RelatedInstancesResult result) {
+        long rowLimit = (long) maxResults * depth + 1;
+        Map<UUID, Integer> depths = new LinkedHashMap<>();
+        int[] rows = new int[1];
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(RELATED_INSTANCES_SQL);
+            ps.setObject(1, instanceId);
+            ps.setInt(2, depth);
+            ps.setLong(3, rowLimit);
+            ps.setQueryTimeout(traversalTimeoutSeconds);
+            return ps;
+        }, rs -> {
+            rows[0]++;
+            UUID id = rs.getObject(1, UUID.class);
+            if (!id.equals(instanceId) && !depths.containsKey(id) && depths.size() <= maxResults) {
+                depths.put(id, rs.getInt(2));
+            }
+        });
+        if (depths.size() > maxResults || rows[0] >= rowLimit) {
+            result.setTruncated(true);
+        }
+        return truncate(depths, maxResults);
+    }
+
+    /**
+     * 逐层广度优先扩展（每层一次批量邻居查询）
+     */
+    private Map<UUID, Integer> traverseByBfs(UUID instanceId, int depth, int maxResults, RelatedInstancesResult result) {
+        Map<UUID, Integer> depths = new LinkedHashMap<>();
+        Set<UUID> visited = new HashSet<>();
+        visited.add(instanceId);
+        Set<UUID> currentLevel = Collections.singleton(instanceId);
+        for (int level = 1; level <= depth && !currentLevel.isEmpty(); level++) {
+            Set<UUID> nextLevel = new LinkedHashSet<>();
+            for (UUID neighborId : expandInstances(currentLevel)) {
+                if (visited.add(neighborId)) {
+                    if (depths.size() == maxResults) {
+                        result.setTruncated(true);
+                        return depths;
+                    }
+                    depths.put(neighborId, level);
+                    nextLevel.add(neighborId);
+                }
+            }
+            currentLevel = nextLevel;
+        }
+        return depths;
+    }
+
+    /**
+     * 一次（分块）查询取得一层实例的所有邻居，图索引可用时在内存中扩展
+     */
+    private Set<UUID> expandInstances(Set<UUID> instanceIds) {
+        LinkGraph graph = linkGraphIndex.current();
+        if (graph != null) {
+            return graph.expand(instanceIds);
+        }
+        Set<UUID> neighborIds = new LinkedHashSet<>();
+        for (LinkInstance linkInstance : linkInstanceService.getByInstanceIds(instanceIds)) {
+            if (instanceIds.contains(linkInstance.getSourceInstanceId())) {
+                neighborIds.add(linkInstance.getTargetInstanceId());
+            }
+            if (instanceIds.contains(linkInstance.getTargetInstanceId())) {
+                neighborIds.add(linkInstance.getSourceInstanceId());
+            }
+        }
+        return neighborIds;
+    }
+
+    private static Map<UUID, Integer> truncate(Map<UUID, Integer> depths, int maxResults) {
+        if (depths.size() <= maxResults) {
+            return depths;
+        }
+        Map<UUID, Integer> truncated = new LinkedHashMap<>();
+        for (Map.Entry<UUID, Integer> entry : depths.entrySet()) {
+            if (truncated.size() == maxResults) {
+                break;
+            }
+            truncated.put(entry.getKey(), entry.getValue());
+        }
+        return truncated;
+    }
+
+    /**
+     * 查询实例之间的路径（有界）
+     * - SHORTEST：双向BFS，每次扩展较小一侧的整层边界（一次批量邻接查询），两侧相遇即得到最短路径
+     * - K_SHORTEST：两侧各按层批量加载一半深度的邻域到内存，在内存中按长度从短到长枚举前 k 条简单路径
+     * 两种方式都受访问节点数和时间预算限制，达到限制时返回已有结果并标记截断
+     *
+     * @param sourceObjectType 源对象类型（可选，指定时校验源实例存在且属于该对象类型）
+     * @param sourceInstanceId 源实例ID
+     * @param targetObjectType 目标对象类型（可选，指定时校验目标实例存在且属于该对象类型）
+     * @param targetInstanceId 目标实例ID
+     * @param maxDepth 最大深度
+     * @param mode 查询方式：SHORTEST, K_SHORTEST
+     * @param k 最多返回的路径数（K_SHORTEST，为空或超过配置上限时使用配置上限）
+     * @return 路径查询结果
+     */
+    public PathQueryResult searchPaths(String sourceObjectType, UUID sourceInstanceId,
+                                       String targetObjectType, UUID targetInstanceId,
+                                       int maxDepth, String mode, Integer k) {
+        if (maxDepth < 1 || maxDepth > traversalMaxDepth) {
+            throw new BusinessException("查询深度必须在 1 到 " + traversalMaxDepth + " 之间");
+        }
+        requireInstanceOfType(sourceObjectType, sourceInstanceId, "源");
+        requireInstanceOfType(targetObjectType, targetInstanceId, "目标");
+        String pathMode = mode != null && !mode.isEmpty() ? mode.toUpperCase() : PathQueryResult.SHORTEST;
+        if (!PathQueryResult.SHORTEST.equals(pathMode) && !PathQueryResult.K_SHORTEST.equals(pathMode)) {
+            throw new BusinessException("不支持的路径查询方式：" + mode);
+        }
+
+        long start = System.currentTimeMillis();
+        PathQueryResult result = new PathQueryResult();
+        result.setMode(pathMode);
+        result.setMaxDepth(maxDepth);
+        PathBudget budget = new PathBudget(start + pathTimeBudgetMs, pathMaxVisitedNodes);
+        if (PathQueryResult.SHORTEST.equals(pathMode)) {
+            List<LinkInstance> path = findShortestPath(sourceInstanceId, targetInstanceId, maxDepth, budget);
+            if (path != null) {
+                result.getPaths().add(path);
+            }
+        } else {
+            int maxPaths = k != null && k > 0 ? Math.min(k, pathMaxPaths) : pathMaxPaths;
+            result.setPaths(findKShortestPaths(sourceInstanceId, targetInstanceId, maxDepth, maxPaths, budget));
+        }
+        if (budget.truncationReason != null) {
+            result.setTruncated(true);
+            result.setTruncationReason(budget.truncationReason);
+        }
+        result.setVisitedNodes(budget.visitedNodes);
+        result.setQueries(budget.queries);
+        result.setElapsedMs(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * 指定了对象类型时，校验实例存在且属于该对象类型
+     */
+    private void requireInstanceOfType(String objectTypeName, UUID instanceId, String role) {
+        if (objectTypeName == null || objectTypeName.isEmpty()) {
+            return;
+        }
+        if (instanceService.getInstance(objectTypeName, instanceId) == null) {
+            throw new BusinessException(role + "实例不存在或不属于对象类型 " + objectTypeName + "：" + instanceId);
+        }
+    }
+
+    /**
+     * 双向BFS最短路径
+     *
+     * @return 最短路径，不存在（或达到限制前未找到）时返回null
+     */
+    private List<LinkInstance> findShortestPath(UUID sourceId, UUID targetId, int maxDepth, PathBudget budget) {
+        if (sourceId.equals(targetId)) {
+            return new ArrayList<>();
+        }
+        Map<UUID, LinkInstance> viaSource = new HashMap<>();
+        Map<UUID, LinkInstance> viaTarget = new HashMap<>();
+        Map<UUID, Integer> sourceDepths = new HashMap<>();
+        Map<UUID, Integer> targetDepths = new HashMap<>();
+        sourceDepths.put(sourceId, 0);
+        targetDepths.put(targetId, 0);
+        budget.visitedNodes = 2;
+        Set<UUID> sourceFrontier = Collections.singleton(sourceId);
+        Set<UUID> targetFrontier = Collections.singleton(targetId);
+        int sourceLevel = 0;
+        int targetLevel = 0;
+
+        while (!sourceFrontier.isEmpty() && !targetFrontier.isEmpty() && sourceLevel + targetLevel < maxDepth) {
+            if (budget.timeExceeded()) {
+                return null;
+            }
+            // 扩展较小的一侧
+            boolean forward = sourceFrontier.size() <= targetFrontier.size();
+            Set<UUID> frontier = forward ? sourceFrontier : targetFrontier;
+            Map<UUID, Integer> depths = forward ? sourceDepths : targetDepths;
+            Map<UUID, Integer> otherDepths = forward ? targetDepths : sourceDepths;
+            Map<UUID, LinkInstance> via = forward ? viaSource : viaTarget;
+            int level = (forward ? sourceLevel : targetLevel) + 1;
+
+            List<LinkInstance> links = linkInstanceService.getByInstanceIds(frontier);
+            budget.queries++;
+            Set<UUID> next = new LinkedHashSet<>();
+            UUID meeting = null;
+            int meetingLength = Integer.MAX_VALUE;
+            for (LinkInstance link : links) {
+                for (UUID from : new UUID[]{link.getSourceInstanceId(), link.getTargetInstanceId()}) {
+                    if (!frontier.contains(from)) {
+                        continue;
+                    }
+                    UUID to = from.equals(link.getSourceInstanceId()) ? link.getTargetInstanceId() : link.getSourceInstanceId();
+                    if (depths.containsKey(to)) {
+                        continue;
+                    }
+                    depths.put(to, level);
+                    via.put(to, link);
+                    next.add(to);
+                    Integer otherDepth = otherDepths.get(to);
+                    if (otherDepth != null && level + otherDepth < meetingLength) {
+                        meeting = to;
+                        meetingLength = level + otherDepth;
+                    } else if (otherDepth == null && ++budget.visitedNodes > budget.maxVisitedNodes) {
+                        budget.truncationReason = PathQueryResult.NODE_LIMIT;
+                        return null;
+                    }
+                }
+            }
+            if (meeting != null) {
+                return joinPath(meeting, sourceId, targetId, viaSource, viaTarget);
+            }
+            if (forward) {
+                sourceFrontier = next;
+                sourceLevel = level;
+            } else {
+                targetFrontier = next;
+                targetLevel = level;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 由相遇点拼接两侧的路径：源实例 -> 相遇点 -> 目标实例
+     */
+    private static List<LinkInstance> joinPath(UUID meeting, UUID sourceId, UUID targetId,
+                                               Map<UUID, LinkInstance> viaSource, Map<UUID, LinkInstance> viaTarget) {
+        LinkedList<LinkInstance> path = new LinkedList<>();
+        for (UUID node = meeting; !node.equals(sourceId); ) {
+            LinkInstance link = viaSource.get(node);
+            path.addFirst(link);
+            node = link.getSourceInstanceId().equals(node) ? link.getTargetInstanceId() : link.getSourceInstanceId();
+        }
+        for (UUID node = meeting; !node.equals(targetId); ) {
+            LinkInstance link = viaTarget.get(node);
+            path.addLast(link);
+            node = link.getSourceInstanceId().equals(node) ? link.getTargetInstanceId() : link.getSourceInstanceId();
+        }
+        return new ArrayList<>(path);
+    }
+
+    /**
+     * 前 k 条最短简单路径
+     * 长度不超过 L 的路径上的每个节点，要么距源实例不超过 ceil(L/2)，要么距目标实例不超过 floor(L/2)，
+     * 因此源实例一侧扩展 ceil(L/2) 层、目标实例一侧扩展 floor(L/2) 层加载的链接包含所有这类路径的边
+     */
+    private List<List<LinkInstance>> findKShortestPaths(UUID sourceId, UUID targetId, int maxDepth, int maxPaths, PathBudget budget) {
+        LinkAdjacency graph = new LinkAdjacency();
+        Set<UUID> visited = new HashSet<>();
+        boolean complete = loadNeighborhood(sourceId, (maxDepth + 1) / 2, graph, visited, budget)
+            && loadNeighborhood(targetId, maxDepth / 2, graph, visited, budget);
+        budget.visitedNodes = visited.size();
+        if (!complete) {
+            log.warn("路径查询达到限制（{}），在已加载的 {} 个实例上枚举路径", budget.truncationReason, visited.size());
+        }
+        LinkAdjacency.PathEnumeration enumeration = graph.shortestPaths(sourceId, targetId, maxDepth, maxPaths, budget.deadlineMs);
+        if (budget.truncationReason == null) {
+            if (enumeration.isTimeBudgetExceeded()) {
+                budget.truncationReason = PathQueryResult.TIME_BUDGET;
+            } else if (enumeration.isPathLimitReached()) {
+                budget.truncationReason = PathQueryResult.PATH_LIMIT;
+            }
+        }
+        return enumeration.getPaths();
+    }
+
+    /**
+     * 从起点按层批量加载 levels 层邻域的链接
+     *
+     * @return 是否完整加载（未达到节点数或时间限制）
+     */
+    private boolean loadNeighborhood(UUID start, int levels, LinkAdjacency graph, Set<UUID> visited, PathBudget budget) {
+        visited.add(start);
+        Set<UUID> seen = new HashSet<>();
+        seen.add(start);
+        Set<UUID> frontier = Collections.singleton(start);
+        for (int level = 0; level < levels && !frontier.isEmpty(); level++) {
+            if (budget.timeExceeded()) {
+                return false;
+            }
+            List<LinkInstance> links = linkInstanceService.getByInstanceIds(frontier);
+            budget.queries++;
+            graph.addAll(links);
+            Set<UUID> next = new LinkedHashSet<>();
+            for (LinkInstance link : links) {
+                if (frontier.contains(link.getSourceInstanceId()) && seen.add(link.getTargetInstanceId())) {
+                    next.add(link.getTargetInstanceId());
+                }
+                if (frontier.contains(link.getTargetInstanceId()) && seen.add(link.getSourceInstanceId())) {
+                    next.add(link.getSourceInstanceId());
+                }
+            }
+            visited.addAll(next);
+            if (visited.size() > budget.maxVisitedNodes) {
+                budget.truncationReason = PathQueryResult.NODE_LIMIT;
+                return false;
+            }
+            frontier = next;
+        }
+        return true;
+    }
+
+    /**
+     * 单次路径查询的预算和计数
+     */
+    private static final class PathBudget {
+
+        private final long deadlineMs;
+
+        private final int maxVisitedNodes;
+
+        private int visitedNodes;
+
+        private int queries;
+
+        private String truncationReason;
+
+        private PathBudget(long deadlineMs, int maxVisitedNodes) {
+            this.deadlineMs = deadlineMs;
+            this.maxVisitedNodes = maxVisitedNodes;
+        }
+
+        private boolean timeExceeded() {
+            if (System.currentTimeMillis() > deadlineMs) {
+                truncationReason = PathQueryResult.TIME_BUDGET;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.datamodel.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 实例表存在性登记表
+ * 记录已确认存在的实例表（平台存储和各存储库），实例读写前命中登记表时不再查询数据库目录
+ *
+ * - 平台存储的表在应用启动完成后一次性加载，之后由建表、删表操作维护
+ * - 存储库的表在首次确认存在或创建后登记
+ * - 只登记存在的表：未登记的表仍回退到目录查询，因此其他节点新建的表可以被发现
+ * - 表被外部删除时，写入报"表不存在"后由调用方移除登记，下次写入重新建表
+ *
+ * @author DataModel Team
+ */
+@Slf4j
+@Component
+public class TableExistenceRegistry {
+
+    private static final String PLATFORM_TABLES_SQL =
+        "SELECT table_name FROM information_schema.tables WHERE table_schema = 'public'";
+
+    @Value("${datamodel.table-registry.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Set<String> platformTables = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> datasourceTables = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * 应用启动完成后加载平台存储中已有的表
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            loadPlatformTables();
+        }
+    }
+
+    /**
+     * 重新加载平台存储中已有的表
+     */
+    public void loadPlatformTables() {
+        try {
+            List<String> tableNames = jdbcTemplate.queryForList(PLATFORM_TABLES_SQL, String.class);
+            platformTables.clear();
+            platformTables.addAll(tableNames);
+            log.info("已加载平台存储表 {} 个", tableNames.size());
+        } catch (DataAccessException e) {
+            log.warn("加载平台存储表失败，将按需查询：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 平台存储中的表是否已确认存在
+     */
+    public boolean isKnownPlatformTable(String tableName) {
+        return lookup(platformTables, tableName);
+    }
+
+    /**
+     * 登记平台存储中的表（存在事务时在提交后登记，事务回滚时建表也会回滚）
+     */
+    public void addPlatformTable(String tableName) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    platformTables.add(tableName);
+                }
+            });
+        } else {
+            platformTables.add(tableName);
+        }
+    }
+
+    /**
+     * 移除平台存储中的表
+     */
+    public void removePlatformTable(String tableName) {
+        platformTables.remove(tableName);
+    }
+
+    /**
+     * 存储库中的表是否已确认存在
+     */
+    public boolean isKnownDatasourceTable(UUID datasourceId, String tableName) {
+        return lookup(datasourceTables, key(datasourceId, tableName));
+    }
+
+    /**
+     * 登记存储库中的表
+     */
+    public void addDatasourceTable(UUID datasourceId, String tableName) {
+        if (enabled) {
+            datasourceTables.add(key(datasourceId, tableName));
+        }
+    }
+
+    /**
+     * 移除存储库中的表
+     */
+    public void removeDatasourceTable(UUID datasourceId, String tableName) {
+        datasourceTables.remove(key(datasourceId, tableName));
+    }
+
+    /**
+     * 登记表统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long hitCount = hits.get();
+        long requests = hitCount + misses.get();
+        stats.put("enabled", enabled);
+        stats.put("platformTables", platformTables.size());
+        stats.put("datasourceTables", datasourceTables.size());
+        stats.put("hits", hitCount);
+        stats.put("misses", misses.get());
+        stats.put("hitRate", requests == 0 ? 0.0 : (double) hitCount / requests);
+        return stats;
+    }
+
+    private boolean lookup(Set<String> tables, String key) {
+        if (enabled && tables.contains(key)) {
+            hits.incrementAndGet();
+            return true;
+        }
+        misses.incrementAndGet();
+        return false;
+    }
+
+    private static String key(UUID datasourceId, String tableName) {
+        return datasourceId + ":" + tableName;
+    }
+}
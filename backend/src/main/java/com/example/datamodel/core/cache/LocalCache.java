@@ -0,0 +1,182 @@
+package com.example.datamodel.core.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 进程内缓存
+ * 按访问顺序淘汰（LRU），条目超过存活时间后失效，并统计命中率
+ *
+ * 加载在锁外进行：加载期间发生失效时，加载结果不会写入缓存，避免失效前读取的旧值覆盖失效操作
+ * 加载结果为null时不缓存
+ *
+ * @author DataModel Team
+ */
+public class LocalCache<K, V> {
+
+    private final String name;
+
+    private final int maxSize;
+
+    private final long ttlMillis;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    /**
+     * 失效代数：每次失效时递增，用于丢弃失效前开始的加载结果
+     */
+    private long generation;
+
+    private long hits;
+
+    private long misses;
+
+    private long loads;
+
+    private long evictions;
+
+    private long expirations;
+
+    private long invalidations;
+
+    /**
+     * @param name 缓存名称
+     * @param maxSize 最大条目数
+     * @param ttlMillis 条目存活时间（毫秒）
+     */
+    public LocalCache(String name, int maxSize, long ttlMillis) {
+        this.name = name;
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取缓存值，未命中时使用 loader 加载
+     *
+     * @param key 键
+     * @param loader 加载函数
+     * @return 缓存值（可能为null）
+     */
+    public V get(K key, Function<K, V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > System.currentTimeMillis()) {
+                    hits++;
+                    return entry.value;
+                }
+                entries.remove(key);
+                expirations++;
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        V value = loader.apply(key);
+
+        if (value != null) {
+            synchronized (this) {
+                loads++;
+                if (loadGeneration == generation) {
+                    entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+                    evictOverflow();
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 获取缓存值，未命中时返回null（不加载）
+     */
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAt > System.currentTimeMillis()) {
+                hits++;
+                return entry.value;
+            }
+            entries.remove(key);
+            expirations++;
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * 写入缓存值（覆盖已有值）
+     */
+    public synchronized void put(K key, V value) {
+        loads++;
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+        evictOverflow();
+    }
+
+    /**
+     * 使单个键失效
+     */
+    public synchronized void invalidate(K key) {
+        generation++;
+        if (entries.remove(key) != null) {
+            invalidations++;
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * 缓存统计
+     */
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long requests = hits + misses;
+        stats.put("name", name);
+        stats.put("size", entries.size());
+        stats.put("maxSize", maxSize);
+        stats.put("ttlSeconds", ttlMillis / 1000);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", requests == 0 ? 0.0 : (double) hits / requests);
+        stats.put("loads", loads);
+        stats.put("evictions", evictions);
+        stats.put("expirations", expirations);
+        stats.put("invalidations", invalidations);
+        return stats;
+    }
+
+    private static class Entry<V> {
+
+        private final V value;
+
+        private final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.datamodel.core.cache;
+
+import com.example.datamodel.entity.BusinessDomain;
+import com.example.datamodel.entity.ObjectType;
+import com.example.datamodel.entity.Property;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * 元数据缓存
+ * 缓存对象类型（按ID、按名称）、对象类型的属性列表和业务域，减少实例读写前的元数据查询
+ *
+ * 缓存值在返回前复制，调用方修改返回的实体不会影响缓存；
+ * 元数据变更时立即失效，并在事务完成（提交或回滚）后再次失效，防止事务提交前其他线程读取到旧值并重新缓存，
+ * 以及事务内读取到的未提交值在回滚后仍留在缓存中。事务完成后的失效先于其他事务完成回调执行，
+ * 在 afterCompletion 阶段重建的运行时结构（如 {@link com.example.datamodel.core.instance.ObjectTypeRuntimeRegistry}）读取到的是新值
+ *
+ * @author DataModel Team
+ */
+@Slf4j
+@Component
+public class MetadataCaches {
+
+    @Value("${datamodel.metadata-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${datamodel.metadata-cache.max-size:2000}")
+    private int maxSize;
+
+    @Value("${datamodel.metadata-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private LocalCache<UUID, ObjectType> objectTypesById;
+
+    private LocalCache<String, ObjectType> objectTypesByName;
+
+    private LocalCache<UUID, List<Property>> propertiesByObjectTypeId;
+
+    private LocalCache<UUID, BusinessDomain> businessDomainsById;
+
+    @PostConstruct
+    public void init() {
+        long ttlMillis = ttlSeconds * 1000;
+        objectTypesById = new LocalCache<>("objectTypesById", maxSize, ttlMillis);
+        objectTypesByName = new LocalCache<>("objectTypesByName", maxSize, ttlMillis);
+        propertiesByObjectTypeId = new LocalCache<>("propertiesByObjectTypeId", maxSize, ttlMillis);
+        businessDomainsById = new LocalCache<>("businessDomainsById", maxSize, ttlMillis);
+    }
+
+    public ObjectType getObjectType(UUID id, Function<UUID, ObjectType> loader) {
+        return copy(enabled ? objectTypesById.get(id, loader) : loader.apply(id));
+    }
+
+    public ObjectType getObjectTypeByName(String name, Function<String, ObjectType> loader) {
+        return copy(enabled ? objectTypesByName.get(name, loader) : loader.apply(name));
+    }
+
+    public List<Property> getProperties(UUID objectTypeId, Function<UUID, List<Property>> loader) {
+        List<Property> properties = enabled ? propertiesByObjectTypeId.get(objectTypeId, loader) : loader.apply(objectTypeId);
+        if (properties == null) {
+            return null;
+        }
+        List<Property> copies = new ArrayList<>(properties.size());
+        for (Property property : properties) {
+            copies.add(copy(property));
+        }
+        return copies;
+    }
+
+    public BusinessDomain getBusinessDomain(UUID id, Function<UUID, BusinessDomain> loader) {
+        return copy(enabled ? businessDomainsById.get(id, loader) : loader.apply(id));
+    }
+
+    /**
+     * 使对象类型失效（名称变更时需同时传入旧名称和新名称）
+     */
+    public void invalidateObjectType(UUID id, String... names) {
+        runNowAndAfterCompletion(() -> {
+            if (id != null) {
+                objectTypesById.invalidate(id);
+            }
+            for (String name : names) {
+                if (name != null) {
+                    objectTypesByName.invalidate(name);
+                }
+            }
+        });
+    }
+
+    public void invalidateProperties(UUID objectTypeId) {
+        runNowAndAfterCompletion(() -> propertiesByObjectTypeId.invalidate(objectTypeId));
+    }
+
+    public void invalidateBusinessDomain(UUID id) {
+        runNowAndAfterCompletion(() -> businessDomainsById.invalidate(id));
+    }
+
+    /**
+     * 清空所有元数据缓存
+     */
+    public void invalidateAll() {
+        objectTypesById.invalidateAll();
+        objectTypesByName.invalidateAll();
+        propertiesByObjectTypeId.invalidateAll();
+        businessDomainsById.invalidateAll();
+        log.info("已清空元数据缓存");
+    }
+
+    /**
+     * 各缓存的统计信息（条目数、命中率、淘汰数等）
+     */
+    public List<Map<String, Object>> getStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (LocalCache<?, ?> cache : new LocalCache<?, ?>[]{objectTypesById, objectTypesByName, propertiesByObjectTypeId, businessDomainsById}) {
+            Map<String, Object> cacheStats = cache.getStats();
+            cacheStats.put("enabled", enabled);
+            stats.add(cacheStats);
+        }
+        return stats;
+    }
+
+    private void runNowAndAfterCompletion(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * 复制实体（浅复制），缓存值和共享的运行时结构返回前使用
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T copy(T source) {
+        if (source == null) {
+            return null;
+        }
+        T target = (T) BeanUtils.instantiateClass(source.getClass());
+        BeanUtils.copyProperties(source, target);
+        return target;
+    }
+}
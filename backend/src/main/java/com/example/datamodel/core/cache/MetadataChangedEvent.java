@@ -0,0 +1,66 @@
+package com.example.datamodel.core.cache;
+
+import java.util.UUID;
+
+/**
+ * 元数据变更事件
+ * 对象类型、属性、链接类型或业务域变更时发布，依赖元数据的运行时结构（如 ObjectTypeRuntime、模型图）在事务提交后据此重建
+ *
+ * @author DataModel Team
+ */
+public class MetadataChangedEvent {
+
+    private final UUID objectTypeId;
+
+    private final UUID businessDomainId;
+
+    private final UUID linkTypeId;
+
+    private MetadataChangedEvent(UUID objectTypeId, UUID businessDomainId, UUID linkTypeId) {
+        this.objectTypeId = objectTypeId;
+        this.businessDomainId = businessDomainId;
+        this.linkTypeId = linkTypeId;
+    }
+
+    /**
+     * 对象类型或其属性变更
+     */
+    public static MetadataChangedEvent objectType(UUID objectTypeId) {
+        return new MetadataChangedEvent(objectTypeId, null, null);
+    }
+
+    /**
+     * 业务域变更（影响该业务域下对象类型的实例表名）
+     */
+    public static MetadataChangedEvent businessDomain(UUID businessDomainId) {
+        return new MetadataChangedEvent(null, businessDomainId, null);
+    }
+
+    /**
+     * 链接类型变更
+     */
+    public static MetadataChangedEvent linkType(UUID linkTypeId) {
+        return new MetadataChangedEvent(null, null, linkTypeId);
+    }
+
+    /**
+     * 变更的对象类型ID（业务域、链接类型变更时为null）
+     */
+    public UUID getObjectTypeId() {
+        return objectTypeId;
+    }
+
+    /**
+     * 变更的业务域ID（对象类型、链接类型变更时为null）
+     */
+    public UUID getBusinessDomainId() {
+        return businessDomainId;
+    }
+
+    /**
+     * 变更的链接类型ID（对象类型、业务域变更时为null）
+     */
+    public UUID getLinkTypeId() {
+        return linkTypeId;
+    }
+}
@@ -6,7 +6,9 @@ import lombok.extern.slf4j.Slf4j;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -20,7 +22,7 @@ public abstract class AbstractJdbcConnector implements DataSourceConnector {
 
     @Override
     public Connection createConnection(DataSource datasource) throws Exception {
-        String url = buildConnectionUrl(datasource);
+        String url = resolveConnectionUrl(datasource);
         String driverClass = getDriverClass();
 
         // 加载驱动
@@ -88,30 +90,59 @@ public abstract class AbstractJdbcConnector implements DataSourceConnector {
         // 获取字段信息
         try (ResultSet rs = metaData.getColumns(actualCatalog, actualSchema, tableName, null)) {
             while (rs.next()) {
-                TableColumnInfo column = new TableColumnInfo();
-                column.setColumnName(rs.getString("COLUMN_NAME"));
-                column.setDataType(rs.getString("TYPE_NAME"));
-                column.setLength(rs.getInt("COLUMN_SIZE"));
-                column.setNullable(rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable);
-                column.setDefaultValue(rs.getString("COLUMN_DEF"));
-                column.setComment(rs.getString("REMARKS"));
-                column.setScale(rs.getInt("DECIMAL_DIGITS"));
-                columns.add(column);
+                columns.add(readColumn(rs));
             }
         }
         
         // 获取主键信息
+        Set<String> primaryKeys = getPrimaryKeys(connection, schemaName, tableName);
+        
+        // 设置主键标识
+        columns.forEach(col -> col.setPrimaryKey(primaryKeys.contains(col.getColumnName())));
+        
+        return columns;
+    }
+
+    @Override
+    public Map<String, List<TableColumnInfo>> getTableColumnsBySchema(Connection connection, String schemaName) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String catalog = connection.getCatalog();
+
+        String actualSchema = normalizeSchemaName(metaData, schemaName);
+        String actualCatalog = normalizeCatalogName(metaData, catalog);
+
+        Map<String, List<TableColumnInfo>> result = new LinkedHashMap<>();
+        for (String tableName : getTableList(connection, schemaName)) {
+            result.put(tableName, new ArrayList<>());
+        }
+
+        // 一次查询Schema下所有字段，按表分组；不在表列表中的对象（如系统对象）忽略
+        try (ResultSet rs = metaData.getColumns(actualCatalog, actualSchema, "%", "%")) {
+            while (rs.next()) {
+                List<TableColumnInfo> columns = result.get(rs.getString("TABLE_NAME"));
+                if (columns != null) {
+                    columns.add(readColumn(rs));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Set<String> getPrimaryKeys(Connection connection, String schemaName, String tableName) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String catalog = connection.getCatalog();
+
+        String actualSchema = normalizeSchemaName(metaData, schemaName);
+        String actualCatalog = normalizeCatalogName(metaData, catalog);
+
         Set<String> primaryKeys = new HashSet<>();
         try (ResultSet rs = metaData.getPrimaryKeys(actualCatalog, actualSchema, tableName)) {
             while (rs.next()) {
                 primaryKeys.add(rs.getString("COLUMN_NAME"));
             }
         }
-        
-        // 设置主键标识
-        columns.forEach(col -> col.setPrimaryKey(primaryKeys.contains(col.getColumnName())));
-        
-        return columns;
+        return primaryKeys;
     }
 
     @Override
@@ -134,6 +165,18 @@ public abstract class AbstractJdbcConnector implements DataSourceConnector {
         return schemas;
     }
 
+    private TableColumnInfo readColumn(ResultSet rs) throws SQLException {
+        TableColumnInfo column = new TableColumnInfo();
+        column.setColumnName(rs.getString("COLUMN_NAME"));
+        column.setDataType(rs.getString("TYPE_NAME"));
+        column.setLength(rs.getInt("COLUMN_SIZE"));
+        column.setNullable(rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable);
+        column.setDefaultValue(rs.getString("COLUMN_DEF"));
+        column.setComment(rs.getString("REMARKS"));
+        column.setScale(rs.getInt("DECIMAL_DIGITS"));
+        return column;
+    }
+
     /**
      * 规范化Schema名称
      * 不同数据库对Schema的处理不同，需要子类覆盖
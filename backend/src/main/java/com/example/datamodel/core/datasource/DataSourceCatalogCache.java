@@ -0,0 +1,384 @@
+package com.example.datamodel.core.datasource;
+
+import com.example.datamodel.entity.DataSource;
+import com.example.datamodel.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 数据源目录缓存
+ * 缓存外部数据源的Schema列表、表列表和字段信息，供表选择器等元数据浏览接口使用
+ *
+ * - 每个Schema的表和字段一次遍历抓取（一次表查询 + 一次字段查询），不再逐表查询字段
+ * - 主键在首次查询某张表的字段时按表加载
+ * - 同一Schema并发请求只抓取一次；抓取失败不缓存
+ * - 条目超过存活时间后在下次访问时重新抓取，也可通过刷新接口手动刷新（多个Schema并行抓取）
+ * - 数据源更新或删除时整体失效
+ *
+ * @author DataModel Team
+ */
+@Slf4j
+@Component
+public class DataSourceCatalogCache {
+
+    /**
+     * 不使用Schema的数据源（如MySQL）的目录键
+     */
+    private static final String DEFAULT_SCHEMA = "";
+
+    @Value("${datamodel.datasource-catalog.enabled:true}")
+    private boolean enabled;
+
+    @Value("${datamodel.datasource-catalog.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${datamodel.datasource-catalog.crawl-threads:4}")
+    private int crawlThreads;
+
+    @Autowired
+    private DataSourceConnectionManager connectionManager;
+
+    @Autowired
+    private DataSourceConnectorRegistry connectorRegistry;
+
+    private final Map<UUID, Catalog> catalogs = new ConcurrentHashMap<>();
+
+    private ExecutorService crawlExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        crawlExecutor = Executors.newFixedThreadPool(Math.max(1, crawlThreads), r -> {
+            Thread thread = new Thread(r, "catalog-crawl-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        crawlExecutor.shutdownNow();
+    }
+
+    /**
+     * 获取Schema列表
+     *
+     * @param datasource 数据源
+     * @return Schema名称列表
+     */
+    public List<String> getSchemas(DataSource datasource) throws SQLException {
+        DataSourceConnector connector = getConnector(datasource);
+        if (!enabled) {
+            try (Connection connection = connectionManager.getConnection(datasource)) {
+                return connector.getSchemaList(connection);
+            }
+        }
+        Catalog catalog = catalog(datasource);
+        return new ArrayList<>(load(catalog.schemaLists, DEFAULT_SCHEMA, () -> {
+            try (Connection connection = connectionManager.getConnection(datasource)) {
+                return Collections.unmodifiableList(connector.getSchemaList(connection));
+            }
+        }));
+    }
+
+    /**
+     * 获取Schema下的表列表
+     *
+     * @param datasource 数据源
+     * @param schemaName Schema名称（可选）
+     * @return 表名列表
+     */
+    public List<String> getTables(DataSource datasource, String schemaName) throws SQLException {
+        DataSourceConnector connector = getConnector(datasource);
+        if (!enabled) {
+            try (Connection connection = connectionManager.getConnection(datasource)) {
+                return connector.getTableList(connection, schemaName);
+            }
+        }
+        return new ArrayList<>(loadSchema(datasource, connector, schemaName).columns.keySet());
+    }
+
+    /**
+     * 获取表的字段信息
+     *
+     * @param datasource 数据源
+     * @param schemaName Schema名称（可选）
+     * @param tableName 表名
+     * @return 字段信息列表
+     */
+    public List<TableColumnInfo> getColumns(DataSource datasource, String schemaName, String tableName) throws SQLException {
+        DataSourceConnector connector = getConnector(datasource);
+        if (!enabled) {
+            try (Connection connection = connectionManager.getConnection(datasource)) {
+                return connector.getTableColumns(connection, schemaName, tableName);
+            }
+        }
+        SchemaEntry entry = loadSchema(datasource, connector, schemaName);
+        List<TableColumnInfo> columns = entry.columns.get(tableName);
+        if (columns == null) {
+            // 抓取之后新建的表：直接查询，不等待目录过期
+            try (Connection connection = connectionManager.getConnection(datasource)) {
+                return connector.getTableColumns(connection, schemaName, tableName);
+            }
+        }
+
+        Set<String> primaryKeys = entry.primaryKeys.get(tableName);
+        if (primaryKeys == null) {
+            try (Connection connection = connectionManager.getConnection(datasource)) {
+                primaryKeys = Collections.unmodifiableSet(connector.getPrimaryKeys(connection, schemaName, tableName));
+            }
+            entry.primaryKeys.put(tableName, primaryKeys);
+        }
+
+        // 缓存中的字段信息可变，返回副本
+        List<TableColumnInfo> result = new ArrayList<>(columns.size());
+        for (TableColumnInfo column : columns) {
+            TableColumnInfo copy = new TableColumnInfo();
+            BeanUtils.copyProperties(column, copy);
+            copy.setPrimaryKey(primaryKeys.contains(column.getColumnName()));
+            result.add(copy);
+        }
+        return result;
+    }
+
+    /**
+     * 刷新数据源目录
+     *
+     * @param datasource 数据源
+     * @param schemaName 只刷新该Schema（为空时刷新Schema列表和已缓存的所有Schema）
+     * @param allSchemas 为true时抓取数据源的所有Schema（多个Schema并行抓取）
+     * @return 刷新结果概况
+     */
+    public Map<String, Object> refresh(DataSource datasource, String schemaName, boolean allSchemas) throws SQLException {
+        long start = System.currentTimeMillis();
+        DataSourceConnector connector = getConnector(datasource);
+        Catalog catalog = catalog(datasource);
+
+        List<String> schemaKeys = new ArrayList<>();
+        if (schemaName != null && !schemaName.isEmpty()) {
+            schemaKeys.add(schemaKey(connector, schemaName));
+        } else {
+            catalog.schemaLists.clear();
+            if (allSchemas && connector.requiresSchema()) {
+                schemaKeys.addAll(getSchemas(datasource));
+            } else if (allSchemas) {
+                schemaKeys.add(DEFAULT_SCHEMA);
+            } else {
+                schemaKeys.addAll(catalog.schemaEntries.keySet());
+            }
+        }
+        for (String schemaKey : schemaKeys) {
+            catalog.schemaEntries.remove(schemaKey);
+        }
+
+        // 多个Schema并行抓取，每个任务使用独立的连接
+        List<Future<SchemaEntry>> futures = new ArrayList<>();
+        for (String schemaKey : schemaKeys) {
+            futures.add(crawlExecutor.submit(() -> loadSchema(datasource, connector, schemaKey)));
+        }
+        int tables = 0;
+        for (Future<SchemaEntry> future : futures) {
+            tables += await(future).columns.size();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("datasourceId", datasource.getId());
+        result.put("schemas", schemaKeys.size());
+        result.put("tables", tables);
+        result.put("elapsedMs", System.currentTimeMillis() - start);
+        log.info("刷新数据源目录：{} - {} 个Schema，{} 张表，{}ms", datasource.getName(), schemaKeys.size(), tables,
+            result.get("elapsedMs"));
+        return result;
+    }
+
+    /**
+     * 使数据源的目录失效（数据源更新或删除时调用）
+     */
+    public void invalidate(UUID datasourceId) {
+        catalogs.remove(datasourceId);
+    }
+
+    /**
+     * 各数据源的目录缓存概况
+     */
+    public List<Map<String, Object>> getStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (Map.Entry<UUID, Catalog> entry : catalogs.entrySet()) {
+            int schemas = 0;
+            int tables = 0;
+            long oldestLoadedAt = 0;
+            for (Loading<SchemaEntry> loading : entry.getValue().schemaEntries.values()) {
+                SchemaEntry schemaEntry = loading.getIfLoaded();
+                if (schemaEntry != null) {
+                    schemas++;
+                    tables += schemaEntry.columns.size();
+                    oldestLoadedAt = oldestLoadedAt == 0 ? loading.loadedAt : Math.min(oldestLoadedAt, loading.loadedAt);
+                }
+            }
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("datasourceId", entry.getKey());
+            item.put("schemas", schemas);
+            item.put("tables", tables);
+            item.put("oldestAgeSeconds", oldestLoadedAt == 0 ? 0 : (System.currentTimeMillis() - oldestLoadedAt) / 1000);
+            item.put("ttlSeconds", ttlSeconds);
+            stats.add(item);
+        }
+        return stats;
+    }
+
+    private SchemaEntry loadSchema(DataSource datasource, DataSourceConnector connector, String schemaName) throws SQLException {
+        String schemaKey = schemaKey(connector, schemaName);
+        return load(catalog(datasource).schemaEntries, schemaKey, () -> {
+            long start = System.currentTimeMillis();
+            try (Connection connection = connectionManager.getConnection(datasource)) {
+                Map<String, List<TableColumnInfo>> columns = connector.getTableColumnsBySchema(
+                    connection, schemaKey.isEmpty() ? null : schemaKey);
+                log.debug("抓取数据源目录：{} - Schema {}，{} 张表，{}ms", datasource.getName(),
+                    schemaKey.isEmpty() ? "(default)" : schemaKey, columns.size(), System.currentTimeMillis() - start);
+                return new SchemaEntry(columns);
+            }
+        });
+    }
+
+    /**
+     * 单次加载：同一键同时只有一个线程执行加载，其他线程等待结果；过期或失败的结果重新加载
+     */
+    private <T> T load(Map<String, Loading<T>> cache, String key, Callable<T> loader) throws SQLException {
+        long ttlMillis = ttlSeconds * 1000;
+        Loading<T> loading = cache.get(key);
+        if (loading == null || loading.isExpired(ttlMillis)) {
+            Loading<T> stale = loading;
+            Loading<T> created = new Loading<>(loader);
+            loading = cache.compute(key, (k, existing) -> existing == null || existing == stale ? created : existing);
+            if (loading == created) {
+                created.task.run();
+            }
+        }
+        try {
+            return await(loading.task);
+        } catch (SQLException | RuntimeException e) {
+            cache.remove(key, loading);
+            throw e;
+        }
+    }
+
+    private <T> T await(Future<T> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("等待数据源目录抓取被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SQLException(cause.getMessage(), cause);
+        }
+    }
+
+    private Catalog catalog(DataSource datasource) {
+        return catalogs.computeIfAbsent(datasource.getId(), id -> new Catalog());
+    }
+
+    private DataSourceConnector getConnector(DataSource datasource) {
+        DataSourceConnector connector = connectorRegistry.getConnector(datasource.getType());
+        if (connector == null) {
+            throw new BusinessException("不支持的数据源类型：" + datasource.getType());
+        }
+        return connector;
+    }
+
+    private static String schemaKey(DataSourceConnector connector, String schemaName) {
+        return connector.requiresSchema() && schemaName != null ? schemaName : DEFAULT_SCHEMA;
+    }
+
+    /**
+     * 单个数据源的目录
+     */
+    private static class Catalog {
+
+        private final Map<String, Loading<List<String>>> schemaLists = new ConcurrentHashMap<>();
+
+        private final Map<String, Loading<SchemaEntry>> schemaEntries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 单个Schema的表和字段
+     */
+    private static class SchemaEntry {
+
+        /**
+         * 表名到字段信息的映射（按表名列表顺序，字段不含主键标识）
+         */
+        private final Map<String, List<TableColumnInfo>> columns;
+
+        /**
+         * 按表加载的主键字段名
+         */
+        private final Map<String, Set<String>> primaryKeys = new ConcurrentHashMap<>();
+
+        SchemaEntry(Map<String, List<TableColumnInfo>> columns) {
+            this.columns = columns;
+        }
+    }
+
+    /**
+     * 加载中或已加载的值
+     */
+    private static class Loading<T> {
+
+        private final FutureTask<T> task;
+
+        private volatile long loadedAt;
+
+        Loading(Callable<T> loader) {
+            this.task = new FutureTask<>(() -> {
+                T value = loader.call();
+                loadedAt = System.currentTimeMillis();
+                return value;
+            });
+        }
+
+        boolean isExpired(long ttlMillis) {
+            return task.isDone() && System.currentTimeMillis() - loadedAt > ttlMillis;
+        }
+
+        T getIfLoaded() {
+            if (!task.isDone() || loadedAt == 0) {
+                return null;
+            }
+            try {
+                return task.get();
+            } catch (InterruptedException | ExecutionException e) {
+                return null;
+            }
+        }
+    }
+}
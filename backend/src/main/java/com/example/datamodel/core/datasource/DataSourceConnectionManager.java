@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.UUID;
 
 /**
  * 数据源连接管理器
@@ -20,14 +21,21 @@ public class DataSourceConnectionManager {
     @Autowired
     private DataSourceConnectorRegistry connectorRegistry;
 
+    @Autowired
+    private DataSourcePoolRegistry poolRegistry;
+
     /**
      * 获取连接
+     * 已持久化的JDBC数据源从其连接池获取连接，其他情况（如连接测试用的临时数据源）直接创建连接
      *
      * @param datasource 数据源实体
      * @return 连接对象
      * @throws SQLException 连接失败时抛出异常
      */
     public Connection getConnection(DataSource datasource) throws SQLException {
+        if (poolRegistry.isPoolable(datasource)) {
+            return poolRegistry.getConnection(datasource);
+        }
         DataSourceConnector connector = connectorRegistry.getConnector(datasource.getType());
         try {
             return connector.createConnection(datasource);
@@ -36,6 +44,15 @@ public class DataSourceConnectionManager {
         }
     }
 
+    /**
+     * 使数据源的连接池失效（数据源配置变更或删除时调用）
+     *
+     * @param datasourceId 数据源ID
+     */
+    public void invalidatePool(UUID datasourceId) {
+        poolRegistry.invalidate(datasourceId);
+    }
+
     /**
      * 构建连接URL
      *
@@ -43,13 +60,8 @@ public class DataSourceConnectionManager {
      * @return 连接URL
      */
     public String buildConnectionUrl(DataSource datasource) {
-        // 如果用户提供了完整的URL，直接使用
-        if (datasource.getConnectionUrl() != null && !datasource.getConnectionUrl().isEmpty()) {
-            return datasource.getConnectionUrl();
-        }
-
         DataSourceConnector connector = connectorRegistry.getConnector(datasource.getType());
-        return connector.buildConnectionUrl(datasource);
+        return connector.resolveConnectionUrl(datasource);
     }
 
     /**
@@ -4,7 +4,11 @@ import com.example.datamodel.entity.DataSource;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 数据源连接器接口
@@ -36,6 +40,21 @@ public interface DataSourceConnector {
      */
     String buildConnectionUrl(DataSource datasource);
 
+    /**
+     * 解析实际使用的连接URL：用户提供了完整URL时直接使用，否则按连接参数构建
+     * 测试连接和连接池都通过此方法取得URL，保证两者连接的是同一个数据库
+     *
+     * @param datasource 数据源实体
+     * @return 连接URL
+     */
+    default String resolveConnectionUrl(DataSource datasource) {
+        String connectionUrl = datasource.getConnectionUrl();
+        if (connectionUrl != null && !connectionUrl.isEmpty()) {
+            return connectionUrl;
+        }
+        return buildConnectionUrl(datasource);
+    }
+
     /**
      * 获取JDBC驱动类（如果是JDBC数据源）
      * 返回null表示非JDBC数据源
@@ -118,6 +137,42 @@ public interface DataSourceConnector {
         throw new UnsupportedOperationException("该数据源连接器不支持获取表字段信息");
     }
 
+    /**
+     * 获取Schema下所有表及其字段（不含主键标识）
+     * 默认逐表查询字段，基于JDBC元数据的连接器一次遍历完成
+     *
+     * @param connection 数据源连接
+     * @param schemaName Schema名称（可选，PostgreSQL/Oracle使用）
+     * @return 表名到字段信息列表的映射（按表名列表顺序）
+     * @throws SQLException SQL异常
+     */
+    default Map<String, List<TableColumnInfo>> getTableColumnsBySchema(Connection connection, String schemaName) throws SQLException {
+        Map<String, List<TableColumnInfo>> result = new LinkedHashMap<>();
+        for (String tableName : getTableList(connection, schemaName)) {
+            result.put(tableName, getTableColumns(connection, schemaName, tableName));
+        }
+        return result;
+    }
+
+    /**
+     * 获取表的主键字段名
+     *
+     * @param connection 数据源连接
+     * @param schemaName Schema名称（可选，PostgreSQL/Oracle使用）
+     * @param tableName 表名
+     * @return 主键字段名集合
+     * @throws SQLException SQL异常
+     */
+    default Set<String> getPrimaryKeys(Connection connection, String schemaName, String tableName) throws SQLException {
+        Set<String> primaryKeys = new HashSet<>();
+        for (TableColumnInfo column : getTableColumns(connection, schemaName, tableName)) {
+            if (Boolean.TRUE.equals(column.getPrimaryKey())) {
+                primaryKeys.add(column.getColumnName());
+            }
+        }
+        return primaryKeys;
+    }
+
     /**
      * 获取Schema列表（如果数据源支持Schema）
      *
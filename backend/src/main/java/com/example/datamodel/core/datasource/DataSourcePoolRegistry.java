@@ -0,0 +1,192 @@
+package com.example.datamodel.core.datasource;
+
+import com.example.datamodel.entity.DataSource;
+import com.example.datamodel.mapper.DataSourceMapper;
+import com.example.datamodel.utils.PasswordUtils;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 外部数据源连接池注册表
+ * 按数据源ID为每个外部数据源维护一个HikariCP连接池，避免每次访问都重新加载驱动、解密密码并建立TCP连接
+ *
+ * 连接池参数取自 datasources 表：
+ * - max_connections -> maximumPoolSize
+ * - min_connections -> minimumIdle
+ * - connection_timeout（秒） -> connectionTimeout
+ *
+ * 数据源配置变更（更新、启用/禁用、删除）时需调用 {@link #invalidate(UUID)} 关闭旧连接池，下次访问时按新配置重建
+ *
+ * @author DataModel Team
+ */
+@Slf4j
+@Component
+public class DataSourcePoolRegistry {
+
+    @Autowired
+    private DataSourceConnectorRegistry connectorRegistry;
+
+    @Autowired
+    private DataSourceMapper dataSourceMapper;
+
+    private final Map<UUID, HikariDataSource> pools = new ConcurrentHashMap<>();
+
+    /**
+     * 判断数据源是否可以使用连接池
+     * 只有已持久化（有ID）、已启用且为JDBC类型的数据源才会池化
+     *
+     * @param datasource 数据源实体
+     * @return 是否可以池化
+     */
+    public boolean isPoolable(DataSource datasource) {
+        if (datasource == null || datasource.getId() == null) {
+            return false;
+        }
+        if (datasource.getEnabled() != null && !datasource.getEnabled()) {
+            return false;
+        }
+        if (!connectorRegistry.isSupported(datasource.getType())) {
+            return false;
+        }
+        return connectorRegistry.getConnector(datasource.getType()).getDriverClass() != null;
+    }
+
+    /**
+     * 从连接池获取连接（连接池不存在时按数据源配置创建）
+     *
+     * @param datasource 数据源实体
+     * @return 连接对象（close() 时归还连接池）
+     * @throws SQLException 获取连接失败时抛出异常
+     */
+    public Connection getConnection(DataSource datasource) throws SQLException {
+        HikariDataSource pool;
+        try {
+            pool = pools.computeIfAbsent(datasource.getId(), id -> createPool(datasource));
+        } catch (RuntimeException e) {
+            throw new SQLException("创建数据源连接池失败：" + e.getMessage(), e);
+        }
+        return pool.getConnection();
+    }
+
+    /**
+     * 使数据源的连接池失效
+     * 立即关闭当前连接池；若处于事务中，事务提交后再关闭一次，避免并发请求在提交前按旧配置重建连接池
+     *
+     * @param datasourceId 数据源ID
+     */
+    public void invalidate(UUID datasourceId) {
+        if (datasourceId == null) {
+            return;
+        }
+        closePool(datasourceId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    closePool(datasourceId);
+                }
+            });
+        }
+    }
+
+    /**
+     * 获取所有连接池的运行状态
+     *
+     * @return 连接池状态列表
+     */
+    public List<Map<String, Object>> getPoolStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        pools.forEach((id, pool) -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("datasourceId", id);
+            item.put("poolName", pool.getPoolName());
+            item.put("maximumPoolSize", pool.getMaximumPoolSize());
+            item.put("minimumIdle", pool.getMinimumIdle());
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            if (mxBean != null) {
+                item.put("activeConnections", mxBean.getActiveConnections());
+                item.put("idleConnections", mxBean.getIdleConnections());
+                item.put("totalConnections", mxBean.getTotalConnections());
+                item.put("threadsAwaitingConnection", mxBean.getThreadsAwaitingConnection());
+            }
+            stats.add(item);
+        });
+        return stats;
+    }
+
+    /**
+     * 应用关闭时释放所有连接池
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (UUID id : new ArrayList<>(pools.keySet())) {
+            closePool(id);
+        }
+    }
+
+    private void closePool(UUID datasourceId) {
+        HikariDataSource pool = pools.remove(datasourceId);
+        if (pool != null) {
+            pool.close();
+            log.info("关闭数据源连接池：{}", pool.getPoolName());
+        }
+    }
+
+    /**
+     * 按数据源配置创建连接池
+     * 调用方传入的数据源对象可能已隐藏密码，因此优先从数据库重新加载完整配置
+     */
+    private HikariDataSource createPool(DataSource datasource) {
+        DataSource config = dataSourceMapper.selectById(datasource.getId());
+        if (config == null) {
+            config = datasource;
+        }
+
+        DataSourceConnector connector = connectorRegistry.getConnector(config.getType());
+        String url = connector.resolveConnectionUrl(config);
+
+        String password = config.getPassword();
+        if (PasswordUtils.isEncrypted(password)) {
+            password = PasswordUtils.decrypt(PasswordUtils.removeEncryptionPrefix(password));
+        }
+
+        int maxConnections = config.getMaxConnections() != null && config.getMaxConnections() > 0
+            ? config.getMaxConnections() : 10;
+        int minConnections = config.getMinConnections() != null && config.getMinConnections() >= 0
+            ? Math.min(config.getMinConnections(), maxConnections) : Math.min(2, maxConnections);
+        int timeoutSeconds = config.getConnectionTimeout() != null && config.getConnectionTimeout() > 0
+            ? config.getConnectionTimeout() : 30;
+
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName("ds-" + (config.getCode() != null ? config.getCode() : config.getId()));
+        hikariConfig.setDriverClassName(connector.getDriverClass());
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setUsername(config.getUsername());
+        hikariConfig.setPassword(password);
+        hikariConfig.setMaximumPoolSize(maxConnections);
+        hikariConfig.setMinimumIdle(minConnections);
+        hikariConfig.setConnectionTimeout(timeoutSeconds * 1000L);
+        // 外部数据源可能暂时不可用，不在创建连接池时强制建立首个连接，由getConnection按超时时间报错
+        hikariConfig.setInitializationFailTimeout(-1);
+
+        log.info("创建数据源连接池：{}（max={}, min={}, timeout={}s）",
+            hikariConfig.getPoolName(), maxConnections, minConnections, timeoutSeconds);
+        return new HikariDataSource(hikariConfig);
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.datamodel.core.gateway;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预编译的输入参数校验器
+ * 由操作类型的 inputSchema 构建一次，支持 JSON Schema 的常用子集：
+ * - required：必需字段列表
+ * - properties.{name}.type：字段类型，取值 string / integer / number / boolean / object / array，也可以是类型数组
+ * - properties.{name}.enum：字段允许的取值
+ *
+ * 空 Schema（"{}"）不做任何校验；不认识的关键字和类型忽略
+ *
+ * 构建后不可变，可在线程间共享
+ *
+ * @author DataModel Team
+ */
+public final class InputSchemaValidator {
+
+    /**
+     * 不做任何校验的校验器
+     */
+    public static final InputSchemaValidator EMPTY = new InputSchemaValidator(Collections.<String, Object>emptyMap());
+
+    private final List<String> required = new ArrayList<>();
+
+    private final List<FieldRule> rules = new ArrayList<>();
+
+    @SuppressWarnings("unchecked")
+    public InputSchemaValidator(Map<String, Object> schema) {
+        Object requiredFields = schema.get("required");
+        if (requiredFields instanceof Collection) {
+            for (Object field : (Collection<Object>) requiredFields) {
+                if (field != null) {
+                    required.add(field.toString());
+                }
+            }
+        }
+        Object properties = schema.get("properties");
+        if (properties instanceof Map) {
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) properties).entrySet()) {
+                if (!(entry.getValue() instanceof Map)) {
+                    continue;
+                }
+                Map<String, Object> definition = (Map<String, Object>) entry.getValue();
+                List<String> types = new ArrayList<>();
+                Object type = definition.get("type");
+                if (type instanceof Collection) {
+                    for (Object item : (Collection<Object>) type) {
+                        types.add(String.valueOf(item));
+                    }
+                } else if (type != null) {
+                    types.add(type.toString());
+                }
+                Object allowed = definition.get("enum");
+                List<Object> allowedValues = allowed instanceof Collection ? new ArrayList<>((Collection<Object>) allowed) : null;
+                if (!types.isEmpty() || allowedValues != null) {
+                    rules.add(new FieldRule(entry.getKey(), types, allowedValues));
+                }
+            }
+        }
+    }
+
+    /**
+     * 是否没有任何校验规则
+     */
+    public boolean isEmpty() {
+        return required.isEmpty() && rules.isEmpty();
+    }
+
+    /**
+     * 校验输入参数
+     *
+     * @param input 输入参数
+     * @return 第一个错误信息，校验通过时返回null
+     */
+    public String firstError(Map<String, Object> input) {
+        for (String field : required) {
+            Object value = input != null ? input.get(field) : null;
+            if (value == null || (value instanceof String && ((String) value).trim().isEmpty())) {
+                return "请求体缺少必需字段：" + field;
+            }
+        }
+        if (input == null) {
+            return null;
+        }
+        for (FieldRule rule : rules) {
+            Object value = input.get(rule.name);
+            if (value == null) {
+                continue;
+            }
+            if (!rule.types.isEmpty() && !matchesAny(rule.types, value)) {
+                return "请求字段 " + rule.name + " 的类型应为 " + String.join(" / ", rule.types);
+            }
+            if (rule.allowedValues != null && !isAllowed(rule.allowedValues, value)) {
+                return "请求字段 " + rule.name + " 的取值不在允许范围内：" + value;
+            }
+        }
+        return null;
+    }
+
+    private static boolean matchesAny(List<String> types, Object value) {
+        for (String type : types) {
+            if (matches(type, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(String type, Object value) {
+        switch (type) {
+            case "string":
+                return value instanceof String;
+            case "integer":
+                return value instanceof Integer || value instanceof Long || value instanceof Short
+                    || value instanceof Byte || value instanceof BigInteger
+                    || (value instanceof BigDecimal && ((BigDecimal) value).stripTrailingZeros().scale() <= 0);
+            case "number":
+                return value instanceof Number;
+            case "boolean":
+                return value instanceof Boolean;
+            case "object":
+                return value instanceof Map;
+            case "array":
+                return value instanceof Collection;
+            default:
+                // 不认识的类型不校验
+                return true;
+        }
+    }
+
+    private static boolean isAllowed(List<Object> allowedValues, Object value) {
+        for (Object allowed : allowedValues) {
+            if (allowed == null) {
+                continue;
+            }
+            if (allowed.equals(value)) {
+                return true;
+            }
+            // 数值按数值比较，避免 Integer 与 Long 不相等
+            if (allowed instanceof Number && value instanceof Number && numericEquals((Number) allowed, (Number) value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean numericEquals(Number left, Number right) {
+        try {
+            return new BigDecimal(left.toString()).compareTo(new BigDecimal(right.toString())) == 0;
+        } catch (NumberFormatException e) {
+            // NaN、Infinity
+            return false;
+        }
+    }
+
+    private static final class FieldRule {
+
+        private final String name;
+
+        private final List<String> types;
+
+        private final List<Object> allowedValues;
+
+        private FieldRule(String name, List<String> types, List<Object> allowedValues) {
+            this.name = name;
+            this.types = types;
+            this.allowedValues = allowedValues;
+        }
+    }
+}
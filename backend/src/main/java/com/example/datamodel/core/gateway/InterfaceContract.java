@@ -0,0 +1,113 @@
+package com.example.datamodel.core.gateway;
+
+import com.example.datamodel.entity.ActionType;
+import com.example.datamodel.entity.Function;
+import com.example.datamodel.entity.Interface;
+import com.example.datamodel.exception.BusinessException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预编译的接口契约
+ * 一次性解析接口的必需属性、绑定的操作类型及其 inputSchema 校验器、处理函数，网关调用时只做内存中的检查
+ *
+ * 操作类型或处理函数不存在时仍构建契约，调用时再报错（与未编译时的行为一致）
+ *
+ * 构建后不可变，可在线程间共享
+ *
+ * @author DataModel Team
+ */
+public final class InterfaceContract {
+
+    private final Interface iface;
+
+    private final List<String> requiredKeys;
+
+    private final ActionType actionType;
+
+    private final InputSchemaValidator inputValidator;
+
+    private final Function function;
+
+    public InterfaceContract(Interface iface, List<String> requiredKeys, ActionType actionType,
+                             InputSchemaValidator inputValidator, Function function) {
+        this.iface = iface;
+        this.requiredKeys = requiredKeys;
+        this.actionType = actionType;
+        this.inputValidator = inputValidator;
+        this.function = function;
+    }
+
+    public Interface getInterface() {
+        return iface;
+    }
+
+    public List<String> getRequiredKeys() {
+        return requiredKeys;
+    }
+
+    /**
+     * 是否绑定了操作类型
+     */
+    public boolean hasAction() {
+        return iface.getActionTypeId() != null;
+    }
+
+    /**
+     * 校验接口输入（请求体与路径变量合并后）是否包含接口定义的必需字段
+     *
+     * @throws BusinessException 缺少必需字段时
+     */
+    public void validateRequest(Map<String, Object> input) {
+        for (String key : requiredKeys) {
+            Object value = input != null ? input.get(key) : null;
+            if (value == null || (value instanceof String && ((String) value).trim().isEmpty())) {
+                throw new BusinessException("请求缺少必需字段：" + key);
+            }
+        }
+    }
+
+    /**
+     * 绑定的操作类型
+     *
+     * @throws BusinessException 操作类型不存在时
+     */
+    public ActionType requireActionType() {
+        if (actionType == null) {
+            throw new BusinessException("接口绑定的操作类型不存在：" + iface.getActionTypeId());
+        }
+        return actionType;
+    }
+
+    /**
+     * 按操作类型的 inputSchema 校验动作输入
+     *
+     * @throws BusinessException 校验失败时
+     */
+    public void validateInput(Map<String, Object> input) {
+        String error = inputValidator.firstError(input);
+        if (error != null) {
+            throw new BusinessException(error);
+        }
+    }
+
+    /**
+     * 是否配置了处理函数
+     */
+    public boolean hasHandlerFunction() {
+        return actionType != null && actionType.getHandlerFunction() != null && !actionType.getHandlerFunction().trim().isEmpty();
+    }
+
+    /**
+     * 处理函数
+     *
+     * @throws BusinessException 函数不存在时
+     */
+    public Function requireFunction() {
+        if (function == null) {
+            throw new BusinessException("未找到名称为 " + actionType.getHandlerFunction() + " 的函数定义");
+        }
+        return function;
+    }
+}
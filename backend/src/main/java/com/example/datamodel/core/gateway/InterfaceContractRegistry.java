@@ -0,0 +1,159 @@
+package com.example.datamodel.core.gateway;
+
+import com.alibaba.fastjson2.JSONObject;
+import com.example.datamodel.entity.ActionType;
+import com.example.datamodel.entity.Function;
+import com.example.datamodel.entity.Interface;
+import com.example.datamodel.service.ActionTypeService;
+import com.example.datamodel.service.FunctionService;
+import com.example.datamodel.utils.JsonUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 接口契约注册表
+ * 按接口ID缓存 {@link InterfaceContract}，首次调用时编译；
+ * 接口、操作类型或函数变更时全部失效（立即失效并在事务提交后再次失效），之后按需重新编译
+ *
+ * @author DataModel Team
+ */
+@Slf4j
+@Component
+public class InterfaceContractRegistry {
+
+    @Autowired
+    @Lazy
+    private ActionTypeService actionTypeService;
+
+    @Autowired
+    @Lazy
+    private FunctionService functionService;
+
+    private final Map<UUID, InterfaceContract> contracts = new ConcurrentHashMap<>();
+
+    /**
+     * 变更代数：编译期间发生变更时，编译结果不放入注册表
+     */
+    private final AtomicLong changeGeneration = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong compiles = new AtomicLong();
+
+    /**
+     * 获取接口契约
+     *
+     * @param iface 接口定义
+     * @return 契约
+     */
+    public InterfaceContract get(Interface iface) {
+        InterfaceContract contract = iface.getId() != null ? contracts.get(iface.getId()) : null;
+        if (contract != null && Objects.equals(contract.getInterface().getUpdatedAt(), iface.getUpdatedAt())) {
+            hits.incrementAndGet();
+            return contract;
+        }
+        long generation = changeGeneration.get();
+        contract = compile(iface);
+        if (iface.getId() != null && changeGeneration.get() == generation) {
+            contracts.put(iface.getId(), contract);
+        }
+        return contract;
+    }
+
+    /**
+     * 使所有契约失效（接口、操作类型或函数变更时调用）
+     */
+    public void invalidateAll() {
+        Runnable invalidation = () -> {
+            changeGeneration.incrementAndGet();
+            contracts.clear();
+        };
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * 契约统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("contracts", contracts.size());
+        stats.put("hits", hits.get());
+        stats.put("compiles", compiles.get());
+        return stats;
+    }
+
+    private InterfaceContract compile(Interface iface) {
+        compiles.incrementAndGet();
+        List<String> requiredKeys = parseRequiredKeys(iface);
+
+        ActionType actionType = null;
+        InputSchemaValidator inputValidator = InputSchemaValidator.EMPTY;
+        Function function = null;
+        if (iface.getActionTypeId() != null) {
+            actionType = actionTypeService.getById(iface.getActionTypeId());
+        }
+        if (actionType != null) {
+            inputValidator = parseInputSchema(actionType);
+            if (actionType.getHandlerFunction() != null && !actionType.getHandlerFunction().trim().isEmpty()) {
+                function = functionService.getByName(actionType.getHandlerFunction());
+            }
+        }
+        log.debug("编译接口契约：{}", iface.getName());
+        return new InterfaceContract(iface, requiredKeys, actionType, inputValidator, function);
+    }
+
+    /**
+     * Interface.requiredProperties 是一个 JSON 对象，key 视为必需字段名
+     */
+    private List<String> parseRequiredKeys(Interface iface) {
+        if (iface.getRequiredProperties() == null || iface.getRequiredProperties().trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            JSONObject requiredProps = JsonUtils.parseObject(iface.getRequiredProperties());
+            if (requiredProps == null || requiredProps.isEmpty()) {
+                return Collections.emptyList();
+            }
+            return Collections.unmodifiableList(new ArrayList<>(requiredProps.keySet()));
+        } catch (Exception e) {
+            log.warn("解析接口必需属性JSON失败，ifaceId={}, requiredProperties={}", iface.getId(), iface.getRequiredProperties(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    private InputSchemaValidator parseInputSchema(ActionType actionType) {
+        if (actionType.getInputSchema() == null || actionType.getInputSchema().trim().isEmpty()) {
+            return InputSchemaValidator.EMPTY;
+        }
+        try {
+            JSONObject schema = JsonUtils.parseObject(actionType.getInputSchema());
+            return schema != null ? new InputSchemaValidator(schema) : InputSchemaValidator.EMPTY;
+        } catch (Exception e) {
+            log.warn("解析操作类型输入Schema失败，不做输入校验，actionTypeId={}, inputSchema={}",
+                actionType.getId(), actionType.getInputSchema(), e);
+            return InputSchemaValidator.EMPTY;
+        }
+    }
+}
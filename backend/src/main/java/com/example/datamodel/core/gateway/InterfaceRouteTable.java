@@ -0,0 +1,143 @@
+package com.example.datamodel.core.gateway;
+
+import com.example.datamodel.entity.Interface;
+import com.example.datamodel.service.InterfaceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 外部接口路由表
+ * 启动后一次性加载全部接口定义构建 {@link RouteTrie}，外部网关按 method + path 路由时不再查询数据库；
+ * 接口创建、更新、删除的事务提交后整体重建并替换
+ *
+ * 接口路径支持 {name} 形式的路径变量，例如 /external/orders/{orderId}
+ *
+ * @author DataModel Team
+ */
+@Slf4j
+@Component
+public class InterfaceRouteTable {
+
+    @Value("${datamodel.gateway.route-table.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    @Lazy
+    private InterfaceService interfaceService;
+
+    private volatile RouteTrie<Interface> routes;
+
+    private volatile LocalDateTime loadedAt;
+
+    private final AtomicLong reloads = new AtomicLong();
+
+    private final AtomicLong conflicts = new AtomicLong();
+
+    /**
+     * 应用启动完成后加载路由
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * 按 HTTP 方法和请求路径路由
+     *
+     * @param method HTTP方法
+     * @param path   请求路径
+     * @return 匹配的接口及路径变量（已解码），未匹配时返回null
+     */
+    public RouteTrie.Match<Interface> match(String method, String path) {
+        if (!enabled) {
+            Interface iface = interfaceService.getByMethodAndPath(method, path);
+            return iface != null ? new RouteTrie.Match<>(iface, iface.getPath(), Collections.<String, String>emptyMap()) : null;
+        }
+        RouteTrie<Interface> current = routes;
+        if (current == null) {
+            current = reload();
+        }
+        RouteTrie.Match<Interface> match = current.match(method, path);
+        if (match == null || match.getVariables().isEmpty()) {
+            return match;
+        }
+        Map<String, String> decoded = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : match.getVariables().entrySet()) {
+            decoded.put(entry.getKey(), UriUtils.decode(entry.getValue(), StandardCharsets.UTF_8));
+        }
+        return new RouteTrie.Match<>(match.getTarget(), match.getTemplate(), decoded);
+    }
+
+    /**
+     * 重新加载全部接口定义并替换路由表
+     */
+    public synchronized RouteTrie<Interface> reload() {
+        List<Interface> interfaces = interfaceService.list();
+        RouteTrie<Interface> trie = new RouteTrie<>();
+        for (Interface iface : interfaces) {
+            if (iface.getMethod() == null || iface.getPath() == null || iface.getPath().trim().isEmpty()) {
+                continue;
+            }
+            if (!trie.add(iface.getMethod(), iface.getPath().trim(), iface)) {
+                conflicts.incrementAndGet();
+                log.warn("接口路由与已有接口冲突，已忽略：{} {} ({})", iface.getMethod(), iface.getPath(), iface.getName());
+            }
+        }
+        routes = trie;
+        loadedAt = LocalDateTime.now();
+        reloads.incrementAndGet();
+        log.info("已加载外部接口路由 {} 条", trie.size());
+        return trie;
+    }
+
+    /**
+     * 接口定义变更后重建路由表（存在事务时在提交后重建）
+     */
+    public void reloadAfterCommit() {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    /**
+     * 路由表统计
+     */
+    public Map<String, Object> getStats() {
+        RouteTrie<Interface> current = routes;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("routes", current != null ? current.size() : 0);
+        stats.put("reloads", reloads.get());
+        stats.put("conflicts", conflicts.get());
+        stats.put("loadedAt", loadedAt);
+        return stats;
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.datamodel.core.gateway;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 路由前缀树
+ * 按 HTTP 方法分别建树，每个节点对应一个路径段；路径模板中整段为 {name} 的段是路径变量，匹配任意非空段
+ *
+ * 匹配规则：
+ * - 路径按 "/" 切分，忽略空段（"/a//b/" 与 "/a/b" 等价）
+ * - 同一位置上固定段优先于路径变量，固定段后续无法匹配时回退尝试路径变量
+ * - 只有整段为 {name} 时才是路径变量，"order-{id}" 按固定段处理
+ *
+ * 构建完成后只读，可在线程间共享；变更时构建新树整体替换
+ *
+ * @param <T> 路由目标类型
+ * @author DataModel Team
+ */
+public final class RouteTrie<T> {
+
+    private final Map<String, Node<T>> roots = new HashMap<>();
+
+    private int size;
+
+    /**
+     * 添加路由
+     *
+     * @param method   HTTP方法（大小写不敏感）
+     * @param template 路径模板，例如 /external/orders/{orderId}
+     * @param target   路由目标
+     * @return 是否添加成功，已存在等价模板（仅变量名不同也视为等价）时返回false，保留原路由
+     */
+    public boolean add(String method, String template, T target) {
+        Node<T> node = roots.computeIfAbsent(method.toUpperCase(), k -> new Node<>());
+        List<String> variableNames = new ArrayList<>();
+        for (String segment : split(template)) {
+            String variable = variableName(segment);
+            if (variable != null) {
+                if (node.variable == null) {
+                    node.variable = new Node<>();
+                }
+                node = node.variable;
+                variableNames.add(variable);
+            } else {
+                if (node.literals == null) {
+                    node.literals = new HashMap<>();
+                }
+                node = node.literals.computeIfAbsent(segment, k -> new Node<>());
+            }
+        }
+        if (node.target != null) {
+            return false;
+        }
+        node.target = target;
+        node.template = template;
+        node.variableNames = variableNames.toArray(new String[0]);
+        size++;
+        return true;
+    }
+
+    /**
+     * 匹配请求路径
+     *
+     * @param method HTTP方法（大小写不敏感）
+     * @param path   请求路径
+     * @return 匹配结果，未匹配时返回null
+     */
+    public Match<T> match(String method, String path) {
+        if (method == null || path == null) {
+            return null;
+        }
+        Node<T> root = roots.get(method.toUpperCase());
+        if (root == null) {
+            return null;
+        }
+        List<String> segments = split(path);
+        String[] values = new String[segments.size()];
+        Node<T> node = find(root, segments, 0, values, 0);
+        if (node == null) {
+            return null;
+        }
+        Map<String, String> variables;
+        if (node.variableNames.length == 0) {
+            variables = Collections.emptyMap();
+        } else {
+            variables = new LinkedHashMap<>();
+            for (int i = 0; i < node.variableNames.length; i++) {
+                variables.put(node.variableNames[i], values[i]);
+            }
+        }
+        return new Match<>(node.target, node.template, variables);
+    }
+
+    /**
+     * 路由数量
+     */
+    public int size() {
+        return size;
+    }
+
+    private Node<T> find(Node<T> node, List<String> segments, int index, String[] values, int variableCount) {
+        if (index == segments.size()) {
+            return node.target != null ? node : null;
+        }
+        String segment = segments.get(index);
+        if (node.literals != null) {
+            Node<T> literal = node.literals.get(segment);
+            if (literal != null) {
+                Node<T> found = find(literal, segments, index + 1, values, variableCount);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        if (node.variable != null) {
+            values[variableCount] = segment;
+            return find(node.variable, segments, index + 1, values, variableCount + 1);
+        }
+        return null;
+    }
+
+    private static List<String> split(String path) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        int length = path.length();
+        while (start < length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                segments.add(path.substring(start, end));
+            }
+            start = end + 1;
+        }
+        return segments;
+    }
+
+    private static String variableName(String segment) {
+        if (segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}') {
+            return segment.substring(1, segment.length() - 1);
+        }
+        return null;
+    }
+
+    private static final class Node<T> {
+
+        private Map<String, Node<T>> literals;
+
+        private Node<T> variable;
+
+        private T target;
+
+        private String template;
+
+        private String[] variableNames;
+    }
+
+    /**
+     * 路由匹配结果
+     *
+     * @param <T> 路由目标类型
+     */
+    public static final class Match<T> {
+
+        private final T target;
+
+        private final String template;
+
+        private final Map<String, String> variables;
+
+        public Match(T target, String template, Map<String, String> variables) {
+            this.target = target;
+            this.template = template;
+            this.variables = variables;
+        }
+
+        /**
+         * 路由目标
+         */
+        public T getTarget() {
+            return target;
+        }
+
+        /**
+         * 匹配到的路径模板
+         */
+        public String getTemplate() {
+            return template;
+        }
+
+        /**
+         * 路径变量（按模板中出现的顺序），未解码
+         */
+        public Map<String, String> getVariables() {
+            return variables;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.example.datamodel.core.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 链接实例的压缩邻接（CSR）快照，不可变
+ *
+ * 实例UUID按 (高64位, 低64位) 排序后的下标作为稠密整数ID，二分查找定位；
+ * 每个实例的邻接边连续存放在 adjacent / edgeLinks 中，范围为 [offsets[i], offsets[i + 1])。
+ * 每条链接在两端各存一条边：源实例一侧存链接下标，目标实例一侧存链接下标取反（~link），据此区分方向。
+ * 全部使用基本类型数组，不为实例或链接创建对象
+ *
+ * @author DataModel Team
+ */
+public final class CsrLinkGraph {
+
+    static final CsrLinkGraph EMPTY = new Builder(0).build();
+
+    private final long[] nodeMsb;
+
+    private final long[] nodeLsb;
+
+    private final int[] offsets;
+
+    private final int[] adjacent;
+
+    private final int[] edgeLinks;
+
+    private final long[] linkMsb;
+
+    private final long[] linkLsb;
+
+    private final int[] linkTypes;
+
+    private final UUID[] linkTypeIds;
+
+    private CsrLinkGraph(long[] nodeMsb, long[] nodeLsb, int[] offsets, int[] adjacent, int[] edgeLinks,
+                         long[] linkMsb, long[] linkLsb, int[] linkTypes, UUID[] linkTypeIds) {
+        this.nodeMsb = nodeMsb;
+        this.nodeLsb = nodeLsb;
+        this.offsets = offsets;
+        this.adjacent = adjacent;
+        this.edgeLinks = edgeLinks;
+        this.linkMsb = linkMsb;
+        this.linkLsb = linkLsb;
+        this.linkTypes = linkTypes;
+        this.linkTypeIds = linkTypeIds;
+    }
+
+    public int nodeCount() {
+        return nodeMsb.length;
+    }
+
+    public int linkCount() {
+        return linkMsb.length;
+    }
+
+    /**
+     * 实例的稠密ID，不在快照中时返回 -1
+     */
+    public int indexOf(UUID instanceId) {
+        return search(nodeMsb, nodeLsb, nodeMsb.length, instanceId.getMostSignificantBits(), instanceId.getLeastSignificantBits());
+    }
+
+    public UUID nodeId(int node) {
+        return new UUID(nodeMsb[node], nodeLsb[node]);
+    }
+
+    /**
+     * 链接类型的下标，不在快照中时返回 -1
+     */
+    public int linkTypeIndex(UUID linkTypeId) {
+        for (int i = 0; i < linkTypeIds.length; i++) {
+            if (linkTypeIds[i].equals(linkTypeId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    int edgeStart(int node) {
+        return offsets[node];
+    }
+
+    int edgeEnd(int node) {
+        return offsets[node + 1];
+    }
+
+    int adjacent(int edge) {
+        return adjacent[edge];
+    }
+
+    /**
+     * 边对应的链接下标
+     */
+    int edgeLink(int edge) {
+        int link = edgeLinks[edge];
+        return link >= 0 ? link : ~link;
+    }
+
+    /**
+     * 边是否从当前实例指向邻居（当前实例为链接的源实例）
+     */
+    boolean isOutgoing(int edge) {
+        return edgeLinks[edge] >= 0;
+    }
+
+    int linkType(int link) {
+        return linkTypes[link];
+    }
+
+    UUID linkTypeId(int link) {
+        return linkTypeIds[linkTypes[link]];
+    }
+
+    boolean linkIdEquals(int link, UUID linkId) {
+        return linkMsb[link] == linkId.getMostSignificantBits() && linkLsb[link] == linkId.getLeastSignificantBits();
+    }
+
+    UUID linkId(int link) {
+        return new UUID(linkMsb[link], linkLsb[link]);
+    }
+
+    /**
+     * 查找 source 一侧指向 target 的指定链接，返回链接下标，不存在时返回 -1
+     */
+    int findLink(UUID linkId, UUID sourceInstanceId, UUID targetInstanceId) {
+        int source = indexOf(sourceInstanceId);
+        int target = indexOf(targetInstanceId);
+        if (source < 0 || target < 0) {
+            return -1;
+        }
+        for (int edge = offsets[source]; edge < offsets[source + 1]; edge++) {
+            if (adjacent[edge] == target && edgeLinks[edge] >= 0 && linkIdEquals(edgeLinks[edge], linkId)) {
+                return edgeLinks[edge];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 数组占用的字节数（不含对象头）
+     */
+    public long memoryBytes() {
+        return 8L * (nodeMsb.length + nodeLsb.length + linkMsb.length + linkLsb.length)
+            + 4L * (offsets.length + adjacent.length + edgeLinks.length + linkTypes.length)
+            + 32L * linkTypeIds.length;
+    }
+
+    private static int search(long[] msb, long[] lsb, int size, long keyMsb, long keyLsb) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(msb[mid], lsb[mid], keyMsb, keyLsb);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static int compare(long msb1, long lsb1, long msb2, long lsb2) {
+        int cmp = Long.compare(msb1, msb2);
+        return cmp != 0 ? cmp : Long.compare(lsb1, lsb2);
+    }
+
+    /**
+     * 快照构建器：逐条添加链接后一次性构建
+     * 不检查链接ID重复，调用方保证每条链接只添加一次
+     */
+    public static final class Builder {
+
+        private int size;
+
+        private long[] linkMsb;
+
+        private long[] linkLsb;
+
+        private long[] sourceMsb;
+
+        private long[] sourceLsb;
+
+        private long[] targetMsb;
+
+        private long[] targetLsb;
+
+        private int[] linkTypes;
+
+        private final Map<UUID, Integer> linkTypeIndexes = new HashMap<>();
+
+        private final List<UUID> linkTypeIds = new ArrayList<>();
+
+        public Builder(int expectedLinks) {
+            int capacity = Math.max(expectedLinks, 16);
+            linkMsb = new long[capacity];
+            linkLsb = new long[capacity];
+            sourceMsb = new long[capacity];
+            sourceLsb = new long[capacity];
+            targetMsb = new long[capacity];
+            targetLsb = new long[capacity];
+            linkTypes = new int[capacity];
+        }
+
+        public Builder add(UUID linkId, UUID linkTypeId, UUID sourceInstanceId, UUID targetInstanceId) {
+            if (size == linkMsb.length) {
+                grow();
+            }
+            Integer type = linkTypeIndexes.get(linkTypeId);
+            if (type == null) {
+                type = linkTypeIds.size();
+                linkTypeIndexes.put(linkTypeId, type);
+                linkTypeIds.add(linkTypeId);
+            }
+            linkMsb[size] = linkId.getMostSignificantBits();
+            linkLsb[size] = linkId.getLeastSignificantBits();
+            sourceMsb[size] = sourceInstanceId.getMostSignificantBits();
+            sourceLsb[size] = sourceInstanceId.getLeastSignificantBits();
+            targetMsb[size] = targetInstanceId.getMostSignificantBits();
+            targetLsb[size] = targetInstanceId.getLeastSignificantBits();
+            linkTypes[size] = type;
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public CsrLinkGraph build() {
+            // 1. 实例UUID排序去重，下标即稠密ID
+            long[] nodeMsb = new long[size * 2];
+            long[] nodeLsb = new long[size * 2];
+            System.arraycopy(sourceMsb, 0, nodeMsb, 0, size);
+            System.arraycopy(sourceLsb, 0, nodeLsb, 0, size);
+            System.arraycopy(targetMsb, 0, nodeMsb, size, size);
+            System.arraycopy(targetLsb, 0, nodeLsb, size, size);
+            sort(nodeMsb, nodeLsb, 0, nodeMsb.length - 1);
+            int nodes = 0;
+            for (int i = 0; i < nodeMsb.length; i++) {
+                if (nodes == 0 || nodeMsb[i] != nodeMsb[nodes - 1] || nodeLsb[i] != nodeLsb[nodes - 1]) {
+                    nodeMsb[nodes] = nodeMsb[i];
+                    nodeLsb[nodes] = nodeLsb[i];
+                    nodes++;
+                }
+            }
+            nodeMsb = Arrays.copyOf(nodeMsb, nodes);
+            nodeLsb = Arrays.copyOf(nodeLsb, nodes);
+
+            // 2. 链接两端转换为稠密ID并统计度数
+            int[] sources = new int[size];
+            int[] targets = new int[size];
+            int[] offsets = new int[nodes + 1];
+            for (int link = 0; link < size; link++) {
+                sources[link] = search(nodeMsb, nodeLsb, nodes, sourceMsb[link], sourceLsb[link]);
+                targets[link] = search(nodeMsb, nodeLsb, nodes, targetMsb[link], targetLsb[link]);
+                offsets[sources[link] + 1]++;
+                offsets[targets[link] + 1]++;
+            }
+            for (int node = 0; node < nodes; node++) {
+                offsets[node + 1] += offsets[node];
+            }
+
+            // 3. 按实例填充邻接边
+            int[] adjacent = new int[size * 2];
+            int[] edgeLinks = new int[size * 2];
+            int[] cursor = Arrays.copyOf(offsets, nodes);
+            for (int link = 0; link < size; link++) {
+                int edge = cursor[sources[link]]++;
+                adjacent[edge] = targets[link];
+                edgeLinks[edge] = link;
+                edge = cursor[targets[link]]++;
+                adjacent[edge] = sources[link];
+                edgeLinks[edge] = ~link;
+            }
+            return new CsrLinkGraph(nodeMsb, nodeLsb, offsets, adjacent, edgeLinks,
+                Arrays.copyOf(linkMsb, size), Arrays.copyOf(linkLsb, size), Arrays.copyOf(linkTypes, size),
+                linkTypeIds.toArray(new UUID[0]));
+        }
+
+        private void grow() {
+            int capacity = linkMsb.length + (linkMsb.length >> 1);
+            linkMsb = Arrays.copyOf(linkMsb, capacity);
+            linkLsb = Arrays.copyOf(linkLsb, capacity);
+            sourceMsb = Arrays.copyOf(sourceMsb, capacity);
+            sourceLsb = Arrays.copyOf(sourceLsb, capacity);
+            targetMsb = Arrays.copyOf(targetMsb, capacity);
+            targetLsb = Arrays.copyOf(targetLsb, capacity);
+            linkTypes = Arrays.copyOf(linkTypes, capacity);
+        }
+
+        /**
+         * 按 (msb, lsb) 对两个并行数组原地快速排序，避免为每个UUID创建对象
+         */
+        private static void sort(long[] msb, long[] lsb, int low, int high) {
+            while (high - low > 16) {
+                int mid = (low + high) >>> 1;
+                long pivotMsb = msb[mid];
+                long pivotLsb = lsb[mid];
+                int i = low;
+                int j = high;
+                while (i <= j) {
+                    while (compare(msb[i], lsb[i], pivotMsb, pivotLsb) < 0) {
+                        i++;
+                    }
+                    while (compare(msb[j], lsb[j], pivotMsb, pivotLsb) > 0) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        swap(msb, lsb, i++, j--);
+                    }
+                }
+                // 先递归较短的一侧，较长的一侧继续循环，递归深度为 O(log n)
+                if (j - low < high - i) {
+                    sort(msb, lsb, low, j);
+                    low = i;
+                } else {
+                    sort(msb, lsb, i, high);
+                    high = j;
+                }
+            }
+            for (int i = low + 1; i <= high; i++) {
+                for (int j = i; j > low && compare(msb[j - 1], lsb[j - 1], msb[j], lsb[j]) > 0; j--) {
+                    swap(msb, lsb, j - 1, j);
+                }
+            }
+        }
+
+        private static void swap(long[] msb, long[] lsb, int i, int j) {
+            long m = msb[i];
+            msb[i] = msb[j];
+            msb[j] = m;
+            long l = lsb[i];
+            lsb[i] = lsb[j];
+            lsb[j] = l;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.datamodel.core.graph;
+
+import com.example.datamodel.entity.LinkInstance;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 内存中的局部链接图（无向）
+ * 由路径查询按层批量加载的链接构建，在内存中完成距离计算和路径枚举，不再逐节点查询数据库
+ *
+ * 非线程安全，只在单次查询内使用
+ *
+ * @author DataModel Team
+ */
+public final class LinkAdjacency {
+
+    /**
+     * 每执行多少步检查一次时间预算
+     */
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+    private final Map<UUID, List<LinkInstance>> adjacency = new HashMap<>();
+
+    private final Set<UUID> linkIds = new HashSet<>();
+
+    /**
+     * 添加链接（按链接ID去重，自环链接不参与简单路径，忽略）
+     */
+    public void addAll(Collection<LinkInstance> links) {
+        for (LinkInstance link : links) {
+            if (link.getSourceInstanceId().equals(link.getTargetInstanceId()) || !linkIds.add(link.getId())) {
+                continue;
+            }
+            adjacency.computeIfAbsent(link.getSourceInstanceId(), k -> new ArrayList<>()).add(link);
+            adjacency.computeIfAbsent(link.getTargetInstanceId(), k -> new ArrayList<>()).add(link);
+        }
+    }
+
+    /**
+     * 图中的节点数
+     */
+    public int nodeCount() {
+        return adjacency.size();
+    }
+
+    /**
+     * 图中的链接数
+     */
+    public int linkCount() {
+        return linkIds.size();
+    }
+
+    /**
+     * 从起点出发的最短跳数（不超过 maxDepth）
+     */
+    public Map<UUID, Integer> distancesFrom(UUID start, int maxDepth) {
+        Map<UUID, Integer> distances = new HashMap<>();
+        distances.put(start, 0);
+        Deque<UUID> queue = new ArrayDeque<>();
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            UUID current = queue.poll();
+            int depth = distances.get(current);
+            if (depth == maxDepth) {
+                continue;
+            }
+            for (LinkInstance link : adjacency.getOrDefault(current, Collections.<LinkInstance>emptyList())) {
+                UUID next = otherEnd(link, current);
+                if (!distances.containsKey(next)) {
+                    distances.put(next, depth + 1);
+                    queue.add(next);
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * 按长度从短到长枚举起点到终点的简单路径
+     * 对每个长度 l 做一次带剪枝的深度优先搜索：只走 当前长度 + 1 + 到终点的距离 <= l 的边
+     *
+     * @param source      起点
+     * @param target      终点
+     * @param maxLength   最大路径长度（跳数）
+     * @param maxPaths    最多返回的路径数
+     * @param deadlineMs  截止时间（System.currentTimeMillis），到达后停止枚举
+     * @return 枚举结果
+     */
+    public PathEnumeration shortestPaths(UUID source, UUID target, int maxLength, int maxPaths, long deadlineMs) {
+        PathEnumeration result = new PathEnumeration();
+        if (source.equals(target)) {
+            result.paths.add(new ArrayList<>());
+            return result;
+        }
+        Map<UUID, Integer> toTarget = distancesFrom(target, maxLength);
+        Integer shortest = toTarget.get(source);
+        if (shortest == null) {
+            return result;
+        }
+        Search search = new Search(target, toTarget, maxPaths, deadlineMs, result);
+        for (int length = shortest; length <= maxLength && !search.stopped; length++) {
+            search.length = length;
+            search.onPath.add(source);
+            search.walk(source);
+            search.onPath.remove(source);
+        }
+        return result;
+    }
+
+    private static UUID otherEnd(LinkInstance link, UUID node) {
+        return link.getSourceInstanceId().equals(node) ? link.getTargetInstanceId() : link.getSourceInstanceId();
+    }
+
+    /**
+     * 单次枚举的搜索状态
+     */
+    private final class Search {
+
+        private final UUID target;
+
+        private final Map<UUID, Integer> toTarget;
+
+        private final int maxPaths;
+
+        private final long deadlineMs;
+
+        private final PathEnumeration result;
+
+        private final Set<UUID> onPath = new LinkedHashSet<>();
+
+        private final List<LinkInstance> path = new ArrayList<>();
+
+        private int length;
+
+        private long steps;
+
+        private boolean stopped;
+
+        private Search(UUID target, Map<UUID, Integer> toTarget, int maxPaths, long deadlineMs, PathEnumeration result) {
+            this.target = target;
+            this.toTarget = toTarget;
+            this.maxPaths = maxPaths;
+            this.deadlineMs = deadlineMs;
+            this.result = result;
+        }
+
+        private void walk(UUID current) {
+            if (current.equals(target)) {
+                if (path.size() == length) {
+                    if (result.paths.size() == maxPaths) {
+                        // 已找到上限数量的路径且还有更多
+                        result.pathLimitReached = true;
+                        stopped = true;
+                        return;
+                    }
+                    result.paths.add(new ArrayList<>(path));
+                }
+                return;
+            }
+            for (LinkInstance link : adjacency.getOrDefault(current, Collections.<LinkInstance>emptyList())) {
+                if (stopped) {
+                    return;
+                }
+                if (++steps % DEADLINE_CHECK_INTERVAL == 0 && System.currentTimeMillis() > deadlineMs) {
+                    result.timeBudgetExceeded = true;
+                    stopped = true;
+                    return;
+                }
+                UUID next = otherEnd(link, current);
+                Integer remaining = toTarget.get(next);
+                if (remaining == null || path.size() + 1 + remaining > length || onPath.contains(next)) {
+                    continue;
+                }
+                onPath.add(next);
+                path.add(link);
+                walk(next);
+                path.remove(path.size() - 1);
+                onPath.remove(next);
+            }
+        }
+    }
+
+    /**
+     * 路径枚举结果
+     */
+    public static final class PathEnumeration {
+
+        private final List<List<LinkInstance>> paths = new ArrayList<>();
+
+        private boolean pathLimitReached;
+
+        private boolean timeBudgetExceeded;
+
+        /**
+         * 路径列表（按长度从短到长，每个路径是从起点到终点的链接序列）
+         */
+        public List<List<LinkInstance>> getPaths() {
+            return paths;
+        }
+
+        /**
+         * 是否因达到路径数上限而停止（仍有更多路径）
+         */
+        public boolean isPathLimitReached() {
+            return pathLimitReached;
+        }
+
+        /**
+         * 是否因超出时间预算而停止
+         */
+        public boolean isTimeBudgetExceeded() {
+            return timeBudgetExceeded;
+        }
+    }
+}
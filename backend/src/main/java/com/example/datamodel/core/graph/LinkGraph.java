@@ -0,0 +1,399 @@
+package com.example.datamodel.core.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 链接实例图：CSR 快照 + 增量覆盖层，不可变
+ *
+ * 快照加载后新增的链接记录在覆盖层的邻接表中（快照中不存在的实例分配 nodeCount 之后的ID），
+ * 删除的快照链接记录为被删除的链接下标；每次变更返回新的实例，读取方无需加锁。
+ * 覆盖层使用 {@link PersistentMap}，新实例与原实例共享未变更的部分，单次变更的开销与覆盖层大小无关。
+ * 覆盖层增大后通过 {@link #compact()} 合并为新的快照
+ *
+ * 图按无向图遍历（链接的两端互为邻居），与按实例ID查询链接的语义一致
+ *
+ * @author DataModel Team
+ */
+public final class LinkGraph {
+
+    /**
+     * 覆盖层每条边、每个删除标记、每个新实例的估算字节数（对象头、引用和集合节点）
+     */
+    private static final int DELTA_EDGE_BYTES = 80;
+
+    private static final int REMOVED_LINK_BYTES = 48;
+
+    private static final int EXTRA_NODE_BYTES = 112;
+
+    private final CsrLinkGraph base;
+
+    private final PersistentMap<Integer, Boolean> removedLinks;
+
+    private final PersistentMap<UUID, Integer> extraNodes;
+
+    /**
+     * 新实例ID，键为 节点ID - 快照实例数
+     */
+    private final PersistentMap<Integer, UUID> extraNodeIds;
+
+    private final PersistentMap<Integer, List<DeltaEdge>> addedEdges;
+
+    private final int addedLinks;
+
+    private LinkGraph(CsrLinkGraph base, PersistentMap<Integer, Boolean> removedLinks, PersistentMap<UUID, Integer> extraNodes,
+                      PersistentMap<Integer, UUID> extraNodeIds, PersistentMap<Integer, List<DeltaEdge>> addedEdges, int addedLinks) {
+        this.base = base;
+        this.removedLinks = removedLinks;
+        this.extraNodes = extraNodes;
+        this.extraNodeIds = extraNodeIds;
+        this.addedEdges = addedEdges;
+        this.addedLinks = addedLinks;
+    }
+
+    public static LinkGraph of(CsrLinkGraph base) {
+        return new LinkGraph(base, PersistentMap.<Integer, Boolean>empty(), PersistentMap.<UUID, Integer>empty(),
+            PersistentMap.<Integer, UUID>empty(), PersistentMap.<Integer, List<DeltaEdge>>empty(), 0);
+    }
+
+    public static LinkGraph empty() {
+        return of(CsrLinkGraph.EMPTY);
+    }
+
+    public int nodeCount() {
+        return base.nodeCount() + extraNodeIds.size();
+    }
+
+    public int linkCount() {
+        return base.linkCount() - removedLinks.size() + addedLinks;
+    }
+
+    /**
+     * 覆盖层中的变更数（新增链接数 + 删除的快照链接数）
+     */
+    public int deltaSize() {
+        return addedLinks + removedLinks.size();
+    }
+
+    public boolean containsLink(UUID linkId, UUID sourceInstanceId, UUID targetInstanceId) {
+        int link = base.findLink(linkId, sourceInstanceId, targetInstanceId);
+        if (link >= 0) {
+            return !removedLinks.containsKey(link);
+        }
+        int source = node(sourceInstanceId);
+        return source >= 0 && indexOfDeltaEdge(addedEdges.get(source), linkId) >= 0;
+    }
+
+    /**
+     * 添加链接，链接已存在时返回当前实例
+     */
+    public LinkGraph withLink(UUID linkId, UUID linkTypeId, UUID sourceInstanceId, UUID targetInstanceId) {
+        if (containsLink(linkId, sourceInstanceId, targetInstanceId)) {
+            return this;
+        }
+        PersistentMap<UUID, Integer> nodes = extraNodes;
+        PersistentMap<Integer, UUID> nodeIds = extraNodeIds;
+        int source = node(sourceInstanceId);
+        if (source < 0) {
+            source = base.nodeCount() + nodeIds.size();
+            nodes = nodes.put(sourceInstanceId, source);
+            nodeIds = nodeIds.put(nodeIds.size(), sourceInstanceId);
+        }
+        int target = sourceInstanceId.equals(targetInstanceId) ? source : node(targetInstanceId);
+        if (target < 0) {
+            target = base.nodeCount() + nodeIds.size();
+            nodes = nodes.put(targetInstanceId, target);
+            nodeIds = nodeIds.put(nodeIds.size(), targetInstanceId);
+        }
+        PersistentMap<Integer, List<DeltaEdge>> edges = appendDeltaEdge(addedEdges, source, new DeltaEdge(target, linkId, linkTypeId, true));
+        edges = appendDeltaEdge(edges, target, new DeltaEdge(source, linkId, linkTypeId, false));
+        return new LinkGraph(base, removedLinks, nodes, nodeIds, edges, addedLinks + 1);
+    }
+
+    /**
+     * 删除链接，链接不存在时返回当前实例
+     */
+    public LinkGraph withoutLink(UUID linkId, UUID sourceInstanceId, UUID targetInstanceId) {
+        int link = base.findLink(linkId, sourceInstanceId, targetInstanceId);
+        if (link >= 0) {
+            if (removedLinks.containsKey(link)) {
+                return this;
+            }
+            return new LinkGraph(base, removedLinks.put(link, Boolean.TRUE), extraNodes, extraNodeIds, addedEdges, addedLinks);
+        }
+        int source = node(sourceInstanceId);
+        int target = node(targetInstanceId);
+        if (source < 0 || target < 0 || indexOfDeltaEdge(addedEdges.get(source), linkId) < 0) {
+            return this;
+        }
+        PersistentMap<Integer, List<DeltaEdge>> edges = removeDeltaEdges(addedEdges, source, linkId);
+        if (target != source) {
+            edges = removeDeltaEdges(edges, target, linkId);
+        }
+        return new LinkGraph(base, removedLinks, extraNodes, extraNodeIds, edges, addedLinks - 1);
+    }
+
+    /**
+     * 将覆盖层合并为新的快照
+     */
+    public LinkGraph compact() {
+        CsrLinkGraph.Builder builder = new CsrLinkGraph.Builder(linkCount());
+        for (int node = 0; node < base.nodeCount(); node++) {
+            for (int edge = base.edgeStart(node); edge < base.edgeEnd(node); edge++) {
+                int link = base.edgeLink(edge);
+                if (base.isOutgoing(edge) && !removedLinks.containsKey(link)) {
+                    builder.add(base.linkId(link), base.linkTypeId(link), base.nodeId(node), base.nodeId(base.adjacent(edge)));
+                }
+            }
+        }
+        addedEdges.forEach((node, edges) -> {
+            for (DeltaEdge edge : edges) {
+                if (edge.outgoing) {
+                    builder.add(edge.linkId, edge.linkTypeId, nodeId(node), nodeId(edge.neighbor));
+                }
+            }
+        });
+        return of(builder.build());
+    }
+
+    /**
+     * 实例的直接邻居
+     *
+     * @param instanceId 实例ID
+     * @param linkTypeId 链接类型ID（可选，为空时不过滤）
+     */
+    public Set<UUID> neighbors(UUID instanceId, UUID linkTypeId) {
+        Set<UUID> result = new LinkedHashSet<>();
+        int node = node(instanceId);
+        if (node < 0) {
+            return result;
+        }
+        IntList neighbors = new IntList();
+        collectNeighbors(node, linkTypeId, linkTypeId != null ? base.linkTypeIndex(linkTypeId) : -1, neighbors);
+        for (int i = 0; i < neighbors.size; i++) {
+            result.add(nodeId(neighbors.values[i]));
+        }
+        return result;
+    }
+
+    /**
+     * 一组实例的所有邻居（BFS 的一层扩展）
+     */
+    public Set<UUID> expand(Collection<UUID> instanceIds) {
+        Set<UUID> result = new LinkedHashSet<>();
+        IntList neighbors = new IntList();
+        for (UUID instanceId : instanceIds) {
+            int node = node(instanceId);
+            if (node >= 0) {
+                collectNeighbors(node, null, -1, neighbors);
+            }
+        }
+        for (int i = 0; i < neighbors.size; i++) {
+            result.add(nodeId(neighbors.values[i]));
+        }
+        return result;
+    }
+
+    /**
+     * 从起点广度优先遍历
+     *
+     * @param start      起始实例ID
+     * @param depth      深度
+     * @param maxResults 最大返回实例数
+     * @return 关联实例及最短跳数（按首次到达顺序，不包含起点）
+     */
+    public Traversal traverse(UUID start, int depth, int maxResults) {
+        Traversal traversal = new Traversal();
+        int startNode = node(start);
+        if (startNode < 0) {
+            return traversal;
+        }
+        BitSet visited = new BitSet(nodeCount());
+        visited.set(startNode);
+        IntList queue = new IntList();
+        queue.add(startNode);
+        IntList neighbors = new IntList();
+        int levelStart = 0;
+        for (int level = 1; level <= depth && levelStart < queue.size; level++) {
+            int levelEnd = queue.size;
+            for (int i = levelStart; i < levelEnd; i++) {
+                neighbors.size = 0;
+                collectNeighbors(queue.values[i], null, -1, neighbors);
+                for (int j = 0; j < neighbors.size; j++) {
+                    int next = neighbors.values[j];
+                    if (visited.get(next)) {
+                        continue;
+                    }
+                    if (traversal.depths.size() == maxResults) {
+                        traversal.truncated = true;
+                        return traversal;
+                    }
+                    visited.set(next);
+                    queue.add(next);
+                    traversal.depths.put(nodeId(next), level);
+                }
+            }
+            levelStart = levelEnd;
+        }
+        return traversal;
+    }
+
+    /**
+     * 内存占用报告
+     */
+    public Map<String, Object> describe() {
+        AtomicLong deltaEdges = new AtomicLong();
+        addedEdges.forEach((node, edges) -> deltaEdges.addAndGet(edges.size()));
+        long deltaBytes = deltaEdges.get() * DELTA_EDGE_BYTES + (long) removedLinks.size() * REMOVED_LINK_BYTES
+            + (long) extraNodeIds.size() * EXTRA_NODE_BYTES;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("nodes", nodeCount());
+        stats.put("links", linkCount());
+        stats.put("snapshotNodes", base.nodeCount());
+        stats.put("snapshotLinks", base.linkCount());
+        stats.put("deltaAddedLinks", addedLinks);
+        stats.put("deltaRemovedLinks", removedLinks.size());
+        stats.put("snapshotBytes", base.memoryBytes());
+        stats.put("deltaBytesEstimated", deltaBytes);
+        stats.put("totalBytesEstimated", base.memoryBytes() + deltaBytes);
+        return stats;
+    }
+
+    private int node(UUID instanceId) {
+        int node = base.indexOf(instanceId);
+        if (node >= 0) {
+            return node;
+        }
+        Integer extra = extraNodes.get(instanceId);
+        return extra != null ? extra : -1;
+    }
+
+    private UUID nodeId(int node) {
+        return node < base.nodeCount() ? base.nodeId(node) : extraNodeIds.get(node - base.nodeCount());
+    }
+
+    private void collectNeighbors(int node, UUID linkTypeId, int baseLinkType, IntList out) {
+        if (node < base.nodeCount() && (linkTypeId == null || baseLinkType >= 0)) {
+            boolean checkRemoved = !removedLinks.isEmpty();
+            for (int edge = base.edgeStart(node); edge < base.edgeEnd(node); edge++) {
+                int link = base.edgeLink(edge);
+                if (linkTypeId != null && base.linkType(link) != baseLinkType) {
+                    continue;
+                }
+                if (checkRemoved && removedLinks.containsKey(link)) {
+                    continue;
+                }
+                out.add(base.adjacent(edge));
+            }
+        }
+        List<DeltaEdge> edges = addedEdges.get(node);
+        if (edges != null) {
+            for (DeltaEdge edge : edges) {
+                if (linkTypeId == null || linkTypeId.equals(edge.linkTypeId)) {
+                    out.add(edge.neighbor);
+                }
+            }
+        }
+    }
+
+    private static PersistentMap<Integer, List<DeltaEdge>> appendDeltaEdge(PersistentMap<Integer, List<DeltaEdge>> edges,
+                                                                          int node, DeltaEdge edge) {
+        List<DeltaEdge> current = edges.get(node);
+        List<DeltaEdge> updated = current != null ? new ArrayList<>(current) : new ArrayList<DeltaEdge>(1);
+        updated.add(edge);
+        return edges.put(node, updated);
+    }
+
+    private static PersistentMap<Integer, List<DeltaEdge>> removeDeltaEdges(PersistentMap<Integer, List<DeltaEdge>> edges,
+                                                                           int node, UUID linkId) {
+        List<DeltaEdge> updated = new ArrayList<>();
+        for (DeltaEdge edge : edges.get(node)) {
+            if (!edge.linkId.equals(linkId)) {
+                updated.add(edge);
+            }
+        }
+        return updated.isEmpty() ? edges.remove(node) : edges.put(node, updated);
+    }
+
+    private static int indexOfDeltaEdge(List<DeltaEdge> edges, UUID linkId) {
+        if (edges != null) {
+            for (int i = 0; i < edges.size(); i++) {
+                if (edges.get(i).outgoing && edges.get(i).linkId.equals(linkId)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 覆盖层中的边
+     */
+    private static final class DeltaEdge {
+
+        private final int neighbor;
+
+        private final UUID linkId;
+
+        private final UUID linkTypeId;
+
+        private final boolean outgoing;
+
+        private DeltaEdge(int neighbor, UUID linkId, UUID linkTypeId, boolean outgoing) {
+            this.neighbor = neighbor;
+            this.linkId = linkId;
+            this.linkTypeId = linkTypeId;
+            this.outgoing = outgoing;
+        }
+    }
+
+    /**
+     * 可增长的 int 数组
+     */
+    private static final class IntList {
+
+        private int[] values = new int[16];
+
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * 遍历结果
+     */
+    public static final class Traversal {
+
+        private final Map<UUID, Integer> depths = new LinkedHashMap<>();
+
+        private boolean truncated;
+
+        /**
+         * 关联实例及最短跳数（按首次到达顺序，不包含起点）
+         */
+        public Map<UUID, Integer> getDepths() {
+            return depths;
+        }
+
+        /**
+         * 是否因达到结果上限而截断
+         */
+        public boolean isTruncated() {
+            return truncated;
+        }
+    }
+}
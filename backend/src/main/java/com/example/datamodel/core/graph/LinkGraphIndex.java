@@ -0,0 +1,346 @@
+package com.example.datamodel.core.graph;
+
+import com.example.datamodel.entity.LinkInstance;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 链接实例图索引
+ * 启动后从 link_instances 流式加载 CSR 快照，链接创建、删除的事务提交后写入增量覆盖层，
+ * 覆盖层超过阈值时在后台合并为新快照；多跳遍历和邻居查询在内存中完成，不再查询数据库
+ *
+ * 覆盖层只包含本节点提交的变更，其他节点或外部写入的链接在下次定期重新加载后才可见，
+ * 因此默认不启用，只在单节点写入或可以接受该延迟时开启。
+ * 未启用、尚未加载完成或超过两个刷新周期未成功重新加载时 {@link #current()} 返回null，调用方回退到数据库查询
+ *
+ * @author DataModel Team
+ */
+@Slf4j
+@Component
+public class LinkGraphIndex {
+
+    private static final String LOAD_SQL =
+        "SELECT id, link_type_id, source_instance_id, target_instance_id FROM link_instances";
+
+    @Value("${datamodel.query.graph-index.enabled:false}")
+    private boolean enabled;
+
+    @Value("${datamodel.query.graph-index.fetch-size:10000}")
+    private int fetchSize;
+
+    @Value("${datamodel.query.graph-index.compact-threshold:10000}")
+    private int compactThreshold;
+
+    @Value("${datamodel.query.graph-index.refresh-interval-minutes:10}")
+    private long refreshIntervalMinutes;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile LinkGraph graph;
+
+    /**
+     * 重新加载期间提交的变更，加载完成后在新快照上重放（变更幂等，快照已包含时不重复应用）
+     */
+    private List<Change> pendingChanges;
+
+    /**
+     * 后台合并期间提交的变更，合并完成后在新快照上重放；重新加载替换图后置为null，合并结果随之作废
+     */
+    private List<Change> compactionChanges;
+
+    private final Object reloadLock = new Object();
+
+    private final ScheduledExecutorService indexExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "link-graph-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile LocalDateTime loadedAt;
+
+    private volatile long loadMs;
+
+    private final AtomicLong reloads = new AtomicLong();
+
+    private final AtomicLong compactions = new AtomicLong();
+
+    private final AtomicLong appliedChanges = new AtomicLong();
+
+    /**
+     * 应用启动完成后加载快照，之后定期重新加载以纳入其他节点写入的链接
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("加载链接实例图索引失败，关联查询将使用数据库", e);
+        }
+        if (refreshIntervalMinutes > 0) {
+            indexExecutor.scheduleWithFixedDelay(this::refresh,
+                refreshIntervalMinutes, refreshIntervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexExecutor.shutdownNow();
+    }
+
+    /**
+     * 当前的图，未启用、尚未加载或已过期时返回null
+     */
+    public LinkGraph current() {
+        return enabled && !isExpired() ? graph : null;
+    }
+
+    /**
+     * 从数据库重新加载快照并替换
+     */
+    public LinkGraph reload() {
+        synchronized (reloadLock) {
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+            long start = System.currentTimeMillis();
+            CsrLinkGraph snapshot;
+            try {
+                snapshot = loadSnapshot();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pendingChanges = null;
+                }
+                throw e;
+            }
+            LinkGraph loaded = LinkGraph.of(snapshot);
+            synchronized (this) {
+                for (Change change : pendingChanges) {
+                    loaded = change.applyTo(loaded);
+                }
+                pendingChanges = null;
+                compactionChanges = null;
+                graph = loaded;
+                loadedAt = LocalDateTime.now();
+            }
+            loadMs = System.currentTimeMillis() - start;
+            reloads.incrementAndGet();
+            log.info("已加载链接实例图索引：{} 个实例，{} 条链接，约 {} 字节，耗时 {}ms",
+                snapshot.nodeCount(), snapshot.linkCount(), snapshot.memoryBytes(), loadMs);
+            return loaded;
+        }
+    }
+
+    /**
+     * 链接创建后更新图（存在事务时在提交后更新）
+     */
+    public void linkCreated(LinkInstance link) {
+        applyAfterCommit(new Change(true, link.getId(), link.getLinkTypeId(), link.getSourceInstanceId(), link.getTargetInstanceId()));
+    }
+
+    /**
+     * 链接删除后更新图（存在事务时在提交后更新）
+     */
+    public void linkDeleted(LinkInstance link) {
+        applyAfterCommit(new Change(false, link.getId(), link.getLinkTypeId(), link.getSourceInstanceId(), link.getTargetInstanceId()));
+    }
+
+    /**
+     * 图索引统计（含内存占用）
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        LinkGraph current = graph;
+        stats.put("ready", current != null);
+        if (current != null) {
+            stats.putAll(current.describe());
+        }
+        stats.put("expired", current != null && isExpired());
+        stats.put("compactThreshold", compactThreshold);
+        stats.put("refreshIntervalMinutes", refreshIntervalMinutes);
+        stats.put("appliedChanges", appliedChanges.get());
+        stats.put("compactions", compactions.get());
+        stats.put("reloads", reloads.get());
+        stats.put("loadMs", loadMs);
+        stats.put("loadedAt", loadedAt);
+        return stats;
+    }
+
+    private void refresh() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // 定期任务抛出异常后不会再次执行
+            log.warn("重新加载链接实例图索引失败：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 超过两个刷新周期未成功重新加载（如数据库持续不可用）的图不再使用，避免长期返回过时的关联结果
+     */
+    private boolean isExpired() {
+        LocalDateTime at = loadedAt;
+        return refreshIntervalMinutes > 0 && at != null
+            && at.plusMinutes(refreshIntervalMinutes * 2).isBefore(LocalDateTime.now());
+    }
+
+    /**
+     * 流式读取全部链接（关闭自动提交并设置 fetchSize，PostgreSQL 驱动才会分批读取而不是一次性载入结果集）
+     */
+    private CsrLinkGraph loadSnapshot() {
+        Long expected = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM link_instances", Long.class);
+        CsrLinkGraph.Builder builder = new CsrLinkGraph.Builder(expected != null ? (int) Math.min(expected, Integer.MAX_VALUE) : 0);
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try (PreparedStatement ps = con.prepareStatement(LOAD_SQL)) {
+                ps.setFetchSize(fetchSize);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        builder.add(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class),
+                            rs.getObject(3, UUID.class), rs.getObject(4, UUID.class));
+                    }
+                }
+                con.commit();
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+        return builder.build();
+    }
+
+    private void applyAfterCommit(Change change) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private synchronized void apply(Change change) {
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+        if (compactionChanges != null) {
+            compactionChanges.add(change);
+        }
+        LinkGraph current = graph;
+        if (current == null) {
+            return;
+        }
+        current = change.applyTo(current);
+        graph = current;
+        appliedChanges.incrementAndGet();
+        if (current.deltaSize() >= compactThreshold && compactionChanges == null) {
+            scheduleCompaction(current);
+        }
+    }
+
+    /**
+     * 在后台合并覆盖层，不阻塞提交事务的线程；合并期间的变更在新快照上重放后再替换
+     */
+    private void scheduleCompaction(LinkGraph captured) {
+        List<Change> replay = new ArrayList<>();
+        compactionChanges = replay;
+        try {
+            indexExecutor.execute(() -> compact(captured, replay));
+        } catch (RejectedExecutionException e) {
+            compactionChanges = null;
+        }
+    }
+
+    private void compact(LinkGraph captured, List<Change> replay) {
+        long start = System.currentTimeMillis();
+        LinkGraph compacted;
+        try {
+            compacted = captured.compact();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                if (compactionChanges == replay) {
+                    compactionChanges = null;
+                }
+            }
+            log.warn("合并链接实例图覆盖层失败：{}", e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            if (compactionChanges != replay) {
+                // 合并期间已重新加载，新的图已包含这些变更
+                return;
+            }
+            for (Change change : replay) {
+                compacted = change.applyTo(compacted);
+            }
+            compactionChanges = null;
+            graph = compacted;
+        }
+        compactions.incrementAndGet();
+        log.info("链接实例图覆盖层已合并为新快照，耗时 {}ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 链接变更
+     */
+    private static final class Change {
+
+        private final boolean created;
+
+        private final UUID linkId;
+
+        private final UUID linkTypeId;
+
+        private final UUID sourceInstanceId;
+
+        private final UUID targetInstanceId;
+
+        private Change(boolean created, UUID linkId, UUID linkTypeId, UUID sourceInstanceId, UUID targetInstanceId) {
+            this.created = created;
+            this.linkId = linkId;
+            this.linkTypeId = linkTypeId;
+            this.sourceInstanceId = sourceInstanceId;
+            this.targetInstanceId = targetInstanceId;
+        }
+
+        private LinkGraph applyTo(LinkGraph graph) {
+            return created
+                ? graph.withLink(linkId, linkTypeId, sourceInstanceId, targetInstanceId)
+                : graph.withoutLink(linkId, sourceInstanceId, targetInstanceId);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.datamodel.core.graph;
+
+import com.example.datamodel.core.cache.MetadataCaches;
+import com.example.datamodel.entity.LinkType;
+import com.example.datamodel.entity.ObjectType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 模型图：对象类型为节点、链接类型为边，不可变
+ * 模型级对象类型关系查询视为无向图：只要对象类型参与某个链接类型，就可到达另一端类型
+ *
+ * 路径和可达查询的结果按参数记忆，模型变更时整个图被替换，记忆随之失效；
+ * 图在请求之间共享，返回的对象类型、链接类型均为副本（与 {@link MetadataCaches} 一致），调用方修改不影响图和记忆结果
+ *
+ * @author DataModel Team
+ */
+public final class OntologyGraph {
+
+    private final Map<UUID, ObjectType> objectTypesById = new HashMap<>();
+
+    private final Map<String, ObjectType> objectTypesByName = new HashMap<>();
+
+    private final Map<UUID, List<LinkType>> linkTypesByObjectType = new HashMap<>();
+
+    private final int linkTypeCount;
+
+    private final int memoLimit;
+
+    private final Map<List<Object>, List<List<LinkType>>> pathMemo = new ConcurrentHashMap<>();
+
+    private final Map<List<Object>, List<ObjectType>> reachableMemo = new ConcurrentHashMap<>();
+
+    /**
+     * @param objectTypes 全部对象类型
+     * @param linkTypes   全部链接类型
+     * @param memoLimit   最多记忆的查询结果数（路径和可达查询分别计数）
+     */
+    public OntologyGraph(Collection<ObjectType> objectTypes, Collection<LinkType> linkTypes, int memoLimit) {
+        for (ObjectType objectType : objectTypes) {
+            objectTypesById.put(objectType.getId(), objectType);
+            objectTypesByName.put(objectType.getName(), objectType);
+        }
+        for (LinkType linkType : linkTypes) {
+            addLinkType(linkType.getSourceObjectTypeId(), linkType);
+            if (!linkType.getTargetObjectTypeId().equals(linkType.getSourceObjectTypeId())) {
+                addLinkType(linkType.getTargetObjectTypeId(), linkType);
+            }
+        }
+        for (Map.Entry<UUID, List<LinkType>> entry : linkTypesByObjectType.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        this.linkTypeCount = linkTypes.size();
+        this.memoLimit = memoLimit;
+    }
+
+    public ObjectType getObjectType(UUID objectTypeId) {
+        return MetadataCaches.copy(objectTypesById.get(objectTypeId));
+    }
+
+    public ObjectType getObjectTypeByName(String name) {
+        return MetadataCaches.copy(objectTypesByName.get(name));
+    }
+
+    /**
+     * 对象类型作为源或目标的所有链接类型
+     */
+    public List<LinkType> getLinkTypes(UUID objectTypeId) {
+        return copyAll(linkTypes(objectTypeId));
+    }
+
+    public int objectTypeCount() {
+        return objectTypesById.size();
+    }
+
+    public int linkTypeCount() {
+        return linkTypeCount;
+    }
+
+    public int memoizedResults() {
+        return pathMemo.size() + reachableMemo.size();
+    }
+
+    /**
+     * 对象类型之间长度不超过 maxDepth 的所有简单路径
+     *
+     * @return 路径列表（每个路径是一个LinkType列表）
+     */
+    public List<List<LinkType>> findPaths(UUID sourceTypeId, UUID targetTypeId, int maxDepth) {
+        List<List<LinkType>> paths = new ArrayList<>();
+        for (List<LinkType> path : memoizedPaths(sourceTypeId, targetTypeId, maxDepth)) {
+            paths.add(copyAll(path));
+        }
+        return paths;
+    }
+
+    /**
+     * 对象类型在 depth 跳内可达的对象类型（按跳数从近到远，不包含自身）
+     */
+    public List<ObjectType> findReachable(UUID objectTypeId, int depth) {
+        return copyAll(memoizedReachable(objectTypeId, depth));
+    }
+
+    private List<List<LinkType>> memoizedPaths(UUID sourceTypeId, UUID targetTypeId, int maxDepth) {
+        List<Object> key = Arrays.<Object>asList(sourceTypeId, targetTypeId, maxDepth);
+        List<List<LinkType>> paths = pathMemo.get(key);
+        if (paths == null) {
+            List<List<LinkType>> found = new ArrayList<>();
+            dfs(sourceTypeId, targetTypeId, new HashSet<UUID>(), new ArrayList<LinkType>(), found, maxDepth, 0);
+            paths = Collections.unmodifiableList(found);
+            memoize(pathMemo, key, paths);
+        }
+        return paths;
+    }
+
+    private List<ObjectType> memoizedReachable(UUID objectTypeId, int depth) {
+        List<Object> key = Arrays.<Object>asList(objectTypeId, depth);
+        List<ObjectType> reachable = reachableMemo.get(key);
+        if (reachable == null) {
+            Set<UUID> visited = new LinkedHashSet<>();
+            visited.add(objectTypeId);
+            List<UUID> currentLevel = Collections.singletonList(objectTypeId);
+            for (int i = 0; i < depth && !currentLevel.isEmpty(); i++) {
+                List<UUID> nextLevel = new ArrayList<>();
+                for (UUID typeId : currentLevel) {
+                    for (LinkType linkType : linkTypes(typeId)) {
+                        UUID nextTypeId = otherEnd(linkType, typeId);
+                        if (visited.add(nextTypeId)) {
+                            nextLevel.add(nextTypeId);
+                        }
+                    }
+                }
+                currentLevel = nextLevel;
+            }
+            visited.remove(objectTypeId);
+            List<ObjectType> found = new ArrayList<>();
+            for (UUID typeId : visited) {
+                ObjectType objectType = objectTypesById.get(typeId);
+                if (objectType != null) {
+                    found.add(objectType);
+                }
+            }
+            reachable = Collections.unmodifiableList(found);
+            memoize(reachableMemo, key, reachable);
+        }
+        return reachable;
+    }
+
+    private void dfs(UUID currentTypeId, UUID targetTypeId, Set<UUID> visited, List<LinkType> currentPath,
+                     List<List<LinkType>> paths, int maxDepth, int currentDepth) {
+        if (currentDepth > maxDepth) {
+            return;
+        }
+        if (currentTypeId.equals(targetTypeId)) {
+            paths.add(Collections.unmodifiableList(new ArrayList<>(currentPath)));
+            return;
+        }
+        visited.add(currentTypeId);
+        for (LinkType linkType : linkTypes(currentTypeId)) {
+            UUID nextTypeId = otherEnd(linkType, currentTypeId);
+            if (!visited.contains(nextTypeId)) {
+                currentPath.add(linkType);
+                dfs(nextTypeId, targetTypeId, visited, currentPath, paths, maxDepth, currentDepth + 1);
+                currentPath.remove(currentPath.size() - 1);
+            }
+        }
+        visited.remove(currentTypeId);
+    }
+
+    private <T> void memoize(Map<List<Object>, T> memo, List<Object> key, T value) {
+        if (memo.size() < memoLimit) {
+            memo.putIfAbsent(key, value);
+        }
+    }
+
+    private List<LinkType> linkTypes(UUID objectTypeId) {
+        List<LinkType> linkTypes = linkTypesByObjectType.get(objectTypeId);
+        return linkTypes != null ? linkTypes : Collections.<LinkType>emptyList();
+    }
+
+    private static <T> List<T> copyAll(List<T> entities) {
+        List<T> copies = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            copies.add(MetadataCaches.copy(entity));
+        }
+        return copies;
+    }
+
+    private void addLinkType(UUID objectTypeId, LinkType linkType) {
+        linkTypesByObjectType.computeIfAbsent(objectTypeId, k -> new ArrayList<>()).add(linkType);
+    }
+
+    private static UUID otherEnd(LinkType linkType, UUID objectTypeId) {
+        return linkType.getSourceObjectTypeId().equals(objectTypeId)
+            ? linkType.getTargetObjectTypeId() : linkType.getSourceObjectTypeId();
+    }
+}
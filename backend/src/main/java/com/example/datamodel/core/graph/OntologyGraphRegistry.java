@@ -0,0 +1,100 @@
+package com.example.datamodel.core.graph;
+
+import com.example.datamodel.core.cache.MetadataChangedEvent;
+import com.example.datamodel.service.LinkTypeService;
+import com.example.datamodel.service.ObjectTypeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 模型图注册表
+ * 首次使用时从对象类型和链接类型构建 {@link OntologyGraph}，对象类型、属性或链接类型变更的事务提交后失效，
+ * 下次使用时重建；模型级关系查询不再逐步查询数据库
+ *
+ * @author DataModel Team
+ */
+@Slf4j
+@Component
+public class OntologyGraphRegistry {
+
+    @Value("${datamodel.query.ontology.memo-size:1000}")
+    private int memoSize;
+
+    @Autowired
+    @Lazy
+    private ObjectTypeService objectTypeService;
+
+    @Autowired
+    @Lazy
+    private LinkTypeService linkTypeService;
+
+    private volatile OntologyGraph graph;
+
+    private volatile LocalDateTime builtAt;
+
+    /**
+     * 变更代数：构建期间发生变更时，构建结果不保留
+     */
+    private final AtomicLong changeGeneration = new AtomicLong();
+
+    private final AtomicLong builds = new AtomicLong();
+
+    /**
+     * 当前的模型图
+     */
+    public OntologyGraph get() {
+        OntologyGraph current = graph;
+        if (current != null) {
+            return current;
+        }
+        long generation = changeGeneration.get();
+        current = new OntologyGraph(objectTypeService.list(), linkTypeService.list(), memoSize);
+        builds.incrementAndGet();
+        if (changeGeneration.get() == generation) {
+            graph = current;
+            builtAt = LocalDateTime.now();
+        }
+        log.debug("构建模型图：{} 个对象类型，{} 个链接类型", current.objectTypeCount(), current.linkTypeCount());
+        return current;
+    }
+
+    /**
+     * 元数据变更后失效（事务提交后执行，无事务时立即执行）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMetadataChanged(MetadataChangedEvent event) {
+        if (event.getObjectTypeId() != null || event.getLinkTypeId() != null) {
+            invalidate();
+        }
+    }
+
+    public void invalidate() {
+        changeGeneration.incrementAndGet();
+        graph = null;
+    }
+
+    /**
+     * 模型图统计
+     */
+    public Map<String, Object> getStats() {
+        OntologyGraph current = graph;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("built", current != null);
+        stats.put("objectTypes", current != null ? current.objectTypeCount() : 0);
+        stats.put("linkTypes", current != null ? current.linkTypeCount() : 0);
+        stats.put("memoizedResults", current != null ? current.memoizedResults() : 0);
+        stats.put("memoSize", memoSize);
+        stats.put("builds", builds.get());
+        stats.put("builtAt", builtAt);
+        return stats;
+    }
+}
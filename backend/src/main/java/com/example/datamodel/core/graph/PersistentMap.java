@@ -0,0 +1,185 @@
+package com.example.datamodel.core.graph;
+
+import java.util.function.BiConsumer;
+
+/**
+ * 不可变哈希映射：32 路哈希前缀树，按哈希值从低位到高位逐层分支
+ *
+ * 写入只复制从根到叶子路径上的节点（最多 7 个 32 元素数组），其余节点与原映射共享，
+ * 链接图覆盖层每次变更生成新版本时不需要复制整个映射。键、值均不能为null
+ *
+ * @author DataModel Team
+ */
+final class PersistentMap<K, V> {
+
+    private static final int BITS = 5;
+
+    private static final int WIDTH = 1 << BITS;
+
+    private static final int MASK = WIDTH - 1;
+
+    /**
+     * 7 层 × 5 位覆盖 32 位哈希值，最后一层存放哈希冲突链
+     */
+    private static final int LEVELS = 7;
+
+    private static final PersistentMap<Object, Object> EMPTY = new PersistentMap<>(null, 0);
+
+    private final Object[] root;
+
+    private final int size;
+
+    private PersistentMap(Object[] root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(Object key) {
+        int hash = hash(key);
+        Object[] node = root;
+        for (int level = 0; node != null && level < LEVELS - 1; level++) {
+            node = (Object[]) node[index(hash, level)];
+        }
+        if (node == null) {
+            return null;
+        }
+        for (Entry entry = (Entry) node[index(hash, LEVELS - 1)]; entry != null; entry = entry.next) {
+            if (entry.hash == hash && entry.key.equals(key)) {
+                return (V) entry.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 返回包含该映射的新版本，值未变化时返回当前实例
+     */
+    PersistentMap<K, V> put(K key, V value) {
+        V current = get(key);
+        if (value.equals(current)) {
+            return this;
+        }
+        return new PersistentMap<>(put(root, 0, hash(key), key, value), current == null ? size + 1 : size);
+    }
+
+    /**
+     * 返回不包含该键的新版本，键不存在时返回当前实例
+     */
+    PersistentMap<K, V> remove(Object key) {
+        if (get(key) == null) {
+            return this;
+        }
+        return new PersistentMap<>(remove(root, 0, hash(key), key), size - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(BiConsumer<? super K, ? super V> action) {
+        forEach(root, 0, (BiConsumer<Object, Object>) action);
+    }
+
+    private static Object[] put(Object[] node, int level, int hash, Object key, Object value) {
+        Object[] copy = node != null ? node.clone() : new Object[WIDTH];
+        int i = index(hash, level);
+        if (level == LEVELS - 1) {
+            copy[i] = new Entry(hash, key, value, without((Entry) copy[i], key));
+        } else {
+            copy[i] = put((Object[]) copy[i], level + 1, hash, key, value);
+        }
+        return copy;
+    }
+
+    /**
+     * 删除已存在的键，子树为空时剪除
+     */
+    private static Object[] remove(Object[] node, int level, int hash, Object key) {
+        Object[] copy = node.clone();
+        int i = index(hash, level);
+        copy[i] = level == LEVELS - 1 ? without((Entry) copy[i], key) : remove((Object[]) copy[i], level + 1, hash, key);
+        if (copy[i] == null) {
+            for (Object child : copy) {
+                if (child != null) {
+                    return copy;
+                }
+            }
+            return null;
+        }
+        return copy;
+    }
+
+    private static Entry without(Entry chain, Object key) {
+        if (chain == null) {
+            return null;
+        }
+        if (chain.key.equals(key)) {
+            return chain.next;
+        }
+        Entry rest = without(chain.next, key);
+        return rest == chain.next ? chain : new Entry(chain.hash, chain.key, chain.value, rest);
+    }
+
+    private static void forEach(Object[] node, int level, BiConsumer<Object, Object> action) {
+        if (node == null) {
+            return;
+        }
+        for (Object child : node) {
+            if (child == null) {
+                continue;
+            }
+            if (level == LEVELS - 1) {
+                for (Entry entry = (Entry) child; entry != null; entry = entry.next) {
+                    action.accept(entry.key, entry.value);
+                }
+            } else {
+                forEach((Object[]) child, level + 1, action);
+            }
+        }
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int index(int hash, int level) {
+        return (hash >>> (level * BITS)) & MASK;
+    }
+
+    /**
+     * 叶子节点中的映射项（哈希冲突时组成链表）
+     */
+    private static final class Entry {
+
+        private final int hash;
+
+        private final Object key;
+
+        private final Object value;
+
+        private final Entry next;
+
+        private Entry(int hash, Object key, Object value, Entry next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+}
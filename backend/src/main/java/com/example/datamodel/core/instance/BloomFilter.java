@@ -0,0 +1,146 @@
+package com.example.datamodel.core.instance;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 实例ID布隆过滤器
+ * 用于判断实例ID是否“一定不在”某个存储中；返回 false 时实例一定不存在，返回 true 时可能存在（存在误判）
+ *
+ * 位数组使用 AtomicLongArray，支持构建完成后与实例创建并发写入
+ *
+ * @author DataModel Team
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+
+    private final long bitSize;
+
+    private final int hashFunctions;
+
+    private final long expectedInsertions;
+
+    private final double expectedFpp;
+
+    private final AtomicLong insertions = new AtomicLong();
+
+    /**
+     * @param expectedInsertions 预期元素数量
+     * @param fpp 预期误判率（0 &lt; fpp &lt; 1）
+     */
+    public BloomFilter(long expectedInsertions, double fpp) {
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("误判率必须在 0 和 1 之间：" + fpp);
+        }
+        long n = Math.max(1, expectedInsertions);
+        // m = -n * ln(p) / (ln2)^2, k = m / n * ln2
+        long m = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (m + 63) / 64));
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+        this.expectedInsertions = n;
+        this.expectedFpp = fpp;
+    }
+
+    /**
+     * 添加实例ID
+     */
+    public void put(UUID id) {
+        long hash1 = mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32));
+        long hash2 = mix(id.getLeastSignificantBits() + 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashFunctions; i++) {
+            setBit(index(hash1 + i * hash2));
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * 判断实例ID是否可能存在
+     *
+     * @return false 表示一定不存在；true 表示可能存在
+     */
+    public boolean mightContain(UUID id) {
+        long hash1 = mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32));
+        long hash2 = mix(id.getLeastSignificantBits() + 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = index(hash1 + i * hash2);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按当前置位比例估算的误判率：(置位数 / 位数)^k
+     */
+    public double estimatedFpp() {
+        return Math.pow((double) bitCount() / bitSize, hashFunctions);
+    }
+
+    /**
+     * 已置位的位数
+     */
+    public long bitCount() {
+        long count = 0;
+        for (int i = 0; i < bits.length(); i++) {
+            count += Long.bitCount(bits.get(i));
+        }
+        return count;
+    }
+
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public double getExpectedFpp() {
+        return expectedFpp;
+    }
+
+    public long getInsertions() {
+        return insertions.get();
+    }
+
+    /**
+     * 位数组占用的内存（字节）
+     */
+    public long getSizeInBytes() {
+        return (long) bits.length() * 8;
+    }
+
+    private long index(long combinedHash) {
+        return (combinedHash & Long.MAX_VALUE) % bitSize;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    /**
+     * 64位哈希混淆（SplitMix64 终结函数）
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
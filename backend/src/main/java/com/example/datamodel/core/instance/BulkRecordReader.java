@@ -0,0 +1,249 @@
+package com.example.datamodel.core.instance;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量导入记录读取器
+ * 逐条读取 CSV（首行为表头）或 NDJSON（每行一个JSON对象）格式的上传内容，不会将整个文件载入内存
+ *
+ * @author DataModel Team
+ */
+public abstract class BulkRecordReader implements Closeable {
+
+    public static final String FORMAT_CSV = "CSV";
+    public static final String FORMAT_NDJSON = "NDJSON";
+
+    protected final BufferedReader reader;
+
+    /**
+     * 当前已读取到的物理行号（从1开始）
+     */
+    protected int lineNumber;
+
+    protected BulkRecordReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    /**
+     * 按格式创建读取器
+     *
+     * @param in 输入流
+     * @param format 格式：CSV 或 NDJSON
+     * @return 读取器
+     */
+    public static BulkRecordReader open(InputStream in, String format) throws IOException {
+        if (FORMAT_NDJSON.equalsIgnoreCase(format) || "JSONL".equalsIgnoreCase(format)) {
+            return new NdjsonReader(in);
+        }
+        if (FORMAT_CSV.equalsIgnoreCase(format)) {
+            return new CsvReader(in);
+        }
+        throw new IllegalArgumentException("不支持的导入格式：" + format);
+    }
+
+    /**
+     * 读取下一条记录
+     *
+     * @return 记录，读取完毕时返回null
+     */
+    public abstract Record next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 读取一行，去除UTF-8 BOM
+     */
+    protected String readLine() throws IOException {
+        String line = reader.readLine();
+        if (line != null) {
+            lineNumber++;
+            if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                line = line.substring(1);
+            }
+        }
+        return line;
+    }
+
+    /**
+     * 导入记录
+     */
+    public static class Record {
+
+        private final int line;
+
+        private final Map<String, Object> values;
+
+        private final String error;
+
+        public Record(int line, Map<String, Object> values, String error) {
+            this.line = line;
+            this.values = values;
+            this.error = error;
+        }
+
+        /**
+         * 记录起始行号（从1开始）
+         */
+        public int getLine() {
+            return line;
+        }
+
+        /**
+         * 属性值（JSON解析失败时为原始行内容）
+         */
+        public Map<String, Object> getValues() {
+            return values;
+        }
+
+        /**
+         * 解析错误（解析成功时为null）
+         */
+        public String getError() {
+            return error;
+        }
+    }
+
+    /**
+     * NDJSON 读取器：每行一个JSON对象，空行跳过
+     */
+    private static class NdjsonReader extends BulkRecordReader {
+
+        NdjsonReader(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public Record next() throws IOException {
+            String line;
+            while ((line = readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    JSONObject json = JSON.parseObject(line);
+                    return new Record(lineNumber, new LinkedHashMap<>(json), null);
+                } catch (Exception e) {
+                    Map<String, Object> raw = new LinkedHashMap<>();
+                    raw.put("_raw", line);
+                    return new Record(lineNumber, raw, "JSON格式错误：" + e.getMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * CSV 读取器（RFC 4180）：首行为表头，支持引号包围的字段、字段内的逗号、换行和双写引号
+     * 空字段视为未提供该属性
+     */
+    private static class CsvReader extends BulkRecordReader {
+
+        private final List<String> header;
+
+        CsvReader(InputStream in) throws IOException {
+            super(in);
+            List<String> fields = readFields();
+            if (fields == null) {
+                throw new IllegalArgumentException("CSV文件缺少表头");
+            }
+            this.header = new ArrayList<>();
+            for (String field : fields) {
+                header.add(field.trim());
+            }
+        }
+
+        @Override
+        public Record next() throws IOException {
+            List<String> fields;
+            int startLine;
+            do {
+                startLine = lineNumber + 1;
+                fields = readFields();
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0).isEmpty());
+
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                String value = fields.get(i);
+                if (value != null && !value.isEmpty()) {
+                    values.put(header.get(i), value);
+                }
+            }
+            if (fields.size() != header.size()) {
+                return new Record(startLine, values,
+                    "字段数量（" + fields.size() + "）与表头（" + header.size() + "）不一致");
+            }
+            return new Record(startLine, values, null);
+        }
+
+        /**
+         * 读取一条CSV记录的所有字段（引号内的换行会继续读取下一行）
+         */
+        private List<String> readFields() throws IOException {
+            String line = readLine();
+            if (line == null) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i >= line.length()) {
+                    if (quoted) {
+                        // 引号内换行，继续读取下一行
+                        String nextLine = readLine();
+                        if (nextLine == null) {
+                            break;
+                        }
+                        field.append('\n');
+                        line = nextLine;
+                        i = 0;
+                        continue;
+                    }
+                    break;
+                }
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+                i++;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.datamodel.core.instance;
+
+import com.example.datamodel.core.TableExistenceRegistry;
+import com.example.datamodel.core.datasource.DataSourceConnectionManager;
+import com.example.datamodel.entity.DataSource;
+import com.example.datamodel.utils.SqlDialectUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 实例批量写入器
+ * 将同一存储、同一列集合的实例按块（chunk）使用JDBC批处理写入，每块一个事务；
+ * 某块写入失败时回滚该块并逐行重试，以定位失败的行，其余行正常写入
+ *
+ * @author DataModel Team
+ */
+@Slf4j
+@Component
+public class InstanceBatchWriter {
+
+    @Value("${datamodel.instance.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSourceConnectionManager dataSourceConnectionManager;
+
+    @Autowired
+    private InstanceLocationIndex instanceLocationIndex;
+
+    @Autowired
+    private StorageMembershipFilters storageMembershipFilters;
+
+    @Autowired
+    private TableExistenceRegistry tableExistenceRegistry;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // 每块独立提交，不受调用方事务影响
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * 批量写入平台存储
+     *
+     * @param runtime 对象类型运行时
+     * @param present 写入的属性列（按 {@link ObjectTypeRuntime#getColumns()} 的序号）
+     * @param rows 待写入的行（values 与写入的属性列顺序一致）
+     * @return 失败行的错误信息（key 为行号）
+     */
+    public Map<Integer, String> writeToPlatform(ObjectTypeRuntime runtime, BitSet present, List<PendingRow> rows) {
+        String sql = runtime.platformStatements().insert(present);
+        UUID objectTypeId = runtime.getObjectTypeId();
+        String tableName = runtime.getTableName();
+        Map<Integer, String> errors = new HashMap<>();
+
+        for (List<PendingRow> chunk : partition(rows)) {
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                transactionTemplate.execute(status -> {
+                    List<Object[]> batchArgs = new ArrayList<>(chunk.size());
+                    List<UUID> ids = new ArrayList<>(chunk.size());
+                    for (PendingRow row : chunk) {
+                        batchArgs.add(buildParams(row.getId(), objectTypeId, now, row.getValues()));
+                        ids.add(row.getId());
+                    }
+                    jdbcTemplate.batchUpdate(sql, batchArgs);
+                    instanceLocationIndex.recordAll(objectTypeId, ids, null);
+                    return null;
+                });
+            } catch (DataAccessException e) {
+                if (SqlDialectUtils.isUndefinedTable(e)) {
+                    // 表已被外部删除：移除登记，下次写入时重新建表
+                    tableExistenceRegistry.removePlatformTable(tableName);
+                }
+                log.warn("批量写入平台存储失败，逐行重试：{} - {}", tableName, e.getMostSpecificCause().getMessage());
+                for (PendingRow row : chunk) {
+                    try {
+                        transactionTemplate.execute(status -> {
+                            jdbcTemplate.update(sql, buildParams(row.getId(), objectTypeId, now, row.getValues()));
+                            instanceLocationIndex.record(objectTypeId, row.getId(), null);
+                            return null;
+                        });
+                    } catch (DataAccessException ex) {
+                        errors.put(row.getIndex(), ex.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * 批量写入存储库
+     *
+     * @param datasource 存储库数据源
+     * @param runtime 对象类型运行时
+     * @param present 写入的属性列（按 {@link ObjectTypeRuntime#getColumns()} 的序号）
+     * @param rows 待写入的行（values 与写入的属性列顺序一致）
+     * @return 失败行的错误信息（key 为行号）
+     */
+    public Map<Integer, String> writeToDatasource(DataSource datasource, ObjectTypeRuntime runtime, BitSet present,
+                                                  List<PendingRow> rows) {
+        String sql = runtime.statements(datasource.getType()).insert(present);
+        UUID objectTypeId = runtime.getObjectTypeId();
+        String tableName = runtime.getTableName();
+        Map<Integer, String> errors = new HashMap<>();
+        Set<UUID> createdIds = new LinkedHashSet<>();
+
+        try (Connection connection = dataSourceConnectionManager.getConnection(datasource)) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                for (List<PendingRow> chunk : partition(rows)) {
+                    LocalDateTime now = LocalDateTime.now();
+                    try {
+                        for (PendingRow row : chunk) {
+                            bind(stmt, buildParams(row.getId().toString(), objectTypeId.toString(), now, row.getValues()));
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                        connection.commit();
+                        for (PendingRow row : chunk) {
+                            createdIds.add(row.getId());
+                        }
+                    } catch (SQLException e) {
+                        connection.rollback();
+                        stmt.clearBatch();
+                        if (SqlDialectUtils.isUndefinedTable(e)) {
+                            tableExistenceRegistry.removeDatasourceTable(datasource.getId(), tableName);
+                        }
+                        log.warn("批量写入数据源 {} 失败，逐行重试：{} - {}", datasource.getName(), tableName, e.getMessage());
+                        for (PendingRow row : chunk) {
+                            try {
+                                bind(stmt, buildParams(row.getId().toString(), objectTypeId.toString(), now, row.getValues()));
+                                stmt.executeUpdate();
+                                connection.commit();
+                                createdIds.add(row.getId());
+                            } catch (SQLException ex) {
+                                connection.rollback();
+                                errors.put(row.getIndex(), ex.getMessage());
+                            }
+                        }
+                    }
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            log.error("批量写入数据源 {} 失败：{}", datasource.getName(), tableName, e);
+            for (PendingRow row : rows) {
+                if (!errors.containsKey(row.getIndex()) && !createdIds.contains(row.getId())) {
+                    errors.put(row.getIndex(), "在数据源中创建实例失败：" + e.getMessage());
+                }
+            }
+        }
+
+        if (!createdIds.isEmpty()) {
+            instanceLocationIndex.recordAll(objectTypeId, createdIds, datasource.getId());
+            for (UUID id : createdIds) {
+                storageMembershipFilters.put(objectTypeId, datasource.getId(), id);
+            }
+        }
+        return errors;
+    }
+
+    private Object[] buildParams(Object id, Object classId, LocalDateTime now, Object[] values) {
+        Object[] params = new Object[values.length + 4];
+        params[0] = id;
+        params[1] = classId;
+        params[2] = now;
+        params[3] = now;
+        System.arraycopy(values, 0, params, 4, values.length);
+        return params;
+    }
+
+    private void bind(PreparedStatement stmt, Object[] params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            stmt.setObject(i + 1, params[i]);
+        }
+    }
+
+    private List<List<PendingRow>> partition(List<PendingRow> rows) {
+        List<List<PendingRow>> chunks = new ArrayList<>();
+        int size = Math.max(1, chunkSize);
+        for (int i = 0; i < rows.size(); i += size) {
+            chunks.add(rows.subList(i, Math.min(i + size, rows.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * 待写入的行
+     */
+    public static class PendingRow {
+
+        private final int index;
+
+        private final UUID id;
+
+        private final Object[] values;
+
+        /**
+         * @param index 行号（用于错误报告）
+         * @param id 实例ID
+         * @param values 属性值（与列顺序一致）
+         */
+        public PendingRow(int index, UUID id, Object[] values) {
+            this.index = index;
+            this.id = id;
+            this.values = values;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public Object[] getValues() {
+            return values;
+        }
+    }
+}
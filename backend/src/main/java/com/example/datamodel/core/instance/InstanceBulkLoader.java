@@ -0,0 +1,509 @@
+package com.example.datamodel.core.instance;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import com.example.datamodel.core.CompiledValidator;
+import com.example.datamodel.core.datasource.DataSourceConnectionManager;
+import com.example.datamodel.entity.DataSource;
+import com.example.datamodel.entity.ObjectType;
+import com.example.datamodel.entity.Property;
+import com.example.datamodel.exception.BusinessException;
+import com.example.datamodel.vo.ImportInstancesResult;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 实例批量导入器
+ * 流式读取 CSV / NDJSON 上传内容，逐条校验后按块写入：
+ * - 平台存储及 PostgreSQL 存储库：使用 COPY ... FROM STDIN（CSV格式）写入，每块一个事务
+ * - 其他存储库：使用 JDBC 批处理写入
+ *
+ * 校验失败的记录写入错误文件（NDJSON，每行包含行号、错误原因和原始记录），不影响其他记录的导入；
+ * COPY 某块失败时（如校验未覆盖的约束冲突）回滚该块并改用批处理逐行定位失败记录
+ *
+ * 错误文件按对象类型分目录保存，只能通过所属对象类型下载，超过 error-file-ttl-hours 后删除
+ *
+ * @author DataModel Team
+ */
+@Slf4j
+@Component
+public class InstanceBulkLoader {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    @Value("${datamodel.instance.import.chunk-rows:20000}")
+    private int chunkRows;
+
+    @Value("${datamodel.instance.import.error-dir:${java.io.tmpdir}/datamodel-import-errors}")
+    private String errorDir;
+
+    @Value("${datamodel.instance.import.error-file-ttl-hours:24}")
+    private long errorFileTtlHours;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSourceConnectionManager dataSourceConnectionManager;
+
+    @Autowired
+    private InstanceBatchWriter instanceBatchWriter;
+
+    @Autowired
+    private InstanceLocationIndex instanceLocationIndex;
+
+    @Autowired
+    private StorageMembershipFilters storageMembershipFilters;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        purgeExpiredErrorFiles();
+    }
+
+    /**
+     * 导入实例
+     *
+     * @param runtime 对象类型运行时（实例表需已存在）
+     * @param datasource 存储库数据源（写入平台存储时为null）
+     * @param reader 记录读取器
+     * @return 导入结果
+     */
+    public ImportInstancesResult load(ObjectTypeRuntime runtime, DataSource datasource, BulkRecordReader reader) throws IOException {
+        long start = System.currentTimeMillis();
+        boolean useCopy = datasource == null || "POSTGRESQL".equalsIgnoreCase(datasource.getType());
+        ObjectType objectType = runtime.getObjectType();
+
+        // 导入时写入所有属性列，未提供的值使用属性默认值
+        BitSet columns = runtime.allColumns();
+        RecordPreparer preparer = new RecordPreparer(runtime);
+
+        // 顺便清理过期的错误文件
+        purgeExpiredErrorFiles();
+
+        long total = 0;
+        long imported = 0;
+        ErrorFile errorFile = new ErrorFile(objectType.getId());
+        Map<Integer, Map<String, Object>> chunkRecords = new HashMap<>();
+        List<InstanceBatchWriter.PendingRow> chunk = new ArrayList<>();
+        try {
+            BulkRecordReader.Record record;
+            while ((record = reader.next()) != null) {
+                total++;
+                if (record.getError() != null) {
+                    errorFile.reject(record.getLine(), record.getError(), record.getValues());
+                    continue;
+                }
+                try {
+                    Object[] values = preparer.prepare(record.getValues());
+                    chunk.add(new InstanceBatchWriter.PendingRow(record.getLine(), UUID.randomUUID(), values));
+                    chunkRecords.put(record.getLine(), record.getValues());
+                } catch (BusinessException e) {
+                    errorFile.reject(record.getLine(), e.getMessage(), record.getValues());
+                }
+                if (chunk.size() >= chunkRows) {
+                    imported += flush(runtime, datasource, columns, chunk, chunkRecords, useCopy, errorFile);
+                    chunk = new ArrayList<>();
+                    chunkRecords.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                imported += flush(runtime, datasource, columns, chunk, chunkRecords, useCopy, errorFile);
+            }
+        } finally {
+            errorFile.close();
+        }
+
+        ImportInstancesResult result = new ImportInstancesResult();
+        result.setTotal(total);
+        result.setImported(imported);
+        result.setRejected(errorFile.count);
+        result.setTarget(datasource != null ? datasource.getName() : "PLATFORM");
+        result.setMethod(useCopy ? "COPY" : "BATCH");
+        result.setErrorFileId(errorFile.id);
+        result.setElapsedMs(System.currentTimeMillis() - start);
+        log.info("导入实例完成：{} - 读取 {} 条，导入 {} 条，拒绝 {} 条，{}ms", objectType.getName(),
+            total, imported, errorFile.count, result.getElapsedMs());
+        return result;
+    }
+
+    /**
+     * 获取错误文件
+     *
+     * @param objectTypeId 对象类型ID（只能获取该对象类型导入时产生的错误文件）
+     * @param errorFileId 错误文件ID
+     * @return 错误文件，不存在、不属于该对象类型或已过期时返回null
+     */
+    public File getErrorFile(UUID objectTypeId, String errorFileId) {
+        try {
+            // 只接受UUID格式的ID，防止路径穿越
+            UUID.fromString(errorFileId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        File file = new File(new File(errorDir, objectTypeId.toString()), errorFileId + ".ndjson");
+        return file.isFile() && !isExpired(file) ? file : null;
+    }
+
+    /**
+     * 删除超过保留时间的错误文件
+     */
+    private void purgeExpiredErrorFiles() {
+        File[] typeDirs = new File(errorDir).listFiles(File::isDirectory);
+        if (typeDirs == null) {
+            return;
+        }
+        for (File typeDir : typeDirs) {
+            File[] files = typeDir.listFiles((dir, name) -> name.endsWith(".ndjson"));
+            if (files == null) {
+                continue;
+            }
+            for (File file : files) {
+                if (isExpired(file) && !file.delete()) {
+                    log.warn("删除过期的导入错误文件失败：{}", file);
+                }
+            }
+        }
+    }
+
+    private boolean isExpired(File file) {
+        return file.lastModified() < System.currentTimeMillis() - errorFileTtlHours * 3600_000L;
+    }
+
+    /**
+     * 校验记录并按列顺序生成写入值
+     */
+    private static class RecordPreparer {
+
+        private final CompiledValidator validator;
+
+        private final List<Property> properties;
+
+        private final List<Property> columnProperties;
+
+        /**
+         * 每个属性列在验证器取值结果中的位置
+         */
+        private final int[] columnIndexes;
+
+        /**
+         * JSON 类型属性在验证器取值结果中的位置
+         */
+        private final int[] jsonIndexes;
+
+        RecordPreparer(ObjectTypeRuntime runtime) {
+            this.validator = runtime.getValidator();
+            this.properties = runtime.getProperties();
+            this.columnProperties = runtime.getColumnProperties();
+            this.columnIndexes = new int[columnProperties.size()];
+            for (int i = 0; i < columnIndexes.length; i++) {
+                columnIndexes[i] = validator.indexOf(columnProperties.get(i).getName());
+            }
+            List<Integer> jsonIndexList = new ArrayList<>();
+            for (int i = 0; i < properties.size(); i++) {
+                if ("JSON".equalsIgnoreCase(properties.get(i).getDataType())) {
+                    jsonIndexList.add(i);
+                }
+            }
+            this.jsonIndexes = new int[jsonIndexList.size()];
+            for (int i = 0; i < jsonIndexes.length; i++) {
+                jsonIndexes[i] = jsonIndexList.get(i);
+            }
+        }
+
+        Object[] prepare(Map<String, Object> data) {
+            Object[] resolved = validator.resolve(data);
+            // CSV 中的 JSON 属性是字符串，先解析为对象再校验
+            for (int index : jsonIndexes) {
+                if (resolved[index] instanceof String) {
+                    try {
+                        resolved[index] = JSON.parse((String) resolved[index]);
+                    } catch (Exception e) {
+                        throw new BusinessException("属性 " + properties.get(index).getName() + " 必须是JSON对象或数组");
+                    }
+                }
+            }
+            String error = validator.firstError(resolved);
+            if (error != null) {
+                throw new BusinessException(error);
+            }
+
+            Object[] values = new Object[columnIndexes.length];
+            for (int i = 0; i < columnIndexes.length; i++) {
+                Object value = resolved[columnIndexes[i]];
+                Property property = columnProperties.get(i);
+                if (value == null && property.getDefaultValue() != null && !property.getDefaultValue().isEmpty()) {
+                    value = property.getDefaultValue();
+                }
+                if (value instanceof Map || value instanceof List) {
+                    value = JSON.toJSONString(value);
+                }
+                values[i] = value;
+            }
+            return values;
+        }
+    }
+
+    /**
+     * 写入一块记录，返回成功写入的记录数
+     */
+    private long flush(ObjectTypeRuntime runtime, DataSource datasource, BitSet columns,
+                       List<InstanceBatchWriter.PendingRow> chunk, Map<Integer, Map<String, Object>> chunkRecords,
+                       boolean useCopy, ErrorFile errorFile) throws IOException {
+        if (useCopy) {
+            try {
+                if (datasource == null) {
+                    copyToPlatform(runtime, chunk);
+                } else {
+                    copyToDatasource(datasource, runtime, chunk);
+                }
+                return chunk.size();
+            } catch (Exception e) {
+                log.warn("COPY 写入失败，改用批处理逐行定位失败记录：{} - {}", runtime.getTableName(), e.getMessage());
+            }
+        }
+
+        Map<Integer, String> errors = datasource == null
+            ? instanceBatchWriter.writeToPlatform(runtime, columns, chunk)
+            : instanceBatchWriter.writeToDatasource(datasource, runtime, columns, chunk);
+        for (Map.Entry<Integer, String> entry : errors.entrySet()) {
+            errorFile.reject(entry.getKey(), entry.getValue(), chunkRecords.get(entry.getKey()));
+        }
+        return chunk.size() - errors.size();
+    }
+
+    /**
+     * 使用 COPY 写入平台存储，实例位置路由在同一事务中写入
+     */
+    private void copyToPlatform(ObjectTypeRuntime runtime, List<InstanceBatchWriter.PendingRow> chunk) {
+        UUID objectTypeId = runtime.getObjectTypeId();
+        transactionTemplate.execute(status -> {
+            javax.sql.DataSource platformDataSource = jdbcTemplate.getDataSource();
+            Connection connection = DataSourceUtils.getConnection(platformDataSource);
+            try {
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                copyRows(copyManager, runtime.platformStatements().copyIn(), objectTypeId, chunk);
+
+                CopyIn copyIn = copyManager.copyIn("COPY instance_locations (instance_id, object_type_id) FROM STDIN WITH (FORMAT csv)");
+                StringBuilder line = new StringBuilder();
+                try (CopyBuffer buffer = new CopyBuffer(copyIn)) {
+                    for (InstanceBatchWriter.PendingRow row : chunk) {
+                        line.setLength(0);
+                        line.append(row.getId()).append(',').append(objectTypeId).append('\n');
+                        buffer.write(line);
+                    }
+                    buffer.complete();
+                }
+                return null;
+            } catch (SQLException | IOException e) {
+                throw new BusinessException("COPY 写入平台存储失败：" + e.getMessage());
+            } finally {
+                DataSourceUtils.releaseConnection(connection, platformDataSource);
+            }
+        });
+    }
+
+    /**
+     * 使用 COPY 写入 PostgreSQL 存储库
+     */
+    private void copyToDatasource(DataSource datasource, ObjectTypeRuntime runtime,
+                                  List<InstanceBatchWriter.PendingRow> chunk) throws SQLException, IOException {
+        UUID objectTypeId = runtime.getObjectTypeId();
+        try (Connection connection = dataSourceConnectionManager.getConnection(datasource)) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                copyRows(copyManager, runtime.statements(datasource.getType()).copyIn(), objectTypeId, chunk);
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+
+        List<UUID> ids = new ArrayList<>(chunk.size());
+        for (InstanceBatchWriter.PendingRow row : chunk) {
+            ids.add(row.getId());
+            storageMembershipFilters.put(objectTypeId, datasource.getId(), row.getId());
+        }
+        instanceLocationIndex.recordAll(objectTypeId, ids, datasource.getId());
+    }
+
+    private void copyRows(CopyManager copyManager, String copySql, UUID objectTypeId,
+                          List<InstanceBatchWriter.PendingRow> chunk) throws SQLException, IOException {
+        String now = LocalDateTime.now().toString();
+        CopyIn copyIn = copyManager.copyIn(copySql);
+        StringBuilder line = new StringBuilder();
+        try (CopyBuffer buffer = new CopyBuffer(copyIn)) {
+            for (InstanceBatchWriter.PendingRow row : chunk) {
+                line.setLength(0);
+                line.append(row.getId()).append(',').append(objectTypeId).append(',')
+                    .append(now).append(',').append(now);
+                for (Object value : row.getValues()) {
+                    line.append(',');
+                    appendCsvValue(line, value);
+                }
+                line.append('\n');
+                buffer.write(line);
+            }
+            buffer.complete();
+        }
+    }
+
+    /**
+     * 按 COPY CSV 格式追加字段：null 为空字段（NULL），其他值加引号（空字符串不会被当作 NULL）
+     */
+    private void appendCsvValue(StringBuilder line, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            line.append(value);
+            return;
+        }
+        String text = value.toString();
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    /**
+     * COPY 写入缓冲：攒够一定字节后再调用 writeToCopy
+     * 写入完成后调用 {@link #complete()}，close 时才结束 COPY；未调用（写入过程中出错）时 close 直接取消 COPY，
+     * 不会把不完整的数据提交给数据库
+     */
+    private static class CopyBuffer implements AutoCloseable {
+
+        private final CopyIn copyIn;
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(COPY_BUFFER_SIZE + 1024);
+
+        private boolean completed;
+
+        CopyBuffer(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        void write(CharSequence line) throws SQLException {
+            byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+            buffer.write(bytes, 0, bytes.length);
+            if (buffer.size() >= COPY_BUFFER_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (buffer.size() > 0) {
+                copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+                buffer.reset();
+            }
+        }
+
+        /**
+         * 标记所有记录已写入
+         */
+        void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            boolean ended = false;
+            try {
+                if (completed) {
+                    flush();
+                    copyIn.endCopy();
+                    ended = true;
+                }
+            } finally {
+                if (!ended && copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        }
+    }
+
+    /**
+     * 错误文件：首次拒绝记录时创建
+     */
+    private class ErrorFile {
+
+        private final UUID objectTypeId;
+
+        private String id;
+
+        private BufferedWriter writer;
+
+        private long count;
+
+        ErrorFile(UUID objectTypeId) {
+            this.objectTypeId = objectTypeId;
+        }
+
+        void reject(int line, String error, Map<String, Object> record) throws IOException {
+            if (writer == null) {
+                File dir = new File(errorDir, objectTypeId.toString());
+                Files.createDirectories(dir.toPath());
+                id = UUID.randomUUID().toString();
+                writer = new BufferedWriter(new OutputStreamWriter(
+                    Files.newOutputStream(new File(dir, id + ".ndjson").toPath()), StandardCharsets.UTF_8));
+            }
+            JSONObject json = new JSONObject();
+            json.put("line", line);
+            json.put("error", error);
+            json.put("record", record);
+            writer.write(json.toJSONString());
+            writer.newLine();
+            count++;
+        }
+
+        void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.datamodel.core.instance;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import com.example.datamodel.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 实例列表游标
+ * 记录每个存储最后一条已返回记录的 (created_at, id)，各存储下一页从该位置继续查询：
+ * WHERE (created_at, id) &lt; (?, ?) ORDER BY created_at DESC, id DESC
+ *
+ * 对外以不透明字符串（Base64 URL编码的JSON）传递，客户端不应解析其内容
+ *
+ * @author DataModel Team
+ */
+public class InstanceCursor {
+
+    /**
+     * 平台存储在游标中的标识
+     */
+    public static final String PLATFORM_KEY = "platform";
+
+    /**
+     * 全局最后一条已返回记录的位置，用于游标中没有记录的存储（如新增的存储库）
+     */
+    private Position last;
+
+    /**
+     * 各存储的位置（key 为 {@link #PLATFORM_KEY} 或数据源ID）
+     */
+    private final Map<String, Position> positions = new LinkedHashMap<>();
+
+    public Position getLast() {
+        return last;
+    }
+
+    public void setLast(Position last) {
+        this.last = last;
+    }
+
+    /**
+     * 获取存储的续查位置
+     *
+     * @param sourceKey 存储标识
+     * @return 续查位置，{@link Position#START} 表示从头开始
+     */
+    public Position getPosition(String sourceKey) {
+        Position position = positions.get(sourceKey);
+        if (position == null) {
+            position = last;
+        }
+        return position != null ? position : Position.START;
+    }
+
+    public void setPosition(String sourceKey, Position position) {
+        positions.put(sourceKey, position);
+    }
+
+    /**
+     * 编码为不透明游标字符串
+     */
+    public String encode() {
+        JSONObject json = new JSONObject();
+        if (last != null) {
+            json.put("l", last.toJson());
+        }
+        JSONObject positionJson = new JSONObject();
+        positions.forEach((key, position) -> positionJson.put(key, position.toJson()));
+        json.put("p", positionJson);
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(json.toJSONString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     *
+     * @param cursor 游标字符串
+     * @return 游标对象
+     * @throws BusinessException 游标格式无效时抛出异常
+     */
+    public static InstanceCursor decode(String cursor) {
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            JSONObject json = JSON.parseObject(text);
+            InstanceCursor result = new InstanceCursor();
+            if (json.containsKey("l")) {
+                result.last = Position.fromJson(json.getJSONArray("l"));
+            }
+            JSONObject positionJson = json.getJSONObject("p");
+            if (positionJson != null) {
+                for (String key : positionJson.keySet()) {
+                    result.positions.put(key, Position.fromJson(positionJson.getJSONArray(key)));
+                }
+            }
+            return result;
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BusinessException("无效的游标：" + cursor);
+        }
+    }
+
+    /**
+     * 存储内的位置：(created_at, id)
+     */
+    public static class Position {
+
+        /**
+         * 起始位置（尚未读取任何记录）
+         */
+        public static final Position START = new Position(null, null);
+
+        private final LocalDateTime createdAt;
+
+        private final String id;
+
+        public Position(LocalDateTime createdAt, String id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+
+        /**
+         * 取记录的 (created_at, id) 作为位置
+         */
+        public static Position of(Map<String, Object> record) {
+            Object id = record.get("id");
+            return new Position(InstanceRecordMerger.toLocalDateTime(record.get("created_at")),
+                id != null ? id.toString() : null);
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public boolean isStart() {
+            return createdAt == null || id == null;
+        }
+
+        JSONArray toJson() {
+            JSONArray json = new JSONArray();
+            if (!isStart()) {
+                json.add(createdAt.toString());
+                json.add(id);
+            }
+            return json;
+        }
+
+        static Position fromJson(JSONArray json) {
+            if (json == null || json.isEmpty()) {
+                return START;
+            }
+            if (json.size() != 2) {
+                throw new BusinessException("无效的游标位置");
+            }
+            return new Position(LocalDateTime.parse(json.getString(0)), json.getString(1));
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.datamodel.core.instance;
+
+import com.alibaba.fastjson2.JSON;
+import com.example.datamodel.core.datasource.DataSourceConnectionManager;
+import com.example.datamodel.entity.DataSource;
+import com.example.datamodel.exception.BusinessException;
+import com.example.datamodel.utils.SqlDialectUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.util.PGobject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 实例流式导出器
+ * 每个存储（平台存储 + 各存储库）由一个读取线程使用服务端游标读取（PostgreSQL 关闭自动提交并设置 fetchSize，
+ * MySQL 使用流式结果集），读取的记录经有界队列交给响应线程写出，各存储的记录按到达顺序交错输出，
+ * 内存占用与实例总数无关
+ *
+ * @author DataModel Team
+ */
+@Slf4j
+@Component
+public class InstanceExporter {
+
+    public static final String FORMAT_NDJSON = "NDJSON";
+    public static final String FORMAT_CSV = "CSV";
+
+    /**
+     * 读取结束标记（按引用比较）
+     */
+    private static final Map<String, Object> END_OF_SOURCE = Collections.unmodifiableMap(new LinkedHashMap<>());
+
+    @Value("${datamodel.instance.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${datamodel.instance.export.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${datamodel.instance.export.max-threads:32}")
+    private int maxThreads;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceConnectionManager dataSourceConnectionManager;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        // 读取线程在导出期间一直占用，不排队：线程用尽时拒绝新的导出
+        executor = new ThreadPoolExecutor(0, maxThreads, 60L, TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            r -> {
+                Thread thread = new Thread(r, "instance-export-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 创建导出任务
+     *
+     * @param tableName 实例表名
+     * @param includePlatform 是否导出平台存储（平台表不存在时为false）
+     * @param datasources 需要导出的存储库
+     * @param columns CSV 格式的输出列（NDJSON 格式输出每条记录的全部列）
+     * @param format 格式：NDJSON 或 CSV
+     * @return 导出任务
+     */
+    public Export prepare(String tableName, boolean includePlatform, List<DataSource> datasources,
+                          List<String> columns, String format) {
+        String normalizedFormat;
+        if (FORMAT_NDJSON.equalsIgnoreCase(format) || "JSONL".equalsIgnoreCase(format)) {
+            normalizedFormat = FORMAT_NDJSON;
+        } else if (FORMAT_CSV.equalsIgnoreCase(format)) {
+            normalizedFormat = FORMAT_CSV;
+        } else {
+            throw new BusinessException("不支持的导出格式：" + format);
+        }
+
+        List<Source> sources = new ArrayList<>();
+        if (includePlatform) {
+            sources.add(new Source(null, tableName));
+        }
+        for (DataSource datasource : datasources) {
+            sources.add(new Source(datasource, tableName));
+        }
+        return new Export(sources, columns, normalizedFormat);
+    }
+
+    /**
+     * 导出任务
+     */
+    public class Export {
+
+        private final List<Source> sources;
+
+        private final List<String> columns;
+
+        private final String format;
+
+        private final BlockingQueue<Map<String, Object>> queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+
+        private volatile boolean cancelled;
+
+        private volatile String failure;
+
+        Export(List<Source> sources, List<String> columns, String format) {
+            this.sources = sources;
+            this.columns = columns;
+            this.format = format;
+        }
+
+        public String getFormat() {
+            return format;
+        }
+
+        /**
+         * 将所有存储的实例写入输出流
+         * 任一存储读取失败时中止导出并抛出异常，使响应不会被当作完整结果
+         */
+        public void writeTo(OutputStream out) throws IOException {
+            long start = System.currentTimeMillis();
+            int running = 0;
+            try {
+                for (Source source : sources) {
+                    executor.execute(() -> produce(source));
+                    running++;
+                }
+            } catch (RejectedExecutionException e) {
+                cancelled = true;
+                throw new BusinessException("导出任务过多，请稍后重试");
+            }
+
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            long rows = 0;
+            try {
+                if (FORMAT_CSV.equals(format)) {
+                    writeCsvLine(writer, new ArrayList<>(columns));
+                }
+                while (running > 0) {
+                    Map<String, Object> record = queue.take();
+                    if (record == END_OF_SOURCE) {
+                        running--;
+                        if (failure != null) {
+                            throw new IOException("导出中止：" + failure);
+                        }
+                        continue;
+                    }
+                    if (FORMAT_CSV.equals(format)) {
+                        List<Object> values = new ArrayList<>(columns.size());
+                        for (String column : columns) {
+                            values.add(record.get(column));
+                        }
+                        writeCsvLine(writer, values);
+                    } else {
+                        writer.write(JSON.toJSONString(record));
+                        writer.write('\n');
+                    }
+                    rows++;
+                }
+                writer.flush();
+                log.info("导出实例完成：{} 条，{}ms", rows, System.currentTimeMillis() - start);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("导出被中断");
+            } finally {
+                // 客户端断开或读取失败时通知其他读取线程停止
+                cancelled = true;
+            }
+        }
+
+        private void produce(Source source) {
+            String label = source.datasource != null ? source.datasource.getName() : "PLATFORM";
+            String datasourceType = source.datasource != null ? source.datasource.getType() : "POSTGRESQL";
+            String table = source.datasource != null
+                ? SqlDialectUtils.quoteIdentifier(datasourceType, source.tableName) : source.tableName;
+            try (Connection connection = source.datasource != null
+                    ? dataSourceConnectionManager.getConnection(source.datasource)
+                    : jdbcTemplate.getDataSource().getConnection()) {
+                boolean autoCommit = connection.getAutoCommit();
+                // PostgreSQL 只有在事务中才按 fetchSize 使用游标读取
+                connection.setAutoCommit(false);
+                try (PreparedStatement stmt = connection.prepareStatement("SELECT * FROM " + table,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    stmt.setFetchSize(SqlDialectUtils.streamingFetchSize(datasourceType, fetchSize));
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        ResultSetMetaData metaData = rs.getMetaData();
+                        int columnCount = metaData.getColumnCount();
+                        String[] names = new String[columnCount];
+                        for (int i = 0; i < columnCount; i++) {
+                            names[i] = metaData.getColumnLabel(i + 1).toLowerCase();
+                        }
+                        while (rs.next()) {
+                            Map<String, Object> record = new LinkedHashMap<>();
+                            for (int i = 0; i < columnCount; i++) {
+                                record.put(names[i], normalize(rs.getObject(i + 1)));
+                            }
+                            if (!put(record)) {
+                                // 已取消：MySQL 流式结果集关闭前会读完剩余数据，先取消语句
+                                stmt.cancel();
+                                break;
+                            }
+                        }
+                    }
+                    connection.commit();
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            } catch (Exception e) {
+                if (!cancelled) {
+                    log.error("导出实例失败：{}.{}", label, source.tableName, e);
+                    failure = label + " - " + e.getMessage();
+                }
+            } finally {
+                put(END_OF_SOURCE);
+            }
+        }
+
+        /**
+         * 放入队列，队列满时等待；导出已取消时返回false
+         */
+        private boolean put(Map<String, Object> record) {
+            try {
+                while (!cancelled) {
+                    if (queue.offer(record, 100, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            String text = value instanceof Map || value instanceof List ? JSON.toJSONString(value) : value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * 将驱动返回的值转换为可序列化的值
+     */
+    private static Object normalize(Object value) throws SQLException {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime().toString();
+        }
+        if (value instanceof PGobject) {
+            PGobject pgObject = (PGobject) value;
+            if (pgObject.getValue() != null && ("json".equals(pgObject.getType()) || "jsonb".equals(pgObject.getType()))) {
+                return JSON.parse(pgObject.getValue());
+            }
+            return pgObject.getValue();
+        }
+        if (value instanceof java.sql.Clob) {
+            java.sql.Clob clob = (java.sql.Clob) value;
+            return clob.getSubString(1, (int) clob.length());
+        }
+        if (value instanceof java.util.UUID) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    /**
+     * 导出来源
+     */
+    private static class Source {
+
+        /**
+         * 存储库数据源（平台存储为null）
+         */
+        private final DataSource datasource;
+
+        private final String tableName;
+
+        Source(DataSource datasource, String tableName) {
+            this.datasource = datasource;
+            this.tableName = tableName;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.datamodel.core.instance;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 实例位置路由索引
+ * 基于 instance_locations 表记录实例ID到所在存储的映射：创建实例时写入，按ID读取、更新、删除时查询，
+ * 使单实例访问只需一次路由查询加一次对所在存储的查询
+ *
+ * 早于路由表创建的实例没有路由记录，读请求探查各存储但不回填（避免 GET 请求写库），
+ * 更新、删除实例时探查到位置后调用 {@link #record} 回填
+ *
+ * @author DataModel Team
+ */
+@Slf4j
+@Component
+public class InstanceLocationIndex {
+
+    /**
+     * 批量查询时每次 IN 条件的最大参数个数
+     */
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 记录实例位置（已存在时覆盖）
+     *
+     * @param objectTypeId 对象类型ID
+     * @param instanceId 实例ID
+     * @param datasourceId 存储库数据源ID（平台存储为null）
+     */
+    public void record(UUID objectTypeId, UUID instanceId, UUID datasourceId) {
+        jdbcTemplate.update(
+            "INSERT INTO instance_locations (instance_id, object_type_id, datasource_id) VALUES (?, ?, ?) " +
+            "ON CONFLICT (instance_id) DO UPDATE SET object_type_id = EXCLUDED.object_type_id, datasource_id = EXCLUDED.datasource_id",
+            instanceId, objectTypeId, datasourceId);
+    }
+
+    /**
+     * 批量记录实例位置（已存在时覆盖）
+     *
+     * @param objectTypeId 对象类型ID
+     * @param instanceIds 实例ID列表
+     * @param datasourceId 存储库数据源ID（平台存储为null）
+     */
+    public void recordAll(UUID objectTypeId, Collection<UUID> instanceIds, UUID datasourceId) {
+        List<Object[]> batchArgs = new ArrayList<>(instanceIds.size());
+        for (UUID instanceId : instanceIds) {
+            batchArgs.add(new Object[]{instanceId, objectTypeId, datasourceId});
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO instance_locations (instance_id, object_type_id, datasource_id) VALUES (?, ?, ?) " +
+            "ON CONFLICT (instance_id) DO UPDATE SET object_type_id = EXCLUDED.object_type_id, datasource_id = EXCLUDED.datasource_id",
+            batchArgs);
+    }
+
+    /**
+     * 查询实例位置
+     *
+     * @param objectTypeId 对象类型ID
+     * @param instanceId 实例ID
+     * @return 实例位置，没有路由记录时返回null
+     */
+    public Location find(UUID objectTypeId, UUID instanceId) {
+        List<Location> locations = jdbcTemplate.query(
+            "SELECT datasource_id FROM instance_locations WHERE instance_id = ? AND object_type_id = ?",
+            (rs, rowNum) -> new Location((UUID) rs.getObject("datasource_id")),
+            instanceId, objectTypeId);
+        return locations.isEmpty() ? null : locations.get(0);
+    }
+
+    /**
+     * 批量查询实例位置
+     *
+     * @param objectTypeId 对象类型ID
+     * @param instanceIds 实例ID列表
+     * @return 实例ID到位置的映射（没有路由记录的实例不在结果中）
+     */
+    public Map<UUID, Location> findAll(UUID objectTypeId, Collection<UUID> instanceIds) {
+        Map<UUID, Location> result = new HashMap<>();
+        for (List<UUID> chunk : partition(instanceIds)) {
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            List<Object> params = new ArrayList<>(chunk);
+            params.add(objectTypeId);
+            jdbcTemplate.query(
+                "SELECT instance_id, datasource_id FROM instance_locations WHERE instance_id IN (" + placeholders + ") AND object_type_id = ?",
+                rs -> {
+                    result.put((UUID) rs.getObject("instance_id"), new Location((UUID) rs.getObject("datasource_id")));
+                },
+                params.toArray());
+        }
+        return result;
+    }
+
+    /**
+     * 删除实例位置
+     *
+     * @param instanceIds 实例ID列表
+     */
+    public void removeAll(Collection<UUID> instanceIds) {
+        for (List<UUID> chunk : partition(instanceIds)) {
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.update("DELETE FROM instance_locations WHERE instance_id IN (" + placeholders + ")", chunk.toArray());
+        }
+    }
+
+    private List<List<UUID>> partition(Collection<UUID> instanceIds) {
+        List<List<UUID>> chunks = new ArrayList<>();
+        List<UUID> current = new ArrayList<>();
+        for (UUID instanceId : instanceIds) {
+            current.add(instanceId);
+            if (current.size() == BATCH_SIZE) {
+                chunks.add(current);
+                current = new ArrayList<>();
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    /**
+     * 实例位置
+     */
+    public static class Location {
+
+        private final UUID datasourceId;
+
+        public Location(UUID datasourceId) {
+            this.datasourceId = datasourceId;
+        }
+
+        /**
+         * 存储库数据源ID（平台存储为null）
+         */
+        public UUID getDatasourceId() {
+            return datasourceId;
+        }
+
+        public boolean isPlatform() {
+            return datasourceId == null;
+        }
+    }
+}
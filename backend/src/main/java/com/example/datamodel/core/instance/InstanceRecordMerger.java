@@ -0,0 +1,116 @@
+package com.example.datamodel.core.instance;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 实例记录多路归并工具类
+ * 各存储返回的记录已按 created_at DESC, id DESC 排好序，使用优先队列做K路归并，
+ * 内存占用与页大小和存储数量成正比，而不是与表大小成正比
+ *
+ * created_at 为空的记录排在最前，与 PostgreSQL / Oracle 降序排序的默认行为以及 (created_at DESC, id DESC) 索引一致，
+ * MySQL / SQL Server 的查询通过 {@link com.example.datamodel.utils.SqlDialectUtils#orderByCreatedAtDesc} 按同样的顺序返回
+ *
+ * @author DataModel Team
+ */
+public class InstanceRecordMerger {
+
+    /**
+     * 记录排序规则：created_at 降序（空值排在最前），created_at 相同时按 id 降序
+     */
+    public static final Comparator<Map<String, Object>> CREATED_AT_DESC = (a, b) -> {
+        LocalDateTime timeA = toLocalDateTime(a.get("created_at"));
+        LocalDateTime timeB = toLocalDateTime(b.get("created_at"));
+        if (timeA == null || timeB == null) {
+            if (timeA != timeB) {
+                return timeA == null ? -1 : 1;
+            }
+        } else {
+            int result = timeB.compareTo(timeA);
+            if (result != 0) {
+                return result;
+            }
+        }
+        String idA = a.get("id") != null ? a.get("id").toString() : "";
+        String idB = b.get("id") != null ? b.get("id").toString() : "";
+        return idB.compareTo(idA);
+    };
+
+    /**
+     * 归并多个已排序的记录列表，跳过前 offset 条后返回最多 limit 条
+     *
+     * @param sources 各存储的记录列表（均已按 {@link #CREATED_AT_DESC} 排序）
+     * @param offset 跳过的记录数
+     * @param limit 返回的最大记录数
+     * @return 归并后的记录列表
+     */
+    public static List<Map<String, Object>> merge(List<List<Map<String, Object>>> sources, long offset, long limit) {
+        List<Map<String, Object>> result = new ArrayList<>((int) Math.min(limit, 1024));
+        if (limit <= 0) {
+            return result;
+        }
+
+        // 堆中每个元素为 {来源下标, 来源内位置}
+        PriorityQueue<int[]> heap = new PriorityQueue<>(Math.max(1, sources.size()),
+            (x, y) -> CREATED_AT_DESC.compare(sources.get(x[0]).get(x[1]), sources.get(y[0]).get(y[1])));
+        for (int i = 0; i < sources.size(); i++) {
+            if (sources.get(i) != null && !sources.get(i).isEmpty()) {
+                heap.add(new int[]{i, 0});
+            }
+        }
+
+        long skipped = 0;
+        while (!heap.isEmpty() && result.size() < limit) {
+            int[] head = heap.poll();
+            List<Map<String, Object>> source = sources.get(head[0]);
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                result.add(source.get(head[1]));
+            }
+            if (head[1] + 1 < source.size()) {
+                heap.add(new int[]{head[0], head[1] + 1});
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 将不同驱动返回的时间值统一转换为 LocalDateTime
+     */
+    public static LocalDateTime toLocalDateTime(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof LocalDateTime) {
+            return (LocalDateTime) value;
+        }
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime();
+        }
+        if (value instanceof OffsetDateTime) {
+            return ((OffsetDateTime) value).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        }
+        if (value instanceof ZonedDateTime) {
+            return ((ZonedDateTime) value).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        }
+        if (value instanceof Date) {
+            return new Timestamp(((Date) value).getTime()).toLocalDateTime();
+        }
+        try {
+            return LocalDateTime.parse(value.toString().trim().replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.datamodel.core.instance;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 单个存储的实例查询片段
+ * 包含按 created_at DESC, id DESC 排序的前N条记录，以及该存储中满足条件的记录总数
+ *
+ * @author DataModel Team
+ */
+public class InstanceSlice {
+
+    private final List<Map<String, Object>> records;
+
+    private final long total;
+
+    public InstanceSlice(List<Map<String, Object>> records, long total) {
+        this.records = records;
+        this.total = total;
+    }
+
+    public List<Map<String, Object>> getRecords() {
+        return records;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+}
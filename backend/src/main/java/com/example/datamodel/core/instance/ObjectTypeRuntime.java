@@ -0,0 +1,327 @@
+package com.example.datamodel.core.instance;
+
+import com.example.datamodel.core.CompiledValidator;
+import com.example.datamodel.core.cache.MetadataCaches;
+import com.example.datamodel.entity.ObjectType;
+import com.example.datamodel.entity.Property;
+import com.example.datamodel.utils.SqlDialectUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 对象类型运行时描述
+ * 按对象类型的一个元数据版本构建一次，包含实例表名、属性列顺序（已过滤系统保留字段）、预编译的验证器和按数据库方言预先生成的SQL，
+ * 实例读写时不再重复解析元数据、转换列名和转义标识符
+ *
+ * 构建后不可变（SQL缓存除外），元数据变更时由 {@link ObjectTypeRuntimeRegistry} 整体替换
+ *
+ * @author DataModel Team
+ */
+public final class ObjectTypeRuntime {
+
+    /**
+     * 系统保留字段，不作为属性列
+     */
+    public static final Set<String> RESERVED_FIELDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        "id", "class_id", "datasource_id", "created_at", "updated_at", "created_by", "updated_by"
+    )));
+
+    /**
+     * 平台存储的方言键（平台表名和列名不加引号）
+     */
+    private static final String PLATFORM_DIALECT = "";
+
+    /**
+     * 每种方言缓存的按列组合生成的SQL条数上限
+     */
+    private static final int MAX_CACHED_STATEMENTS = 256;
+
+    private final ObjectType objectType;
+
+    private final List<Property> properties;
+
+    private final String tableName;
+
+    private final List<Property> columnProperties;
+
+    private final List<String> columns;
+
+    private final CompiledValidator validator;
+
+    private final long version;
+
+    private final Map<String, Statements> statementsByDialect = new ConcurrentHashMap<>();
+
+    public ObjectTypeRuntime(ObjectType objectType, List<Property> properties, String tableName, long version) {
+        this.objectType = objectType;
+        this.properties = Collections.unmodifiableList(new ArrayList<>(properties));
+        this.tableName = tableName;
+        this.version = version;
+
+        List<Property> columnProperties = new ArrayList<>();
+        List<String> columns = new ArrayList<>();
+        for (Property property : properties) {
+            String column = property.getName().toLowerCase();
+            if (!RESERVED_FIELDS.contains(column)) {
+                columnProperties.add(property);
+                columns.add(column);
+            }
+        }
+        this.columnProperties = Collections.unmodifiableList(columnProperties);
+        this.columns = Collections.unmodifiableList(columns);
+        this.validator = new CompiledValidator(this.properties);
+    }
+
+    /**
+     * 对象类型（返回副本，调用方修改不会影响共享的运行时）
+     */
+    public ObjectType getObjectType() {
+        return MetadataCaches.copy(objectType);
+    }
+
+    /**
+     * 对象类型ID
+     */
+    public UUID getObjectTypeId() {
+        return objectType.getId();
+    }
+
+    /**
+     * 对象类型名称
+     */
+    public String getObjectTypeName() {
+        return objectType.getName();
+    }
+
+    /**
+     * 全部属性定义（校验使用）
+     */
+    public List<Property> getProperties() {
+        return properties;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * 属性列对应的属性（与 {@link #getColumns()} 顺序一致）
+     */
+    public List<Property> getColumnProperties() {
+        return columnProperties;
+    }
+
+    /**
+     * 属性列名（已转小写、已过滤系统保留字段）
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * 全部属性列（导入时写入所有属性列）
+     */
+    public BitSet allColumns() {
+        BitSet all = new BitSet(columns.size());
+        all.set(0, columns.size());
+        return all;
+    }
+
+    /**
+     * 预编译的验证器（按 {@link #getProperties()} 的顺序）
+     */
+    public CompiledValidator getValidator() {
+        return validator;
+    }
+
+    /**
+     * 运行时版本号（每次重建递增）
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 按属性列绑定实例数据
+     *
+     * @param data 实例数据（按属性名取值）
+     * @param includeNulls 是否包含值为null的属性（更新时为true，存在该键即更新；创建时为false，忽略null值）
+     * @return 绑定结果
+     */
+    public Binding bind(Map<String, Object> data, boolean includeNulls) {
+        BitSet present = new BitSet(columnProperties.size());
+        List<Object> values = new ArrayList<>();
+        if (data != null) {
+            for (int i = 0; i < columnProperties.size(); i++) {
+                String name = columnProperties.get(i).getName();
+                Object value = data.get(name);
+                if (value != null || (includeNulls && data.containsKey(name))) {
+                    present.set(i);
+                    values.add(value);
+                }
+            }
+        }
+        return new Binding(present, values);
+    }
+
+    /**
+     * 平台存储的SQL
+     */
+    public Statements platformStatements() {
+        return statementsByDialect.computeIfAbsent(PLATFORM_DIALECT, k -> new Statements(null));
+    }
+
+    /**
+     * 存储库的SQL（按数据库类型转义标识符）
+     *
+     * @param datasourceType 数据源类型
+     */
+    public Statements statements(String datasourceType) {
+        return statementsByDialect.computeIfAbsent(datasourceType.toUpperCase(), k -> new Statements(datasourceType));
+    }
+
+    /**
+     * 实例数据与属性列的绑定结果
+     */
+    public static final class Binding {
+
+        private final BitSet present;
+
+        private final List<Object> values;
+
+        Binding(BitSet present, List<Object> values) {
+            this.present = present;
+            this.values = values;
+        }
+
+        /**
+         * 提供了值的属性列（按列序号）
+         */
+        public BitSet getPresent() {
+            return present;
+        }
+
+        /**
+         * 提供的值（按列顺序）
+         */
+        public List<Object> getValues() {
+            return values;
+        }
+    }
+
+    /**
+     * 一种方言下的预生成SQL
+     */
+    public final class Statements {
+
+        private final String quotedTable;
+
+        private final String[] quotedColumns;
+
+        private final String selectByIdSql;
+
+        private final String deleteByIdSql;
+
+        private final String copyInSql;
+
+        private final Map<BitSet, String> insertSqls = new ConcurrentHashMap<>();
+
+        private final Map<BitSet, String> updateSqls = new ConcurrentHashMap<>();
+
+        private final Map<BitSet, String> updateWithDatasourceSqls = new ConcurrentHashMap<>();
+
+        Statements(String datasourceType) {
+            this.quotedTable = quote(datasourceType, tableName);
+            this.quotedColumns = new String[columns.size()];
+            for (int i = 0; i < columns.size(); i++) {
+                quotedColumns[i] = quote(datasourceType, columns.get(i));
+            }
+            this.selectByIdSql = "SELECT * FROM " + quotedTable + " WHERE id = ?";
+            this.deleteByIdSql = "DELETE FROM " + quotedTable + " WHERE id = ?";
+            StringBuilder copyColumns = new StringBuilder("id, class_id, created_at, updated_at");
+            for (String quotedColumn : quotedColumns) {
+                copyColumns.append(", ").append(quotedColumn);
+            }
+            this.copyInSql = "COPY " + quotedTable + " (" + copyColumns + ") FROM STDIN WITH (FORMAT csv)";
+        }
+
+        public String getQuotedTable() {
+            return quotedTable;
+        }
+
+        public String selectById() {
+            return selectByIdSql;
+        }
+
+        public String deleteById() {
+            return deleteByIdSql;
+        }
+
+        /**
+         * COPY 语句（CSV 格式，仅 PostgreSQL）：字段依次为 id, class_id, created_at, updated_at 和全部属性列
+         */
+        public String copyIn() {
+            return copyInSql;
+        }
+
+        /**
+         * INSERT 语句：参数依次为 id, class_id, created_at, updated_at 和提供了值的属性列
+         */
+        public String insert(BitSet present) {
+            String sql = insertSqls.get(present);
+            if (sql == null) {
+                StringBuilder columnsPart = new StringBuilder("id, class_id, created_at, updated_at");
+                StringBuilder valuesPart = new StringBuilder("?, ?, ?, ?");
+                for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+                    columnsPart.append(", ").append(quotedColumns[i]);
+                    valuesPart.append(", ?");
+                }
+                sql = "INSERT INTO " + quotedTable + " (" + columnsPart + ") VALUES (" + valuesPart + ")";
+                cache(insertSqls, present, sql);
+            }
+            return sql;
+        }
+
+        /**
+         * UPDATE 语句：参数依次为 updated_at、datasource_id（withDatasourceId 为true时）、提供了值的属性列和 id
+         */
+        public String update(BitSet present, boolean withDatasourceId) {
+            Map<BitSet, String> cache = withDatasourceId ? updateWithDatasourceSqls : updateSqls;
+            String sql = cache.get(present);
+            if (sql == null) {
+                StringBuilder builder = new StringBuilder();
+                builder.append("UPDATE ").append(quotedTable).append(" SET updated_at = ?");
+                if (withDatasourceId) {
+                    builder.append(", datasource_id = ?");
+                }
+                for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+                    builder.append(", ").append(quotedColumns[i]).append(" = ?");
+                }
+                builder.append(" WHERE id = ?");
+                sql = builder.toString();
+                cache(cache, present, sql);
+            }
+            return sql;
+        }
+
+        private void cache(Map<BitSet, String> cache, BitSet present, String sql) {
+            // 列组合过多时不再缓存，避免稀疏写入导致缓存无限增长
+            if (cache.size() < MAX_CACHED_STATEMENTS) {
+                cache.put((BitSet) present.clone(), sql);
+            }
+        }
+
+        private String quote(String datasourceType, String name) {
+            return datasourceType == null ? name : SqlDialectUtils.quoteIdentifier(datasourceType, name);
+        }
+    }
+}
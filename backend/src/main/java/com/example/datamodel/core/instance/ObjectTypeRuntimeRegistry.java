@@ -0,0 +1,174 @@
+package com.example.datamodel.core.instance;
+
+import com.example.datamodel.core.DynamicTableManager;
+import com.example.datamodel.core.cache.MetadataChangedEvent;
+import com.example.datamodel.entity.ObjectType;
+import com.example.datamodel.entity.Property;
+import com.example.datamodel.exception.BusinessException;
+import com.example.datamodel.service.ObjectTypeService;
+import com.example.datamodel.service.PropertyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 对象类型运行时注册表
+ * 按需构建 {@link ObjectTypeRuntime}，对象类型、属性或业务域变更的事务完成后重建并原子替换，
+ * 正在使用旧运行时的请求不受影响
+ *
+ * 重建在事务完成阶段执行，此时元数据缓存已完成失效（见 {@link com.example.datamodel.core.cache.MetadataCaches}），
+ * 不会读取到事务提交前被其他线程重新缓存的旧值；回滚时按原数据重建，结果不变
+ *
+ * @author DataModel Team
+ */
+@Slf4j
+@Component
+public class ObjectTypeRuntimeRegistry {
+
+    @Autowired
+    @Lazy
+    private ObjectTypeService objectTypeService;
+
+    @Autowired
+    @Lazy
+    private PropertyService propertyService;
+
+    @Autowired
+    @Lazy
+    private DynamicTableManager dynamicTableManager;
+
+    private final Map<UUID, ObjectTypeRuntime> runtimesById = new ConcurrentHashMap<>();
+
+    private final Map<String, UUID> idsByName = new ConcurrentHashMap<>();
+
+    private final AtomicLong versions = new AtomicLong();
+
+    /**
+     * 变更代数：构建期间发生变更时，构建结果不放入注册表
+     */
+    private final AtomicLong changeGeneration = new AtomicLong();
+
+    /**
+     * 按名称获取运行时
+     *
+     * @param objectTypeName 对象类型名称
+     * @return 运行时
+     * @throws BusinessException 对象类型不存在时
+     */
+    public ObjectTypeRuntime get(String objectTypeName) {
+        UUID id = idsByName.get(objectTypeName);
+        if (id != null) {
+            ObjectTypeRuntime runtime = runtimesById.get(id);
+            if (runtime != null && runtime.getObjectTypeName().equals(objectTypeName)) {
+                return runtime;
+            }
+        }
+        long generation = changeGeneration.get();
+        ObjectType objectType = objectTypeService.getByName(objectTypeName);
+        if (objectType == null) {
+            throw new BusinessException("对象类型不存在：" + objectTypeName);
+        }
+        return build(objectType, generation);
+    }
+
+    /**
+     * 按ID获取运行时
+     *
+     * @param objectTypeId 对象类型ID
+     * @return 运行时，对象类型不存在时返回null
+     */
+    public ObjectTypeRuntime get(UUID objectTypeId) {
+        ObjectTypeRuntime runtime = runtimesById.get(objectTypeId);
+        if (runtime != null) {
+            return runtime;
+        }
+        long generation = changeGeneration.get();
+        ObjectType objectType = objectTypeService.getById(objectTypeId);
+        return objectType != null ? build(objectType, generation) : null;
+    }
+
+    /**
+     * 元数据变更后重建受影响的运行时（事务完成后执行，无事务时立即执行）
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onMetadataChanged(MetadataChangedEvent event) {
+        changeGeneration.incrementAndGet();
+        List<UUID> affected = new ArrayList<>();
+        if (event.getObjectTypeId() != null) {
+            affected.add(event.getObjectTypeId());
+        }
+        if (event.getBusinessDomainId() != null) {
+            for (ObjectTypeRuntime runtime : runtimesById.values()) {
+                if (event.getBusinessDomainId().equals(runtime.getObjectType().getDomainId())) {
+                    affected.add(runtime.getObjectTypeId());
+                }
+            }
+        }
+        for (UUID objectTypeId : affected) {
+            rebuild(objectTypeId);
+        }
+    }
+
+    /**
+     * 所有已构建的运行时概况
+     */
+    public List<Map<String, Object>> getStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (ObjectTypeRuntime runtime : runtimesById.values()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("objectTypeId", runtime.getObjectTypeId());
+            item.put("objectTypeName", runtime.getObjectTypeName());
+            item.put("tableName", runtime.getTableName());
+            item.put("columns", runtime.getColumns().size());
+            item.put("version", runtime.getVersion());
+            stats.add(item);
+        }
+        return stats;
+    }
+
+    private void rebuild(UUID objectTypeId) {
+        ObjectTypeRuntime previous = runtimesById.get(objectTypeId);
+        ObjectType objectType = objectTypeService.getById(objectTypeId);
+        if (objectType == null) {
+            runtimesById.remove(objectTypeId);
+            if (previous != null) {
+                idsByName.remove(previous.getObjectTypeName(), objectTypeId);
+            }
+            return;
+        }
+        ObjectTypeRuntime runtime = create(objectType);
+        runtimesById.put(objectTypeId, runtime);
+        idsByName.put(objectType.getName(), objectTypeId);
+        if (previous != null && !previous.getObjectTypeName().equals(objectType.getName())) {
+            idsByName.remove(previous.getObjectTypeName(), objectTypeId);
+        }
+        log.debug("重建对象类型运行时：{}，版本 {}", objectType.getName(), runtime.getVersion());
+    }
+
+    private ObjectTypeRuntime build(ObjectType objectType, long generation) {
+        ObjectTypeRuntime runtime = create(objectType);
+        // 构建期间元数据发生变更时本次结果可能已过期，只返回给当前调用方，不放入注册表
+        if (changeGeneration.get() == generation) {
+            runtimesById.put(objectType.getId(), runtime);
+            idsByName.put(objectType.getName(), objectType.getId());
+        }
+        return runtime;
+    }
+
+    private ObjectTypeRuntime create(ObjectType objectType) {
+        List<Property> properties = propertyService.getByObjectTypeId(objectType.getId());
+        String tableName = dynamicTableManager.generateInstanceTableName(objectType);
+        return new ObjectTypeRuntime(objectType, properties, tableName, versions.incrementAndGet());
+    }
+}
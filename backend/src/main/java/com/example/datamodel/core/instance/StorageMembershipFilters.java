@@ -0,0 +1,366 @@
+package com.example.datamodel.core.instance;
+
+import com.example.datamodel.core.DynamicTableManager;
+import com.example.datamodel.core.datasource.DataSourceConnectionManager;
+import com.example.datamodel.dto.ObjectTypeDataSourceTable;
+import com.example.datamodel.entity.DataSource;
+import com.example.datamodel.entity.ObjectType;
+import com.example.datamodel.service.ObjectTypeDataSourceService;
+import com.example.datamodel.service.ObjectTypeService;
+import com.example.datamodel.utils.SqlDialectUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 存储库实例成员布隆过滤器
+ * 为每个（对象类型, 存储库）维护一个实例ID布隆过滤器：应用启动后在后台流式读取存储库的 id 列构建，
+ * 创建实例时同步写入，并按 rebuild-interval-minutes 定期重建。按ID探查实例时先探查可能包含该实例的存储库
+ *
+ * 过滤器只记录本节点写入的实例，外部程序或其他节点写入存储库的实例在下次重建前不在过滤器中。
+ * 因此过滤器判定“不存在”的存储库默认只是延后探查，仍会在返回“不存在”前探查；
+ * 只有声明 exclusive-writer（存储库只由本节点写入）时才直接跳过，见 {@link #canSkip}
+ *
+ * 过滤器未构建完成、构建失败或超过两个重建周期未成功重建时视为“可能存在”；删除实例不会从过滤器中移除，只会增加误判
+ *
+ * @author DataModel Team
+ */
+@Slf4j
+@Component
+public class StorageMembershipFilters {
+
+    @Value("${datamodel.instance.bloom-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${datamodel.instance.bloom-filter.fpp:0.01}")
+    private double fpp;
+
+    @Value("${datamodel.instance.bloom-filter.growth-factor:2.0}")
+    private double growthFactor;
+
+    @Value("${datamodel.instance.bloom-filter.min-capacity:10000}")
+    private long minCapacity;
+
+    @Value("${datamodel.instance.bloom-filter.fetch-size:10000}")
+    private int fetchSize;
+
+    @Value("${datamodel.instance.bloom-filter.rebuild-interval-minutes:30}")
+    private long rebuildIntervalMinutes;
+
+    @Value("${datamodel.instance.bloom-filter.exclusive-writer:false}")
+    private boolean exclusiveWriter;
+
+    @Autowired
+    @Lazy
+    private ObjectTypeService objectTypeService;
+
+    @Autowired
+    private ObjectTypeDataSourceService objectTypeDataSourceService;
+
+    @Autowired
+    private DynamicTableManager dynamicTableManager;
+
+    @Autowired
+    private DataSourceConnectionManager dataSourceConnectionManager;
+
+    private final Map<String, FilterEntry> filters = new ConcurrentHashMap<>();
+
+    private final AtomicLong probesChecked = new AtomicLong();
+
+    private final AtomicLong probesSkipped = new AtomicLong();
+
+    private final ScheduledExecutorService buildExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "bloom-filter-build");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 应用启动完成后在后台构建所有过滤器，之后定期重建以纳入外部写入的实例
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        rebuildAll();
+        if (rebuildIntervalMinutes > 0) {
+            buildExecutor.scheduleWithFixedDelay(this::rebuildAllNow,
+                rebuildIntervalMinutes, rebuildIntervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        buildExecutor.shutdownNow();
+    }
+
+    /**
+     * 判断存储库中是否可能包含该实例
+     *
+     * @param objectTypeId 对象类型ID
+     * @param datasourceId 存储库数据源ID
+     * @param instanceId 实例ID
+     * @return false 表示一定不包含，可跳过该存储库
+     */
+    public boolean mightContain(UUID objectTypeId, UUID datasourceId, UUID instanceId) {
+        if (!enabled) {
+            return true;
+        }
+        FilterEntry entry = filters.get(key(objectTypeId, datasourceId));
+        BloomFilter active = entry != null ? entry.active : null;
+        if (active == null || isExpired(entry)) {
+            return true;
+        }
+        probesChecked.incrementAndGet();
+        if (active.mightContain(instanceId)) {
+            return true;
+        }
+        probesSkipped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * 判断按ID探查实例时是否可以不探查该存储库
+     * 只有存储库只由本节点写入（exclusive-writer）时过滤器的否定结果才可靠，否则调用方应延后探查而不是跳过
+     *
+     * @return true 表示一定不包含且可跳过该存储库
+     */
+    public boolean canSkip(UUID objectTypeId, UUID datasourceId, UUID instanceId) {
+        return exclusiveWriter && !mightContain(objectTypeId, datasourceId, instanceId);
+    }
+
+    /**
+     * 记录存储库中新增的实例
+     */
+    public void put(UUID objectTypeId, UUID datasourceId, UUID instanceId) {
+        if (!enabled) {
+            return;
+        }
+        FilterEntry entry = filters.get(key(objectTypeId, datasourceId));
+        if (entry == null) {
+            return;
+        }
+        // 构建期间的新增实例同时写入新旧过滤器，避免切换后漏判
+        BloomFilter active = entry.active;
+        BloomFilter building = entry.building;
+        if (active != null) {
+            active.put(instanceId);
+        }
+        if (building != null) {
+            building.put(instanceId);
+        }
+    }
+
+    /**
+     * 在后台重建所有（对象类型, 存储库）的过滤器
+     */
+    public void rebuildAll() {
+        buildExecutor.submit(this::rebuildAllNow);
+    }
+
+    /**
+     * 在后台重建指定对象类型的过滤器
+     */
+    public void rebuild(UUID objectTypeId) {
+        buildExecutor.submit(() -> {
+            ObjectType objectType = objectTypeService.getById(objectTypeId);
+            if (objectType != null) {
+                rebuildObjectType(objectType);
+            }
+        });
+    }
+
+    /**
+     * 过滤器统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("exclusiveWriter", exclusiveWriter);
+        stats.put("rebuildIntervalMinutes", rebuildIntervalMinutes);
+        stats.put("probesChecked", probesChecked.get());
+        stats.put("probesSkipped", probesSkipped.get());
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        filters.forEach((key, entry) -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("objectTypeId", entry.objectTypeId);
+            item.put("datasourceId", entry.datasourceId);
+            item.put("state", entry.state);
+            BloomFilter active = entry.active;
+            if (active != null) {
+                item.put("expectedInsertions", active.getExpectedInsertions());
+                item.put("insertions", active.getInsertions());
+                item.put("bitSize", active.getBitSize());
+                item.put("hashFunctions", active.getHashFunctions());
+                item.put("sizeInBytes", active.getSizeInBytes());
+                item.put("expectedFpp", active.getExpectedFpp());
+                item.put("estimatedFpp", active.estimatedFpp());
+            }
+            item.put("activeBuiltAt", entry.activeBuiltAt);
+            item.put("expired", isExpired(entry));
+            item.put("lastBuildAt", entry.lastBuildAt);
+            item.put("lastBuildRows", entry.lastBuildRows);
+            item.put("lastBuildMillis", entry.lastBuildMillis);
+            item.put("lastError", entry.lastError);
+            items.add(item);
+        });
+        stats.put("filters", items);
+        return stats;
+    }
+
+    private void rebuildAllNow() {
+        try {
+            for (ObjectType objectType : objectTypeService.list()) {
+                rebuildObjectType(objectType);
+            }
+        } catch (Exception e) {
+            // 定期任务抛出异常后不会再次执行
+            log.warn("重建实例布隆过滤器失败：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 超过两个重建周期未成功重建的过滤器（如存储库持续不可用）不再使用
+     */
+    private boolean isExpired(FilterEntry entry) {
+        LocalDateTime builtAt = entry.activeBuiltAt;
+        return rebuildIntervalMinutes > 0 && builtAt != null
+            && builtAt.plusMinutes(rebuildIntervalMinutes * 2).isBefore(LocalDateTime.now());
+    }
+
+    private void rebuildObjectType(ObjectType objectType) {
+        List<ObjectTypeDataSourceTable> storages;
+        String tableName;
+        try {
+            storages = objectTypeDataSourceService.getStorageDatasourcesByObjectTypeId(objectType.getId());
+            tableName = dynamicTableManager.generateInstanceTableName(objectType);
+        } catch (Exception e) {
+            log.warn("获取对象类型 {} 的存储库失败：{}", objectType.getName(), e.getMessage());
+            return;
+        }
+        for (ObjectTypeDataSourceTable storage : storages) {
+            if (storage.getIsStorage() != null && storage.getIsStorage() && storage.getDatasource() != null) {
+                rebuildFilter(objectType.getId(), storage.getDatasource(), tableName);
+            }
+        }
+    }
+
+    private void rebuildFilter(UUID objectTypeId, DataSource datasource, String tableName) {
+        FilterEntry entry = filters.computeIfAbsent(key(objectTypeId, datasource.getId()),
+            k -> new FilterEntry(objectTypeId, datasource.getId()));
+        long start = System.currentTimeMillis();
+        entry.state = "BUILDING";
+        String escapedTableName = SqlDialectUtils.quoteIdentifier(datasource.getType(), tableName);
+
+        try (Connection connection = dataSourceConnectionManager.getConnection(datasource)) {
+            long count = 0;
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + escapedTableName)) {
+                if (rs.next()) {
+                    count = rs.getLong(1);
+                }
+            }
+
+            // 预留增长空间，避免过滤器很快饱和
+            BloomFilter filter = new BloomFilter(Math.max(minCapacity, (long) (count * growthFactor)), fpp);
+            entry.building = filter;
+
+            long rows = 0;
+            boolean autoCommit = connection.getAutoCommit();
+            // PostgreSQL 只有在事务中才按 fetchSize 流式读取
+            connection.setAutoCommit(false);
+            try (PreparedStatement stmt = connection.prepareStatement("SELECT id FROM " + escapedTableName)) {
+                stmt.setFetchSize(SqlDialectUtils.streamingFetchSize(datasource.getType(), fetchSize));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        String id = rs.getString(1);
+                        if (id != null) {
+                            filter.put(UUID.fromString(id.trim()));
+                            rows++;
+                        }
+                    }
+                }
+                connection.commit();
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+
+            activate(entry, filter, LocalDateTime.now());
+            entry.lastBuildRows = rows;
+            entry.lastError = null;
+            log.info("构建实例布隆过滤器成功：{}.{}，{} 条，{}ms", datasource.getName(), tableName, rows,
+                System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // 构建失败时保留原过滤器（若有），未构建过的存储库不会被跳过
+            entry.state = entry.active != null ? "STALE" : "FAILED";
+            entry.lastError = e.getMessage();
+            log.warn("构建实例布隆过滤器失败：{}.{}，{}", datasource.getName(), tableName, e.getMessage());
+        } finally {
+            entry.building = null;
+            entry.lastBuildAt = LocalDateTime.now();
+            entry.lastBuildMillis = System.currentTimeMillis() - start;
+        }
+    }
+
+    /**
+     * 启用构建完成的过滤器
+     */
+    void activate(UUID objectTypeId, UUID datasourceId, BloomFilter filter, LocalDateTime builtAt) {
+        activate(filters.computeIfAbsent(key(objectTypeId, datasourceId), k -> new FilterEntry(objectTypeId, datasourceId)),
+            filter, builtAt);
+    }
+
+    private void activate(FilterEntry entry, BloomFilter filter, LocalDateTime builtAt) {
+        entry.active = filter;
+        entry.activeBuiltAt = builtAt;
+        entry.state = "READY";
+    }
+
+    private String key(UUID objectTypeId, UUID datasourceId) {
+        return objectTypeId + ":" + datasourceId;
+    }
+
+    /**
+     * 单个（对象类型, 存储库）的过滤器状态
+     */
+    private static class FilterEntry {
+        private final UUID objectTypeId;
+        private final UUID datasourceId;
+        private volatile BloomFilter active;
+        private volatile BloomFilter building;
+        private volatile LocalDateTime activeBuiltAt;
+        private volatile String state = "PENDING";
+        private volatile LocalDateTime lastBuildAt;
+        private volatile Long lastBuildRows;
+        private volatile Long lastBuildMillis;
+        private volatile String lastError;
+
+        FilterEntry(UUID objectTypeId, UUID datasourceId) {
+            this.objectTypeId = objectTypeId;
+            this.datasourceId = datasourceId;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.datamodel.core.instance;
+
+import com.example.datamodel.vo.StorageQueryStatus;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 存储查询执行器
+ * 在有界线程池上并发执行平台存储与各存储库的查询，每个查询有独立的截止时间，
+ * 使跨存储查询的耗时取决于最慢的健康存储，而不是所有存储耗时之和
+ *
+ * @author DataModel Team
+ */
+@Slf4j
+@Component
+public class StorageQueryExecutor {
+
+    @Value("${datamodel.instance.storage-query.pool-size:16}")
+    private int poolSize;
+
+    @Value("${datamodel.instance.storage-query.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${datamodel.instance.storage-query.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            r -> {
+                Thread thread = new Thread(r, "storage-query-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            // 线程池饱和时拒绝提交，该存储标记为失败；由调用线程执行会绕过截止时间并推迟之后的查询
+            new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 单个存储查询的超时时间（毫秒）
+     */
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    /**
+     * 单个存储查询的JDBC语句超时时间（秒），用于让数据库端同步取消超时查询
+     */
+    public int getQueryTimeoutSeconds() {
+        return (int) Math.max(1, (timeoutMs + 999) / 1000);
+    }
+
+    /**
+     * 并发执行所有查询并等待结果
+     * 每个查询从提交时开始计时，超过截止时间的查询会被取消并标记为超时，不影响其他查询的结果；
+     * 线程池饱和时未能提交的查询不执行，标记为失败
+     *
+     * @param queries 查询列表
+     * @param <T> 查询结果类型
+     * @return 查询结果列表（与查询列表顺序一致）
+     */
+    public <T> List<StorageQueryResult<T>> invokeAll(List<StorageQuery<T>> queries) {
+        List<Future<T>> futures = new ArrayList<>(queries.size());
+        long[] startTimes = new long[queries.size()];
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+
+        for (int i = 0; i < queries.size(); i++) {
+            startTimes[i] = System.nanoTime();
+            try {
+                futures.add(executor.submit(queries.get(i).getTask()));
+            } catch (RejectedExecutionException e) {
+                futures.add(null);
+            }
+        }
+
+        List<StorageQueryResult<T>> results = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            StorageQuery<T> query = queries.get(i);
+            Future<T> future = futures.get(i);
+            if (future == null) {
+                log.warn("存储查询线程池已满，未执行：{}", query.getLabel());
+                results.add(new StorageQueryResult<>(query, null, StorageQueryStatus.FAILED, 0, "存储查询繁忙，未执行"));
+                continue;
+            }
+            long remaining = startTimes[i] + timeoutNanos - System.nanoTime();
+            try {
+                T value = future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                results.add(new StorageQueryResult<>(query, value, StorageQueryStatus.SUCCESS,
+                    elapsedMillis(startTimes[i]), null));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("存储查询超时：{}（{}ms）", query.getLabel(), timeoutMs);
+                results.add(new StorageQueryResult<>(query, null, StorageQueryStatus.TIMEOUT,
+                    elapsedMillis(startTimes[i]), "查询超时（" + timeoutMs + "ms）"));
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.warn("存储查询失败：{}，{}", query.getLabel(), cause.getMessage());
+                results.add(new StorageQueryResult<>(query, null, StorageQueryStatus.FAILED,
+                    elapsedMillis(startTimes[i]), cause.getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                results.add(new StorageQueryResult<>(query, null, StorageQueryStatus.FAILED,
+                    elapsedMillis(startTimes[i]), "查询被中断"));
+            }
+        }
+        return results;
+    }
+
+    private long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 存储查询
+     *
+     * @param <T> 查询结果类型
+     */
+    @Getter
+    public static class StorageQuery<T> {
+        /**
+         * 数据源ID（平台存储为null）
+         */
+        private final UUID datasourceId;
+
+        /**
+         * 查询标识（用于日志和状态展示）
+         */
+        private final String label;
+
+        /**
+         * 查询任务
+         */
+        private final Callable<T> task;
+
+        public StorageQuery(UUID datasourceId, String label, Callable<T> task) {
+            this.datasourceId = datasourceId;
+            this.label = label;
+            this.task = task;
+        }
+
+        public static <T> StorageQuery<T> platform(Callable<T> task) {
+            return new StorageQuery<>(null, StorageQueryStatus.PLATFORM_SOURCE, task);
+        }
+
+        public boolean isPlatform() {
+            return datasourceId == null;
+        }
+    }
+
+    /**
+     * 存储查询结果
+     *
+     * @param <T> 查询结果类型
+     */
+    @Getter
+    public static class StorageQueryResult<T> {
+        private final StorageQuery<T> query;
+        private final T value;
+        private final String status;
+        private final long elapsedMs;
+        private final String errorMessage;
+
+        public StorageQueryResult(StorageQuery<T> query, T value, String status, long elapsedMs, String errorMessage) {
+            this.query = query;
+            this.value = value;
+            this.status = status;
+            this.elapsedMs = elapsedMs;
+            this.errorMessage = errorMessage;
+        }
+
+        public boolean isSuccess() {
+            return StorageQueryStatus.SUCCESS.equals(status);
+        }
+
+        public StorageQueryStatus toStatus() {
+            StorageQueryStatus storageStatus = new StorageQueryStatus();
+            storageStatus.setDatasourceId(query.getDatasourceId());
+            storageStatus.setSource(query.getLabel());
+            storageStatus.setStatus(status);
+            storageStatus.setElapsedMs(elapsedMs);
+            storageStatus.setMessage(errorMessage);
+            return storageStatus;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.example.datamodel.entity.LinkInstance;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -44,6 +45,14 @@ public interface LinkInstanceMapper extends BaseMapper<LinkInstance> {
      */
     List<LinkInstance> selectByInstanceId(@Param("instanceId") UUID instanceId);
 
+    /**
+     * 根据一组实例ID查询所有关联的链接实例（两端都在该组中的链接只返回一次）
+     *
+     * @param instanceIds 实例ID集合（不能为空）
+     * @return 链接实例列表
+     */
+    List<LinkInstance> selectByInstanceIds(@Param("instanceIds") Collection<UUID> instanceIds);
+
     /**
      * 根据链接类型ID查询所有链接实例
      *
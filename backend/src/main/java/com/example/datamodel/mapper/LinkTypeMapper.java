@@ -5,6 +5,7 @@ import com.example.datamodel.entity.LinkType;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -31,5 +32,13 @@ public interface LinkTypeMapper extends BaseMapper<LinkType> {
      * @return 链接类型列表
      */
     List<LinkType> selectByObjectTypeId(@Param("objectTypeId") UUID objectTypeId);
+
+    /**
+     * 根据一组对象类型ID查询相关链接类型
+     *
+     * @param objectTypeIds 对象类型ID集合（不能为空）
+     * @return 链接类型列表
+     */
+    List<LinkType> selectByObjectTypeIds(@Param("objectTypeIds") Collection<UUID> objectTypeIds);
 }
 
@@ -107,5 +107,15 @@ public interface DataSourceService extends IService<DataSource> {
      * @return Schema名称列表
      */
     java.util.List<String> getSchemaList(UUID datasourceId);
+
+    /**
+     * 刷新数据源目录缓存（Schema、表、字段）
+     *
+     * @param datasourceId 数据源ID
+     * @param schemaName 只刷新该Schema（可选，为空时刷新Schema列表和已缓存的所有Schema）
+     * @param allSchemas 是否抓取数据源的所有Schema
+     * @return 刷新结果概况
+     */
+    java.util.Map<String, Object> refreshCatalog(UUID datasourceId, String schemaName, boolean allSchemas);
 }
 
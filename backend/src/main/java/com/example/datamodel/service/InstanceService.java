@@ -1,8 +1,15 @@
 package com.example.datamodel.service;
 
-import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.example.datamodel.core.instance.InstanceExporter;
 import com.example.datamodel.dto.InstanceDTO;
+import com.example.datamodel.vo.BatchCreateInstancesResult;
+import com.example.datamodel.vo.ImportInstancesResult;
+import com.example.datamodel.vo.InstanceCursorPage;
+import com.example.datamodel.vo.InstancePage;
 
+import java.io.File;
+import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -23,6 +30,47 @@ public interface InstanceService {
      */
     Map<String, Object> createInstance(String objectTypeName, InstanceDTO dto);
 
+    /**
+     * 批量创建实例
+     * 逐行校验后按目标存储和列集合分组，每组按块使用JDBC批处理写入；单行失败不影响其他行
+     *
+     * @param objectTypeName 对象类型名称
+     * @param dtos 实例数据列表
+     * @return 批量创建结果（含每行的错误信息）
+     */
+    BatchCreateInstancesResult batchCreateInstances(String objectTypeName, List<InstanceDTO> dtos);
+
+    /**
+     * 批量导入实例（流式读取，适用于大文件）
+     * 写入平台存储或 PostgreSQL 存储库时使用 COPY，其他存储库使用批处理写入；校验失败的记录写入错误文件
+     *
+     * @param objectTypeName 对象类型名称
+     * @param in 上传内容
+     * @param format 格式：CSV 或 NDJSON
+     * @param storageDatasourceId 存储库数据源ID（为空时使用默认存储库）
+     * @return 导入结果
+     */
+    ImportInstancesResult importInstances(String objectTypeName, InputStream in, String format, UUID storageDatasourceId);
+
+    /**
+     * 获取导入错误文件
+     *
+     * @param objectTypeName 对象类型名称
+     * @param errorFileId 错误文件ID
+     * @return 错误文件，不存在、不属于该对象类型或已过期时返回null
+     */
+    File getImportErrorFile(String objectTypeName, String errorFileId);
+
+    /**
+     * 准备导出实例
+     * 在返回前完成对象类型、存储库和表的检查，导出内容在写入响应时才开始读取
+     *
+     * @param objectTypeName 对象类型名称
+     * @param format 格式：NDJSON 或 CSV
+     * @return 导出任务
+     */
+    InstanceExporter.Export prepareExport(String objectTypeName, String format);
+
     /**
      * 更新实例
      *
@@ -42,6 +90,16 @@ public interface InstanceService {
      */
     Map<String, Object> getInstance(String objectTypeName, UUID instanceId);
 
+    /**
+     * 根据ID列表批量查询实例
+     * 元数据只解析一次，每个存储只发出一次（分块的）ID 列表查询
+     *
+     * @param objectTypeName 对象类型名称
+     * @param instanceIds 实例ID列表
+     * @return 实例数据（按请求顺序，不存在的实例不包含在结果中）
+     */
+    List<Map<String, Object>> getInstances(String objectTypeName, Collection<UUID> instanceIds);
+
     /**
      * 分页查询实例列表
      *
@@ -49,9 +107,34 @@ public interface InstanceService {
      * @param current 当前页
      * @param size 每页大小
      * @param filters 过滤条件
-     * @return 分页结果
+     * @return 分页结果（附带各存储的查询状态，存储库失败或超时时标记为部分结果）
+     */
+    InstancePage listInstances(String objectTypeName, Long current, Long size, Map<String, Object> filters);
+
+    /**
+     * 分页查询实例列表
+     *
+     * @param objectTypeName 对象类型名称
+     * @param current 当前页
+     * @param size 每页大小
+     * @param filters 过滤条件
+     * @param withTotal 是否统计总数（为null时统计；为false时 total 为0且 totalCounted 为false）
+     * @return 分页结果（附带各存储的查询状态，存储库失败或超时时标记为部分结果）
+     */
+    InstancePage listInstances(String objectTypeName, Long current, Long size, Map<String, Object> filters,
+                               Boolean withTotal);
+
+    /**
+     * 游标分页查询实例列表
+     * 按 (created_at, id) 降序返回，各存储从游标记录的位置继续查询，翻页深度不影响查询性能
+     *
+     * @param objectTypeName 对象类型名称
+     * @param cursor 上一页返回的游标（为空时查询第一页）
+     * @param size 每页大小
+     * @param filters 过滤条件
+     * @return 游标分页结果
      */
-    IPage<Map<String, Object>> listInstances(String objectTypeName, Long current, Long size, Map<String, Object> filters);
+    InstanceCursorPage listInstancesByCursor(String objectTypeName, String cursor, Long size, Map<String, Object> filters);
 
     /**
      * 删除实例
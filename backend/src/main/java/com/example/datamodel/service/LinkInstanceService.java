@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import com.example.datamodel.dto.LinkInstanceDTO;
 import com.example.datamodel.entity.LinkInstance;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -48,6 +49,14 @@ public interface LinkInstanceService extends IService<LinkInstance> {
      */
     List<LinkInstance> getByInstanceId(UUID instanceId);
 
+    /**
+     * 根据一组实例ID批量查询所有关联的链接实例（按批次分块查询，每个链接只返回一次）
+     *
+     * @param instanceIds 实例ID集合
+     * @return 链接实例列表
+     */
+    List<LinkInstance> getByInstanceIds(Collection<UUID> instanceIds);
+
     /**
      * 根据链接类型ID查询所有链接实例
      *
@@ -6,6 +6,7 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import com.example.datamodel.dto.LinkTypeDTO;
 import com.example.datamodel.entity.LinkType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -49,6 +50,14 @@ public interface LinkTypeService extends IService<LinkType> {
      */
     List<LinkType> getByObjectTypeId(UUID objectTypeId);
 
+    /**
+     * 根据一组对象类型ID批量查询相关链接类型
+     *
+     * @param objectTypeIds 对象类型ID集合
+     * @return 链接类型列表
+     */
+    List<LinkType> getByObjectTypeIds(Collection<UUID> objectTypeIds);
+
     /**
      * 删除链接类型
      *
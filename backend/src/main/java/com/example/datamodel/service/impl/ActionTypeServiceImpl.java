@@ -1,6 +1,7 @@
 package com.example.datamodel.service.impl;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.datamodel.core.gateway.InterfaceContractRegistry;
 import com.example.datamodel.dto.ActionTypeDTO;
 import com.example.datamodel.entity.ActionType;
 import com.example.datamodel.entity.ObjectType;
@@ -38,6 +39,9 @@ public class ActionTypeServiceImpl extends ServiceImpl<ActionTypeMapper, ActionT
     @Lazy
     private MetaModelService metaModelService;
 
+    @Autowired
+    private InterfaceContractRegistry interfaceContractRegistry;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public ActionType createActionType(ActionTypeDTO dto) {
@@ -73,6 +77,7 @@ public class ActionTypeServiceImpl extends ServiceImpl<ActionTypeMapper, ActionT
         actionType.setUpdatedAt(LocalDateTime.now());
 
         save(actionType);
+        interfaceContractRegistry.invalidateAll();
         log.info("创建操作类型成功：{}", actionType.getName());
         return actionType;
     }
@@ -115,6 +120,7 @@ public class ActionTypeServiceImpl extends ServiceImpl<ActionTypeMapper, ActionT
         actionType.setUpdatedAt(LocalDateTime.now());
 
         updateById(actionType);
+        interfaceContractRegistry.invalidateAll();
         log.info("更新操作类型成功：{}", actionType.getName());
         return actionType;
     }
@@ -133,6 +139,7 @@ public class ActionTypeServiceImpl extends ServiceImpl<ActionTypeMapper, ActionT
         }
 
         removeById(id);
+        interfaceContractRegistry.invalidateAll();
         log.info("删除操作类型成功：{}", actionType.getName());
     }
 
@@ -1,14 +1,22 @@
 package com.example.datamodel.service.impl;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.datamodel.core.cache.MetadataCaches;
+import com.example.datamodel.core.cache.MetadataChangedEvent;
 import com.example.datamodel.entity.BusinessDomain;
 import com.example.datamodel.mapper.BusinessDomainMapper;
 import com.example.datamodel.service.BusinessDomainService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.io.Serializable;
+import java.util.UUID;
+
 /**
  * 业务域服务实现类
+ * 按ID查询经过元数据缓存（实例表名生成时每次都会查询业务域）
  *
  * @author DataModel Team
  */
@@ -16,6 +24,38 @@ import org.springframework.stereotype.Service;
 @Service
 public class BusinessDomainServiceImpl extends ServiceImpl<BusinessDomainMapper, BusinessDomain>
         implements BusinessDomainService {
-}
 
+    @Autowired
+    private MetadataCaches metadataCaches;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
+    @Override
+    public BusinessDomain getById(Serializable id) {
+        if (id == null) {
+            return null;
+        }
+        UUID domainId = id instanceof UUID ? (UUID) id : UUID.fromString(id.toString());
+        return metadataCaches.getBusinessDomain(domainId, baseMapper::selectById);
+    }
+
+    @Override
+    public boolean updateById(BusinessDomain entity) {
+        boolean updated = super.updateById(entity);
+        metadataCaches.invalidateBusinessDomain(entity.getId());
+        eventPublisher.publishEvent(MetadataChangedEvent.businessDomain(entity.getId()));
+        return updated;
+    }
+
+    @Override
+    public boolean removeById(Serializable id) {
+        boolean removed = super.removeById(id);
+        if (id != null) {
+            UUID domainId = id instanceof UUID ? (UUID) id : UUID.fromString(id.toString());
+            metadataCaches.invalidateBusinessDomain(domainId);
+            eventPublisher.publishEvent(MetadataChangedEvent.businessDomain(domainId));
+        }
+        return removed;
+    }
+}
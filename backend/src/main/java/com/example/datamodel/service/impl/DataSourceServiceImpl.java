@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.datamodel.core.datasource.DataSourceCatalogCache;
 import com.example.datamodel.core.datasource.DataSourceConnectionManager;
 import com.example.datamodel.core.datasource.DataSourceConnector;
 import com.example.datamodel.core.datasource.DataSourceConnectorRegistry;
@@ -13,14 +14,16 @@ import com.example.datamodel.exception.BusinessException;
 import com.example.datamodel.mapper.DataSourceMapper;
 import com.example.datamodel.service.DataSourceService;
 import com.example.datamodel.utils.PasswordUtils;
+import com.example.datamodel.utils.UUIDUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.sql.Connection;
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -38,6 +41,9 @@ public class DataSourceServiceImpl extends ServiceImpl<DataSourceMapper, DataSou
     @Autowired
     private DataSourceConnectorRegistry connectorRegistry;
 
+    @Autowired
+    private DataSourceCatalogCache catalogCache;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public DataSource createDataSource(DataSource datasource) {
@@ -161,10 +167,23 @@ public class DataSourceServiceImpl extends ServiceImpl<DataSourceMapper, DataSou
         existing.setUpdatedAt(LocalDateTime.now());
 
         updateById(existing);
+        connectionManager.invalidatePool(id);
+        catalogCache.invalidate(id);
         log.info("更新数据源成功：{}", existing.getCode());
         return existing;
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean removeById(Serializable id) {
+        boolean removed = super.removeById(id);
+        if (removed) {
+            connectionManager.invalidatePool(UUIDUtils.parseUUID(id));
+            catalogCache.invalidate(UUIDUtils.parseUUID(id));
+        }
+        return removed;
+    }
+
     @Override
     public DataSource getDataSourceById(UUID id) {
         DataSource datasource = getById(id);
@@ -273,6 +292,7 @@ public class DataSourceServiceImpl extends ServiceImpl<DataSourceMapper, DataSou
         datasource.setEnabled(enabled);
         datasource.setUpdatedAt(LocalDateTime.now());
         updateById(datasource);
+        connectionManager.invalidatePool(id);
         log.info("设置数据源启用状态：{} -> {}", datasource.getCode(), enabled);
     }
 
@@ -303,8 +323,8 @@ public class DataSourceServiceImpl extends ServiceImpl<DataSourceMapper, DataSou
             throw new BusinessException("不支持的数据源类型：" + datasource.getType());
         }
 
-        try (Connection connection = connector.createConnection(datasource)) {
-            return connector.getTableList(connection, schemaName);
+        try {
+            return catalogCache.getTables(datasource, schemaName);
         } catch (Exception e) {
             log.error("获取表列表失败：{}", e.getMessage(), e);
             throw new BusinessException("获取表列表失败：" + e.getMessage());
@@ -323,14 +343,31 @@ public class DataSourceServiceImpl extends ServiceImpl<DataSourceMapper, DataSou
             throw new BusinessException("不支持的数据源类型：" + datasource.getType());
         }
 
-        try (Connection connection = connector.createConnection(datasource)) {
-            return connector.getTableColumns(connection, schemaName, tableName);
+        try {
+            return catalogCache.getColumns(datasource, schemaName, tableName);
         } catch (Exception e) {
             log.error("获取表字段信息失败：{}", e.getMessage(), e);
             throw new BusinessException("获取表字段信息失败：" + e.getMessage());
         }
     }
 
+    @Override
+    public Map<String, Object> refreshCatalog(UUID datasourceId, String schemaName, boolean allSchemas) {
+        DataSource datasource = getDataSourceWithPassword(datasourceId);
+        if (datasource == null) {
+            throw new BusinessException("数据源不存在：" + datasourceId);
+        }
+
+        try {
+            return catalogCache.refresh(datasource, schemaName, allSchemas);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("刷新数据源目录失败：{}", e.getMessage(), e);
+            throw new BusinessException("刷新数据源目录失败：" + e.getMessage());
+        }
+    }
+
     @Override
     public List<String> getSchemaList(UUID datasourceId) {
         DataSource datasource = getDataSourceWithPassword(datasourceId);
@@ -347,8 +384,8 @@ public class DataSourceServiceImpl extends ServiceImpl<DataSourceMapper, DataSou
             return new java.util.ArrayList<>(); // 不支持Schema的数据源返回空列表
         }
 
-        try (Connection connection = connector.createConnection(datasource)) {
-            return connector.getSchemaList(connection);
+        try {
+            return catalogCache.getSchemas(datasource);
         } catch (Exception e) {
             log.error("获取Schema列表失败：{}", e.getMessage(), e);
             throw new BusinessException("获取Schema列表失败：" + e.getMessage());
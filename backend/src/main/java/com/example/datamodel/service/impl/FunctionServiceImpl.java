@@ -3,6 +3,7 @@ package com.example.datamodel.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.datamodel.core.gateway.InterfaceContractRegistry;
 import com.example.datamodel.dto.FunctionDTO;
 import com.example.datamodel.entity.Function;
 import com.example.datamodel.exception.BusinessException;
@@ -33,6 +34,9 @@ public class FunctionServiceImpl extends ServiceImpl<FunctionMapper, Function> i
     @Autowired
     private ActionTypeMapper actionTypeMapper;
 
+    @Autowired
+    private InterfaceContractRegistry interfaceContractRegistry;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Function createFunction(FunctionDTO dto) {
@@ -53,6 +57,7 @@ public class FunctionServiceImpl extends ServiceImpl<FunctionMapper, Function> i
         function.setUpdatedAt(LocalDateTime.now());
 
         save(function);
+        interfaceContractRegistry.invalidateAll();
         log.info("创建函数成功：{}", function.getName());
         return function;
     }
@@ -87,6 +92,7 @@ public class FunctionServiceImpl extends ServiceImpl<FunctionMapper, Function> i
         function.setUpdatedAt(LocalDateTime.now());
 
         updateById(function);
+        interfaceContractRegistry.invalidateAll();
         log.info("更新函数成功：{}", function.getName());
         return function;
     }
@@ -118,6 +124,7 @@ public class FunctionServiceImpl extends ServiceImpl<FunctionMapper, Function> i
         }
 
         removeById(id);
+        interfaceContractRegistry.invalidateAll();
         log.info("删除函数成功：{}", function.getName());
     }
 
@@ -1,29 +1,49 @@
 package com.example.datamodel.service.impl;
 
-import com.baomidou.mybatisplus.core.metadata.IPage;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.example.datamodel.core.DynamicTableManager;
-import com.example.datamodel.core.Validator;
 import com.example.datamodel.core.datasource.DataSourceConnectionManager;
+import com.example.datamodel.core.instance.BulkRecordReader;
+import com.example.datamodel.core.instance.InstanceBatchWriter;
+import com.example.datamodel.core.instance.InstanceBulkLoader;
+import com.example.datamodel.core.instance.InstanceCursor;
+import com.example.datamodel.core.instance.InstanceExporter;
+import com.example.datamodel.core.instance.InstanceLocationIndex;
+import com.example.datamodel.core.instance.InstanceRecordMerger;
+import com.example.datamodel.core.instance.InstanceSlice;
+import com.example.datamodel.core.instance.ObjectTypeRuntime;
+import com.example.datamodel.core.instance.ObjectTypeRuntimeRegistry;
+import com.example.datamodel.core.instance.StorageMembershipFilters;
+import com.example.datamodel.core.instance.StorageQueryExecutor;
 import com.example.datamodel.dto.InstanceDTO;
 import com.example.datamodel.entity.DataSource;
 import com.example.datamodel.entity.ObjectType;
 import com.example.datamodel.entity.Property;
 import com.example.datamodel.exception.BusinessException;
 import com.example.datamodel.service.InstanceService;
-import com.example.datamodel.service.ObjectTypeService;
-import com.example.datamodel.service.PropertyService;
+import com.example.datamodel.vo.BatchCreateInstancesResult;
+import com.example.datamodel.vo.ImportInstancesResult;
+import com.example.datamodel.vo.InstanceCursorPage;
+import com.example.datamodel.vo.InstancePage;
+import com.example.datamodel.vo.StorageQueryStatus;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.datamodel.utils.SqlDialectUtils;
 import com.example.datamodel.utils.UUIDUtils;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -40,37 +60,50 @@ public class InstanceServiceImpl implements InstanceService {
     private JdbcTemplate jdbcTemplate;
 
     @Autowired
-    private ObjectTypeService objectTypeService;
+    private DynamicTableManager dynamicTableManager;
 
     @Autowired
-    private PropertyService propertyService;
+    private com.example.datamodel.service.ObjectTypeDataSourceService objectTypeDataSourceService;
 
     @Autowired
-    private DynamicTableManager dynamicTableManager;
+    private DataSourceConnectionManager dataSourceConnectionManager;
 
     @Autowired
-    private Validator validator;
+    private StorageQueryExecutor storageQueryExecutor;
 
     @Autowired
-    private com.example.datamodel.service.ObjectTypeDataSourceService objectTypeDataSourceService;
+    private InstanceLocationIndex instanceLocationIndex;
 
     @Autowired
-    private DataSourceConnectionManager dataSourceConnectionManager;
+    private StorageMembershipFilters storageMembershipFilters;
+
+    @Autowired
+    private InstanceBatchWriter instanceBatchWriter;
+
+    @Autowired
+    private InstanceBulkLoader instanceBulkLoader;
+
+    @Autowired
+    private InstanceExporter instanceExporter;
+
+    @Autowired
+    private ObjectTypeRuntimeRegistry objectTypeRuntimes;
+
+    @Value("${datamodel.instance.batch.max-rows:10000}")
+    private int batchMaxRows;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Map<String, Object> createInstance(String objectTypeName, InstanceDTO dto) {
         // 获取对象类型
-        ObjectType objectType = objectTypeService.getByName(objectTypeName);
-        if (objectType == null) {
-            throw new BusinessException("对象类型不存在：" + objectTypeName);
-        }
+        ObjectTypeRuntime runtime = objectTypeRuntimes.get(objectTypeName);
+        ObjectType objectType = runtime.getObjectType();
 
         // 获取属性定义
-        List<Property> properties = propertyService.getByObjectTypeId(objectType.getId());
+        List<Property> properties = runtime.getProperties();
 
         // 验证实例数据
-        validator.validateInstance(dto.getProperties(), properties);
+        runtime.getValidator().validate(dto.getProperties());
 
         // 确定存储位置：优先使用存储库，否则使用平台存储
         com.example.datamodel.dto.ObjectTypeDataSourceTable storageDatasource = null;
@@ -98,7 +131,7 @@ public class InstanceServiceImpl implements InstanceService {
 
         // 确定存储位置并创建表（如果需要）
         boolean useStorageDatasource = storageDatasource != null && storageDatasource.getIsStorage() != null && storageDatasource.getIsStorage();
-        String tableName = dynamicTableManager.generateInstanceTableName(objectType);
+        String tableName = runtime.getTableName();
         
         Map<String, Object> result;
         if (useStorageDatasource && storageDatasource != null) {
@@ -108,192 +141,620 @@ public class InstanceServiceImpl implements InstanceService {
                 throw new BusinessException("存储库数据源信息不存在");
             }
             
-            // 确保表在存储库中存在
-            try (Connection connection = dataSourceConnectionManager.getConnection(datasource)) {
-                if (!dynamicTableManager.tableExistsInDatasource(connection, datasource, tableName)) {
-                    dynamicTableManager.createInstanceTableInDatasource(datasource, tableName, objectType, properties);
-                }
-            } catch (java.sql.SQLException e) {
-                throw new BusinessException("连接存储库失败：" + e.getMessage());
-            }
+            // 确保表在存储库中存在（已登记的表不再查询数据库元数据）
+            dynamicTableManager.ensureInstanceTableInDatasource(datasource, tableName, objectType, properties);
             
             // 在存储库中创建实例
-            result = createInstanceInDatasource(datasource, tableName, objectType, properties, dto);
+            result = createInstanceInDatasource(datasource, runtime, dto);
         } else {
             // 使用平台存储
-            if (!dynamicTableManager.tableExists(objectType)) {
-                dynamicTableManager.createInstanceTable(objectType, properties);
-            }
+            dynamicTableManager.ensureInstanceTable(objectType, properties);
             
             // 在平台数据库中创建实例
-            result = createInstanceInPlatform(objectType, tableName, properties, dto);
+            result = createInstanceInPlatform(runtime, dto);
         }
         
         return result;
     }
 
+    @Override
+    public BatchCreateInstancesResult batchCreateInstances(String objectTypeName, List<InstanceDTO> dtos) {
+        ObjectTypeRuntime runtime = objectTypeRuntimes.get(objectTypeName);
+        ObjectType objectType = runtime.getObjectType();
+
+        BatchCreateInstancesResult result = new BatchCreateInstancesResult();
+        int total = dtos != null ? dtos.size() : 0;
+        if (total > batchMaxRows) {
+            throw new BusinessException("单次批量创建实例不能超过 " + batchMaxRows + " 条");
+        }
+
+        // 对象类型、属性、存储库只解析一次
+        List<Property> properties = runtime.getProperties();
+        String tableName = runtime.getTableName();
+        List<com.example.datamodel.dto.ObjectTypeDataSourceTable> storages = 
+            objectTypeDataSourceService.getStorageDatasourcesByObjectTypeId(objectType.getId());
+        com.example.datamodel.dto.ObjectTypeDataSourceTable defaultStorage = null;
+        try {
+            defaultStorage = objectTypeDataSourceService.getDefaultStorageDatasource(objectType.getId());
+        } catch (Exception e) {
+            log.warn("获取默认存储库失败: {}", e.getMessage());
+        }
+
+        // 一次校验所有行，每行汇总全部错误
+        List<Map<String, Object>> rowsData = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            InstanceDTO dto = dtos.get(i);
+            rowsData.add(dto != null ? dto.getProperties() : null);
+        }
+        Map<Integer, List<String>> validationErrors = runtime.getValidator().validateBatch(rowsData);
+
+        // 按（目标存储, 列集合）分组，列集合不同的行不能共用一条INSERT语句
+        Map<Integer, String> errors = new TreeMap<>();
+        Map<String, BatchGroup> groups = new LinkedHashMap<>();
+        for (int i = 0; i < total; i++) {
+            InstanceDTO dto = dtos.get(i);
+            try {
+                if (dto == null) {
+                    throw new BusinessException("实例数据不能为空");
+                }
+                List<String> rowErrors = validationErrors.get(i);
+                if (rowErrors != null) {
+                    throw new BusinessException(String.join("；", rowErrors));
+                }
+
+                com.example.datamodel.dto.ObjectTypeDataSourceTable storage = defaultStorage;
+                if (dto.getStorageDatasourceId() != null) {
+                    storage = storages.stream()
+                        .filter(s -> s.getId().equals(dto.getStorageDatasourceId()))
+                        .findFirst()
+                        .orElseThrow(() -> new BusinessException("指定的存储库不存在或不属于该对象类型：" + dto.getStorageDatasourceId()));
+                }
+                if (storage != null && (storage.getIsStorage() == null || !storage.getIsStorage())) {
+                    storage = null;
+                }
+                if (storage != null && storage.getDatasource() == null) {
+                    throw new BusinessException("存储库数据源信息不存在");
+                }
+
+                // 按运行时的属性列绑定（已过滤系统保留字段），与单条创建使用相同的列和SQL
+                ObjectTypeRuntime.Binding binding = runtime.bind(dto.getProperties(), false);
+
+                String groupKey = (storage != null ? storage.getDatasource().getId().toString() : "platform") + "|" + binding.getPresent();
+                BatchGroup group = groups.get(groupKey);
+                if (group == null) {
+                    group = new BatchGroup(storage != null ? storage.getDatasource() : null, binding.getPresent());
+                    groups.put(groupKey, group);
+                }
+                group.rows.add(new InstanceBatchWriter.PendingRow(i, UUID.randomUUID(), binding.getValues().toArray()));
+            } catch (BusinessException e) {
+                errors.put(i, e.getMessage());
+            }
+        }
+
+        // 每个目标存储只检查一次表是否存在
+        String[] instanceIds = new String[total];
+        Map<UUID, String> tableErrors = new HashMap<>();
+        boolean platformTableChecked = false;
+        for (BatchGroup group : groups.values()) {
+            Map<Integer, String> groupErrors;
+            if (group.datasource == null) {
+                if (!platformTableChecked) {
+                    dynamicTableManager.ensureInstanceTable(objectType, properties);
+                    platformTableChecked = true;
+                }
+                groupErrors = instanceBatchWriter.writeToPlatform(runtime, group.columns, group.rows);
+            } else {
+                DataSource datasource = group.datasource;
+                if (!tableErrors.containsKey(datasource.getId())) {
+                    String tableError = null;
+                    try {
+                        dynamicTableManager.ensureInstanceTableInDatasource(datasource, tableName, objectType, properties);
+                    } catch (BusinessException e) {
+                        tableError = e.getMessage();
+                    }
+                    tableErrors.put(datasource.getId(), tableError);
+                }
+                String tableError = tableErrors.get(datasource.getId());
+                if (tableError != null) {
+                    groupErrors = new HashMap<>();
+                    for (InstanceBatchWriter.PendingRow row : group.rows) {
+                        groupErrors.put(row.getIndex(), tableError);
+                    }
+                } else {
+                    groupErrors = instanceBatchWriter.writeToDatasource(datasource, runtime, group.columns, group.rows);
+                }
+            }
+            errors.putAll(groupErrors);
+            for (InstanceBatchWriter.PendingRow row : group.rows) {
+                if (!groupErrors.containsKey(row.getIndex())) {
+                    instanceIds[row.getIndex()] = row.getId().toString();
+                }
+            }
+        }
+
+        result.setTotal(total);
+        result.setFailed(errors.size());
+        result.setCreated(total - errors.size());
+        result.setInstanceIds(Arrays.asList(instanceIds));
+        for (Map.Entry<Integer, String> entry : errors.entrySet()) {
+            BatchCreateInstancesResult.RowError rowError = new BatchCreateInstancesResult.RowError();
+            rowError.setIndex(entry.getKey());
+            rowError.setErrorMessage(entry.getValue());
+            result.getErrors().add(rowError);
+        }
+        log.info("批量创建实例完成：{} - 成功 {} 条，失败 {} 条", objectTypeName, result.getCreated(), result.getFailed());
+        return result;
+    }
+
+    @Override
+    public ImportInstancesResult importInstances(String objectTypeName, InputStream in, String format, UUID storageDatasourceId) {
+        ObjectTypeRuntime runtime = objectTypeRuntimes.get(objectTypeName);
+        ObjectType objectType = runtime.getObjectType();
+
+        List<Property> properties = runtime.getProperties();
+        String tableName = runtime.getTableName();
+
+        // 确定目标存储（整个文件写入同一存储）
+        com.example.datamodel.dto.ObjectTypeDataSourceTable storage = null;
+        if (storageDatasourceId != null) {
+            storage = objectTypeDataSourceService.getStorageDatasourcesByObjectTypeId(objectType.getId()).stream()
+                .filter(s -> s.getId().equals(storageDatasourceId))
+                .findFirst()
+                .orElseThrow(() -> new BusinessException("指定的存储库不存在或不属于该对象类型：" + storageDatasourceId));
+        } else {
+            try {
+                storage = objectTypeDataSourceService.getDefaultStorageDatasource(objectType.getId());
+            } catch (Exception e) {
+                log.warn("获取默认存储库失败: {}", e.getMessage());
+            }
+        }
+        if (storage != null && (storage.getIsStorage() == null || !storage.getIsStorage())) {
+            storage = null;
+        }
+        if (storage != null && storage.getDatasource() == null) {
+            throw new BusinessException("存储库数据源信息不存在");
+        }
+
+        DataSource datasource = storage != null ? storage.getDatasource() : null;
+        if (datasource == null) {
+            dynamicTableManager.ensureInstanceTable(objectType, properties);
+        } else {
+            dynamicTableManager.ensureInstanceTableInDatasource(datasource, tableName, objectType, properties);
+        }
+
+        try (BulkRecordReader reader = BulkRecordReader.open(in, format)) {
+            return instanceBulkLoader.load(runtime, datasource, reader);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(e.getMessage());
+        } catch (IOException e) {
+            throw new BusinessException("读取导入文件失败：" + e.getMessage());
+        }
+    }
+
+    @Override
+    public File getImportErrorFile(String objectTypeName, String errorFileId) {
+        ObjectType objectType = objectTypeRuntimes.get(objectTypeName).getObjectType();
+        return instanceBulkLoader.getErrorFile(objectType.getId(), errorFileId);
+    }
+
+    @Override
+    public InstanceExporter.Export prepareExport(String objectTypeName, String format) {
+        ObjectTypeRuntime runtime = objectTypeRuntimes.get(objectTypeName);
+        ObjectType objectType = runtime.getObjectType();
+
+        List<Property> properties = runtime.getProperties();
+        String tableName = runtime.getTableName();
+
+        // CSV 输出列：公共列 + 属性列
+        List<String> columns = new ArrayList<>(Arrays.asList("id", "class_id", "created_at", "updated_at"));
+        for (Property property : properties) {
+            String column = property.getName().toLowerCase();
+            if (!columns.contains(column)) {
+                columns.add(column);
+            }
+        }
+
+        // 表不存在的存储没有实例，不参与导出；存储库不可用时直接失败，避免导出不完整的结果
+        List<DataSource> datasources = new ArrayList<>();
+        List<com.example.datamodel.dto.ObjectTypeDataSourceTable> storages = 
+            objectTypeDataSourceService.getStorageDatasourcesByObjectTypeId(objectType.getId());
+        for (com.example.datamodel.dto.ObjectTypeDataSourceTable storage : storages) {
+            if (storage.getIsStorage() != null && storage.getIsStorage() && storage.getDatasource() != null) {
+                DataSource datasource = storage.getDatasource();
+                if (dynamicTableManager.tableExistsInDatasource(datasource, tableName)) {
+                    datasources.add(datasource);
+                }
+            }
+        }
+
+        return instanceExporter.prepare(tableName, dynamicTableManager.tableExists(objectType), datasources, columns, format);
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Map<String, Object> updateInstance(String objectTypeName, UUID instanceId, InstanceDTO dto) {
-        ObjectType objectType = objectTypeService.getByName(objectTypeName);
-        if (objectType == null) {
-            throw new BusinessException("对象类型不存在：" + objectTypeName);
-        }
+        ObjectTypeRuntime runtime = objectTypeRuntimes.get(objectTypeName);
+        ObjectType objectType = runtime.getObjectType();
 
         // 获取属性定义
-        List<Property> properties = propertyService.getByObjectTypeId(objectType.getId());
+        List<Property> properties = runtime.getProperties();
         
         // 验证实例数据
         if (dto.getProperties() != null) {
-            validator.validateInstance(dto.getProperties(), properties);
+            runtime.getValidator().validate(dto.getProperties());
         }
 
         // 确定实例的存储位置
-        com.example.datamodel.dto.ObjectTypeDataSourceTable storage = determineInstanceStorage(objectType, instanceId);
-        String tableName = dynamicTableManager.generateInstanceTableName(objectType);
+        com.example.datamodel.dto.ObjectTypeDataSourceTable storage = determineInstanceStorage(runtime, instanceId);
 
         if (storage != null && storage.getIsStorage() != null && storage.getIsStorage()) {
             // 在存储库中更新实例
-            return updateInstanceInDatasource(storage.getDatasource(), tableName, instanceId, properties, dto);
+            return updateInstanceInDatasource(storage.getDatasource(), runtime, instanceId, dto);
         } else {
             // 在平台存储中更新实例
-            return updateInstanceInPlatform(objectType, tableName, instanceId, properties, dto);
+            return updateInstanceInPlatform(runtime, instanceId, dto);
         }
     }
 
     @Override
     public Map<String, Object> getInstance(String objectTypeName, UUID instanceId) {
-        ObjectType objectType = objectTypeService.getByName(objectTypeName);
-        if (objectType == null) {
-            throw new BusinessException("对象类型不存在：" + objectTypeName);
+        ObjectTypeRuntime runtime = objectTypeRuntimes.get(objectTypeName);
+        ObjectType objectType = runtime.getObjectType();
+
+        // 优先按路由表直接访问实例所在存储
+        InstanceLocationIndex.Location location = instanceLocationIndex.find(objectType.getId(), instanceId);
+        if (location != null) {
+            Map<String, Object> routed = null;
+            if (location.isPlatform()) {
+                routed = getInstanceFromPlatform(runtime, instanceId);
+                if (routed != null) {
+                    routed = followDatasourceId(runtime, instanceId, routed);
+                }
+            } else {
+                com.example.datamodel.dto.ObjectTypeDataSourceTable storage = findStorageByDatasourceId(objectType.getId(), location.getDatasourceId());
+                if (storage != null) {
+                    routed = getInstanceFromDatasource(storage.getDatasource(), runtime, instanceId);
+                }
+            }
+            if (routed != null) {
+                return routed;
+            }
+            // 路由记录已失效（实例被外部删除或存储库已解除关联），回退到探查
+            log.warn("实例路由记录已失效，回退到探查：{} - {}", objectTypeName, instanceId);
         }
 
-        String tableName = dynamicTableManager.generateInstanceTableName(objectType);
-        List<Property> properties = propertyService.getByObjectTypeId(objectType.getId());
-
-        // 首先尝试从平台存储查询（为了获取 datasource_id）
-        Map<String, Object> instance = getInstanceFromPlatform(objectType, tableName, instanceId);
+        // 没有路由记录时探查各存储（读请求不回填路由表，路由记录在创建、导入以及更新、删除定位实例时写入）
+        Map<String, Object> instance = getInstanceFromPlatform(runtime, instanceId);
         if (instance != null) {
-            // 检查是否有 datasource_id，如果有则从存储库查询
-            Object datasourceIdObj = instance.get("datasource_id");
-            if (datasourceIdObj != null) {
-                UUID datasourceId = UUIDUtils.parseUUID(datasourceIdObj);
-                // 查找对应的存储库
-                com.example.datamodel.dto.ObjectTypeDataSourceTable storage = findStorageByDatasourceId(objectType.getId(), datasourceId);
-                if (storage != null && storage.getIsStorage() != null && storage.getIsStorage()) {
-                    // 从存储库查询
-                    return getInstanceFromDatasource(storage.getDatasource(), tableName, instanceId, properties);
+            return followDatasourceId(runtime, instanceId, instance);
+        }
+
+        // 如果平台存储中不存在，尝试从所有存储库中查找
+        for (com.example.datamodel.dto.ObjectTypeDataSourceTable storage : orderStoragesForProbe(objectType, instanceId)) {
+            Map<String, Object> result = getInstanceFromDatasource(storage.getDatasource(), runtime, instanceId);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 平台存储中的实例记录了 datasource_id 时从对应的存储库查询，否则从平台存储返回
+     * 路由记录为平台存储时同样需要检查：平台存储中的实例可能在之后被指定了存储库
+     */
+    private Map<String, Object> followDatasourceId(ObjectTypeRuntime runtime, UUID instanceId, Map<String, Object> instance) {
+        Object datasourceIdObj = instance.get("datasource_id");
+        if (datasourceIdObj != null) {
+            UUID datasourceId = UUIDUtils.parseUUID(datasourceIdObj);
+            com.example.datamodel.dto.ObjectTypeDataSourceTable storage = findStorageByDatasourceId(runtime.getObjectTypeId(), datasourceId);
+            if (storage != null && storage.getIsStorage() != null && storage.getIsStorage()) {
+                return getInstanceFromDatasource(storage.getDatasource(), runtime, instanceId);
+            }
+        }
+        instance.remove("class_id");
+        return instance;
+    }
+
+    /**
+     * 按ID探查实例时的存储库顺序：布隆过滤器判定可能包含该实例的存储库在前，判定不存在的在后
+     * 过滤器不包含外部写入的实例，判定不存在的存储库只有在可跳过（存储库只由本节点写入）时才不探查
+     */
+    private List<com.example.datamodel.dto.ObjectTypeDataSourceTable> orderStoragesForProbe(ObjectType objectType, UUID instanceId) {
+        List<com.example.datamodel.dto.ObjectTypeDataSourceTable> likely = new ArrayList<>();
+        List<com.example.datamodel.dto.ObjectTypeDataSourceTable> unlikely = new ArrayList<>();
+        for (com.example.datamodel.dto.ObjectTypeDataSourceTable storage :
+                objectTypeDataSourceService.getStorageDatasourcesByObjectTypeId(objectType.getId())) {
+            if (storage.getIsStorage() == null || !storage.getIsStorage()) {
+                continue;
+            }
+            UUID datasourceId = storage.getDatasource().getId();
+            if (storageMembershipFilters.mightContain(objectType.getId(), datasourceId, instanceId)) {
+                likely.add(storage);
+            } else if (!storageMembershipFilters.canSkip(objectType.getId(), datasourceId, instanceId)) {
+                unlikely.add(storage);
+            }
+        }
+        likely.addAll(unlikely);
+        return likely;
+    }
+
+    @Override
+    public List<Map<String, Object>> getInstances(String objectTypeName, Collection<UUID> instanceIds) {
+        ObjectTypeRuntime runtime = objectTypeRuntimes.get(objectTypeName);
+        ObjectType objectType = runtime.getObjectType();
+        if (instanceIds == null || instanceIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (instanceIds.size() > batchMaxRows) {
+            throw new BusinessException("单次批量查询实例不能超过 " + batchMaxRows + " 个");
+        }
+
+        // 元数据只解析一次
+        String tableName = runtime.getTableName();
+        Map<UUID, DataSource> storageDatasources = new LinkedHashMap<>();
+        for (com.example.datamodel.dto.ObjectTypeDataSourceTable storage :
+                objectTypeDataSourceService.getStorageDatasourcesByObjectTypeId(objectType.getId())) {
+            if (storage.getIsStorage() != null && storage.getIsStorage() && storage.getDatasource() != null) {
+                storageDatasources.put(storage.getDatasource().getId(), storage.getDatasource());
+            }
+        }
+
+        Set<UUID> ids = new LinkedHashSet<>(instanceIds);
+        Map<UUID, InstanceLocationIndex.Location> locations = instanceLocationIndex.findAll(objectType.getId(), ids);
+
+        // 按路由表分组：路由到存储库的实例直接查询该存储库，其余实例先查询平台存储
+        Map<UUID, Set<UUID>> datasourceIds = new LinkedHashMap<>();
+        Set<UUID> platformIds = new LinkedHashSet<>();
+        for (UUID id : ids) {
+            InstanceLocationIndex.Location location = locations.get(id);
+            if (location != null && !location.isPlatform() && storageDatasources.containsKey(location.getDatasourceId())) {
+                datasourceIds.computeIfAbsent(location.getDatasourceId(), k -> new LinkedHashSet<>()).add(id);
+            } else {
+                platformIds.add(id);
+            }
+        }
+
+        Map<UUID, Map<String, Object>> found = new HashMap<>();
+        for (Map.Entry<UUID, Map<String, Object>> entry : getInstancesFromPlatform(runtime, platformIds).entrySet()) {
+            UUID id = entry.getKey();
+            Object datasourceIdObj = entry.getValue().get("datasource_id");
+            UUID datasourceId = datasourceIdObj != null ? UUIDUtils.parseUUID(datasourceIdObj) : null;
+            if (datasourceId != null && storageDatasources.containsKey(datasourceId)) {
+                // 平台存储中只有引用，实例数据在存储库中
+                datasourceIds.computeIfAbsent(datasourceId, k -> new LinkedHashSet<>()).add(id);
+            } else {
+                entry.getValue().remove("class_id");
+                found.put(id, entry.getValue());
+            }
+        }
+
+        // 每个存储库一次 IN 查询（并发执行）
+        found.putAll(getInstancesFromDatasources(storageDatasources, tableName, datasourceIds));
+
+        // 仍未找到的实例（没有路由记录或路由已失效）探查其他存储库：先探查布隆过滤器判定可能包含的存储库，
+        // 仍未找到时再探查判定不存在的存储库（过滤器不包含外部写入的实例，只有可跳过时才不探查）
+        Map<UUID, Set<UUID>> probeIds = new LinkedHashMap<>();
+        Map<UUID, Set<UUID>> deferredIds = new LinkedHashMap<>();
+        for (UUID id : ids) {
+            if (found.containsKey(id)) {
+                continue;
+            }
+            for (UUID datasourceId : storageDatasources.keySet()) {
+                Set<UUID> queried = datasourceIds.get(datasourceId);
+                if (queried != null && queried.contains(id)) {
+                    continue;
+                }
+                if (storageMembershipFilters.mightContain(objectType.getId(), datasourceId, id)) {
+                    probeIds.computeIfAbsent(datasourceId, k -> new LinkedHashSet<>()).add(id);
+                } else if (!storageMembershipFilters.canSkip(objectType.getId(), datasourceId, id)) {
+                    deferredIds.computeIfAbsent(datasourceId, k -> new LinkedHashSet<>()).add(id);
                 }
             }
-            // 从平台存储返回
-            instance.remove("class_id");
-            return instance;
+        }
+        if (!probeIds.isEmpty()) {
+            getInstancesFromDatasources(storageDatasources, tableName, probeIds).forEach(found::putIfAbsent);
+        }
+        deferredIds.values().forEach(deferred -> deferred.removeIf(found::containsKey));
+        deferredIds.values().removeIf(Set::isEmpty);
+        if (!deferredIds.isEmpty()) {
+            getInstancesFromDatasources(storageDatasources, tableName, deferredIds).forEach(found::putIfAbsent);
         }
 
-        // 如果平台存储中不存在，尝试从所有存储库中查找
+        // 按请求顺序返回，不存在的实例不包含在结果中
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (UUID id : ids) {
+            Map<String, Object> instance = found.get(id);
+            if (instance != null) {
+                result.add(instance);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public InstancePage listInstances(String objectTypeName, Long current, Long size, Map<String, Object> filters) {
+        return listInstances(objectTypeName, current, size, filters, null);
+    }
+
+    @Override
+    public InstancePage listInstances(String objectTypeName, Long current, Long size, Map<String, Object> filters,
+                                      Boolean withTotal) {
+        ObjectTypeRuntime runtime = objectTypeRuntimes.get(objectTypeName);
+        ObjectType objectType = runtime.getObjectType();
+
+        // 获取属性定义
+        List<Property> properties = runtime.getProperties();
+        String tableName = runtime.getTableName();
+
+        // 每个存储只需返回前 offset+size 条记录即可保证归并结果正确
+        long offset = (current - 1) * size;
+        long limit = offset + size;
+
+        // 总数需要在每个存储上执行 COUNT(*)，默认统计，调用方已有总数时可通过 withTotal=false 跳过
+        boolean countTotal = withTotal == null || withTotal;
+
+        // 并发查询平台存储和所有存储库，每个存储有独立的超时时间
+        List<StorageQueryExecutor.StorageQuery<InstanceSlice>> queries = new ArrayList<>();
+        queries.add(StorageQueryExecutor.StorageQuery.platform(
+            () -> listInstancesFromPlatform(objectType, tableName, properties, filters, null, limit, countTotal)));
+
         List<com.example.datamodel.dto.ObjectTypeDataSourceTable> storages = 
             objectTypeDataSourceService.getStorageDatasourcesByObjectTypeId(objectType.getId());
         for (com.example.datamodel.dto.ObjectTypeDataSourceTable storage : storages) {
             if (storage.getIsStorage() != null && storage.getIsStorage()) {
-                Map<String, Object> result = getInstanceFromDatasource(storage.getDatasource(), tableName, instanceId, properties);
-                if (result != null) {
-                    return result;
-                }
+                DataSource datasource = storage.getDatasource();
+                queries.add(new StorageQueryExecutor.StorageQuery<>(datasource.getId(), datasource.getName(),
+                    () -> listInstancesFromDatasource(datasource, tableName, properties, filters, null, limit, countTotal)));
             }
         }
 
-        return null;
+        // 收集各存储的有序片段（平台存储 + 所有存储库）
+        List<List<Map<String, Object>>> sortedSources = new ArrayList<>();
+        long total = 0;
+        List<StorageQueryStatus> storageStatuses = new ArrayList<>();
+        boolean partial = false;
+        for (StorageQueryExecutor.StorageQueryResult<InstanceSlice> result : storageQueryExecutor.invokeAll(queries)) {
+            storageStatuses.add(result.toStatus());
+            if (result.isSuccess()) {
+                sortedSources.add(result.getValue().getRecords());
+                total += result.getValue().getTotal();
+            } else if (result.getQuery().isPlatform()) {
+                // 平台存储是主存储，查询失败时整体失败
+                throw new BusinessException("查询实例列表失败：" + result.getErrorMessage());
+            } else {
+                // 存储库失败或超时不影响其他存储库，结果标记为部分结果
+                log.warn("从存储库 {} 查询实例列表失败：{}", result.getQuery().getLabel(), result.getErrorMessage());
+                partial = true;
+            }
+        }
+
+        // 按创建时间降序K路归并，取当前页
+        List<Map<String, Object>> pagedRecords = InstanceRecordMerger.merge(sortedSources, offset, size);
+
+        // 移除class_id字段
+        for (Map<String, Object> record : pagedRecords) {
+            record.remove("class_id");
+        }
+
+        InstancePage page = new InstancePage(current, size, total);
+        page.setRecords(pagedRecords);
+        page.setTotalCounted(countTotal);
+        page.setPartial(partial);
+        page.setStorageStatuses(storageStatuses);
+        return page;
     }
 
     @Override
-    public IPage<Map<String, Object>> listInstances(String objectTypeName, Long current, Long size, Map<String, Object> filters) {
-        ObjectType objectType = objectTypeService.getByName(objectTypeName);
-        if (objectType == null) {
-            throw new BusinessException("对象类型不存在：" + objectTypeName);
-        }
+    public InstanceCursorPage listInstancesByCursor(String objectTypeName, String cursor, Long size, Map<String, Object> filters) {
+        ObjectTypeRuntime runtime = objectTypeRuntimes.get(objectTypeName);
+        ObjectType objectType = runtime.getObjectType();
+
+        InstanceCursor previous = cursor != null && !cursor.isEmpty() ? InstanceCursor.decode(cursor) : new InstanceCursor();
 
         // 获取属性定义
-        List<Property> properties = propertyService.getByObjectTypeId(objectType.getId());
-        String tableName = dynamicTableManager.generateInstanceTableName(objectType);
+        List<Property> properties = runtime.getProperties();
+        String tableName = runtime.getTableName();
 
-        // 收集所有实例（平台存储 + 所有存储库）
-        List<Map<String, Object>> allRecords = new ArrayList<>();
+        // 每个存储多取一条，用于判断是否还有下一页
+        long limit = size + 1;
 
-        // 1. 从平台存储查询
-        List<Map<String, Object>> platformRecords = listInstancesFromPlatform(objectType, tableName, properties, filters);
-        allRecords.addAll(platformRecords);
+        // 并发查询平台存储和所有存储库，各存储从游标中记录的位置继续查询
+        List<String> sourceKeys = new ArrayList<>();
+        List<StorageQueryExecutor.StorageQuery<InstanceSlice>> queries = new ArrayList<>();
+        InstanceCursor.Position platformSeek = previous.getPosition(InstanceCursor.PLATFORM_KEY);
+        sourceKeys.add(InstanceCursor.PLATFORM_KEY);
+        queries.add(StorageQueryExecutor.StorageQuery.platform(
+            () -> listInstancesFromPlatform(objectType, tableName, properties, filters, platformSeek, limit, false)));
 
-        // 2. 从所有存储库查询
         List<com.example.datamodel.dto.ObjectTypeDataSourceTable> storages = 
             objectTypeDataSourceService.getStorageDatasourcesByObjectTypeId(objectType.getId());
         for (com.example.datamodel.dto.ObjectTypeDataSourceTable storage : storages) {
             if (storage.getIsStorage() != null && storage.getIsStorage()) {
-                try {
-                    List<Map<String, Object>> datasourceRecords = listInstancesFromDatasource(
-                        storage.getDatasource(), tableName, properties, filters);
-                    allRecords.addAll(datasourceRecords);
-                } catch (Exception e) {
-                    log.warn("从存储库 {} 查询实例列表失败：{}", storage.getDatasource().getName(), e.getMessage());
-                    // 继续查询其他存储库
+                DataSource datasource = storage.getDatasource();
+                String sourceKey = datasource.getId().toString();
+                InstanceCursor.Position seek = previous.getPosition(sourceKey);
+                sourceKeys.add(sourceKey);
+                queries.add(new StorageQueryExecutor.StorageQuery<>(datasource.getId(), datasource.getName(),
+                    () -> listInstancesFromDatasource(datasource, tableName, properties, filters, seek, limit, false)));
+            }
+        }
+
+        List<List<Map<String, Object>>> sortedSources = new ArrayList<>();
+        Map<Map<String, Object>, String> recordSources = new IdentityHashMap<>();
+        InstanceCursor next = new InstanceCursor();
+        InstanceCursorPage page = new InstanceCursorPage();
+        List<StorageQueryExecutor.StorageQueryResult<InstanceSlice>> results = storageQueryExecutor.invokeAll(queries);
+        for (int i = 0; i < results.size(); i++) {
+            StorageQueryExecutor.StorageQueryResult<InstanceSlice> result = results.get(i);
+            String sourceKey = sourceKeys.get(i);
+            page.getStorageStatuses().add(result.toStatus());
+            if (result.isSuccess()) {
+                sortedSources.add(result.getValue().getRecords());
+                for (Map<String, Object> record : result.getValue().getRecords()) {
+                    recordSources.put(record, sourceKey);
                 }
+            } else if (result.getQuery().isPlatform()) {
+                // 平台存储是主存储，查询失败时整体失败
+                throw new BusinessException("查询实例列表失败：" + result.getErrorMessage());
+            } else {
+                // 失败或超时的存储库保留原位置，下一页从原位置继续，不会丢失记录
+                log.warn("从存储库 {} 查询实例列表失败：{}", result.getQuery().getLabel(), result.getErrorMessage());
+                page.setPartial(true);
             }
+            next.setPosition(sourceKey, previous.getPosition(sourceKey));
         }
 
-        // 按创建时间排序（降序）
-        allRecords.sort((a, b) -> {
-            Object timeA = a.get("created_at");
-            Object timeB = b.get("created_at");
-            if (timeA == null && timeB == null) return 0;
-            if (timeA == null) return 1;
-            if (timeB == null) return -1;
-            // 简单比较，实际应该转换为LocalDateTime比较
-            return timeB.toString().compareTo(timeA.toString());
-        });
+        // 按创建时间降序K路归并，取当前页
+        List<Map<String, Object>> merged = InstanceRecordMerger.merge(sortedSources, 0, limit);
+        boolean hasMore = merged.size() > size;
+        List<Map<String, Object>> pagedRecords = hasMore ? new ArrayList<>(merged.subList(0, size.intValue())) : merged;
 
-        // 分页处理
-        long total = allRecords.size();
-        int fromIndex = (int) ((current - 1) * size);
-        int toIndex = (int) Math.min(fromIndex + size, total);
-        List<Map<String, Object>> pagedRecords = fromIndex < total ? allRecords.subList(fromIndex, toIndex) : new ArrayList<>();
+        // 记录每个存储最后一条已返回记录的位置
+        next.setLast(previous.getLast());
+        for (Map<String, Object> record : pagedRecords) {
+            InstanceCursor.Position position = InstanceCursor.Position.of(record);
+            next.setPosition(recordSources.get(record), position);
+            next.setLast(position);
+        }
 
         // 移除class_id字段
         for (Map<String, Object> record : pagedRecords) {
             record.remove("class_id");
         }
 
-        Page<Map<String, Object>> page = new Page<>(current, size, total);
         page.setRecords(pagedRecords);
+        page.setSize(size);
+        page.setHasMore(hasMore);
+        // 有存储库失败时也返回游标，便于客户端继续读取该存储库中未返回的记录
+        page.setNextCursor(hasMore || page.getPartial() ? next.encode() : null);
         return page;
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void deleteInstance(String objectTypeName, UUID instanceId) {
-        ObjectType objectType = objectTypeService.getByName(objectTypeName);
-        if (objectType == null) {
-            throw new BusinessException("对象类型不存在：" + objectTypeName);
-        }
+        ObjectTypeRuntime runtime = objectTypeRuntimes.get(objectTypeName);
 
         // 确定实例的存储位置
-        com.example.datamodel.dto.ObjectTypeDataSourceTable storage = determineInstanceStorage(objectType, instanceId);
-        String tableName = dynamicTableManager.generateInstanceTableName(objectType);
+        com.example.datamodel.dto.ObjectTypeDataSourceTable storage = determineInstanceStorage(runtime, instanceId);
 
         if (storage != null && storage.getIsStorage() != null && storage.getIsStorage()) {
             // 从存储库中删除实例
-            deleteInstanceFromDatasource(storage.getDatasource(), tableName, instanceId);
+            deleteInstanceFromDatasource(storage.getDatasource(), runtime, instanceId);
         } else {
             // 从平台存储中删除实例
-            deleteInstanceFromPlatform(objectType, tableName, instanceId);
+            deleteInstanceFromPlatform(runtime, instanceId);
         }
+        instanceLocationIndex.removeAll(Collections.singletonList(instanceId));
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void batchDeleteInstances(String objectTypeName, List<UUID> instanceIds) {
-        ObjectType objectType = objectTypeService.getByName(objectTypeName);
-        if (objectType == null) {
-            throw new BusinessException("对象类型不存在：" + objectTypeName);
-        }
+        ObjectTypeRuntime runtime = objectTypeRuntimes.get(objectTypeName);
+        ObjectType objectType = runtime.getObjectType();
 
         if (instanceIds == null || instanceIds.isEmpty()) {
             return;
@@ -303,9 +764,36 @@ public class InstanceServiceImpl implements InstanceService {
         Map<com.example.datamodel.dto.ObjectTypeDataSourceTable, List<UUID>> storageGroups = new HashMap<>();
         List<UUID> platformIds = new ArrayList<>();
 
-        // 确定每个实例的存储位置
+        // 确定每个实例的存储位置：先批量查询路由表，没有路由记录的实例再逐个探查
+        Map<UUID, InstanceLocationIndex.Location> locations = instanceLocationIndex.findAll(objectType.getId(), instanceIds);
+        Map<UUID, com.example.datamodel.dto.ObjectTypeDataSourceTable> storagesByDatasourceId = new HashMap<>();
+        for (com.example.datamodel.dto.ObjectTypeDataSourceTable storage :
+                objectTypeDataSourceService.getStorageDatasourcesByObjectTypeId(objectType.getId())) {
+            if (storage.getDatasource() != null && storage.getIsStorage() != null && storage.getIsStorage()) {
+                storagesByDatasourceId.put(storage.getDatasource().getId(), storage);
+            }
+        }
+        // 路由到平台存储的实例一次查询平台记录，平台记录指定了存储库时按 datasource_id 定位
+        List<UUID> platformRouted = new ArrayList<>();
+        for (UUID instanceId : instanceIds) {
+            InstanceLocationIndex.Location location = locations.get(instanceId);
+            if (location != null && location.isPlatform()) {
+                platformRouted.add(instanceId);
+            }
+        }
+        Map<UUID, Map<String, Object>> platformRecords = getInstancesFromPlatform(runtime, platformRouted);
         for (UUID instanceId : instanceIds) {
-            com.example.datamodel.dto.ObjectTypeDataSourceTable storage = determineInstanceStorage(objectType, instanceId);
+            InstanceLocationIndex.Location location = locations.get(instanceId);
+            com.example.datamodel.dto.ObjectTypeDataSourceTable storage;
+            if (location == null) {
+                storage = probeInstanceStorage(runtime, instanceId);
+            } else if (location.isPlatform()) {
+                Map<String, Object> record = platformRecords.get(instanceId);
+                Object datasourceIdObj = record != null ? record.get("datasource_id") : null;
+                storage = datasourceIdObj != null ? storagesByDatasourceId.get(UUIDUtils.parseUUID(datasourceIdObj)) : null;
+            } else {
+                storage = storagesByDatasourceId.get(location.getDatasourceId());
+            }
             if (storage != null && storage.getIsStorage() != null && storage.getIsStorage()) {
                 storageGroups.computeIfAbsent(storage, k -> new ArrayList<>()).add(instanceId);
             } else {
@@ -315,14 +803,15 @@ public class InstanceServiceImpl implements InstanceService {
 
         // 从平台存储删除
         if (!platformIds.isEmpty()) {
-            batchDeleteInstancesFromPlatform(objectType, platformIds);
+            batchDeleteInstancesFromPlatform(runtime, platformIds);
         }
 
         // 从各个存储库删除
-        String tableName = dynamicTableManager.generateInstanceTableName(objectType);
+        String tableName = runtime.getTableName();
         for (Map.Entry<com.example.datamodel.dto.ObjectTypeDataSourceTable, List<UUID>> entry : storageGroups.entrySet()) {
             batchDeleteInstancesFromDatasource(entry.getKey().getDatasource(), tableName, entry.getValue());
         }
+        instanceLocationIndex.removeAll(instanceIds);
 
         log.info("批量删除实例成功：{} - {} 条", objectTypeName, instanceIds.size());
     }
@@ -330,38 +819,30 @@ public class InstanceServiceImpl implements InstanceService {
     /**
      * 在平台数据库中创建实例
      */
-    private Map<String, Object> createInstanceInPlatform(ObjectType objectType, String tableName,
-                                                          List<Property> properties, InstanceDTO dto) {
-        // 构建插入SQL
-        StringBuilder sql = new StringBuilder();
-        sql.append("INSERT INTO ").append(tableName).append(" (id, class_id, created_at, updated_at");
-        
-        List<Object> params = new ArrayList<>();
+    private Map<String, Object> createInstanceInPlatform(ObjectTypeRuntime runtime, InstanceDTO dto) {
+        ObjectType objectType = runtime.getObjectType();
+        ObjectTypeRuntime.Binding binding = runtime.bind(dto.getProperties(), false);
+
+        List<Object> params = new ArrayList<>(binding.getValues().size() + 4);
         UUID id = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
         params.add(id);
         params.add(objectType.getId());  // class_id
-        params.add(LocalDateTime.now());
-        params.add(LocalDateTime.now());
+        params.add(now);
+        params.add(now);
+        params.addAll(binding.getValues());
 
-        // 添加属性字段
-        for (Property property : properties) {
-            Object value = dto.getProperties() != null ? dto.getProperties().get(property.getName()) : null;
-            if (value != null) {
-                sql.append(", ").append(property.getName().toLowerCase());
-                params.add(value);
-            }
-        }
-        
-        sql.append(") VALUES (");
-        for (int i = 0; i < params.size(); i++) {
-            if (i > 0) {
-                sql.append(", ");
+        try {
+            jdbcTemplate.update(runtime.platformStatements().insert(binding.getPresent()), params.toArray());
+        } catch (DataAccessException e) {
+            // 表已被外部删除：当前事务已中止，无法在事务内重建表重试，移除登记后由下次写入重新建表
+            if (SqlDialectUtils.isUndefinedTable(e)) {
+                dynamicTableManager.forgetInstanceTable(runtime.getTableName());
+                throw new BusinessException("实例表不存在，请重试：" + runtime.getTableName());
             }
-            sql.append("?");
+            throw e;
         }
-        sql.append(")");
-
-        jdbcTemplate.update(sql.toString(), params.toArray());
+        instanceLocationIndex.record(objectType.getId(), id, null);
         log.info("在平台数据库中创建实例成功：{} - {}", objectType.getName(), id);
 
         // 返回创建的实例
@@ -371,49 +852,35 @@ public class InstanceServiceImpl implements InstanceService {
     /**
      * 在数据源中创建实例
      */
-    private Map<String, Object> createInstanceInDatasource(DataSource datasource, String tableName,
-                                                            ObjectType objectType, List<Property> properties,
-                                                            InstanceDTO dto) {
+    private Map<String, Object> createInstanceInDatasource(DataSource datasource, ObjectTypeRuntime runtime, InstanceDTO dto) {
+        ObjectType objectType = runtime.getObjectType();
         UUID id = UUID.randomUUID();
         LocalDateTime now = LocalDateTime.now();
         
         try (Connection connection = dataSourceConnectionManager.getConnection(datasource)) {
-            // 构建插入SQL（注意：不同数据库的SQL语法可能不同）
-            StringBuilder sql = new StringBuilder();
-            sql.append("INSERT INTO ").append(escapeTableName(datasource.getType(), tableName))
-               .append(" (id, class_id, created_at, updated_at");
-            
-            List<Object> params = new ArrayList<>();
+            ObjectTypeRuntime.Binding binding = runtime.bind(dto.getProperties(), false);
+            List<Object> params = new ArrayList<>(binding.getValues().size() + 4);
             params.add(id.toString());  // 使用字符串格式的UUID
             params.add(objectType.getId().toString());
             params.add(now);
             params.add(now);
+            params.addAll(binding.getValues());
 
-            // 添加属性字段
-            for (Property property : properties) {
-                Object value = dto.getProperties() != null ? dto.getProperties().get(property.getName()) : null;
-                if (value != null) {
-                    sql.append(", ").append(escapeTableName(datasource.getType(), property.getName().toLowerCase()));
-                    params.add(value);
-                }
-            }
-            
-            sql.append(") VALUES (");
-            for (int i = 0; i < params.size(); i++) {
-                if (i > 0) {
-                    sql.append(", ");
-                }
-                sql.append("?");
-            }
-            sql.append(")");
-
-            try (PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
-                for (int i = 0; i < params.size(); i++) {
-                    stmt.setObject(i + 1, params.get(i));
+            String sql = runtime.statements(datasource.getType()).insert(binding.getPresent());
+            try {
+                executeUpdate(connection, sql, params);
+            } catch (SQLException e) {
+                if (!SqlDialectUtils.isUndefinedTable(e)) {
+                    throw e;
                 }
-                stmt.executeUpdate();
-                log.info("在数据源 {} 中创建实例成功：{} - {}", datasource.getName(), objectType.getName(), id);
+                // 表已被外部删除（登记已过期）：重新建表后重试一次
+                dynamicTableManager.forgetInstanceTableInDatasource(datasource, runtime.getTableName());
+                dynamicTableManager.ensureInstanceTableInDatasource(datasource, runtime.getTableName(), objectType, runtime.getProperties());
+                executeUpdate(connection, sql, params);
             }
+            log.info("在数据源 {} 中创建实例成功：{} - {}", datasource.getName(), objectType.getName(), id);
+            instanceLocationIndex.record(objectType.getId(), id, datasource.getId());
+            storageMembershipFilters.put(objectType.getId(), datasource.getId(), id);
             
             // 返回创建的实例
             Map<String, Object> instance = new HashMap<>();
@@ -431,34 +898,127 @@ public class InstanceServiceImpl implements InstanceService {
         }
     }
 
+    /**
+     * 按顺序绑定参数并执行更新
+     */
+    private int executeUpdate(Connection connection, String sql, List<Object> params) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+            return stmt.executeUpdate();
+        }
+    }
+
     /**
      * 从平台存储查询实例
      */
-    private Map<String, Object> getInstanceFromPlatform(ObjectType objectType, String tableName, UUID instanceId) {
+    private Map<String, Object> getInstanceFromPlatform(ObjectTypeRuntime runtime, UUID instanceId) {
         // 确保表存在，如果不存在则创建（空表）
-        if (!dynamicTableManager.tableExists(objectType)) {
-            dynamicTableManager.createInstanceTable(objectType, propertyService.getByObjectTypeId(objectType.getId()));
+        if (!dynamicTableManager.tableExists(runtime.getObjectType())) {
+            dynamicTableManager.createInstanceTable(runtime.getObjectType(), runtime.getProperties());
             return null; // 表刚创建，返回null
         }
 
-        String sql = "SELECT * FROM " + tableName + " WHERE id = ?";
         try {
-            return jdbcTemplate.queryForMap(sql, instanceId);
+            return jdbcTemplate.queryForMap(runtime.platformStatements().selectById(), instanceId);
         } catch (org.springframework.dao.EmptyResultDataAccessException e) {
             return null;
         }
     }
 
     /**
-     * 从数据源查询实例
+     * 从平台存储批量查询实例（WHERE id = ANY(?)）
      */
-    private Map<String, Object> getInstanceFromDatasource(DataSource datasource, String tableName, UUID instanceId, List<Property> properties) {
+    private Map<UUID, Map<String, Object>> getInstancesFromPlatform(ObjectTypeRuntime runtime, Collection<UUID> instanceIds) {
+        Map<UUID, Map<String, Object>> result = new HashMap<>();
+        if (instanceIds.isEmpty()) {
+            return result;
+        }
+        if (!dynamicTableManager.tableExists(runtime.getObjectType())) {
+            dynamicTableManager.createInstanceTable(runtime.getObjectType(), runtime.getProperties());
+            return result;
+        }
+
+        List<Map<String, Object>> rows = jdbcTemplate.query(connection -> {
+            PreparedStatement stmt = connection.prepareStatement("SELECT * FROM " + runtime.getTableName() + " WHERE id = ANY(?)");
+            stmt.setArray(1, connection.createArrayOf("uuid", instanceIds.toArray()));
+            return stmt;
+        }, new org.springframework.jdbc.core.ColumnMapRowMapper());
+        for (Map<String, Object> row : rows) {
+            result.put(UUIDUtils.parseUUID(row.get("id")), row);
+        }
+        return result;
+    }
+
+    /**
+     * 并发查询多个存储库中的实例，每个存储库按 IN 条件分块查询；查询失败的存储库不计入结果
+     *
+     * @param datasourceIds 存储库数据源ID到待查询实例ID的映射
+     */
+    private Map<UUID, Map<String, Object>> getInstancesFromDatasources(Map<UUID, DataSource> storageDatasources, String tableName,
+                                                                       Map<UUID, Set<UUID>> datasourceIds) {
+        List<StorageQueryExecutor.StorageQuery<Map<UUID, Map<String, Object>>>> queries = new ArrayList<>();
+        for (Map.Entry<UUID, Set<UUID>> entry : datasourceIds.entrySet()) {
+            DataSource datasource = storageDatasources.get(entry.getKey());
+            Set<UUID> instanceIds = entry.getValue();
+            queries.add(new StorageQueryExecutor.StorageQuery<>(datasource.getId(), datasource.getName(),
+                () -> getInstancesFromDatasource(datasource, tableName, instanceIds)));
+        }
+
+        Map<UUID, Map<String, Object>> result = new HashMap<>();
+        for (StorageQueryExecutor.StorageQueryResult<Map<UUID, Map<String, Object>>> queryResult : storageQueryExecutor.invokeAll(queries)) {
+            if (queryResult.isSuccess()) {
+                result.putAll(queryResult.getValue());
+            } else {
+                log.warn("从数据源批量查询实例失败：{} - {}", queryResult.toStatus().getSource(), queryResult.getErrorMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 从数据源批量查询实例（WHERE id IN (...)）
+     */
+    private Map<UUID, Map<String, Object>> getInstancesFromDatasource(DataSource datasource, String tableName,
+                                                                      Collection<UUID> instanceIds) throws java.sql.SQLException {
+        Map<UUID, Map<String, Object>> result = new HashMap<>();
+        List<UUID> idList = new ArrayList<>(instanceIds);
+        String escapedTableName = escapeTableName(datasource.getType(), tableName);
         try (Connection connection = dataSourceConnectionManager.getConnection(datasource)) {
-            StringBuilder sql = new StringBuilder();
-            sql.append("SELECT * FROM ").append(escapeTableName(datasource.getType(), tableName))
-               .append(" WHERE id = ?");
+            for (int start = 0; start < idList.size(); start += 500) {
+                List<UUID> chunk = idList.subList(start, Math.min(start + 500, idList.size()));
+                String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+                try (PreparedStatement stmt = connection.prepareStatement(
+                        "SELECT * FROM " + escapedTableName + " WHERE id IN (" + placeholders + ")")) {
+                    stmt.setQueryTimeout(storageQueryExecutor.getQueryTimeoutSeconds());
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setString(i + 1, chunk.get(i).toString());
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        ResultSetMetaData metaData = rs.getMetaData();
+                        int columnCount = metaData.getColumnCount();
+                        while (rs.next()) {
+                            Map<String, Object> record = new HashMap<>();
+                            for (int i = 1; i <= columnCount; i++) {
+                                record.put(metaData.getColumnName(i).toLowerCase(), rs.getObject(i));
+                            }
+                            record.remove("class_id");
+                            result.put(UUIDUtils.parseUUID(record.get("id")), record);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
 
-            try (PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
+    /**
+     * 从数据源查询实例
+     */
+    private Map<String, Object> getInstanceFromDatasource(DataSource datasource, ObjectTypeRuntime runtime, UUID instanceId) {
+        try (Connection connection = dataSourceConnectionManager.getConnection(datasource)) {
+            try (PreparedStatement stmt = connection.prepareStatement(runtime.statements(datasource.getType()).selectById())) {
                 stmt.setString(1, instanceId.toString());
                 
                 try (ResultSet rs = stmt.executeQuery()) {
@@ -502,33 +1062,59 @@ public class InstanceServiceImpl implements InstanceService {
     /**
      * 确定实例的存储位置
      * 
-     * @param objectType 对象类型
+     * @param runtime 对象类型运行时
      * @param instanceId 实例ID
      * @return 存储库信息，如果存储在平台则返回null
      */
-    private com.example.datamodel.dto.ObjectTypeDataSourceTable determineInstanceStorage(ObjectType objectType, UUID instanceId) {
-        String tableName = dynamicTableManager.generateInstanceTableName(objectType);
-        
+    private com.example.datamodel.dto.ObjectTypeDataSourceTable determineInstanceStorage(ObjectTypeRuntime runtime, UUID instanceId) {
+        ObjectType objectType = runtime.getObjectType();
+        // 优先查询路由表
+        InstanceLocationIndex.Location location = instanceLocationIndex.find(objectType.getId(), instanceId);
+        if (location != null) {
+            if (location.isPlatform()) {
+                // 平台存储中的实例可能在之后被指定了存储库，按平台记录的 datasource_id 确定位置并更新路由记录
+                Map<String, Object> instance = getInstanceFromPlatform(runtime, instanceId);
+                if (instance != null) {
+                    Object datasourceIdObj = instance.get("datasource_id");
+                    if (datasourceIdObj == null) {
+                        return null;
+                    }
+                    UUID datasourceId = UUIDUtils.parseUUID(datasourceIdObj);
+                    instanceLocationIndex.record(objectType.getId(), instanceId, datasourceId);
+                    return findStorageByDatasourceId(objectType.getId(), datasourceId);
+                }
+            } else {
+                com.example.datamodel.dto.ObjectTypeDataSourceTable storage = findStorageByDatasourceId(objectType.getId(), location.getDatasourceId());
+                if (storage != null) {
+                    return storage;
+                }
+            }
+        }
+        return probeInstanceStorage(runtime, instanceId);
+    }
+
+    /**
+     * 依次探查平台存储和各存储库确定实例的存储位置，探查到后回填路由表
+     * 返回null表示实例在平台存储中（或不存在）
+     */
+    private com.example.datamodel.dto.ObjectTypeDataSourceTable probeInstanceStorage(ObjectTypeRuntime runtime, UUID instanceId) {
+        ObjectType objectType = runtime.getObjectType();
+
         // 先从平台存储查询，获取 datasource_id
-        Map<String, Object> instance = getInstanceFromPlatform(objectType, tableName, instanceId);
+        Map<String, Object> instance = getInstanceFromPlatform(runtime, instanceId);
         if (instance != null) {
             Object datasourceIdObj = instance.get("datasource_id");
-            if (datasourceIdObj != null) {
-                UUID datasourceId = UUIDUtils.parseUUID(datasourceIdObj);
-                return findStorageByDatasourceId(objectType.getId(), datasourceId);
-            }
+            UUID datasourceId = datasourceIdObj != null ? UUIDUtils.parseUUID(datasourceIdObj) : null;
+            instanceLocationIndex.record(objectType.getId(), instanceId, datasourceId);
+            return datasourceId != null ? findStorageByDatasourceId(objectType.getId(), datasourceId) : null;
         }
         
         // 如果平台存储中不存在，尝试从所有存储库中查找
-        List<com.example.datamodel.dto.ObjectTypeDataSourceTable> storages = 
-            objectTypeDataSourceService.getStorageDatasourcesByObjectTypeId(objectType.getId());
-        for (com.example.datamodel.dto.ObjectTypeDataSourceTable storage : storages) {
-            if (storage.getIsStorage() != null && storage.getIsStorage()) {
-                List<Property> properties = propertyService.getByObjectTypeId(objectType.getId());
-                Map<String, Object> result = getInstanceFromDatasource(storage.getDatasource(), tableName, instanceId, properties);
-                if (result != null) {
-                    return storage;
-                }
+        for (com.example.datamodel.dto.ObjectTypeDataSourceTable storage : orderStoragesForProbe(objectType, instanceId)) {
+            Map<String, Object> result = getInstanceFromDatasource(storage.getDatasource(), runtime, instanceId);
+            if (result != null) {
+                instanceLocationIndex.record(objectType.getId(), instanceId, storage.getDatasource().getId());
+                return storage;
             }
         }
         
@@ -538,22 +1124,20 @@ public class InstanceServiceImpl implements InstanceService {
     /**
      * 在平台存储中更新实例
      */
-    private Map<String, Object> updateInstanceInPlatform(ObjectType objectType, String tableName, UUID instanceId, 
-                                                          List<Property> properties, InstanceDTO dto) {
+    private Map<String, Object> updateInstanceInPlatform(ObjectTypeRuntime runtime, UUID instanceId, InstanceDTO dto) {
+        ObjectType objectType = runtime.getObjectType();
         // 确保表存在
         if (!dynamicTableManager.tableExists(objectType)) {
-            dynamicTableManager.createInstanceTable(objectType, properties);
+            dynamicTableManager.createInstanceTable(objectType, runtime.getProperties());
             throw new BusinessException("实例不存在，表刚被创建");
         }
 
-        // 构建更新SQL
-        StringBuilder sql = new StringBuilder();
-        sql.append("UPDATE ").append(tableName).append(" SET updated_at = ?");
-        
         List<Object> params = new ArrayList<>();
         params.add(LocalDateTime.now());
 
         // 如果指定了存储库ID，添加到UPDATE语句中
+        boolean withDatasourceId = false;
+        UUID datasourceId = null;
         if (dto.getStorageDatasourceId() != null) {
             // 查找存储库，获取数据源ID
             // 需要通过 objectTypeId 和 storageDatasourceId 查找存储库
@@ -564,28 +1148,25 @@ public class InstanceServiceImpl implements InstanceService {
                 .findFirst()
                 .orElse(null);
             if (storage != null && storage.getDatasource() != null) {
-                sql.append(", datasource_id = ?");
-                params.add(storage.getDatasource().getId());
+                withDatasourceId = true;
+                datasourceId = storage.getDatasource().getId();
+                params.add(datasourceId);
             }
         }
 
         // 添加属性字段更新
-        if (dto.getProperties() != null) {
-            for (Property property : properties) {
-                if (dto.getProperties().containsKey(property.getName())) {
-                    sql.append(", ").append(property.getName().toLowerCase()).append(" = ?");
-                    params.add(dto.getProperties().get(property.getName()));
-                }
-            }
-        }
-        
-        sql.append(" WHERE id = ?");
+        ObjectTypeRuntime.Binding binding = runtime.bind(dto.getProperties(), true);
+        params.addAll(binding.getValues());
         params.add(instanceId);
 
-        int updated = jdbcTemplate.update(sql.toString(), params.toArray());
+        int updated = jdbcTemplate.update(runtime.platformStatements().update(binding.getPresent(), withDatasourceId), params.toArray());
         if (updated == 0) {
             throw new BusinessException("实例不存在：" + instanceId);
         }
+        if (withDatasourceId) {
+            // 实例改为指向存储库，路由记录随之更新
+            instanceLocationIndex.record(objectType.getId(), instanceId, datasourceId);
+        }
 
         log.info("在平台存储中更新实例成功：{} - {}", objectType.getName(), instanceId);
         return getInstance(objectType.getName(), instanceId);
@@ -594,31 +1175,19 @@ public class InstanceServiceImpl implements InstanceService {
     /**
      * 在数据源中更新实例
      */
-    private Map<String, Object> updateInstanceInDatasource(DataSource datasource, String tableName, UUID instanceId,
-                                                            List<Property> properties, InstanceDTO dto) {
+    private Map<String, Object> updateInstanceInDatasource(DataSource datasource, ObjectTypeRuntime runtime, UUID instanceId,
+                                                            InstanceDTO dto) {
         try (Connection connection = dataSourceConnectionManager.getConnection(datasource)) {
-            // 构建更新SQL
-            StringBuilder sql = new StringBuilder();
-            sql.append("UPDATE ").append(escapeTableName(datasource.getType(), tableName))
-               .append(" SET updated_at = ?");
-            
             List<Object> params = new ArrayList<>();
             params.add(LocalDateTime.now());
 
             // 添加属性字段更新
-            if (dto.getProperties() != null) {
-                for (Property property : properties) {
-                    if (dto.getProperties().containsKey(property.getName())) {
-                        sql.append(", ").append(escapeTableName(datasource.getType(), property.getName().toLowerCase())).append(" = ?");
-                        params.add(dto.getProperties().get(property.getName()));
-                    }
-                }
-            }
-            
-            sql.append(" WHERE id = ?");
+            ObjectTypeRuntime.Binding binding = runtime.bind(dto.getProperties(), true);
+            params.addAll(binding.getValues());
             params.add(instanceId.toString());
 
-            try (PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    runtime.statements(datasource.getType()).update(binding.getPresent(), false))) {
                 for (int i = 0; i < params.size(); i++) {
                     stmt.setObject(i + 1, params.get(i));
                 }
@@ -630,7 +1199,7 @@ public class InstanceServiceImpl implements InstanceService {
             }
             
             // 返回更新后的实例
-            return getInstanceFromDatasource(datasource, tableName, instanceId, properties);
+            return getInstanceFromDatasource(datasource, runtime, instanceId);
         } catch (Exception e) {
             log.error("在数据源中更新实例失败", e);
             throw new BusinessException("在数据源中更新实例失败：" + e.getMessage());
@@ -638,19 +1207,36 @@ public class InstanceServiceImpl implements InstanceService {
     }
 
     /**
-     * 从平台存储查询实例列表
+     * 批量创建时的一组实例：同一目标存储、同一列集合
+     */
+    private static class BatchGroup {
+        private final DataSource datasource;
+        private final BitSet columns;
+        private final List<InstanceBatchWriter.PendingRow> rows = new ArrayList<>();
+
+        BatchGroup(DataSource datasource, BitSet columns) {
+            this.datasource = datasource;
+            this.columns = columns;
+        }
+    }
+
+    /**
+     * 从平台存储查询实例列表（按 created_at DESC, id DESC 排序的前 limit 条）
+     *
+     * @param seek 游标续查位置（为null时按偏移分页查询）
+     * @param countTotal 是否统计满足条件的记录总数
      */
-    private List<Map<String, Object>> listInstancesFromPlatform(ObjectType objectType, String tableName, 
-                                                                 List<Property> properties, Map<String, Object> filters) {
+    private InstanceSlice listInstancesFromPlatform(ObjectType objectType, String tableName, 
+                                                    List<Property> properties, Map<String, Object> filters,
+                                                    InstanceCursor.Position seek, long limit, boolean countTotal) {
         // 确保表存在，如果不存在则创建（空表）
         if (!dynamicTableManager.tableExists(objectType)) {
             dynamicTableManager.createInstanceTable(objectType, properties);
-            return new ArrayList<>(); // 表刚创建，返回空列表
+            return new InstanceSlice(new ArrayList<>(), 0); // 表刚创建，返回空列表
         }
 
-        // 构建查询SQL
-        StringBuilder sql = new StringBuilder();
-        sql.append("SELECT * FROM ").append(tableName).append(" WHERE 1=1");
+        // 构建过滤条件
+        StringBuilder where = new StringBuilder(" WHERE 1=1");
         
         List<Object> params = new ArrayList<>();
         
@@ -658,29 +1244,41 @@ public class InstanceServiceImpl implements InstanceService {
         if (filters != null && !filters.isEmpty()) {
             for (Property property : properties) {
                 if (filters.containsKey(property.getName())) {
-                    sql.append(" AND ").append(property.getName().toLowerCase()).append(" = ?");
+                    where.append(" AND ").append(property.getName().toLowerCase()).append(" = ?");
                     params.add(filters.get(property.getName()));
                 }
             }
         }
 
-        sql.append(" ORDER BY created_at DESC");
+        Long total = countTotal
+            ? jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tableName + where, Long.class, params.toArray())
+            : null;
+
+        if (seek != null) {
+            appendSeekCondition(where, params, "POSTGRESQL", seek, true);
+        }
+
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT * FROM ").append(tableName).append(where);
+        sql.append(SqlDialectUtils.orderByCreatedAtDesc("POSTGRESQL", seek == null));
+        SqlDialectUtils.appendLimit(sql, "POSTGRESQL", limit);
 
         List<Map<String, Object>> records = jdbcTemplate.queryForList(sql.toString(), params.toArray());
-        return records;
+        return new InstanceSlice(records, total != null ? total : 0);
     }
 
     /**
-     * 从数据源查询实例列表
+     * 从数据源查询实例列表（按 created_at DESC, id DESC 排序的前 limit 条）
      */
-    private List<Map<String, Object>> listInstancesFromDatasource(DataSource datasource, String tableName,
-                                                                    List<Property> properties, Map<String, Object> filters) {
+    private InstanceSlice listInstancesFromDatasource(DataSource datasource, String tableName,
+                                                      List<Property> properties, Map<String, Object> filters,
+                                                      InstanceCursor.Position seek, long limit, boolean countTotal) {
         List<Map<String, Object>> records = new ArrayList<>();
+        long total = 0;
         
         try (Connection connection = dataSourceConnectionManager.getConnection(datasource)) {
-            // 构建查询SQL
-            StringBuilder sql = new StringBuilder();
-            sql.append("SELECT * FROM ").append(escapeTableName(datasource.getType(), tableName)).append(" WHERE 1=1");
+            // 构建过滤条件
+            StringBuilder where = new StringBuilder(" WHERE 1=1");
             
             List<Object> params = new ArrayList<>();
             
@@ -688,15 +1286,40 @@ public class InstanceServiceImpl implements InstanceService {
             if (filters != null && !filters.isEmpty()) {
                 for (Property property : properties) {
                     if (filters.containsKey(property.getName())) {
-                        sql.append(" AND ").append(escapeTableName(datasource.getType(), property.getName().toLowerCase())).append(" = ?");
+                        where.append(" AND ").append(escapeTableName(datasource.getType(), property.getName().toLowerCase())).append(" = ?");
                         params.add(filters.get(property.getName()));
                     }
                 }
             }
 
-            sql.append(" ORDER BY created_at DESC");
+            String escapedTableName = escapeTableName(datasource.getType(), tableName);
+
+            if (countTotal) {
+                try (PreparedStatement stmt = connection.prepareStatement("SELECT COUNT(*) FROM " + escapedTableName + where)) {
+                    stmt.setQueryTimeout(storageQueryExecutor.getQueryTimeoutSeconds());
+                    for (int i = 0; i < params.size(); i++) {
+                        stmt.setObject(i + 1, params.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            total = rs.getLong(1);
+                        }
+                    }
+                }
+            }
+
+            if (seek != null) {
+                appendSeekCondition(where, params, datasource.getType(), seek, false);
+            }
+
+            StringBuilder sql = new StringBuilder();
+            sql.append("SELECT * FROM ").append(escapedTableName).append(where);
+            sql.append(SqlDialectUtils.orderByCreatedAtDesc(datasource.getType(), seek == null));
+            SqlDialectUtils.appendLimit(sql, datasource.getType(), limit);
 
             try (PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
+                // 让数据库端在超时后取消查询，避免超时的查询继续占用连接
+                stmt.setQueryTimeout(storageQueryExecutor.getQueryTimeoutSeconds());
                 for (int i = 0; i < params.size(); i++) {
                     stmt.setObject(i + 1, params.get(i));
                 }
@@ -721,21 +1344,46 @@ public class InstanceServiceImpl implements InstanceService {
             throw new BusinessException("从数据源查询实例列表失败：" + e.getMessage());
         }
         
-        return records;
+        return new InstanceSlice(records, total);
+    }
+
+    /**
+     * 追加游标续查条件：(created_at, id) < (?, ?)
+     * 不支持行值比较的数据库展开为 created_at < ? OR (created_at = ? AND id < ?)
+     * 游标模式下 created_at 为空的记录无法定位，不参与游标分页
+     */
+    private void appendSeekCondition(StringBuilder where, List<Object> params, String datasourceType,
+                                     InstanceCursor.Position seek, boolean uuidId) {
+        where.append(" AND created_at IS NOT NULL");
+        if (seek.isStart()) {
+            return;
+        }
+        Timestamp createdAt = Timestamp.valueOf(seek.getCreatedAt());
+        Object idParam = uuidId ? UUIDUtils.parseUUID(seek.getId()) : seek.getId();
+        if (SqlDialectUtils.supportsRowValueComparison(datasourceType)) {
+            where.append(" AND (created_at, id) < (?, ?)");
+            params.add(createdAt);
+            params.add(idParam);
+        } else {
+            where.append(" AND (created_at < ? OR (created_at = ? AND id < ?))");
+            params.add(createdAt);
+            params.add(createdAt);
+            params.add(idParam);
+        }
     }
 
     /**
      * 从平台存储中删除实例
      */
-    private void deleteInstanceFromPlatform(ObjectType objectType, String tableName, UUID instanceId) {
+    private void deleteInstanceFromPlatform(ObjectTypeRuntime runtime, UUID instanceId) {
+        ObjectType objectType = runtime.getObjectType();
         // 如果表不存在，直接返回（没有数据可删除）
         if (!dynamicTableManager.tableExists(objectType)) {
             log.warn("实例表不存在，无需删除：{}", objectType.getName());
             return;
         }
 
-        String sql = "DELETE FROM " + tableName + " WHERE id = ?";
-        int deleted = jdbcTemplate.update(sql, instanceId);
+        int deleted = jdbcTemplate.update(runtime.platformStatements().deleteById(), instanceId);
         if (deleted == 0) {
             throw new BusinessException("实例不存在：" + instanceId);
         }
@@ -746,13 +1394,9 @@ public class InstanceServiceImpl implements InstanceService {
     /**
      * 从数据源中删除实例
      */
-    private void deleteInstanceFromDatasource(DataSource datasource, String tableName, UUID instanceId) {
+    private void deleteInstanceFromDatasource(DataSource datasource, ObjectTypeRuntime runtime, UUID instanceId) {
         try (Connection connection = dataSourceConnectionManager.getConnection(datasource)) {
-            StringBuilder sql = new StringBuilder();
-            sql.append("DELETE FROM ").append(escapeTableName(datasource.getType(), tableName))
-               .append(" WHERE id = ?");
-
-            try (PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
+            try (PreparedStatement stmt = connection.prepareStatement(runtime.statements(datasource.getType()).deleteById())) {
                 stmt.setString(1, instanceId.toString());
                 int deleted = stmt.executeUpdate();
                 if (deleted == 0) {
@@ -769,8 +1413,9 @@ public class InstanceServiceImpl implements InstanceService {
     /**
      * 从平台存储批量删除实例
      */
-    private void batchDeleteInstancesFromPlatform(ObjectType objectType, List<UUID> instanceIds) {
-        String tableName = dynamicTableManager.generateInstanceTableName(objectType);
+    private void batchDeleteInstancesFromPlatform(ObjectTypeRuntime runtime, List<UUID> instanceIds) {
+        ObjectType objectType = runtime.getObjectType();
+        String tableName = runtime.getTableName();
         // 如果表不存在，直接返回（没有数据可删除）
         if (!dynamicTableManager.tableExists(objectType)) {
             log.warn("实例表不存在，无需删除：{}", objectType.getName());
@@ -810,17 +1455,7 @@ public class InstanceServiceImpl implements InstanceService {
      * 转义表名/字段名（根据数据库类型）
      */
     private String escapeTableName(String datasourceType, String name) {
-        if ("MYSQL".equalsIgnoreCase(datasourceType) || "MARIADB".equalsIgnoreCase(datasourceType)) {
-            return "`" + name + "`";
-        } else if ("POSTGRESQL".equalsIgnoreCase(datasourceType)) {
-            return "\"" + name + "\"";
-        } else if ("SQL_SERVER".equalsIgnoreCase(datasourceType) || "SQLSERVER".equalsIgnoreCase(datasourceType)) {
-            return "[" + name + "]";
-        } else if ("ORACLE".equalsIgnoreCase(datasourceType)) {
-            return "\"" + name.toUpperCase() + "\"";
-        } else {
-            return name;
-        }
+        return SqlDialectUtils.quoteIdentifier(datasourceType, name);
     }
 }
 
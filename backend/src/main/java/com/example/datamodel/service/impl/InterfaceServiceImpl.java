@@ -1,6 +1,8 @@
 package com.example.datamodel.service.impl;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.datamodel.core.gateway.InterfaceContractRegistry;
+import com.example.datamodel.core.gateway.InterfaceRouteTable;
 import com.example.datamodel.dto.InterfaceDTO;
 import com.example.datamodel.dto.InterfaceImplementationDTO;
 import com.example.datamodel.entity.Interface;
@@ -46,6 +48,12 @@ public class InterfaceServiceImpl extends ServiceImpl<InterfaceMapper, Interface
     @Lazy
     private PropertyService propertyService;
 
+    @Autowired
+    private InterfaceRouteTable interfaceRouteTable;
+
+    @Autowired
+    private InterfaceContractRegistry interfaceContractRegistry;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Interface createInterface(InterfaceDTO dto) {
@@ -63,6 +71,8 @@ public class InterfaceServiceImpl extends ServiceImpl<InterfaceMapper, Interface
         interfaceEntity.setUpdatedAt(LocalDateTime.now());
 
         save(interfaceEntity);
+        interfaceRouteTable.reloadAfterCommit();
+        interfaceContractRegistry.invalidateAll();
         log.info("创建接口成功：{}", interfaceEntity.getName());
         return interfaceEntity;
     }
@@ -95,6 +105,8 @@ public class InterfaceServiceImpl extends ServiceImpl<InterfaceMapper, Interface
         interfaceEntity.setUpdatedAt(LocalDateTime.now());
 
         updateById(interfaceEntity);
+        interfaceRouteTable.reloadAfterCommit();
+        interfaceContractRegistry.invalidateAll();
         log.info("更新接口成功：{}", interfaceEntity.getName());
         return interfaceEntity;
     }
@@ -194,6 +206,8 @@ public class InterfaceServiceImpl extends ServiceImpl<InterfaceMapper, Interface
         );
 
         removeById(id);
+        interfaceRouteTable.reloadAfterCommit();
+        interfaceContractRegistry.invalidateAll();
         log.info("删除接口成功：{}", interfaceEntity.getName());
     }
 
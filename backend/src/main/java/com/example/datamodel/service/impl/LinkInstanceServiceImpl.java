@@ -1,6 +1,7 @@
 package com.example.datamodel.service.impl;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.datamodel.core.graph.LinkGraphIndex;
 import com.example.datamodel.dto.LinkInstanceDTO;
 import com.example.datamodel.entity.LinkInstance;
 import com.example.datamodel.entity.LinkType;
@@ -14,10 +15,15 @@ import com.example.datamodel.service.ObjectTypeService;
 import com.example.datamodel.utils.JsonUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -40,6 +46,16 @@ public class LinkInstanceServiceImpl extends ServiceImpl<LinkInstanceMapper, Lin
     @Autowired
     private InstanceService instanceService;
 
+    @Autowired
+    @Lazy
+    private LinkGraphIndex linkGraphIndex;
+
+    /**
+     * 批量查询邻接链接时每次查询的实例ID数
+     */
+    @Value("${datamodel.query.neighbor-batch-size:500}")
+    private int neighborBatchSize;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public LinkInstance createLinkInstance(LinkInstanceDTO dto) {
@@ -87,6 +103,7 @@ public class LinkInstanceServiceImpl extends ServiceImpl<LinkInstanceMapper, Lin
         linkInstance.setCreatedAt(LocalDateTime.now());
 
         save(linkInstance);
+        linkGraphIndex.linkCreated(linkInstance);
         log.info("创建链接实例成功：{} - {} -> {}", 
                 linkType.getName(), dto.getSourceInstanceId(), dto.getTargetInstanceId());
         return linkInstance;
@@ -107,6 +124,26 @@ public class LinkInstanceServiceImpl extends ServiceImpl<LinkInstanceMapper, Lin
         return baseMapper.selectByInstanceId(instanceId);
     }
 
+    @Override
+    public List<LinkInstance> getByInstanceIds(Collection<UUID> instanceIds) {
+        if (instanceIds == null || instanceIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<UUID> ids = new ArrayList<>(instanceIds);
+        if (ids.size() <= neighborBatchSize) {
+            return baseMapper.selectByInstanceIds(ids);
+        }
+        // 分块查询：两端分属不同块的链接会在两个块中各返回一次，按ID去重
+        Map<UUID, LinkInstance> links = new LinkedHashMap<>();
+        for (int from = 0; from < ids.size(); from += neighborBatchSize) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + neighborBatchSize, ids.size()));
+            for (LinkInstance link : baseMapper.selectByInstanceIds(chunk)) {
+                links.putIfAbsent(link.getId(), link);
+            }
+        }
+        return new ArrayList<>(links.values());
+    }
+
     @Override
     public List<LinkInstance> getByLinkTypeId(UUID linkTypeId) {
         return baseMapper.selectByLinkTypeId(linkTypeId);
@@ -121,6 +158,7 @@ public class LinkInstanceServiceImpl extends ServiceImpl<LinkInstanceMapper, Lin
         }
 
         removeById(id);
+        linkGraphIndex.linkDeleted(linkInstance);
         log.info("删除链接实例成功：{}", id);
     }
 }
@@ -1,6 +1,7 @@
 package com.example.datamodel.service.impl;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.datamodel.core.cache.MetadataChangedEvent;
 import com.example.datamodel.dto.LinkTypeDTO;
 import com.example.datamodel.entity.LinkType;
 import com.example.datamodel.entity.ObjectType;
@@ -14,12 +15,18 @@ import com.example.datamodel.utils.JsonUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -43,6 +50,12 @@ public class LinkTypeServiceImpl extends ServiceImpl<LinkTypeMapper, LinkType> i
     @Lazy
     private MetaModelService metaModelService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${datamodel.query.neighbor-batch-size:500}")
+    private int neighborBatchSize;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public LinkType createLinkType(LinkTypeDTO dto) {
@@ -79,6 +92,7 @@ public class LinkTypeServiceImpl extends ServiceImpl<LinkTypeMapper, LinkType> i
         linkType.setUpdatedAt(LocalDateTime.now());
 
         save(linkType);
+        eventPublisher.publishEvent(MetadataChangedEvent.linkType(linkType.getId()));
         log.info("创建链接类型成功：{}", linkType.getName());
         return linkType;
     }
@@ -122,6 +136,7 @@ public class LinkTypeServiceImpl extends ServiceImpl<LinkTypeMapper, LinkType> i
         linkType.setUpdatedAt(LocalDateTime.now());
 
         updateById(linkType);
+        eventPublisher.publishEvent(MetadataChangedEvent.linkType(id));
         log.info("更新链接类型成功：{}", linkType.getName());
         return linkType;
     }
@@ -136,6 +151,26 @@ public class LinkTypeServiceImpl extends ServiceImpl<LinkTypeMapper, LinkType> i
         return baseMapper.selectByObjectTypeId(objectTypeId);
     }
 
+    @Override
+    public List<LinkType> getByObjectTypeIds(Collection<UUID> objectTypeIds) {
+        if (objectTypeIds == null || objectTypeIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<UUID> ids = new ArrayList<>(objectTypeIds);
+        if (ids.size() <= neighborBatchSize) {
+            return baseMapper.selectByObjectTypeIds(ids);
+        }
+        // 分块查询：两端分属不同块的链接类型会在两个块中各返回一次，按ID去重
+        Map<UUID, LinkType> linkTypes = new LinkedHashMap<>();
+        for (int from = 0; from < ids.size(); from += neighborBatchSize) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + neighborBatchSize, ids.size()));
+            for (LinkType linkType : baseMapper.selectByObjectTypeIds(chunk)) {
+                linkTypes.putIfAbsent(linkType.getId(), linkType);
+            }
+        }
+        return new ArrayList<>(linkTypes.values());
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void deleteLinkType(UUID id) {
@@ -155,6 +190,7 @@ public class LinkTypeServiceImpl extends ServiceImpl<LinkTypeMapper, LinkType> i
         }
 
         removeById(id);
+        eventPublisher.publishEvent(MetadataChangedEvent.linkType(id));
         log.info("删除链接类型成功：{}", linkType.getName());
     }
 
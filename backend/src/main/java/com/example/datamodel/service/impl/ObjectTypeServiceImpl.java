@@ -15,13 +15,17 @@ import com.example.datamodel.service.ActionTypeService;
 import com.example.datamodel.service.InterfaceService;
 import com.example.datamodel.service.MetaModelService;
 import com.example.datamodel.core.DynamicTableManager;
+import com.example.datamodel.core.cache.MetadataCaches;
+import com.example.datamodel.core.cache.MetadataChangedEvent;
 import com.example.datamodel.utils.JsonUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -59,6 +63,12 @@ public class ObjectTypeServiceImpl extends ServiceImpl<ObjectTypeMapper, ObjectT
     @Lazy
     private MetaModelService metaModelService;
 
+    @Autowired
+    private MetadataCaches metadataCaches;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public ObjectType createObjectType(ObjectTypeDTO dto) {
@@ -83,6 +93,7 @@ public class ObjectTypeServiceImpl extends ServiceImpl<ObjectTypeMapper, ObjectT
         objectType.setUpdatedAt(LocalDateTime.now());
 
         save(objectType);
+        eventPublisher.publishEvent(MetadataChangedEvent.objectType(objectType.getId()));
         log.info("创建对象类型成功：{}", objectType.getName());
         
         // 注意：创建实例表应该在添加属性后调用，这里暂时不自动创建
@@ -104,6 +115,7 @@ public class ObjectTypeServiceImpl extends ServiceImpl<ObjectTypeMapper, ObjectT
             throw new BusinessException("对象类型名称已被使用：" + dto.getName());
         }
 
+        String oldName = objectType.getName();
         objectType.setName(dto.getName());
         objectType.setDisplayName(dto.getDisplayName());
         objectType.setDescription(dto.getDescription());
@@ -113,13 +125,47 @@ public class ObjectTypeServiceImpl extends ServiceImpl<ObjectTypeMapper, ObjectT
         objectType.setUpdatedAt(LocalDateTime.now());
 
         updateById(objectType);
+        metadataCaches.invalidateObjectType(id, oldName, objectType.getName());
         log.info("更新对象类型成功：{}", objectType.getName());
         return objectType;
     }
 
     @Override
     public ObjectType getByName(String name) {
-        return baseMapper.selectByName(name);
+        if (name == null) {
+            return null;
+        }
+        return metadataCaches.getObjectTypeByName(name, baseMapper::selectByName);
+    }
+
+    @Override
+    public ObjectType getById(Serializable id) {
+        if (id == null) {
+            return null;
+        }
+        UUID objectTypeId = id instanceof UUID ? (UUID) id : UUID.fromString(id.toString());
+        return metadataCaches.getObjectType(objectTypeId, baseMapper::selectById);
+    }
+
+    @Override
+    public boolean updateById(ObjectType entity) {
+        ObjectType existing = entity.getId() != null ? baseMapper.selectById(entity.getId()) : null;
+        boolean updated = super.updateById(entity);
+        metadataCaches.invalidateObjectType(entity.getId(), existing != null ? existing.getName() : null, entity.getName());
+        eventPublisher.publishEvent(MetadataChangedEvent.objectType(entity.getId()));
+        return updated;
+    }
+
+    @Override
+    public boolean removeById(Serializable id) {
+        ObjectType existing = baseMapper.selectById(id);
+        boolean removed = super.removeById(id);
+        if (existing != null) {
+            metadataCaches.invalidateObjectType(existing.getId(), existing.getName());
+            metadataCaches.invalidateProperties(existing.getId());
+            eventPublisher.publishEvent(MetadataChangedEvent.objectType(existing.getId()));
+        }
+        return removed;
     }
 
     @Override
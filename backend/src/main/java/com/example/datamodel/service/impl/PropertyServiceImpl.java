@@ -10,6 +10,8 @@ import com.example.datamodel.entity.Property;
 import com.example.datamodel.exception.BusinessException;
 import com.example.datamodel.mapper.PropertyMapper;
 import com.example.datamodel.core.DynamicTableManager;
+import com.example.datamodel.core.cache.MetadataCaches;
+import com.example.datamodel.core.cache.MetadataChangedEvent;
 import com.example.datamodel.service.DataSourceService;
 import com.example.datamodel.service.ObjectTypeService;
 import com.example.datamodel.service.PropertyService;
@@ -20,6 +22,7 @@ import com.example.datamodel.vo.BatchCreatePropertiesResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -51,6 +54,12 @@ public class PropertyServiceImpl extends ServiceImpl<PropertyMapper, Property> i
     @Autowired
     private DataSourceService dataSourceService;
 
+    @Autowired
+    private MetadataCaches metadataCaches;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Property createProperty(UUID objectTypeId, PropertyDTO dto) {
@@ -87,6 +96,8 @@ public class PropertyServiceImpl extends ServiceImpl<PropertyMapper, Property> i
         property.setUpdatedAt(LocalDateTime.now());
 
         save(property);
+        metadataCaches.invalidateProperties(objectTypeId);
+        eventPublisher.publishEvent(MetadataChangedEvent.objectType(objectTypeId));
         log.info("创建属性成功：{} - {}", objectType.getName(), property.getName());
         
         // 检查并创建实例表
@@ -130,13 +141,15 @@ public class PropertyServiceImpl extends ServiceImpl<PropertyMapper, Property> i
         property.setUpdatedAt(LocalDateTime.now());
 
         updateById(property);
+        metadataCaches.invalidateProperties(property.getObjectTypeId());
+        eventPublisher.publishEvent(MetadataChangedEvent.objectType(property.getObjectTypeId()));
         log.info("更新属性成功：{}", property.getName());
         return property;
     }
 
     @Override
     public List<Property> getByObjectTypeId(UUID objectTypeId) {
-        return baseMapper.selectByObjectTypeId(objectTypeId);
+        return metadataCaches.getProperties(objectTypeId, baseMapper::selectByObjectTypeId);
     }
 
     @Override
@@ -169,6 +182,8 @@ public class PropertyServiceImpl extends ServiceImpl<PropertyMapper, Property> i
         }
 
         removeById(id);
+        metadataCaches.invalidateProperties(property.getObjectTypeId());
+        eventPublisher.publishEvent(MetadataChangedEvent.objectType(property.getObjectTypeId()));
         log.info("删除属性成功：{}", property.getName());
     }
 
@@ -0,0 +1,143 @@
+package com.example.datamodel.utils;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+
+/**
+ * SQL方言工具类
+ * 按数据源类型生成标识符转义和分页语法
+ *
+ * @author DataModel Team
+ */
+public class SqlDialectUtils {
+
+    /**
+     * 转义标识符（表名、列名）
+     *
+     * @param datasourceType 数据源类型（如 MYSQL, POSTGRESQL等）
+     * @param name 标识符
+     * @return 转义后的标识符
+     */
+    public static String quoteIdentifier(String datasourceType, String name) {
+        if (isMySQL(datasourceType)) {
+            return "`" + name + "`";
+        } else if ("POSTGRESQL".equalsIgnoreCase(datasourceType)) {
+            return "\"" + name + "\"";
+        } else if (isSQLServer(datasourceType)) {
+            return "[" + name + "]";
+        } else if ("ORACLE".equalsIgnoreCase(datasourceType)) {
+            return "\"" + name.toUpperCase() + "\"";
+        } else {
+            return name;
+        }
+    }
+
+    /**
+     * 按 created_at DESC, id DESC 排序的 ORDER BY 子句，created_at 为空的记录排在最前
+     * PostgreSQL / Oracle 降序时空值默认排在最前，直接使用 (created_at DESC, id DESC) 索引；
+     * MySQL / SQL Server 把空值视为最小值，降序时排在最后，需要额外的排序键
+     *
+     * @param datasourceType 数据源类型
+     * @param nullable 结果中是否可能包含 created_at 为空的记录（游标查询已排除空值，无需额外排序键）
+     * @return ORDER BY 子句（以空格开头）
+     */
+    public static String orderByCreatedAtDesc(String datasourceType, boolean nullable) {
+        if (nullable && (isMySQL(datasourceType) || isSQLServer(datasourceType))) {
+            return " ORDER BY CASE WHEN created_at IS NULL THEN 0 ELSE 1 END, created_at DESC, id DESC";
+        }
+        return " ORDER BY created_at DESC, id DESC";
+    }
+
+    /**
+     * 在已包含 ORDER BY 的查询后追加行数限制
+     *
+     * @param sql SQL语句
+     * @param datasourceType 数据源类型
+     * @param limit 最大行数
+     */
+    public static void appendLimit(StringBuilder sql, String datasourceType, long limit) {
+        if ("ORACLE".equalsIgnoreCase(datasourceType)) {
+            // Oracle 12c+
+            sql.append(" FETCH FIRST ").append(limit).append(" ROWS ONLY");
+        } else if (isSQLServer(datasourceType)) {
+            // SQL Server 2012+，要求查询包含 ORDER BY
+            sql.append(" OFFSET 0 ROWS FETCH NEXT ").append(limit).append(" ROWS ONLY");
+        } else {
+            // MySQL, MariaDB, PostgreSQL 及其他兼容数据库
+            sql.append(" LIMIT ").append(limit);
+        }
+    }
+
+    /**
+     * 是否支持行值比较，如 (created_at, id) &lt; (?, ?)
+     *
+     * @param datasourceType 数据源类型
+     * @return 是否支持
+     */
+    public static boolean supportsRowValueComparison(String datasourceType) {
+        return isMySQL(datasourceType) || "POSTGRESQL".equalsIgnoreCase(datasourceType);
+    }
+
+    /**
+     * 流式读取结果集时使用的 fetchSize
+     * MySQL 驱动只有 fetchSize 为 Integer.MIN_VALUE 时才逐行读取，其他数据库使用给定的批大小
+     *
+     * @param datasourceType 数据源类型
+     * @param fetchSize 批大小
+     * @return 实际使用的 fetchSize
+     */
+    public static int streamingFetchSize(String datasourceType, int fetchSize) {
+        return isMySQL(datasourceType) ? Integer.MIN_VALUE : fetchSize;
+    }
+
+    /**
+     * 判断异常是否由表不存在引起
+     * PostgreSQL 为 42P01，MySQL / SQL Server 为 42S02，Oracle 为 ORA-00942
+     *
+     * @param e 异常（会沿 cause 链查找 SQLException）
+     * @return 是否为表不存在
+     */
+    public static boolean isUndefinedTable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof SQLException) {
+                SQLException sqlException = (SQLException) cause;
+                String sqlState = sqlException.getSQLState();
+                if ("42P01".equals(sqlState) || "42S02".equals(sqlState)
+                    || ("42000".equals(sqlState) && sqlException.getErrorCode() == 942)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判断异常是否由查询超时取消引起（JDBC setQueryTimeout 或 statement_timeout）
+     * PostgreSQL 为 57014，MySQL 为 70100（错误码 1317）
+     *
+     * @param e 异常（会沿 cause 链查找 SQLException）
+     * @return 是否为查询超时取消
+     */
+    public static boolean isQueryCanceled(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof SQLTimeoutException) {
+                return true;
+            }
+            if (cause instanceof SQLException) {
+                SQLException sqlException = (SQLException) cause;
+                if ("57014".equals(sqlException.getSQLState()) || sqlException.getErrorCode() == 1317) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isMySQL(String datasourceType) {
+        return "MYSQL".equalsIgnoreCase(datasourceType) || "MARIADB".equalsIgnoreCase(datasourceType);
+    }
+
+    private static boolean isSQLServer(String datasourceType) {
+        return "SQL_SERVER".equalsIgnoreCase(datasourceType) || "SQLSERVER".equalsIgnoreCase(datasourceType);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.datamodel.vo;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量创建实例的结果
+ *
+ * @author DataModel Team
+ */
+@Data
+public class BatchCreateInstancesResult {
+    /**
+     * 提交的实例数量
+     */
+    private Integer total;
+
+    /**
+     * 成功创建的实例数量
+     */
+    private Integer created;
+
+    /**
+     * 失败的实例数量
+     */
+    private Integer failed;
+
+    /**
+     * 创建的实例ID（与提交顺序一致，失败的行为null）
+     */
+    private List<String> instanceIds = new ArrayList<>();
+
+    /**
+     * 失败的行（行号和错误信息）
+     */
+    private List<RowError> errors = new ArrayList<>();
+
+    /**
+     * 行错误信息
+     */
+    @Data
+    public static class RowError {
+        /**
+         * 行号（从0开始，与提交顺序一致）
+         */
+        private Integer index;
+        private String errorMessage;
+    }
+}
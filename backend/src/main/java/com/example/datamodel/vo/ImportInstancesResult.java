@@ -0,0 +1,46 @@
+package com.example.datamodel.vo;
+
+import lombok.Data;
+
+/**
+ * 批量导入实例的结果
+ *
+ * @author DataModel Team
+ */
+@Data
+public class ImportInstancesResult {
+    /**
+     * 读取的记录数量
+     */
+    private Long total;
+
+    /**
+     * 成功导入的记录数量
+     */
+    private Long imported;
+
+    /**
+     * 被拒绝的记录数量
+     */
+    private Long rejected;
+
+    /**
+     * 写入的存储（PLATFORM 或存储库名称）
+     */
+    private String target;
+
+    /**
+     * 写入方式：COPY（PostgreSQL COPY FROM STDIN）或 BATCH（JDBC批处理）
+     */
+    private String method;
+
+    /**
+     * 错误文件ID（没有被拒绝的记录时为null），可通过错误文件下载接口获取被拒绝的记录及原因
+     */
+    private String errorFileId;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private Long elapsedMs;
+}
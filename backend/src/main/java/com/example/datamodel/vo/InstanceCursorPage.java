@@ -0,0 +1,46 @@
+package com.example.datamodel.vo;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 游标分页的实例列表结果
+ *
+ * @author DataModel Team
+ */
+@Data
+public class InstanceCursorPage {
+
+    /**
+     * 当前页记录（按 created_at DESC, id DESC 排序）
+     */
+    private List<Map<String, Object>> records = new ArrayList<>();
+
+    /**
+     * 每页大小
+     */
+    private Long size;
+
+    /**
+     * 下一页游标（没有更多数据时为null）
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多数据
+     */
+    private Boolean hasMore = false;
+
+    /**
+     * 是否为部分结果（存在查询失败或超时的存储库）
+     */
+    private Boolean partial = false;
+
+    /**
+     * 各存储的查询状态
+     */
+    private List<StorageQueryStatus> storageStatuses = new ArrayList<>();
+}
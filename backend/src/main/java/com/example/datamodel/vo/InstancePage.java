@@ -0,0 +1,42 @@
+package com.example.datamodel.vo;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 跨存储实例分页结果
+ * 在普通分页结果基础上附带各存储的查询状态；任一存储库查询失败或超时时 partial 为 true，
+ * 表示结果只包含健康存储中的数据
+ *
+ * @author DataModel Team
+ */
+@Getter
+@Setter
+public class InstancePage extends Page<Map<String, Object>> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 是否为部分结果（存在查询失败或超时的存储库）
+     */
+    private Boolean partial = false;
+
+    /**
+     * 是否统计了总数（通过 withTotal=false 跳过统计时 total 为0）
+     */
+    private Boolean totalCounted = true;
+
+    /**
+     * 各存储的查询状态
+     */
+    private List<StorageQueryStatus> storageStatuses = new ArrayList<>();
+
+    public InstancePage(long current, long size, long total) {
+        super(current, size, total);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.datamodel.vo;
+
+import com.example.datamodel.entity.LinkInstance;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 实例路径查询结果
+ *
+ * @author DataModel Team
+ */
+@Data
+public class PathQueryResult {
+
+    /**
+     * 最短路径（双向BFS）
+     */
+    public static final String SHORTEST = "SHORTEST";
+
+    /**
+     * 按长度从短到长的前 k 条简单路径
+     */
+    public static final String K_SHORTEST = "K_SHORTEST";
+
+    public static final String PATH_LIMIT = "PATH_LIMIT";
+    public static final String NODE_LIMIT = "NODE_LIMIT";
+    public static final String TIME_BUDGET = "TIME_BUDGET";
+
+    /**
+     * 路径列表（按长度从短到长，每个路径是从源实例到目标实例的链接序列）
+     */
+    private List<List<LinkInstance>> paths = new ArrayList<>();
+
+    /**
+     * 查询方式：SHORTEST, K_SHORTEST
+     */
+    private String mode;
+
+    /**
+     * 最大深度
+     */
+    private Integer maxDepth;
+
+    /**
+     * 是否因达到限制而截断（可能存在未返回的路径）
+     */
+    private Boolean truncated = false;
+
+    /**
+     * 截断原因：PATH_LIMIT（路径数上限）, NODE_LIMIT（访问节点数上限）, TIME_BUDGET（时间预算）
+     */
+    private String truncationReason;
+
+    /**
+     * 访问的实例数
+     */
+    private Integer visitedNodes;
+
+    /**
+     * 按层批量邻接查询的次数（一层的实例ID较多时分块执行）
+     */
+    private Integer queries;
+
+    /**
+     * 查询耗时（毫秒）
+     */
+    private Long elapsedMs;
+}
@@ -0,0 +1,66 @@
+package com.example.datamodel.vo;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 多跳关联实例查询结果
+ *
+ * @author DataModel Team
+ */
+@Data
+public class RelatedInstancesResult {
+
+    /**
+     * 单条递归SQL查询
+     */
+    public static final String RECURSIVE_SQL = "RECURSIVE_SQL";
+
+    /**
+     * 逐层广度优先查询
+     */
+    public static final String BFS = "BFS";
+
+    /**
+     * 内存图索引遍历
+     */
+    public static final String MEMORY_GRAPH = "MEMORY_GRAPH";
+
+    /**
+     * 关联实例ID（按首次到达的深度排序，不包含起始实例）
+     */
+    private List<UUID> instanceIds = new ArrayList<>();
+
+    /**
+     * 与 instanceIds 一一对应的最短跳数
+     */
+    private List<Integer> depths = new ArrayList<>();
+
+    /**
+     * 查询深度
+     */
+    private Integer depth;
+
+    /**
+     * 实际使用的遍历方式：MEMORY_GRAPH, RECURSIVE_SQL, BFS
+     */
+    private String strategy;
+
+    /**
+     * 递归SQL失败回退到BFS时的原因
+     */
+    private String fallbackReason;
+
+    /**
+     * 是否因达到结果上限而截断
+     */
+    private Boolean truncated = false;
+
+    /**
+     * 查询耗时（毫秒）
+     */
+    private Long elapsedMs;
+}
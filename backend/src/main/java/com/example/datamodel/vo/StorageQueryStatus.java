@@ -0,0 +1,45 @@
+package com.example.datamodel.vo;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * 单个存储（平台存储或存储库）的查询状态
+ *
+ * @author DataModel Team
+ */
+@Data
+public class StorageQueryStatus {
+
+    public static final String PLATFORM_SOURCE = "PLATFORM";
+
+    public static final String SUCCESS = "SUCCESS";
+    public static final String TIMEOUT = "TIMEOUT";
+    public static final String FAILED = "FAILED";
+
+    /**
+     * 数据源ID（平台存储为null）
+     */
+    private UUID datasourceId;
+
+    /**
+     * 存储名称（平台存储为 PLATFORM）
+     */
+    private String source;
+
+    /**
+     * 查询状态：SUCCESS, TIMEOUT, FAILED
+     */
+    private String status;
+
+    /**
+     * 查询耗时（毫秒）
+     */
+    private Long elapsedMs;
+
+    /**
+     * 失败或超时信息
+     */
+    private String message;
+}
@@ -0,0 +1,22 @@
+-- V13: 为平台实例表添加 (created_at DESC, id DESC) 索引
+-- 说明：实例列表按 created_at DESC, id DESC 分页排序，游标分页按 (created_at, id) < (?, ?) 续查，
+--       新建的实例表由 DynamicTableManager 创建该索引，这里为已存在的实例表补建
+
+DO $$
+DECLARE
+    rec RECORD;
+BEGIN
+    -- 实例表：同时包含 id, class_id, datasource_id, created_at 字段的表
+    FOR rec IN
+        SELECT c.table_name
+        FROM information_schema.columns c
+        WHERE c.table_schema = 'public'
+        AND c.column_name IN ('id', 'class_id', 'datasource_id', 'created_at')
+        GROUP BY c.table_name
+        HAVING COUNT(DISTINCT c.column_name) = 4
+    LOOP
+        EXECUTE format('CREATE INDEX IF NOT EXISTS %I ON %I(created_at DESC, id DESC)',
+            'idx_' || rec.table_name || '_created_at_id', rec.table_name);
+        RAISE NOTICE '创建 created_at_id 索引成功: %', rec.table_name;
+    END LOOP;
+END $$;
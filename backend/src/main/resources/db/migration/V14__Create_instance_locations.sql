@@ -0,0 +1,21 @@
+-- V14: 创建实例位置路由表
+-- 说明：记录每个实例所在的存储（平台存储或存储库），按ID读取、更新、删除实例时直接定位到所在存储，
+--       不再依次探查平台存储和每个存储库
+--       datasource_id 为空表示实例存储在平台数据库中
+
+CREATE TABLE IF NOT EXISTS instance_locations (
+    instance_id UUID PRIMARY KEY,
+    object_type_id UUID NOT NULL REFERENCES object_types(id) ON DELETE CASCADE,
+    datasource_id UUID,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 添加索引（用于按对象类型或存储库清理路由）
+CREATE INDEX IF NOT EXISTS idx_instance_locations_object_type ON instance_locations(object_type_id);
+CREATE INDEX IF NOT EXISTS idx_instance_locations_datasource ON instance_locations(datasource_id);
+
+-- 添加注释
+COMMENT ON TABLE instance_locations IS '实例位置路由表';
+COMMENT ON COLUMN instance_locations.datasource_id IS '实例所在存储库的数据源ID，为空表示存储在平台数据库中';
+
+-- 已有实例不在此处回填：首次按ID访问时探查存储并写入路由
@@ -0,0 +1,17 @@
+-- V15: 为链接实例添加以实例ID开头的邻接索引
+-- 说明：原有索引 (link_type_id, source_instance_id) / (link_type_id, target_instance_id) 以链接类型开头，
+--       不指定链接类型按实例ID查询邻居时（selectByInstanceId）无法使用，只能顺序扫描 link_instances
+--       新索引以实例ID开头、链接类型为第二列，不指定链接类型和指定链接类型的邻居查询都可以使用；
+--       selectByInstanceId 改为两个方向分别查询后 UNION ALL，每个方向走各自的索引
+--
+-- 注意：项目未集成迁移工具，本脚本需手动执行（如 psql -f）。普通 CREATE INDEX 建索引期间会阻塞 link_instances 的写入，
+--       链接实例数据量很大时，应先在 psql 中逐条执行下面两条语句（CONCURRENTLY 不能在事务块中执行，
+--       不要使用 --single-transaction 或 BEGIN 包裹），再执行本脚本，IF NOT EXISTS 会跳过已建立的索引；
+--       并发建索引失败会留下 INVALID 状态的索引，需 DROP INDEX CONCURRENTLY 后重建：
+--   CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_link_instances_source_instance ON link_instances(source_instance_id, link_type_id);
+--   CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_link_instances_target_instance ON link_instances(target_instance_id, link_type_id);
+
+CREATE INDEX IF NOT EXISTS idx_link_instances_source_instance ON link_instances(source_instance_id, link_type_id);
+CREATE INDEX IF NOT EXISTS idx_link_instances_target_instance ON link_instances(target_instance_id, link_type_id);
+
+ANALYZE link_instances;
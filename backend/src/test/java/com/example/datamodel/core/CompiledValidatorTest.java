@@ -0,0 +1,119 @@
+package com.example.datamodel.core;
+
+import com.example.datamodel.entity.Property;
+import com.example.datamodel.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 预编译验证器测试
+ *
+ * @author DataModel Team
+ */
+class CompiledValidatorTest {
+
+    private CompiledValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        List<Property> properties = new ArrayList<>();
+        properties.add(property("productName", "STRING", true));
+        properties.add(property("price", "FLOAT", false));
+        properties.add(property("stock", "INTEGER", false));
+        properties.add(property("active", "BOOLEAN", false));
+        properties.add(property("tags", "JSON", false));
+        validator = new CompiledValidator(properties);
+    }
+
+    @Test
+    void testResolveCaseInsensitive() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("PRODUCTNAME", "other case");
+        data.put("productname", "lower case");
+        data.put("Price", 9.9);
+
+        Object[] values = validator.resolve(data);
+        assertEquals("lower case", values[validator.indexOf("productName")]);
+        assertEquals(9.9, values[validator.indexOf("price")]);
+        assertNull(values[validator.indexOf("stock")]);
+
+        // 完全相同的键优先
+        data.put("productName", "exact");
+        assertEquals("exact", validator.resolve(data)[validator.indexOf("productName")]);
+    }
+
+    @Test
+    void testValidateRequired() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("productName", "  ");
+        BusinessException e = assertThrows(BusinessException.class, () -> validator.validate(data));
+        assertEquals("属性 productName 是必需的", e.getMessage());
+
+        data.put("productName", "iPhone");
+        validator.validate(data);
+    }
+
+    @Test
+    void testTypeChecks() {
+        assertTrue(CompiledValidator.isInteger("-2147483648"));
+        assertTrue(CompiledValidator.isInteger("+42"));
+        assertFalse(CompiledValidator.isInteger("2147483648"));
+        assertFalse(CompiledValidator.isInteger("1.5"));
+        assertFalse(CompiledValidator.isInteger(""));
+        assertFalse(CompiledValidator.isInteger("-"));
+        assertTrue(CompiledValidator.isInteger("00000000001"));
+        assertTrue(CompiledValidator.isInteger("-000000000002147483648"));
+        assertTrue(CompiledValidator.isInteger("0000"));
+        assertFalse(CompiledValidator.isInteger("0002147483648"));
+        assertFalse(CompiledValidator.isInteger("00x1"));
+
+        assertTrue(CompiledValidator.isDecimal(" 1.5e-3 "));
+        assertTrue(CompiledValidator.isDecimal(".5"));
+        assertTrue(CompiledValidator.isDecimal("-Infinity"));
+        assertTrue(CompiledValidator.isDecimal("2d"));
+        assertFalse(CompiledValidator.isDecimal("."));
+        assertFalse(CompiledValidator.isDecimal("1e"));
+        assertFalse(CompiledValidator.isDecimal("abc"));
+    }
+
+    @Test
+    void testValidateBatchAggregatesErrors() {
+        Map<String, Object> valid = new HashMap<>();
+        valid.put("productName", "iPhone");
+        valid.put("stock", "10");
+        valid.put("active", "TRUE");
+
+        Map<String, Object> invalid = new HashMap<>();
+        invalid.put("price", "cheap");
+        invalid.put("stock", 1.5);
+        invalid.put("tags", "a,b");
+
+        Map<Integer, List<String>> errors = validator.validateBatch(Arrays.asList(valid, invalid, null));
+        assertEquals(2, errors.size());
+        assertFalse(errors.containsKey(0));
+        assertEquals(Arrays.asList(
+            "属性 productName 是必需的",
+            "属性 price 必须是浮点数类型",
+            "属性 stock 必须是整数类型",
+            "属性 tags 必须是JSON对象或数组"
+        ), errors.get(1));
+        assertEquals(Arrays.asList("属性 productName 是必需的"), errors.get(2));
+    }
+
+    private static Property property(String name, String dataType, boolean required) {
+        Property property = new Property();
+        property.setName(name);
+        property.setDataType(dataType);
+        property.setRequired(required);
+        return property;
+    }
+}
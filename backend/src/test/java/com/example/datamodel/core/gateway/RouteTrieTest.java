@@ -0,0 +1,67 @@
+package com.example.datamodel.core.gateway;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 路由前缀树测试
+ *
+ * @author DataModel Team
+ */
+class RouteTrieTest {
+
+    private RouteTrie<String> trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new RouteTrie<>();
+        trie.add("POST", "/external/toll/charge", "charge");
+        trie.add("GET", "/external/orders/{orderId}", "order");
+        trie.add("GET", "/external/orders/latest", "latest");
+        trie.add("GET", "/external/orders/{orderId}/items/{itemId}", "item");
+        trie.add("GET", "/external/orders/latest/summary", "latestSummary");
+    }
+
+    @Test
+    void testExactMatch() {
+        RouteTrie.Match<String> match = trie.match("post", "/external/toll/charge/");
+        assertNotNull(match);
+        assertEquals("charge", match.getTarget());
+        assertTrue(match.getVariables().isEmpty());
+
+        assertNull(trie.match("GET", "/external/toll/charge"));
+        assertNull(trie.match("POST", "/external/toll"));
+    }
+
+    @Test
+    void testPathVariables() {
+        RouteTrie.Match<String> match = trie.match("GET", "/external/orders/1001/items/7");
+        assertNotNull(match);
+        assertEquals("item", match.getTarget());
+        assertEquals("/external/orders/{orderId}/items/{itemId}", match.getTemplate());
+        assertEquals("1001", match.getVariables().get("orderId"));
+        assertEquals("7", match.getVariables().get("itemId"));
+    }
+
+    @Test
+    void testLiteralPreferredWithBacktracking() {
+        assertEquals("latest", trie.match("GET", "/external/orders/latest").getTarget());
+        assertEquals("latestSummary", trie.match("GET", "/external/orders/latest/summary").getTarget());
+
+        // 固定段 latest 下没有 items 路由时回退到路径变量
+        RouteTrie.Match<String> match = trie.match("GET", "/external/orders/latest/items/3");
+        assertNotNull(match);
+        assertEquals("item", match.getTarget());
+        assertEquals("latest", match.getVariables().get("orderId"));
+    }
+
+    @Test
+    void testConflictKeepsFirstRoute() {
+        assertFalse(trie.add("GET", "/external/orders/{id}", "other"));
+        assertEquals(5, trie.size());
+        assertEquals("order", trie.match("GET", "/external/orders/42").getTarget());
+        assertEquals("42", trie.match("GET", "/external/orders/42").getVariables().get("orderId"));
+    }
+}
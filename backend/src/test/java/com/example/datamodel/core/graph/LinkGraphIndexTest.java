@@ -0,0 +1,130 @@
+package com.example.datamodel.core.graph;
+
+import com.example.datamodel.entity.LinkInstance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 链接实例图索引测试
+ *
+ * @author DataModel Team
+ */
+class LinkGraphIndexTest {
+
+    private static final UUID OWNS = UUID.randomUUID();
+
+    private final UUID a = UUID.randomUUID();
+
+    private final UUID b = UUID.randomUUID();
+
+    private final UUID c = UUID.randomUUID();
+
+    private LinkGraphIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LinkGraphIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "compactThreshold", 2);
+        ReflectionTestUtils.setField(index, "refreshIntervalMinutes", 10L);
+        ReflectionTestUtils.setField(index, "graph", LinkGraph.empty());
+        ReflectionTestUtils.setField(index, "loadedAt", LocalDateTime.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void testCompactionRunsInBackground() throws InterruptedException {
+        index.linkCreated(link(a, b));
+        // 覆盖层达到阈值，合并在后台执行
+        index.linkCreated(link(b, c));
+
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (index.current().deltaSize() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        LinkGraph graph = index.current();
+        assertEquals(0, graph.deltaSize());
+        assertEquals(2, graph.linkCount());
+        assertEquals(new HashSet<>(Arrays.asList(a, c)), graph.neighbors(b, null));
+        assertEquals(1L, index.getStats().get("compactions"));
+    }
+
+    @Test
+    void testChangesDuringCompactionAreReplayed() {
+        LinkInstance first = link(a, b);
+        index.linkCreated(first);
+        // 模拟合并进行中：已捕获的图之后提交的变更需要在合并结果上重放
+        LinkGraph captured = index.current();
+        List<Object> replay = new ArrayList<>();
+        ReflectionTestUtils.setField(index, "compactionChanges", replay);
+        index.linkCreated(link(b, c));
+        index.linkDeleted(first);
+        assertEquals(2, replay.size());
+
+        ReflectionTestUtils.invokeMethod(index, "compact", captured, replay);
+
+        LinkGraph graph = index.current();
+        assertEquals(1, graph.linkCount());
+        assertEquals(2, graph.deltaSize());
+        assertEquals(new HashSet<>(Arrays.asList(c)), graph.neighbors(b, null));
+        assertTrue(graph.neighbors(a, null).isEmpty());
+    }
+
+    @Test
+    void testCompactionDiscardedAfterReload() {
+        index.linkCreated(link(a, b));
+        LinkGraph captured = index.current();
+        List<Object> replay = new ArrayList<>();
+        ReflectionTestUtils.setField(index, "compactionChanges", replay);
+        // 合并期间重新加载替换了图
+        LinkGraph reloaded = LinkGraph.empty();
+        ReflectionTestUtils.setField(index, "compactionChanges", null);
+        ReflectionTestUtils.setField(index, "graph", reloaded);
+
+        ReflectionTestUtils.invokeMethod(index, "compact", captured, replay);
+
+        assertSame(reloaded, index.current());
+    }
+
+    @Test
+    void testExpiredGraphIsNotUsed() {
+        ReflectionTestUtils.setField(index, "loadedAt", LocalDateTime.now().minusMinutes(21));
+        assertNull(index.current());
+        assertEquals(true, index.getStats().get("expired"));
+
+        ReflectionTestUtils.setField(index, "refreshIntervalMinutes", 0L);
+        assertNotNull(index.current());
+    }
+
+    @Test
+    void testDisabled() {
+        ReflectionTestUtils.setField(index, "enabled", false);
+        index.linkCreated(link(a, b));
+        assertNull(index.current());
+    }
+
+    private LinkInstance link(UUID source, UUID target) {
+        LinkInstance link = new LinkInstance();
+        link.setId(UUID.randomUUID());
+        link.setLinkTypeId(OWNS);
+        link.setSourceInstanceId(source);
+        link.setTargetInstanceId(target);
+        return link;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.datamodel.core.graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 链接实例图（CSR 快照 + 增量覆盖层）测试
+ *
+ * @author DataModel Team
+ */
+class LinkGraphTest {
+
+    private static final UUID OWNS = UUID.randomUUID();
+
+    private static final UUID KNOWS = UUID.randomUUID();
+
+    private final UUID[] instances = new UUID[6];
+
+    private final UUID[] links = new UUID[5];
+
+    private LinkGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < instances.length; i++) {
+            instances[i] = UUID.randomUUID();
+        }
+        for (int i = 0; i < links.length; i++) {
+            links[i] = UUID.randomUUID();
+        }
+        // 0 -> 1 -> 2 -> 3，0 -> 4（KNOWS），5 孤立
+        graph = LinkGraph.of(new CsrLinkGraph.Builder(4)
+            .add(links[0], OWNS, instances[0], instances[1])
+            .add(links[1], OWNS, instances[1], instances[2])
+            .add(links[2], OWNS, instances[2], instances[3])
+            .add(links[3], KNOWS, instances[0], instances[4])
+            .build());
+    }
+
+    @Test
+    void testNeighborsFromSnapshot() {
+        assertEquals(5, graph.nodeCount());
+        assertEquals(4, graph.linkCount());
+        assertEquals(new HashSet<>(Arrays.asList(instances[1], instances[4])), graph.neighbors(instances[0], null));
+        assertEquals(new HashSet<>(Arrays.asList(instances[1])), graph.neighbors(instances[0], OWNS));
+        // 反向链接同样是邻居
+        assertEquals(new HashSet<>(Arrays.asList(instances[0], instances[2])), graph.neighbors(instances[1], null));
+        assertTrue(graph.neighbors(instances[5], null).isEmpty());
+        assertTrue(graph.neighbors(instances[0], UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void testTraverseDepthAndLimit() {
+        LinkGraph.Traversal traversal = graph.traverse(instances[0], 2, 100);
+        Map<UUID, Integer> depths = traversal.getDepths();
+        assertEquals(3, depths.size());
+        assertEquals(Integer.valueOf(1), depths.get(instances[1]));
+        assertEquals(Integer.valueOf(1), depths.get(instances[4]));
+        assertEquals(Integer.valueOf(2), depths.get(instances[2]));
+        assertFalse(depths.containsKey(instances[0]));
+        assertFalse(traversal.isTruncated());
+
+        LinkGraph.Traversal limited = graph.traverse(instances[0], 3, 2);
+        assertEquals(2, limited.getDepths().size());
+        assertTrue(limited.isTruncated());
+    }
+
+    @Test
+    void testDeltaOverlay() {
+        // 新增链接到快照外的实例，删除快照中的链接
+        LinkGraph updated = graph
+            .withLink(links[4], KNOWS, instances[3], instances[5])
+            .withoutLink(links[1], instances[1], instances[2]);
+        assertEquals(2, updated.deltaSize());
+        assertEquals(4, updated.linkCount());
+        assertEquals(6, updated.nodeCount());
+        assertEquals(new HashSet<>(Arrays.asList(instances[2], instances[5])), updated.neighbors(instances[3], null));
+        assertEquals(new HashSet<>(Arrays.asList(instances[0])), updated.neighbors(instances[1], null));
+        assertEquals(new HashSet<>(Arrays.asList(instances[3])), updated.neighbors(instances[5], KNOWS));
+
+        // 原实例不受影响
+        assertEquals(4, graph.linkCount());
+        assertEquals(new HashSet<>(Arrays.asList(instances[0], instances[2])), graph.neighbors(instances[1], null));
+
+        // 重复应用是幂等的
+        assertSame(updated, updated.withLink(links[4], KNOWS, instances[3], instances[5]));
+        assertSame(updated, updated.withoutLink(links[1], instances[1], instances[2]));
+
+        // 删除覆盖层中新增的链接
+        LinkGraph reverted = updated.withoutLink(links[4], instances[3], instances[5]);
+        assertEquals(1, reverted.deltaSize());
+        assertTrue(reverted.neighbors(instances[5], null).isEmpty());
+    }
+
+    @Test
+    void testCompactMatchesOverlay() {
+        Random random = new Random(42);
+        UUID[] nodes = new UUID[200];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = UUID.randomUUID();
+        }
+        CsrLinkGraph.Builder builder = new CsrLinkGraph.Builder(0);
+        UUID[][] snapshotLinks = new UUID[600][];
+        for (int i = 0; i < snapshotLinks.length; i++) {
+            snapshotLinks[i] = new UUID[]{UUID.randomUUID(), nodes[random.nextInt(nodes.length)], nodes[random.nextInt(nodes.length)]};
+            builder.add(snapshotLinks[i][0], OWNS, snapshotLinks[i][1], snapshotLinks[i][2]);
+        }
+        LinkGraph overlay = LinkGraph.of(builder.build());
+        for (int i = 0; i < 100; i++) {
+            overlay = overlay.withLink(UUID.randomUUID(), KNOWS, nodes[random.nextInt(nodes.length)], UUID.randomUUID());
+            UUID[] removed = snapshotLinks[random.nextInt(snapshotLinks.length)];
+            overlay = overlay.withoutLink(removed[0], removed[1], removed[2]);
+        }
+        LinkGraph compacted = overlay.compact();
+
+        assertEquals(0, compacted.deltaSize());
+        assertEquals(overlay.linkCount(), compacted.linkCount());
+        for (UUID node : nodes) {
+            assertEquals(overlay.neighbors(node, null), new HashSet<>(compacted.neighbors(node, null)));
+            assertEquals(overlay.neighbors(node, KNOWS), new HashSet<>(compacted.neighbors(node, KNOWS)));
+            assertEquals(overlay.traverse(node, 3, 10000).getDepths(), compacted.traverse(node, 3, 10000).getDepths());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.datamodel.core.graph;
+
+import com.example.datamodel.entity.LinkType;
+import com.example.datamodel.entity.ObjectType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 模型图测试
+ *
+ * @author DataModel Team
+ */
+class OntologyGraphTest {
+
+    private ObjectType person;
+
+    private ObjectType company;
+
+    private ObjectType city;
+
+    private ObjectType country;
+
+    private LinkType worksAt;
+
+    private LinkType locatedIn;
+
+    private LinkType livesIn;
+
+    private LinkType belongsTo;
+
+    private OntologyGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        person = objectType("Person");
+        company = objectType("Company");
+        city = objectType("City");
+        country = objectType("Country");
+        // Person - Company - City - Country，Person - City
+        worksAt = linkType("worksAt", person, company);
+        locatedIn = linkType("locatedIn", company, city);
+        livesIn = linkType("livesIn", person, city);
+        belongsTo = linkType("belongsTo", city, country);
+        graph = new OntologyGraph(Arrays.asList(person, company, city, country),
+            Arrays.asList(worksAt, locatedIn, livesIn, belongsTo), 100);
+    }
+
+    @Test
+    void testLookups() {
+        assertEquals(4, graph.objectTypeCount());
+        assertEquals(4, graph.linkTypeCount());
+        assertEquals(person.getId(), graph.getObjectTypeByName("Person").getId());
+        assertEquals("City", graph.getObjectType(city.getId()).getName());
+        assertNull(graph.getObjectTypeByName("Missing"));
+        // 作为源或目标的链接类型都包含在内
+        assertEquals(new HashSet<>(Arrays.asList("locatedIn", "livesIn", "belongsTo")), names(graph.getLinkTypes(city.getId())));
+        assertTrue(graph.getLinkTypes(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void testFindPaths() {
+        List<List<LinkType>> paths = graph.findPaths(person.getId(), country.getId(), 3);
+        List<List<String>> names = new ArrayList<>();
+        for (List<LinkType> path : paths) {
+            names.add(orderedNames(path));
+        }
+        assertEquals(2, names.size());
+        assertTrue(names.contains(Arrays.asList("worksAt", "locatedIn", "belongsTo")));
+        assertTrue(names.contains(Arrays.asList("livesIn", "belongsTo")));
+
+        List<List<LinkType>> shortPaths = graph.findPaths(person.getId(), country.getId(), 2);
+        assertEquals(1, shortPaths.size());
+        assertEquals(Arrays.asList("livesIn", "belongsTo"), orderedNames(shortPaths.get(0)));
+        assertTrue(graph.findPaths(person.getId(), country.getId(), 1).isEmpty());
+        // 反向同样可达
+        assertEquals(2, graph.findPaths(country.getId(), person.getId(), 3).size());
+    }
+
+    @Test
+    void testFindReachableOrdersByHops() {
+        List<ObjectType> reachable = graph.findReachable(person.getId(), 1);
+        assertEquals(new HashSet<>(Arrays.asList("Company", "City")), objectTypeNames(reachable));
+
+        List<ObjectType> all = graph.findReachable(person.getId(), 5);
+        assertEquals(3, all.size());
+        assertEquals("Country", all.get(2).getName());
+        assertTrue(graph.findReachable(person.getId(), 0).isEmpty());
+    }
+
+    @Test
+    void testResultsAreMemoized() {
+        graph.findPaths(person.getId(), country.getId(), 3);
+        graph.findPaths(person.getId(), country.getId(), 3);
+        graph.findReachable(person.getId(), 2);
+        assertEquals(2, graph.memoizedResults());
+
+        OntologyGraph limited = new OntologyGraph(Arrays.asList(person, company), Collections.singletonList(worksAt), 1);
+        limited.findPaths(person.getId(), company.getId(), 1);
+        limited.findPaths(company.getId(), person.getId(), 1);
+        assertEquals(1, limited.memoizedResults());
+    }
+
+    @Test
+    void testReturnedEntitiesAreCopies() {
+        graph.getObjectTypeByName("Person").setName("Changed");
+        graph.getLinkTypes(person.getId()).get(0).setName("changed");
+        graph.findPaths(person.getId(), country.getId(), 3).get(0).get(0).setName("changed");
+        graph.findReachable(person.getId(), 1).get(0).setName("Changed");
+
+        assertEquals("Person", graph.getObjectTypeByName("Person").getName());
+        assertEquals(new HashSet<>(Arrays.asList("worksAt", "livesIn")), names(graph.getLinkTypes(person.getId())));
+        for (List<LinkType> path : graph.findPaths(person.getId(), country.getId(), 3)) {
+            assertFalse(orderedNames(path).contains("changed"));
+        }
+        assertFalse(objectTypeNames(graph.findReachable(person.getId(), 1)).contains("Changed"));
+        // 构建图的实体同样不受影响
+        assertEquals("Person", person.getName());
+        assertEquals("worksAt", worksAt.getName());
+    }
+
+    private static ObjectType objectType(String name) {
+        ObjectType objectType = new ObjectType();
+        objectType.setId(UUID.randomUUID());
+        objectType.setName(name);
+        return objectType;
+    }
+
+    private static LinkType linkType(String name, ObjectType source, ObjectType target) {
+        LinkType linkType = new LinkType();
+        linkType.setId(UUID.randomUUID());
+        linkType.setName(name);
+        linkType.setSourceObjectTypeId(source.getId());
+        linkType.setTargetObjectTypeId(target.getId());
+        return linkType;
+    }
+
+    private static Set<String> names(List<LinkType> linkTypes) {
+        return new HashSet<>(orderedNames(linkTypes));
+    }
+
+    private static List<String> orderedNames(List<LinkType> linkTypes) {
+        List<String> names = new ArrayList<>();
+        for (LinkType linkType : linkTypes) {
+            names.add(linkType.getName());
+        }
+        return names;
+    }
+
+    private static Set<String> objectTypeNames(List<ObjectType> objectTypes) {
+        Set<String> names = new HashSet<>();
+        for (ObjectType objectType : objectTypes) {
+            names.add(objectType.getName());
+        }
+        return names;
+    }
+}
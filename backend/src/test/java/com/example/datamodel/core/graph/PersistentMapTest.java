@@ -0,0 +1,79 @@
+package com.example.datamodel.core.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 不可变哈希映射测试
+ *
+ * @author DataModel Team
+ */
+class PersistentMapTest {
+
+    @Test
+    void testPutAndRemoveKeepOldVersions() {
+        PersistentMap<Integer, String> empty = PersistentMap.empty();
+        PersistentMap<Integer, String> one = empty.put(1, "a");
+        PersistentMap<Integer, String> two = one.put(2, "b");
+        PersistentMap<Integer, String> replaced = two.put(1, "c");
+        PersistentMap<Integer, String> removed = replaced.remove(2);
+
+        assertTrue(empty.isEmpty());
+        assertEquals("a", one.get(1));
+        assertNull(one.get(2));
+        assertEquals(2, two.size());
+        assertEquals("a", two.get(1));
+        assertEquals("c", replaced.get(1));
+        assertEquals(2, replaced.size());
+        assertEquals(1, removed.size());
+        assertFalse(removed.containsKey(2));
+        assertTrue(replaced.containsKey(2));
+
+        // 未变化时返回当前实例
+        assertSame(two, two.put(2, "b"));
+        assertSame(two, two.remove(3));
+        assertTrue(removed.remove(1).isEmpty());
+    }
+
+    @Test
+    void testHashCollisions() {
+        // "Aa" 与 "BB" 的 hashCode 相同
+        PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty().put("Aa", 1).put("BB", 2);
+        assertEquals(Integer.valueOf(1), map.get("Aa"));
+        assertEquals(Integer.valueOf(2), map.get("BB"));
+
+        PersistentMap<String, Integer> removed = map.remove("Aa");
+        assertNull(removed.get("Aa"));
+        assertEquals(Integer.valueOf(2), removed.get("BB"));
+        assertEquals(Integer.valueOf(1), map.get("Aa"));
+    }
+
+    @Test
+    void testMatchesHashMap() {
+        Random random = new Random(3);
+        Map<Integer, Integer> expected = new HashMap<>();
+        PersistentMap<Integer, Integer> map = PersistentMap.empty();
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(5000) - 1000;
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                expected.put(key, i);
+                map = map.put(key, i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        Map<Integer, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+        for (int key = -1000; key < 4000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+}
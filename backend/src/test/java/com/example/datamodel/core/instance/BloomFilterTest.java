@@ -0,0 +1,69 @@
+package com.example.datamodel.core.instance;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 实例ID布隆过滤器测试
+ *
+ * @author DataModel Team
+ */
+class BloomFilterTest {
+
+    @Test
+    void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            filter.put(id);
+        }
+        for (UUID id : ids) {
+            assertTrue(filter.mightContain(id));
+        }
+        assertEquals(10000, filter.getInsertions());
+    }
+
+    @Test
+    void testFalsePositiveRateNearExpected() {
+        Random random = new Random(1);
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put(new UUID(random.nextLong(), random.nextLong()));
+        }
+        int falsePositives = 0;
+        int probes = 100000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(new UUID(random.nextLong(), random.nextLong()))) {
+                falsePositives++;
+            }
+        }
+        double rate = (double) falsePositives / probes;
+        assertTrue(rate < 0.02, "false positive rate " + rate);
+        assertTrue(filter.estimatedFpp() < 0.02);
+    }
+
+    @Test
+    void testSizing() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        // m ≈ 9.6 bit/元素，k ≈ 7
+        assertTrue(filter.getBitSize() >= 9585);
+        assertEquals(7, filter.getHashFunctions());
+        assertEquals(filter.getBitSize() / 8, filter.getSizeInBytes());
+        assertEquals(0, filter.bitCount());
+        assertFalse(filter.mightContain(UUID.randomUUID()));
+    }
+
+    @Test
+    void testInvalidFpp() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.datamodel.core.instance;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 实例记录多路归并测试
+ *
+ * @author DataModel Team
+ */
+class InstanceRecordMergerTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void testMergeKeepsGlobalOrder() {
+        List<Map<String, Object>> platform = Arrays.asList(
+            record("p3", BASE.plusMinutes(30)), record("p2", BASE.plusMinutes(20)), record("p1", BASE.plusMinutes(10)));
+        List<Map<String, Object>> datasource = Arrays.asList(
+            record("d2", Timestamp.valueOf(BASE.plusMinutes(25))), record("d1", Timestamp.valueOf(BASE.plusMinutes(5))));
+
+        List<Map<String, Object>> merged = InstanceRecordMerger.merge(Arrays.asList(platform, datasource), 0, 10);
+
+        assertEquals(Arrays.asList("p3", "d2", "p2", "p1", "d1"), ids(merged));
+    }
+
+    @Test
+    void testMergeOffsetAndLimit() {
+        List<Map<String, Object>> a = Arrays.asList(
+            record("a4", BASE.plusMinutes(8)), record("a3", BASE.plusMinutes(6)), record("a2", BASE.plusMinutes(4)));
+        List<Map<String, Object>> b = Arrays.asList(
+            record("b4", BASE.plusMinutes(7)), record("b3", BASE.plusMinutes(5)), record("b2", BASE.plusMinutes(3)));
+
+        assertEquals(Arrays.asList("a3", "b3"), ids(InstanceRecordMerger.merge(Arrays.asList(a, b), 2, 2)));
+        assertEquals(Collections.singletonList("b2"), ids(InstanceRecordMerger.merge(Arrays.asList(a, b), 5, 10)));
+        assertTrue(InstanceRecordMerger.merge(Arrays.asList(a, b), 6, 10).isEmpty());
+        assertTrue(InstanceRecordMerger.merge(Arrays.asList(a, b), 0, 0).isEmpty());
+    }
+
+    @Test
+    void testNullCreatedAtSortsFirstLikeDescendingIndex() {
+        // PostgreSQL 降序排序时空值排在最前，归并顺序需与数据库返回顺序一致
+        List<Map<String, Object>> platform = Arrays.asList(
+            record("p-null", null), record("p1", BASE.plusMinutes(1)));
+        List<Map<String, Object>> datasource = Arrays.asList(
+            record("d-null", null), record("d2", BASE.plusMinutes(2)));
+
+        List<Map<String, Object>> merged = InstanceRecordMerger.merge(Arrays.asList(platform, datasource), 0, 10);
+
+        assertEquals(Arrays.asList("p-null", "d-null", "d2", "p1"), ids(merged));
+    }
+
+    @Test
+    void testSameCreatedAtOrdersByIdDesc() {
+        List<Map<String, Object>> a = Arrays.asList(record("c", BASE), record("a", BASE));
+        List<Map<String, Object>> b = Collections.singletonList(record("b", BASE.toString()));
+
+        assertEquals(Arrays.asList("c", "b", "a"), ids(InstanceRecordMerger.merge(Arrays.asList(a, b), 0, 10)));
+    }
+
+    @Test
+    void testMergeMatchesFullSort() {
+        Random random = new Random(7);
+        List<Map<String, Object>> all = new ArrayList<>();
+        List<List<Map<String, Object>>> sources = new ArrayList<>();
+        for (int s = 0; s < 4; s++) {
+            List<Map<String, Object>> source = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                LocalDateTime createdAt = random.nextInt(10) == 0 ? null : BASE.plusMinutes(random.nextInt(30));
+                source.add(record(s + "-" + i, createdAt));
+            }
+            source.sort(InstanceRecordMerger.CREATED_AT_DESC);
+            sources.add(source);
+            all.addAll(source);
+        }
+        all.sort(InstanceRecordMerger.CREATED_AT_DESC);
+
+        assertEquals(ids(all.subList(40, 60)), ids(InstanceRecordMerger.merge(sources, 40, 20)));
+    }
+
+    private static Map<String, Object> record(String id, Object createdAt) {
+        Map<String, Object> record = new HashMap<>();
+        record.put("id", id);
+        record.put("created_at", createdAt);
+        return record;
+    }
+
+    private static List<Object> ids(List<Map<String, Object>> records) {
+        List<Object> ids = new ArrayList<>();
+        for (Map<String, Object> record : records) {
+            ids.add(record.get("id"));
+        }
+        return ids;
+    }
+}
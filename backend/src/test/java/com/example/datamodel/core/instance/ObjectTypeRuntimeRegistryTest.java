@@ -0,0 +1,164 @@
+package com.example.datamodel.core.instance;
+
+import com.example.datamodel.core.DynamicTableManager;
+import com.example.datamodel.core.cache.MetadataChangedEvent;
+import com.example.datamodel.entity.ObjectType;
+import com.example.datamodel.entity.Property;
+import com.example.datamodel.exception.BusinessException;
+import com.example.datamodel.service.ObjectTypeService;
+import com.example.datamodel.service.PropertyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 对象类型运行时注册表测试
+ *
+ * @author DataModel Team
+ */
+class ObjectTypeRuntimeRegistryTest {
+
+    private final UUID objectTypeId = UUID.randomUUID();
+
+    private ObjectTypeService objectTypeService;
+
+    private PropertyService propertyService;
+
+    private ObjectTypeRuntimeRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        objectTypeService = mock(ObjectTypeService.class);
+        propertyService = mock(PropertyService.class);
+        DynamicTableManager dynamicTableManager = mock(DynamicTableManager.class);
+        when(dynamicTableManager.generateInstanceTableName(any(ObjectType.class)))
+            .thenAnswer(invocation -> "dm_" + invocation.<ObjectType>getArgument(0).getName().toLowerCase());
+
+        registry = new ObjectTypeRuntimeRegistry();
+        ReflectionTestUtils.setField(registry, "objectTypeService", objectTypeService);
+        ReflectionTestUtils.setField(registry, "propertyService", propertyService);
+        ReflectionTestUtils.setField(registry, "dynamicTableManager", dynamicTableManager);
+
+        stubObjectType("Person");
+        when(propertyService.getByObjectTypeId(objectTypeId))
+            .thenReturn(Arrays.asList(property("name"), property("id"), property("Age")));
+    }
+
+    @Test
+    void testRuntimeIsBuiltOnceAndReused() {
+        ObjectTypeRuntime runtime = registry.get("Person");
+
+        assertEquals("dm_person", runtime.getTableName());
+        // 系统保留字段不作为属性列，列名转小写
+        assertEquals(Arrays.asList("name", "age"), runtime.getColumns());
+        assertEquals(3, runtime.getProperties().size());
+        assertSame(runtime, registry.get("Person"));
+        assertSame(runtime, registry.get(objectTypeId));
+        verify(objectTypeService, times(1)).getByName("Person");
+        verify(propertyService, times(1)).getByObjectTypeId(objectTypeId);
+    }
+
+    @Test
+    void testUnknownObjectType() {
+        assertThrows(BusinessException.class, () -> registry.get("Missing"));
+        assertNull(registry.get(UUID.randomUUID()));
+    }
+
+    @Test
+    void testMetadataChangeRebuildsRuntime() {
+        ObjectTypeRuntime before = registry.get("Person");
+
+        stubObjectType("Employee");
+        when(propertyService.getByObjectTypeId(objectTypeId)).thenReturn(Collections.singletonList(property("salary")));
+        registry.onMetadataChanged(MetadataChangedEvent.objectType(objectTypeId));
+
+        ObjectTypeRuntime after = registry.get(objectTypeId);
+        assertNotSame(before, after);
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals("Employee", after.getObjectTypeName());
+        assertEquals(Collections.singletonList("salary"), after.getColumns());
+        assertSame(after, registry.get("Employee"));
+        // 旧名称不再解析到重命名后的运行时
+        when(objectTypeService.getByName("Person")).thenReturn(null);
+        assertThrows(BusinessException.class, () -> registry.get("Person"));
+        // 正在使用旧运行时的调用方不受影响
+        assertEquals(Arrays.asList("name", "age"), before.getColumns());
+    }
+
+    @Test
+    void testDeletedObjectTypeIsRemoved() {
+        registry.get("Person");
+        when(objectTypeService.getById(objectTypeId)).thenReturn(null);
+        when(objectTypeService.getByName("Person")).thenReturn(null);
+
+        registry.onMetadataChanged(MetadataChangedEvent.objectType(objectTypeId));
+
+        assertTrue(registry.getStats().isEmpty());
+        assertThrows(BusinessException.class, () -> registry.get("Person"));
+    }
+
+    @Test
+    void testBuildOverlappingChangeIsNotCached() {
+        // 构建期间发生元数据变更：本次结果返回给调用方，但不放入注册表
+        when(propertyService.getByObjectTypeId(objectTypeId)).thenAnswer(invocation -> {
+            registry.onMetadataChanged(MetadataChangedEvent.businessDomain(UUID.randomUUID()));
+            return Collections.singletonList(property("name"));
+        });
+
+        ObjectTypeRuntime first = registry.get("Person");
+        ObjectTypeRuntime second = registry.get("Person");
+
+        assertNotSame(first, second);
+        verify(objectTypeService, times(2)).getByName("Person");
+    }
+
+    @Test
+    void testObjectTypeIsCopiedOnRead() {
+        ObjectTypeRuntime runtime = registry.get("Person");
+
+        ObjectType objectType = runtime.getObjectType();
+        assertEquals(objectTypeId, objectType.getId());
+        objectType.setName("Changed");
+
+        assertEquals("Person", runtime.getObjectType().getName());
+        assertEquals("Person", runtime.getObjectTypeName());
+        assertSame(runtime, registry.get("Person"));
+    }
+
+    @Test
+    void testWriteSqlExcludesReservedFields() {
+        ObjectTypeRuntime runtime = registry.get("Person");
+
+        // 名为 id 的属性不会生成重复的列
+        assertEquals("INSERT INTO dm_person (id, class_id, created_at, updated_at, name, age) VALUES (?, ?, ?, ?, ?, ?)",
+            runtime.platformStatements().insert(runtime.allColumns()));
+        assertEquals("COPY dm_person (id, class_id, created_at, updated_at, name, age) FROM STDIN WITH (FORMAT csv)",
+            runtime.platformStatements().copyIn());
+        assertSame(runtime.platformStatements().copyIn(), runtime.platformStatements().copyIn());
+    }
+
+    private void stubObjectType(String name) {
+        ObjectType objectType = new ObjectType();
+        objectType.setId(objectTypeId);
+        objectType.setName(name);
+        when(objectTypeService.getByName(name)).thenReturn(objectType);
+        when(objectTypeService.getById(objectTypeId)).thenReturn(objectType);
+    }
+
+    private Property property(String name) {
+        Property property = new Property();
+        property.setId(UUID.randomUUID());
+        property.setObjectTypeId(objectTypeId);
+        property.setName(name);
+        property.setDataType("STRING");
+        return property;
+    }
+}
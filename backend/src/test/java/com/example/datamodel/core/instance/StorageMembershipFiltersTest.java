@@ -0,0 +1,104 @@
+package com.example.datamodel.core.instance;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 存储库实例成员布隆过滤器测试
+ *
+ * @author DataModel Team
+ */
+class StorageMembershipFiltersTest {
+
+    private final UUID objectTypeId = UUID.randomUUID();
+
+    private final UUID datasourceId = UUID.randomUUID();
+
+    private final UUID known = UUID.randomUUID();
+
+    private StorageMembershipFilters filters;
+
+    private BloomFilter bloomFilter;
+
+    @BeforeEach
+    void setUp() {
+        filters = new StorageMembershipFilters();
+        ReflectionTestUtils.setField(filters, "enabled", true);
+        ReflectionTestUtils.setField(filters, "rebuildIntervalMinutes", 30L);
+        ReflectionTestUtils.setField(filters, "exclusiveWriter", false);
+        bloomFilter = new BloomFilter(1000, 0.01);
+        bloomFilter.put(known);
+    }
+
+    @Test
+    void testUnbuiltFilterNeverExcludes() {
+        UUID unknown = UUID.randomUUID();
+        assertTrue(filters.mightContain(objectTypeId, datasourceId, unknown));
+        assertFalse(filters.canSkip(objectTypeId, datasourceId, unknown));
+    }
+
+    @Test
+    void testNegativeOnlyDefersProbeByDefault() {
+        filters.activate(objectTypeId, datasourceId, bloomFilter, LocalDateTime.now());
+        UUID unknown = absentId();
+
+        assertTrue(filters.mightContain(objectTypeId, datasourceId, known));
+        assertFalse(filters.mightContain(objectTypeId, datasourceId, unknown));
+        // 过滤器不包含外部写入的实例，否定结果不能作为跳过存储库的依据
+        assertFalse(filters.canSkip(objectTypeId, datasourceId, unknown));
+    }
+
+    @Test
+    void testExclusiveWriterSkipsNegatives() {
+        ReflectionTestUtils.setField(filters, "exclusiveWriter", true);
+        filters.activate(objectTypeId, datasourceId, bloomFilter, LocalDateTime.now());
+        UUID unknown = absentId();
+
+        assertTrue(filters.canSkip(objectTypeId, datasourceId, unknown));
+        assertFalse(filters.canSkip(objectTypeId, datasourceId, known));
+
+        // 本节点写入的实例立即可见
+        filters.put(objectTypeId, datasourceId, unknown);
+        assertFalse(filters.canSkip(objectTypeId, datasourceId, unknown));
+    }
+
+    @Test
+    void testExpiredFilterIsIgnored() {
+        ReflectionTestUtils.setField(filters, "exclusiveWriter", true);
+        filters.activate(objectTypeId, datasourceId, bloomFilter, LocalDateTime.now().minusMinutes(61));
+        UUID unknown = absentId();
+
+        // 超过两个重建周期未成功重建，视为可能存在
+        assertTrue(filters.mightContain(objectTypeId, datasourceId, unknown));
+        assertFalse(filters.canSkip(objectTypeId, datasourceId, unknown));
+    }
+
+    @Test
+    void testDisabled() {
+        ReflectionTestUtils.setField(filters, "enabled", false);
+        ReflectionTestUtils.setField(filters, "exclusiveWriter", true);
+        filters.activate(objectTypeId, datasourceId, bloomFilter, LocalDateTime.now());
+        UUID unknown = absentId();
+
+        assertTrue(filters.mightContain(objectTypeId, datasourceId, unknown));
+        assertFalse(filters.canSkip(objectTypeId, datasourceId, unknown));
+    }
+
+    /**
+     * 过滤器判定一定不存在的实例ID（误判率 1%，重试即可）
+     */
+    private UUID absentId() {
+        while (true) {
+            UUID id = UUID.randomUUID();
+            if (!bloomFilter.mightContain(id)) {
+                return id;
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.datamodel.core.instance;
+
+import com.example.datamodel.vo.StorageQueryStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 存储查询执行器测试
+ *
+ * @author DataModel Team
+ */
+class StorageQueryExecutorTest {
+
+    private StorageQueryExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new StorageQueryExecutor();
+        ReflectionTestUtils.setField(executor, "poolSize", 4);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 16);
+        ReflectionTestUtils.setField(executor, "timeoutMs", 200L);
+        executor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testPartialResultsKeepQueryOrder() {
+        List<StorageQueryExecutor.StorageQuery<String>> queries = new ArrayList<>();
+        queries.add(StorageQueryExecutor.StorageQuery.platform(() -> "platform"));
+        queries.add(new StorageQueryExecutor.StorageQuery<>(UUID.randomUUID(), "slow", () -> {
+            Thread.sleep(10_000);
+            return "slow";
+        }));
+        queries.add(new StorageQueryExecutor.StorageQuery<>(UUID.randomUUID(), "broken", () -> {
+            throw new IllegalStateException("connection refused");
+        }));
+        queries.add(new StorageQueryExecutor.StorageQuery<>(UUID.randomUUID(), "fast", () -> "fast"));
+
+        long start = System.nanoTime();
+        List<StorageQueryExecutor.StorageQueryResult<String>> results = executor.invokeAll(queries);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(4, results.size());
+        assertEquals("platform", results.get(0).getValue());
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(0).getQuery().isPlatform());
+
+        assertEquals(StorageQueryStatus.TIMEOUT, results.get(1).getStatus());
+        assertNull(results.get(1).getValue());
+        assertEquals("slow", results.get(1).toStatus().getSource());
+
+        assertEquals(StorageQueryStatus.FAILED, results.get(2).getStatus());
+        assertEquals("connection refused", results.get(2).getErrorMessage());
+
+        // 慢查询超时不影响之后的查询结果
+        assertEquals(StorageQueryStatus.SUCCESS, results.get(3).getStatus());
+        assertEquals("fast", results.get(3).getValue());
+
+        // 整体耗时取决于截止时间，而不是慢查询的耗时
+        assertTrue(elapsedMs < 2_000, "elapsed " + elapsedMs + "ms");
+    }
+
+    @Test
+    void testTimedOutQueryIsCancelled() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        List<StorageQueryExecutor.StorageQuery<String>> queries = new ArrayList<>();
+        queries.add(new StorageQueryExecutor.StorageQuery<>(UUID.randomUUID(), "slow", () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "slow";
+        }));
+
+        List<StorageQueryExecutor.StorageQueryResult<String>> results = executor.invokeAll(queries);
+
+        assertEquals(StorageQueryStatus.TIMEOUT, results.get(0).getStatus());
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS), "超时的查询应被中断");
+    }
+
+    @Test
+    void testDeadlineStartsAtSubmission() {
+        // 两个查询各耗时约为超时时间的一半，并发执行时都应在截止时间内完成
+        List<StorageQueryExecutor.StorageQuery<Integer>> queries = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            int value = i;
+            queries.add(new StorageQueryExecutor.StorageQuery<>(UUID.randomUUID(), "storage-" + i, () -> {
+                Thread.sleep(100);
+                return value;
+            }));
+        }
+
+        List<StorageQueryExecutor.StorageQueryResult<Integer>> results = executor.invokeAll(queries);
+
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        assertEquals(Integer.valueOf(1), results.get(1).getValue());
+    }
+
+    @Test
+    void testSaturatedPoolRejectsInsteadOfRunningInline() {
+        executor.shutdown();
+        ReflectionTestUtils.setField(executor, "poolSize", 1);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 1);
+        executor.init();
+        List<StorageQueryExecutor.StorageQuery<String>> queries = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            queries.add(new StorageQueryExecutor.StorageQuery<>(UUID.randomUUID(), "storage-" + i, () -> {
+                Thread.sleep(10_000);
+                return Thread.currentThread().getName();
+            }));
+        }
+        queries.add(new StorageQueryExecutor.StorageQuery<>(UUID.randomUUID(), "inline", () -> Thread.currentThread().getName()));
+
+        long start = System.nanoTime();
+        List<StorageQueryExecutor.StorageQueryResult<String>> results = executor.invokeAll(queries);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(StorageQueryStatus.TIMEOUT, results.get(0).getStatus());
+        assertEquals(StorageQueryStatus.TIMEOUT, results.get(1).getStatus());
+        // 线程池和队列已满，之后的查询不在调用线程上执行
+        assertEquals(StorageQueryStatus.FAILED, results.get(2).getStatus());
+        assertEquals(StorageQueryStatus.FAILED, results.get(3).getStatus());
+        assertNull(results.get(3).getValue());
+        assertTrue(elapsedMs < 2_000, "elapsed " + elapsedMs + "ms");
+    }
+
+    @Test
+    void testQueryTimeoutSecondsRoundsUp() {
+        assertEquals(1, executor.getQueryTimeoutSeconds());
+        ReflectionTestUtils.setField(executor, "timeoutMs", 5001L);
+        assertEquals(6, executor.getQueryTimeoutSeconds());
+    }
+}